@@ -154,7 +154,7 @@ public class CRLSourceSnippet {
 		@Override
 		protected SqlQuery getCreateTableQuery() {
 			// Override datatypes with BYTEA, supported by PostgreSQL
-			return SqlQuery.createQuery("CREATE TABLE CACHED_CRL (ID CHAR(40), DATA BYTEA, ISSUER BYTEA)");
+			return SqlQuery.createQuery("CREATE TABLE CACHED_CRL (ID CHAR(40) PRIMARY KEY, DATA BYTEA, ISSUER BYTEA, EXPIRY TIMESTAMP, DELTA BYTEA)");
 		}
 
 	}
@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.crl.stream.impl;
 
+import eu.europa.esig.dss.crl.ByteBufferInputStream;
+import eu.europa.esig.dss.crl.CRLEntriesIndex;
 import org.bouncycastle.asn1.ASN1BitString;
 import org.bouncycastle.asn1.ASN1Boolean;
 import org.bouncycastle.asn1.ASN1Encodable;
@@ -45,6 +47,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.security.cert.X509CRLEntry;
 import java.util.Enumeration;
 
@@ -115,6 +118,39 @@ class CRLParser {
 		is.on(false);
 	}
 
+	/**
+	 * This method returns the signed data (TBSCertList) of a DER encoded CRL, without copying the content
+	 *
+	 * @param crlBinaries
+	 *            {@link ByteBuffer} with a DER encoded CRL
+	 * @return {@link ByteBuffer} with the TBSCertList sequence
+	 * @throws IOException if an error occurs during the CRL reading
+	 */
+	public ByteBuffer getSignedData(ByteBuffer crlBinaries) throws IOException {
+		final ByteBuffer binaries = crlBinaries.slice();
+		try (ByteBufferInputStream is = new ByteBufferInputStream(binaries.duplicate())) {
+			// Skip CertificateList Sequence info
+			consumeTagIntro(is);
+
+			int tbsOffset = getPosition(is, binaries);
+
+			// Read the tag and length of the TBSCertList sequence
+			int tag = DERUtil.readTag(is);
+			DERUtil.readTagNumber(is, tag);
+			int tbsLength = DERUtil.readLength(is);
+
+			int tbsEnd = getPosition(is, binaries) + tbsLength;
+			if (tbsLength < 0 || tbsEnd > binaries.limit()) {
+				throw new IOException("Unable to read the TBSCertList : the CRL is truncated!");
+			}
+
+			ByteBuffer signedData = binaries.duplicate();
+			signedData.position(tbsOffset);
+			signedData.limit(tbsEnd);
+			return signedData.slice();
+		}
+	}
+
 	/**
 	 * This method allows to parse the CRL and return the revocation data for a given serial number
 	 * 
@@ -196,6 +232,36 @@ class CRLParser {
 		return null;
 	}
 
+	/**
+	 * This method parses the CRL and builds an index of the revokedCertificates entries, allowing to retrieve
+	 * the revocation data for a given serial number without parsing the whole CRL
+	 *
+	 * @param crlBinaries
+	 *            DER encoded CRL
+	 * @return {@link CRLEntriesIndex}
+	 * @throws IOException if an exception occurs
+	 */
+	public CRLEntriesIndex buildEntriesIndex(byte[] crlBinaries) throws IOException {
+		return buildEntriesIndex(ByteBuffer.wrap(crlBinaries));
+	}
+
+	/**
+	 * This method parses the CRL and builds an index of the revokedCertificates entries, without copying
+	 * the CRL content (e.g. for a memory-mapped CRL)
+	 *
+	 * @param crlBinaries
+	 *            {@link ByteBuffer} with a DER encoded CRL
+	 * @return {@link CRLEntriesIndex}
+	 * @throws IOException if an exception occurs
+	 */
+	public CRLEntriesIndex buildEntriesIndex(ByteBuffer crlBinaries) throws IOException {
+		return CRLEntriesIndex.build(crlBinaries);
+	}
+
+	private int getPosition(ByteBufferInputStream is, ByteBuffer binaries) {
+		return binaries.limit() - is.available();
+	}
+
 	/**
 	 * This method allows to retrieve common CRL information (thisUpdate, nextUpdate, signatureAlgorithm,
 	 * signatureValue, extensions,...). It voluntary doesn't parse the revokedCertificates sequence.
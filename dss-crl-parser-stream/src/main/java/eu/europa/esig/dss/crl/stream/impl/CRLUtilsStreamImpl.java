@@ -22,6 +22,8 @@ package eu.europa.esig.dss.crl.stream.impl;
 
 import eu.europa.esig.dss.crl.AbstractCRLUtils;
 import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLEntriesIndex;
+import eu.europa.esig.dss.crl.CRLEntriesIndexCache;
 import eu.europa.esig.dss.crl.CRLValidity;
 import eu.europa.esig.dss.crl.ICRLUtils;
 import eu.europa.esig.dss.enumerations.EncryptionAlgorithm;
@@ -34,10 +36,10 @@ import org.slf4j.LoggerFactory;
 
 import javax.security.auth.x500.X500Principal;
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.security.AlgorithmParameters;
 import java.security.NoSuchAlgorithmException;
 import java.security.Signature;
@@ -63,7 +65,7 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 	@Override
 	public CRLValidity buildCRLValidity(CRLBinary crlBinary, CertificateToken issuerToken) throws IOException {
 		
-		final CRLValidity crlValidity = new CRLValidity(crlBinary);
+		final CRLValidity crlValidity = new StreamCRLValidity(crlBinary);
 		
 		CRLInfo crlInfos = getCrlInfo(crlValidity);
 		SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forOidAndParams(crlInfos.getCertificateListSignatureAlgorithmOid(),
@@ -77,6 +79,7 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 		extractIssuingDistributionPointBinary(crlValidity, crlInfos.getCriticalExtension(Extension.issuingDistributionPoint.getId()));
 		extractExpiredCertsOnCRL(crlValidity, crlInfos.getNonCriticalExtension(Extension.expiredCertsOnCRL.getId()));
 		extractCrlNumber(crlValidity, crlInfos.getNonCriticalExtension(Extension.cRLNumber.getId()));
+		extractDeltaCRLIndicator(crlValidity, crlInfos.getCriticalExtension(Extension.deltaCRLIndicator.getId()));
 
 		final X500Principal x509CRLIssuerX500Principal = crlInfos.getIssuer();
 		final X500Principal issuerTokenSubjectX500Principal = issuerToken.getSubject().getPrincipal();
@@ -90,18 +93,23 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 		return crlValidity;
 	}
 
-	private byte[] getSignedData(CRLValidity crlValidity) throws IOException {
-		try (InputStream is = crlValidity.toCRLInputStream();
-			 ByteArrayOutputStream baos = new ByteArrayOutputStream();
-			 BinaryFilteringInputStream bfis = new BinaryFilteringInputStream(is, baos)) {
-			CRLParser parser = new CRLParser();
-			parser.getSignedData(bfis);
-			return baos.toByteArray();
-		}
+	private ByteBuffer getSignedData(CRLValidity crlValidity) throws IOException {
+		// the TBSCertList is read directly from the CRL binaries (in memory or memory-mapped) without a copy
+		CRLParser parser = new CRLParser();
+		return parser.getSignedData(crlValidity.getCrlBinary().toByteBuffer());
 	}
 
 	@Override
 	public X509CRLEntry getRevocationInfo(CRLValidity crlValidity, BigInteger serialNumber) {
+		try {
+			final CRLEntriesIndex entriesIndex = crlValidity instanceof StreamCRLValidity ?
+					((StreamCRLValidity) crlValidity).getEntriesIndex() :
+					CRLEntriesIndexCache.getInstance().getEntriesIndex(crlValidity.getCrlBinary());
+			return entriesIndex.getRevocationInfo(serialNumber);
+		} catch (Exception e) {
+			LOG.warn("Unable to use the CRL entries index : {}. Parse the CRL sequentially.", e.getMessage(), e);
+		}
+
 		CRLParser parser = new CRLParser();
 		X509CRLEntry crlEntry = null;
 		try (InputStream is = crlValidity.toCRLInputStream()) {
@@ -113,7 +121,7 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 	}
 
 	private void checkSignatureValue(CRLValidity crlValidity, byte[] signatureValue, SignatureAlgorithm signatureAlgorithm,
-									 byte[] params, byte[] signedData, CertificateToken signer) {
+									 byte[] params, ByteBuffer signedData, CertificateToken signer) {
 		try {
 			Signature signature = Signature.getInstance(signatureAlgorithm.getJCEId());
 			AlgorithmParameterSpec algoParamSpec = createAlgoParamSpec(signatureAlgorithm, params);
@@ -0,0 +1,72 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl.stream.impl;
+
+import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLEntriesIndex;
+import eu.europa.esig.dss.crl.CRLEntriesIndexCache;
+import eu.europa.esig.dss.crl.CRLValidity;
+
+import java.io.IOException;
+
+/**
+ * The streaming CRL parser extension of {@code CRLValidity}, keeping the index of the revoked certificates
+ * entries, built on the first revocation status request
+ */
+public class StreamCRLValidity extends CRLValidity {
+
+	private static final long serialVersionUID = 6357411386296384571L;
+
+	/**
+	 * The index of the revokedCertificates entries (lazily built)
+	 */
+	private transient volatile CRLEntriesIndex entriesIndex;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param crlBinary {@link CRLBinary}
+	 */
+	public StreamCRLValidity(CRLBinary crlBinary) {
+		super(crlBinary);
+	}
+
+	/**
+	 * Gets the index of the revokedCertificates entries, shared with the other instances of the same CRL
+	 *
+	 * @return {@link CRLEntriesIndex}
+	 * @throws IOException if an error occurs on the CRL parsing
+	 */
+	CRLEntriesIndex getEntriesIndex() throws IOException {
+		CRLEntriesIndex index = entriesIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = entriesIndex;
+				if (index == null) {
+					index = CRLEntriesIndexCache.getInstance().getEntriesIndex(getCrlBinary());
+					entriesIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
+}
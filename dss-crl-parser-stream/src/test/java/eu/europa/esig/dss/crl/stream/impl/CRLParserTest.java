@@ -25,18 +25,24 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
 import java.security.cert.X509CRLEntry;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
+import eu.europa.esig.dss.crl.CRLEntriesIndex;
 import eu.europa.esig.dss.utils.Utils;
 
 class CRLParserTest {
@@ -239,4 +245,65 @@ class CRLParserTest {
 		}
 	}
 
+	@Test
+	void entriesIndex() throws Exception {
+		String[] crlFiles = { "/belgium2.crl", "/belgium4.crl", "/eidc201631.crl", "/LTRCA.crl", "/LTGRCA.crl",
+				"/pt_crl_with_critical_extension.crl", "/DS_NA2_CA-B1.crl", "/hgcaclass2.crl" };
+		for (String crlFile : crlFiles) {
+			checkEntriesIndex(crlFile);
+		}
+	}
+
+	private void checkEntriesIndex(String crlFile) throws Exception {
+		byte[] crlBinaries;
+		try (InputStream is = CRLParserTest.class.getResourceAsStream(crlFile)) {
+			crlBinaries = new CRLUtilsStreamImpl().buildCRLBinary(Utils.toByteArray(is)).getBinaries();
+		}
+
+		X509CRL x509CRL = (X509CRL) CertificateFactory.getInstance("X.509").generateCRL(new ByteArrayInputStream(crlBinaries));
+		Set<? extends X509CRLEntry> revokedCertificates = x509CRL.getRevokedCertificates();
+
+		CRLEntriesIndex index = parser.buildEntriesIndex(crlBinaries);
+		assertEquals(Utils.collectionSize(revokedCertificates), index.size(), crlFile);
+
+		if (revokedCertificates != null) {
+			for (X509CRLEntry revokedCertificate : revokedCertificates) {
+				BigInteger serialNumber = revokedCertificate.getSerialNumber();
+				X509CRLEntry indexedEntry = index.getRevocationInfo(serialNumber);
+				assertNotNull(indexedEntry);
+				assertEquals(serialNumber, indexedEntry.getSerialNumber());
+				assertEquals(revokedCertificate.getRevocationDate(), indexedEntry.getRevocationDate());
+				assertArrayEquals(revokedCertificate.getEncoded(), indexedEntry.getEncoded());
+			}
+		}
+
+		assertNull(index.getRevocationInfo(BigInteger.ZERO));
+		assertNull(index.getRevocationInfo(new BigInteger("123456789123456789123456789123456789")));
+		assertNull(index.getRevocationInfo(BigInteger.ONE.negate()));
+	}
+
+	@Test
+	void entriesIndexSharedByCRL() throws Exception {
+		byte[] crlBinaries;
+		try (InputStream is = CRLParserTest.class.getResourceAsStream("/eidc201631.crl")) {
+			crlBinaries = Utils.toByteArray(is);
+		}
+		X509CRL x509CRL = (X509CRL) CertificateFactory.getInstance("X.509").generateCRL(new ByteArrayInputStream(crlBinaries));
+		X509CRLEntry revokedCertificate = x509CRL.getRevokedCertificates().iterator().next();
+
+		CRLUtilsStreamImpl crlUtils = new CRLUtilsStreamImpl();
+		StreamCRLValidity firstValidity = new StreamCRLValidity(crlUtils.buildCRLBinary(crlBinaries));
+		StreamCRLValidity secondValidity = new StreamCRLValidity(crlUtils.buildCRLBinary(crlBinaries));
+
+		CRLEntriesIndex index = firstValidity.getEntriesIndex();
+		assertSame(index, firstValidity.getEntriesIndex());
+		// a new CRLBinary of the same CRL does not re-parse it
+		assertSame(index, secondValidity.getEntriesIndex());
+
+		X509CRLEntry entry = crlUtils.getRevocationInfo(secondValidity, revokedCertificate.getSerialNumber());
+		assertNotNull(entry);
+		assertArrayEquals(revokedCertificate.getEncoded(), entry.getEncoded());
+		assertSame(index, new StreamCRLValidity(crlUtils.buildCRLBinary(crlBinaries)).getEntriesIndex());
+	}
+
 }
@@ -22,12 +22,18 @@ package eu.europa.esig.dss.crl.x509.impl;
 
 import eu.europa.esig.dss.crl.AbstractCRLUtils;
 import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLEntriesIndexCache;
 import eu.europa.esig.dss.crl.CRLValidity;
 import eu.europa.esig.dss.crl.ICRLUtils;
+import eu.europa.esig.dss.enumerations.EncryptionAlgorithm;
 import eu.europa.esig.dss.enumerations.KeyUsageBit;
 import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.DERNull;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
 import org.bouncycastle.asn1.x509.Extension;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.slf4j.Logger;
@@ -37,13 +43,17 @@ import javax.security.auth.x500.X500Principal;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.security.AlgorithmParameters;
 import java.security.GeneralSecurityException;
 import java.security.NoSuchProviderException;
+import java.security.Signature;
+import java.security.SignatureException;
 import java.security.cert.CRLException;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509CRL;
 import java.security.cert.X509CRLEntry;
+import java.security.spec.PSSParameterSpec;
 
 /**
  * The implementation of {@code ICRLUtils} with java.security classes
@@ -74,6 +84,9 @@ public class CRLUtilsX509CRLImpl extends AbstractCRLUtils implements ICRLUtils {
 	 */
 	@Override
 	public CRLValidity buildCRLValidity(final CRLBinary crlBinary, final CertificateToken issuerToken) throws IOException {
+		if (crlBinary.isMemoryMapped()) {
+			return buildMappedCRLValidity(crlBinary, issuerToken);
+		}
 		
 		final X509CRLValidity crlValidity= new X509CRLValidity(crlBinary);
 		
@@ -98,16 +111,10 @@ public class CRLUtilsX509CRLImpl extends AbstractCRLUtils implements ICRLUtils {
 			extractIssuingDistributionPointBinary(crlValidity, x509CRL.getExtensionValue(Extension.issuingDistributionPoint.getId()));
 			extractExpiredCertsOnCRL(crlValidity, x509CRL.getExtensionValue(Extension.expiredCertsOnCRL.getId()));
 			extractCrlNumber(crlValidity, x509CRL.getExtensionValue(Extension.cRLNumber.getId()));
+			extractDeltaCRLIndicator(crlValidity, x509CRL.getExtensionValue(Extension.deltaCRLIndicator.getId()));
 
 			checkSignatureValue(x509CRL, issuerToken, crlValidity);
-			if (crlValidity.isSignatureIntact()) {
-				boolean crlSign = issuerToken.checkKeyUsage(KeyUsageBit.CRL_SIGN);
-				if (!crlSign) {
-					crlValidity.setSignatureInvalidityReason(
-							String.format("CRL issuer does not have '%s' key usage!", KeyUsageBit.CRL_SIGN.getValue()));
-				}
-				crlValidity.setCrlSignKeyUsage(crlSign);
-			}
+			checkCRLSignKeyUsage(issuerToken, crlValidity);
 			
 		}
 		
@@ -115,6 +122,67 @@ public class CRLUtilsX509CRLImpl extends AbstractCRLUtils implements ICRLUtils {
 		
 	}
 
+	/**
+	 * Builds the {@code CRLValidity} of a memory-mapped CRL. The CRL is read from the mapping, without
+	 * building an {@code X509CRL}, which would copy the whole CRL into the heap.
+	 */
+	private CRLValidity buildMappedCRLValidity(final CRLBinary crlBinary, final CertificateToken issuerToken) throws IOException {
+		final X509CRLValidity crlValidity = new X509CRLValidity(crlBinary);
+		final MappedCRLParser parser = new MappedCRLParser(crlBinary.toByteBuffer());
+
+		final AlgorithmIdentifier signatureAlgorithmIdentifier = parser.getSignatureAlgorithm();
+		final byte[] sigAlgParams = getEncodedParameters(signatureAlgorithmIdentifier);
+		final SignatureAlgorithm signatureAlgorithm = getSignatureAlgorithm(
+				signatureAlgorithmIdentifier.getAlgorithm().getId(), sigAlgParams);
+		crlValidity.setSignatureAlgorithm(signatureAlgorithm);
+		crlValidity.setThisUpdate(parser.getThisUpdate());
+		crlValidity.setNextUpdate(parser.getNextUpdate());
+
+		final X500Principal issuerTokenSubjectX500Principal = issuerToken.getSubject().getPrincipal();
+		if (parser.getIssuer().equals(issuerTokenSubjectX500Principal)) {
+			crlValidity.setIssuerX509PrincipalMatches(true);
+		}
+
+		crlValidity.setCriticalExtensionsOid(parser.getCriticalExtensionOIDs());
+		extractIssuingDistributionPointBinary(crlValidity, parser.getExtensionValue(Extension.issuingDistributionPoint.getId()));
+		extractExpiredCertsOnCRL(crlValidity, parser.getExtensionValue(Extension.expiredCertsOnCRL.getId()));
+		extractCrlNumber(crlValidity, parser.getExtensionValue(Extension.cRLNumber.getId()));
+		extractDeltaCRLIndicator(crlValidity, parser.getExtensionValue(Extension.deltaCRLIndicator.getId()));
+
+		checkSignatureValue(parser, signatureAlgorithm, sigAlgParams, issuerToken, crlValidity);
+		checkCRLSignKeyUsage(issuerToken, crlValidity);
+
+		return crlValidity;
+	}
+
+	private SignatureAlgorithm getSignatureAlgorithm(String oid, byte[] sigAlgParams) {
+		try {
+			return SignatureAlgorithm.forOidAndParams(oid, sigAlgParams);
+		} catch (IllegalArgumentException e) {
+			LOG.warn("Unable to identify the CRL signature algorithm : {}", e.getMessage());
+			return null;
+		}
+	}
+
+	private byte[] getEncodedParameters(AlgorithmIdentifier algorithmIdentifier) throws IOException {
+		ASN1Encodable parameters = algorithmIdentifier.getParameters();
+		if (parameters != null && !DERNull.INSTANCE.equals(parameters)) {
+			return parameters.toASN1Primitive().getEncoded(ASN1Encoding.DER);
+		}
+		return null;
+	}
+
+	private void checkCRLSignKeyUsage(final CertificateToken issuerToken, final CRLValidity crlValidity) {
+		if (crlValidity.isSignatureIntact()) {
+			boolean crlSign = issuerToken.checkKeyUsage(KeyUsageBit.CRL_SIGN);
+			if (!crlSign) {
+				crlValidity.setSignatureInvalidityReason(
+						String.format("CRL issuer does not have '%s' key usage!", KeyUsageBit.CRL_SIGN.getValue()));
+			}
+			crlValidity.setCrlSignKeyUsage(crlSign);
+		}
+	}
+
 	private void checkSignatureValue(final X509CRL x509CRL, final CertificateToken issuerToken, final CRLValidity crlValidity) {
 		try {
 			x509CRL.verify(issuerToken.getPublicKey());
@@ -129,12 +197,49 @@ public class CRLUtilsX509CRLImpl extends AbstractCRLUtils implements ICRLUtils {
 		}
 	}
 
+	private void checkSignatureValue(final MappedCRLParser parser, final SignatureAlgorithm signatureAlgorithm,
+									 final byte[] sigAlgParams, final CertificateToken issuerToken, final CRLValidity crlValidity) {
+		if (signatureAlgorithm == null) {
+			crlValidity.setSignatureInvalidityReason("CRL Signature cannot be validated : the signature algorithm is not supported!");
+			return;
+		}
+		try {
+			Signature signature = Signature.getInstance(signatureAlgorithm.getJCEId());
+			if (sigAlgParams != null && EncryptionAlgorithm.RSASSA_PSS == signatureAlgorithm.getEncryptionAlgorithm()) {
+				AlgorithmParameters algorithmParameters = AlgorithmParameters.getInstance("PSS");
+				algorithmParameters.init(sigAlgParams);
+				signature.setParameter(algorithmParameters.getParameterSpec(PSSParameterSpec.class));
+			}
+			signature.initVerify(issuerToken.getPublicKey());
+			signature.update(parser.getSignedData());
+			if (!signature.verify(parser.getSignatureValue())) {
+				throw new SignatureException("Signature does not match.");
+			}
+			crlValidity.setSignatureIntact(true);
+			crlValidity.setIssuerToken(issuerToken);
+		} catch (GeneralSecurityException | IOException | RuntimeException e) {
+			String msg = String.format("CRL Signature cannot be validated : %s", e.getMessage());
+			if (LOG.isTraceEnabled()) {
+				LOG.trace(msg, e);
+			}
+			crlValidity.setSignatureInvalidityReason(msg);
+		}
+	}
+
 	@Override
 	public X509CRLEntry getRevocationInfo(CRLValidity crlValidity, BigInteger serialNumber) {
 		X509CRL crl = null;
 		if (crlValidity instanceof X509CRLValidity) {
 			crl = ((X509CRLValidity) crlValidity).getX509CRL();
 		}
+		if (crl == null && crlValidity.getCrlBinary().isMemoryMapped()) {
+			try {
+				// binary search within the entries index, shared by the instances of the same CRL
+				return CRLEntriesIndexCache.getInstance().getEntriesIndex(crlValidity.getCrlBinary()).getRevocationInfo(serialNumber);
+			} catch (IOException e) {
+				throw new DSSException(String.format("Unable to get revocation info. Reason : %s", e.getMessage()), e);
+			}
+		}
 		if (crl == null) {
 			try (InputStream is = crlValidity.toCRLInputStream()) {
 				crl = loadCRL(is);
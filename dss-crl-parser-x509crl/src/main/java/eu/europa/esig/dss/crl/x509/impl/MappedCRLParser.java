@@ -0,0 +1,254 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl.x509.impl;
+
+import eu.europa.esig.dss.crl.DERReader;
+import org.bouncycastle.asn1.ASN1BitString;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.ASN1TaggedObject;
+import org.bouncycastle.asn1.BERTags;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.Time;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * This class reads a DER encoded CRL (e.g. memory-mapped from a file) without building an {@code X509CRL},
+ * so the CRL content is not copied into the heap.
+ * <p>
+ * Only the requested fields are decoded. The revokedCertificates entries are skipped (see {@code CRLEntriesIndex}
+ * for the revocation status requests).
+ */
+class MappedCRLParser {
+
+	/** The DER encoded CRL */
+	private final DERReader crlReader;
+
+	/** The offset of the TBSCertList sequence */
+	private final int tbsCertListOffset;
+
+	/** The offset of the TBSCertList -> thisUpdate field */
+	private int thisUpdateOffset = -1;
+
+	/** The offset of the TBSCertList -> nextUpdate field, -1 if not present */
+	private int nextUpdateOffset = -1;
+
+	/** The offset of the TBSCertList -> crlExtensions field, -1 if not present */
+	private int crlExtensionsOffset = -1;
+
+	/** The offset of the TBSCertList -> issuer field */
+	private int issuerOffset = -1;
+
+	/** The parsed crlExtensions (lazily decoded) */
+	private Extensions crlExtensions;
+
+	/**
+	 * Default constructor, reads the structure of the CRL
+	 *
+	 * @param crlBinaries {@link ByteBuffer} with a DER encoded CRL (read from its position)
+	 * @throws IOException if the CRL structure is not valid
+	 */
+	MappedCRLParser(ByteBuffer crlBinaries) throws IOException {
+		this.crlReader = new DERReader(crlBinaries);
+		assertTag(0, BERTags.SEQUENCE | BERTags.CONSTRUCTED);
+		this.tbsCertListOffset = getContentOffset(0);
+		assertTag(tbsCertListOffset, BERTags.SEQUENCE | BERTags.CONSTRUCTED);
+		readTBSCertListStructure();
+	}
+
+	private void readTBSCertListStructure() throws IOException {
+		final int end = getEnd(tbsCertListOffset);
+		int offset = getContentOffset(tbsCertListOffset);
+
+		// version (optional)
+		if (offset < end && getTag(offset) == BERTags.INTEGER) {
+			offset = getEnd(offset);
+		}
+		// signature
+		offset = getEnd(offset);
+		// issuer
+		issuerOffset = offset;
+		offset = getEnd(offset);
+		// thisUpdate
+		thisUpdateOffset = offset;
+		offset = getEnd(offset);
+
+		while (offset < end) {
+			int tag = getTag(offset);
+			if (tag == BERTags.UTC_TIME || tag == BERTags.GENERALIZED_TIME) {
+				nextUpdateOffset = offset;
+			} else if (tag == (BERTags.CONTEXT_SPECIFIC | BERTags.CONSTRUCTED)) {
+				crlExtensionsOffset = offset;
+			}
+			offset = getEnd(offset);
+		}
+		if (thisUpdateOffset >= end) {
+			throw new IOException("Unable to read the TBSCertList : the thisUpdate field is missing!");
+		}
+	}
+
+	/**
+	 * Returns the TBSCertList sequence, being the signed data of the CRL, without copying the content
+	 *
+	 * @return {@link ByteBuffer}
+	 * @throws IOException if the CRL is truncated
+	 */
+	ByteBuffer getSignedData() throws IOException {
+		ByteBuffer signedData = crlReader.getBinaries();
+		signedData.position(tbsCertListOffset);
+		signedData.limit(getEnd(tbsCertListOffset));
+		return signedData.slice();
+	}
+
+	/**
+	 * Returns the CertificateList -> signatureAlgorithm
+	 *
+	 * @return {@link AlgorithmIdentifier}
+	 * @throws IOException if an error occurs on the CRL reading
+	 */
+	AlgorithmIdentifier getSignatureAlgorithm() throws IOException {
+		return AlgorithmIdentifier.getInstance(toASN1Primitive(getEnd(tbsCertListOffset)));
+	}
+
+	/**
+	 * Returns the CertificateList -> signatureValue
+	 *
+	 * @return byte array
+	 * @throws IOException if an error occurs on the CRL reading
+	 */
+	byte[] getSignatureValue() throws IOException {
+		int signatureValueOffset = getEnd(getEnd(tbsCertListOffset));
+		return ASN1BitString.getInstance(toASN1Primitive(signatureValueOffset)).getOctets();
+	}
+
+	/**
+	 * Returns the CRL issuer
+	 *
+	 * @return {@link X500Principal}
+	 * @throws IOException if an error occurs on the CRL reading
+	 */
+	X500Principal getIssuer() throws IOException {
+		return new X500Principal(copy(issuerOffset));
+	}
+
+	/**
+	 * Returns the thisUpdate date
+	 *
+	 * @return {@link Date}
+	 * @throws IOException if an error occurs on the CRL reading
+	 */
+	Date getThisUpdate() throws IOException {
+		return Time.getInstance(toASN1Primitive(thisUpdateOffset)).getDate();
+	}
+
+	/**
+	 * Returns the nextUpdate date, when present
+	 *
+	 * @return {@link Date}, or null if not present
+	 * @throws IOException if an error occurs on the CRL reading
+	 */
+	Date getNextUpdate() throws IOException {
+		if (nextUpdateOffset == -1) {
+			return null;
+		}
+		return Time.getInstance(toASN1Primitive(nextUpdateOffset)).getDate();
+	}
+
+	/**
+	 * Returns the OIDs of the critical crlExtensions, similarly to {@code X509CRL#getCriticalExtensionOIDs}
+	 *
+	 * @return a set of OIDs, or null if the CRL has no crlExtensions
+	 * @throws IOException if an error occurs on the CRL reading
+	 */
+	Set<String> getCriticalExtensionOIDs() throws IOException {
+		Extensions extensions = getCrlExtensions();
+		if (extensions == null) {
+			return null;
+		}
+		Set<String> oids = new HashSet<>();
+		for (ASN1ObjectIdentifier oid : extensions.getCriticalExtensionOIDs()) {
+			oids.add(oid.getId());
+		}
+		return oids;
+	}
+
+	/**
+	 * Returns the DER encoded OCTET STRING of the given extension, similarly to {@code X509CRL#getExtensionValue}
+	 *
+	 * @param oid {@link String} the extension OID
+	 * @return byte array, or null if the extension is not present
+	 * @throws IOException if an error occurs on the CRL reading
+	 */
+	byte[] getExtensionValue(String oid) throws IOException {
+		Extensions extensions = getCrlExtensions();
+		if (extensions == null) {
+			return null;
+		}
+		Extension extension = extensions.getExtension(new ASN1ObjectIdentifier(oid));
+		if (extension == null) {
+			return null;
+		}
+		return extension.getExtnValue().getEncoded();
+	}
+
+	private Extensions getCrlExtensions() throws IOException {
+		if (crlExtensions == null && crlExtensionsOffset != -1) {
+			ASN1TaggedObject taggedObject = ASN1TaggedObject.getInstance(toASN1Primitive(crlExtensionsOffset));
+			crlExtensions = Extensions.getInstance(taggedObject, true);
+		}
+		return crlExtensions;
+	}
+
+	private ASN1Primitive toASN1Primitive(int offset) throws IOException {
+		return ASN1Primitive.fromByteArray(copy(offset));
+	}
+
+	private byte[] copy(int offset) throws IOException {
+		return crlReader.copy(offset);
+	}
+
+	private void assertTag(int offset, int expectedTag) throws IOException {
+		if (getTag(offset) != expectedTag) {
+			throw new IOException(String.format("Unable to read the CRL : unexpected tag at offset %s!", offset));
+		}
+	}
+
+	private int getTag(int offset) throws IOException {
+		return crlReader.getTag(offset);
+	}
+
+	private int getContentOffset(int offset) throws IOException {
+		return crlReader.getContentOffset(offset);
+	}
+
+	private int getEnd(int offset) throws IOException {
+		return crlReader.getEnd(offset);
+	}
+
+}
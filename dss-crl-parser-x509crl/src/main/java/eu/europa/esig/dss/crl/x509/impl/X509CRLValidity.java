@@ -24,7 +24,6 @@ import eu.europa.esig.dss.crl.CRLBinary;
 import eu.europa.esig.dss.crl.CRLValidity;
 
 import java.security.cert.X509CRL;
-import java.util.Objects;
 
 /**
  * The java.security.cert.X509CRL extension of {@code CRLValidity}
@@ -32,9 +31,18 @@ import java.util.Objects;
 public class X509CRLValidity extends CRLValidity {
 
 	/**
-	 * The {@code X509CRL} object
+	 * The estimated ratio between the heap memory retained by a parsed {@code X509CRL} and its encoded size
+	 * (the JDK implementation keeps the encoding together with an object per revoked certificate)
 	 */
-	private X509CRL x509CRL;
+	private static final int X509CRL_WEIGHT_RATIO = 12;
+
+	/** The estimated heap memory retained by a parsed {@code X509CRL} independently of its size */
+	private static final long X509CRL_BASE_WEIGHT = 16 * 1024;
+
+	/**
+	 * The {@code X509CRL} object (not serialized, the CRL is re-loaded from the binaries when needed)
+	 */
+	private transient X509CRL x509CRL;
 	
 	/**
 	 * Default constructor
@@ -63,22 +71,25 @@ public class X509CRLValidity extends CRLValidity {
 		x509CRL = x509crl;
 	}
 
+	@Override
+	public long getParsedCRLWeight() {
+		if (x509CRL == null) {
+			return 0;
+		}
+		return X509CRL_BASE_WEIGHT + (long) X509CRL_WEIGHT_RATIO * getCrlBinary().getLength();
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
 		if (!(o instanceof X509CRLValidity)) return false;
-		if (!super.equals(o)) return false;
-
-		X509CRLValidity that = (X509CRLValidity) o;
-
-		return Objects.equals(x509CRL, that.x509CRL);
+		// the X509CRL is built from the CRL binaries compared by the parent class
+		return super.equals(o);
 	}
 
 	@Override
 	public int hashCode() {
-		int result = super.hashCode();
-		result = 31 * result + (x509CRL != null ? x509CRL.hashCode() : 0);
-		return result;
+		return super.hashCode();
 	}
 
 }
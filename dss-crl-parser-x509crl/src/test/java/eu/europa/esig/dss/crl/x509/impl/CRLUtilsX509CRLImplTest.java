@@ -21,6 +21,27 @@
 package eu.europa.esig.dss.crl.x509.impl;
 
 import eu.europa.esig.dss.crl.AbstractTestCRLUtils;
+import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.CertificateList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 class CRLUtilsX509CRLImplTest extends AbstractTestCRLUtils {
 
@@ -29,4 +50,28 @@ class CRLUtilsX509CRLImplTest extends AbstractTestCRLUtils {
 		// disabled (memory chrash)
 	}
 
+	@Test
+	void memoryMappedCRLWithUnknownSignatureAlgorithm(@TempDir Path tempDir) throws Exception {
+		try (InputStream is = CRLUtilsX509CRLImplTest.class.getResourceAsStream("/belgium2.crl");
+				InputStream isCer = CRLUtilsX509CRLImplTest.class.getResourceAsStream("/belgiumrs2.crt")) {
+			CertificateToken certificateToken = loadCert(isCer);
+			CertificateList certificateList = CertificateList.getInstance(toByteArray(is));
+			ASN1EncodableVector vector = new ASN1EncodableVector();
+			vector.add(certificateList.getTBSCertList());
+			vector.add(new AlgorithmIdentifier(new ASN1ObjectIdentifier("1.2.3.4.5")));
+			vector.add(certificateList.getSignature());
+
+			File crlFile = tempDir.resolve("unknown-algorithm.crl").toFile();
+			Files.write(crlFile.toPath(), new DERSequence(vector).getEncoded(ASN1Encoding.DER));
+
+			CRLValidity validity = CRLUtils.buildCRLValidity(new CRLBinary(crlFile), certificateToken);
+			assertNotNull(validity);
+			assertNull(validity.getSignatureAlgorithm());
+			assertFalse(validity.isSignatureIntact());
+			assertFalse(validity.isValid());
+			assertNotNull(validity.getSignatureInvalidityReason());
+			assertNotNull(validity.getThisUpdate());
+		}
+	}
+
 }
@@ -36,6 +36,7 @@ import org.bouncycastle.asn1.x509.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.math.BigInteger;
 
 /**
@@ -151,17 +152,37 @@ public abstract class AbstractCRLUtils {
 	protected void extractCrlNumber(CRLValidity crlValidity, byte[] extensionContent) {
 		if (extensionContent != null) {
 			try {
-				ASN1OctetString octetString = (ASN1OctetString) ASN1Primitive.fromByteArray(extensionContent);
-				// The extension content from CRLInfo is the INTEGER
-				ASN1Primitive primitive = ASN1Primitive.fromByteArray(octetString.getOctets());
-				if (primitive instanceof ASN1Integer) {
-					BigInteger crlNumber = ((ASN1Integer) primitive).getPositiveValue();
-					crlValidity.setCRLNumber(crlNumber);
-				}
+				crlValidity.setCRLNumber(getIntegerExtensionValue(extensionContent));
 			} catch (Exception e) {
 				LOG.warn("Unable to extract CRL Number extension : {}", e.getMessage(), e);
 			}
 		}
 	}
 
+	/**
+	 * Extracts the Delta CRL Indicator extension and sets the base CRL number in the CRLValidity object.
+	 *
+	 * @param crlValidity the {@link CRLValidity} object to populate
+	 * @param extensionContent the raw extension content from CRLInfo
+	 */
+	protected void extractDeltaCRLIndicator(CRLValidity crlValidity, byte[] extensionContent) {
+		if (extensionContent != null) {
+			try {
+				crlValidity.setBaseCRLNumber(getIntegerExtensionValue(extensionContent));
+			} catch (Exception e) {
+				LOG.warn("Unable to extract Delta CRL Indicator extension : {}", e.getMessage(), e);
+			}
+		}
+	}
+
+	private BigInteger getIntegerExtensionValue(byte[] extensionContent) throws IOException {
+		ASN1OctetString octetString = (ASN1OctetString) ASN1Primitive.fromByteArray(extensionContent);
+		// The extension content from CRLInfo is the INTEGER
+		ASN1Primitive primitive = ASN1Primitive.fromByteArray(octetString.getOctets());
+		if (primitive instanceof ASN1Integer) {
+			return ((ASN1Integer) primitive).getPositiveValue();
+		}
+		return null;
+	}
+
 }
@@ -0,0 +1,105 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * An {@code InputStream} reading the remaining content of a {@code ByteBuffer}.
+ * Supports mark/reset methods.
+ */
+public class ByteBufferInputStream extends InputStream {
+
+	/** The buffer to read */
+	private final ByteBuffer byteBuffer;
+
+	/** The marked position */
+	private int mark;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param byteBuffer {@link ByteBuffer} to read from its current position
+	 */
+	public ByteBufferInputStream(ByteBuffer byteBuffer) {
+		Objects.requireNonNull(byteBuffer, "ByteBuffer cannot be null!");
+		this.byteBuffer = byteBuffer;
+		this.mark = byteBuffer.position();
+	}
+
+	@Override
+	public int read() {
+		if (!byteBuffer.hasRemaining()) {
+			return -1;
+		}
+		return byteBuffer.get() & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) {
+		Objects.requireNonNull(b, "Byte array cannot be null!");
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (len == 0) {
+			return 0;
+		}
+		if (!byteBuffer.hasRemaining()) {
+			return -1;
+		}
+		int nbBytes = Math.min(len, byteBuffer.remaining());
+		byteBuffer.get(b, off, nbBytes);
+		return nbBytes;
+	}
+
+	@Override
+	public long skip(long n) {
+		if (n <= 0) {
+			return 0;
+		}
+		int nbBytes = (int) Math.min(n, byteBuffer.remaining());
+		byteBuffer.position(byteBuffer.position() + nbBytes);
+		return nbBytes;
+	}
+
+	@Override
+	public int available() {
+		return byteBuffer.remaining();
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public synchronized void mark(int readLimit) {
+		mark = byteBuffer.position();
+	}
+
+	@Override
+	public synchronized void reset() {
+		byteBuffer.position(mark);
+	}
+
+}
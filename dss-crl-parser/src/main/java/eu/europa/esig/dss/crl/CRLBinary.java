@@ -20,16 +20,45 @@
  */
 package eu.europa.esig.dss.crl;
 
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.model.identifier.EncapsulatedRevocationTokenIdentifier;
 import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
 /**
  * This class represents DER encoded CRL Binary identifier
+ * <p>
+ * The binaries are either kept in memory, or memory-mapped from a file (see {@code #CRLBinary(File)}).
+ * In the latter case, the CRL content is not loaded into the heap, unless {@code #getBinaries} method is called.
+ * Consumers should prefer {@code #toByteBuffer} and {@code #openStream} methods to access the CRL content.
  *
  */
 public class CRLBinary extends EncapsulatedRevocationTokenIdentifier<CRL> {
 
 	private static final long serialVersionUID = 3365111934665055383L;
+
+	/**
+	 * The DER encoded CRL file, when the binaries are memory-mapped.
+	 * Not serialized : a memory-mapped CRL is serialized with its binaries (see {@code #writeReplace}).
+	 */
+	private final transient File derEncodedFile;
+
+	/** The memory-mapped content of the file (re-mapped on demand after a deserialization) */
+	private transient volatile ByteBuffer mappedBinaries;
+
+	/** The heap copy of the memory-mapped content, kept until reclaimed by the garbage collector */
+	private transient volatile SoftReference<byte[]> cachedBinaries;
 	
 	/**
 	 * The default constructor, accepts DER encoded binaries
@@ -38,6 +67,142 @@ public class CRLBinary extends EncapsulatedRevocationTokenIdentifier<CRL> {
 	 */
 	public CRLBinary(byte[] derEncoded) {
 		super(derEncoded);
+		this.derEncodedFile = null;
+	}
+
+	/**
+	 * Constructor to memory-map a file containing a DER encoded CRL.
+	 * <p>
+	 * NOTE: the file shall not be modified while the object is in use. To update the content,
+	 * the file shall be replaced (e.g. with an atomic move).
+	 *
+	 * @param derEncodedFile {@link File} containing DER encoded CRL
+	 */
+	public CRLBinary(File derEncodedFile) {
+		this(derEncodedFile, map(derEncodedFile));
+	}
+
+	private CRLBinary(File derEncodedFile, ByteBuffer mappedBinaries) {
+		super(REVOCATION_ID_PREFIX, new Digest(DIGEST_ALGO, digest(DIGEST_ALGO, mappedBinaries.duplicate())));
+		this.derEncodedFile = derEncodedFile;
+		this.mappedBinaries = mappedBinaries;
+	}
+
+	/**
+	 * Returns whether the CRL binaries are memory-mapped from a file
+	 *
+	 * @return TRUE if the CRL is memory-mapped, FALSE if the binaries are kept in memory
+	 */
+	public boolean isMemoryMapped() {
+		return derEncodedFile != null;
+	}
+
+	/**
+	 * Gets the DER encoded CRL binaries.
+	 * <p>
+	 * NOTE: for a memory-mapped CRL, the content is copied into the heap on the first call
+	 * and softly cached, so it may be released under memory pressure.
+	 *
+	 * @return byte array
+	 */
+	@Override
+	public byte[] getBinaries() {
+		if (!isMemoryMapped()) {
+			return super.getBinaries();
+		}
+		SoftReference<byte[]> reference = cachedBinaries;
+		byte[] binaries = reference != null ? reference.get() : null;
+		if (binaries == null) {
+			ByteBuffer byteBuffer = toByteBuffer();
+			binaries = new byte[byteBuffer.remaining()];
+			byteBuffer.get(binaries);
+			cachedBinaries = new SoftReference<>(binaries);
+		}
+		return binaries;
+	}
+
+	/**
+	 * Returns the length of the DER encoded CRL, without copying the content
+	 *
+	 * @return the number of bytes
+	 */
+	public int getLength() {
+		if (!isMemoryMapped()) {
+			return super.getBinaries().length;
+		}
+		return toByteBuffer().remaining();
+	}
+
+	/**
+	 * Returns a new read-only {@code ByteBuffer} over the DER encoded CRL, without copying the content
+	 *
+	 * @return {@link ByteBuffer}
+	 */
+	public ByteBuffer toByteBuffer() {
+		if (!isMemoryMapped()) {
+			return ByteBuffer.wrap(super.getBinaries()).asReadOnlyBuffer();
+		}
+		ByteBuffer byteBuffer = mappedBinaries;
+		if (byteBuffer == null) {
+			byteBuffer = map(derEncodedFile);
+			mappedBinaries = byteBuffer;
+		}
+		return byteBuffer.duplicate();
+	}
+
+	/**
+	 * Opens an {@code InputStream} over the DER encoded CRL, without copying the content
+	 *
+	 * @return {@link InputStream}
+	 */
+	public InputStream openStream() {
+		return new ByteBufferInputStream(toByteBuffer());
+	}
+
+	@Override
+	protected byte[] computeDigestValue(DigestAlgorithm digestAlgorithm) {
+		if (!isMemoryMapped()) {
+			return super.computeDigestValue(digestAlgorithm);
+		}
+		return digest(digestAlgorithm, toByteBuffer());
+	}
+
+	/**
+	 * Replaces a memory-mapped CRL by an in-memory copy on serialization, so the serialized form
+	 * does not depend on a local file path
+	 *
+	 * @return the object to be serialized
+	 */
+	protected Object writeReplace() {
+		if (isMemoryMapped()) {
+			return new CRLBinary(getBinaries());
+		}
+		return this;
+	}
+
+	private static byte[] digest(DigestAlgorithm digestAlgorithm, ByteBuffer byteBuffer) {
+		try {
+			MessageDigest messageDigest = digestAlgorithm.getMessageDigest();
+			messageDigest.update(byteBuffer);
+			return messageDigest.digest();
+		} catch (NoSuchAlgorithmException e) {
+			throw new DSSException("Unable to create a MessageDigest for algorithm " + digestAlgorithm, e);
+		}
+	}
+
+	private static ByteBuffer map(File file) {
+		try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = fileChannel.size();
+			if (size == 0) {
+				throw new DSSException("Unsupported CRL. The obtained CRL content is empty!");
+			}
+			if (size > Integer.MAX_VALUE) {
+				throw new DSSException(String.format("The CRL file '%s' is too large to be mapped!", file.getName()));
+			}
+			return fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to map the CRL file '%s' : %s", file.getName(), e.getMessage()), e);
+		}
 	}
 
 }
@@ -0,0 +1,293 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl;
+
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.BERTags;
+import org.bouncycastle.asn1.x509.TBSCertList.CRLEntry;
+import org.bouncycastle.jce.provider.X509CRLEntryObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.cert.X509CRLEntry;
+import java.util.Arrays;
+
+/**
+ * This class represents an index of the revokedCertificates entries of a DER encoded CRL,
+ * allowing to retrieve an entry by a certificate serial number with a binary search.
+ * <p>
+ * The index does not copy the CRL content, but only keeps the offsets of the entries within
+ * the CRL binaries, sorted by the serial numbers.
+ */
+public class CRLEntriesIndex {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CRLEntriesIndex.class);
+
+	/** The DER encoded CRL */
+	private final DERReader crlReader;
+
+	/** Offsets of the revokedCertificates entries within the CRL, sorted by their serial numbers */
+	private final int[] entryOffsets;
+
+	/**
+	 * The constructor from the located entries
+	 *
+	 * @param crlReader {@link DERReader} over the DER encoded CRL
+	 * @param entryOffsets offsets of the revokedCertificates entries within the CRL
+	 * @param size number of entries within {@code entryOffsets} array
+	 * @throws IOException if an entry is truncated
+	 */
+	private CRLEntriesIndex(DERReader crlReader, int[] entryOffsets, int size) throws IOException {
+		this.crlReader = crlReader;
+		this.entryOffsets = Arrays.copyOf(entryOffsets, size);
+		for (int entryOffset : this.entryOffsets) {
+			// validates the entry and its serial number once, before sorting
+			crlReader.getEnd(getSerialNumberOffset(entryOffset));
+		}
+		sort(this.entryOffsets);
+	}
+
+	/**
+	 * Parses the CRL structure and builds the index of its revokedCertificates entries
+	 *
+	 * @param crlBinaries {@link ByteBuffer} with a DER encoded CRL (read from its position)
+	 * @return {@link CRLEntriesIndex}
+	 * @throws IOException if the CRL structure is not valid
+	 */
+	public static CRLEntriesIndex build(ByteBuffer crlBinaries) throws IOException {
+		final DERReader reader = new DERReader(crlBinaries);
+		int[] entryOffsets = new int[16];
+		int size = 0;
+
+		final int revokedCertificatesOffset = getRevokedCertificatesOffset(reader);
+		if (revokedCertificatesOffset != -1) {
+			final int end = reader.getEnd(revokedCertificatesOffset);
+			int entryOffset = reader.getContentOffset(revokedCertificatesOffset);
+			while (entryOffset < end) {
+				// SEQUENCE starting with the SerialNumber
+				if (reader.getTag(entryOffset) == (BERTags.SEQUENCE | BERTags.CONSTRUCTED)
+						&& reader.getContentLength(entryOffset) > 0
+						&& reader.getTag(reader.getContentOffset(entryOffset)) == BERTags.INTEGER) {
+					if (size == entryOffsets.length) {
+						entryOffsets = Arrays.copyOf(entryOffsets, size * 2);
+					}
+					entryOffsets[size++] = entryOffset;
+				} else {
+					LOG.debug("Should only contain SEQUENCEs of revoked certificates : tag = {} (ignored)",
+							reader.getTag(entryOffset));
+				}
+				entryOffset = reader.getEnd(entryOffset);
+			}
+		}
+
+		LOG.debug("CRL entries index built with {} entries", size);
+		return new CRLEntriesIndex(reader, entryOffsets, size);
+	}
+
+	/**
+	 * Returns the offset of the TBSCertList -> revokedCertificates sequence, -1 if not present
+	 */
+	private static int getRevokedCertificatesOffset(DERReader reader) throws IOException {
+		if (reader.getTag(0) != (BERTags.SEQUENCE | BERTags.CONSTRUCTED) || reader.getEnd(0) != reader.getLength()) {
+			throw new IOException("Unable to read the CRL : the CertificateList is not a DER encoded SEQUENCE!");
+		}
+		final int tbsCertListOffset = reader.getContentOffset(0);
+		final int end = reader.getEnd(tbsCertListOffset);
+		int offset = reader.getContentOffset(tbsCertListOffset);
+
+		// skip all before the mandatory thisUpdate (version, signature, issuer)
+		while (offset < end && !isDate(reader.getTag(offset))) {
+			offset = reader.getEnd(offset);
+		}
+		if (offset >= end) {
+			throw new IOException("Unable to read the TBSCertList : the thisUpdate field is missing!");
+		}
+		offset = reader.getEnd(offset);
+
+		// nextUpdate (optional)
+		if (offset < end && isDate(reader.getTag(offset))) {
+			offset = reader.getEnd(offset);
+		}
+		// revokedCertificates (optional)
+		if (offset < end && reader.getTag(offset) == (BERTags.SEQUENCE | BERTags.CONSTRUCTED)) {
+			return offset;
+		}
+		return -1;
+	}
+
+	private static boolean isDate(int tag) {
+		return tag == BERTags.UTC_TIME || tag == BERTags.GENERALIZED_TIME;
+	}
+
+	/**
+	 * Returns the number of indexed entries
+	 *
+	 * @return number of entries
+	 */
+	public int size() {
+		return entryOffsets.length;
+	}
+
+	/**
+	 * Returns an estimation of the heap memory retained by the index, including the CRL binaries
+	 * when they are not memory-mapped
+	 *
+	 * @return the number of bytes
+	 */
+	public long getWeight() {
+		ByteBuffer binaries = crlReader.getBinaries();
+		long weight = 4L * entryOffsets.length;
+		if (!binaries.isDirect()) {
+			weight += binaries.capacity();
+		}
+		return weight;
+	}
+
+	/**
+	 * Returns the revocation entry for the given {@code serialNumber}
+	 *
+	 * @param serialNumber {@link BigInteger} the certificate's serial number
+	 * @return {@link X509CRLEntry} with the revocation date, the reason,... or null if the serial number is not present
+	 *         in the CRL
+	 * @throws IOException if an entry cannot be read
+	 */
+	public X509CRLEntry getRevocationInfo(BigInteger serialNumber) throws IOException {
+		final ByteBuffer serialNumberBinaries = ByteBuffer.wrap(serialNumber.toByteArray());
+
+		int low = 0;
+		int high = entryOffsets.length - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int serialOffset = getSerialNumberOffset(entryOffsets[middle]);
+			int result = compare(crlReader.getBinaries(), crlReader.getContentOffset(serialOffset), crlReader.getContentLength(serialOffset),
+					serialNumberBinaries, 0, serialNumberBinaries.limit());
+			if (result < 0) {
+				low = middle + 1;
+			} else if (result > 0) {
+				high = middle - 1;
+			} else {
+				// return the first entry in case of duplicates, similarly to the sequential parsing
+				while (middle > 0 && compareEntries(entryOffsets[middle - 1], entryOffsets[middle]) == 0) {
+					--middle;
+				}
+				return buildCRLEntry(entryOffsets[middle]);
+			}
+		}
+		return null;
+	}
+
+	private X509CRLEntry buildCRLEntry(int entryOffset) throws IOException {
+		byte[] entryBinaries = crlReader.copy(entryOffset);
+		return new X509CRLEntryObject(CRLEntry.getInstance(ASN1Sequence.getInstance(entryBinaries)));
+	}
+
+	private int getSerialNumberOffset(int entryOffset) throws IOException {
+		// CRL entry SEQUENCE content starts with the serial number INTEGER
+		return crlReader.getContentOffset(entryOffset);
+	}
+
+	private int compareEntries(int firstEntryOffset, int secondEntryOffset) throws IOException {
+		int firstSerialOffset = getSerialNumberOffset(firstEntryOffset);
+		int secondSerialOffset = getSerialNumberOffset(secondEntryOffset);
+		ByteBuffer binaries = crlReader.getBinaries();
+		return compare(binaries, crlReader.getContentOffset(firstSerialOffset), crlReader.getContentLength(firstSerialOffset),
+				binaries, crlReader.getContentOffset(secondSerialOffset), crlReader.getContentLength(secondSerialOffset));
+	}
+
+	/**
+	 * Compares two two's-complement big-endian integers, without creating intermediate objects
+	 * for non-negative values. The ranges shall be checked by the caller.
+	 */
+	private static int compare(ByteBuffer first, int firstOffset, int firstLength,
+							   ByteBuffer second, int secondOffset, int secondLength) {
+		boolean firstNegative = firstLength > 0 && first.get(firstOffset) < 0;
+		boolean secondNegative = secondLength > 0 && second.get(secondOffset) < 0;
+		if (firstNegative || secondNegative) {
+			if (firstNegative != secondNegative) {
+				return firstNegative ? -1 : 1;
+			}
+			// negative serial numbers are not allowed by RFC 5280, use a generic comparison
+			return new BigInteger(copyOfRange(first, firstOffset, firstOffset + firstLength)).compareTo(
+					new BigInteger(copyOfRange(second, secondOffset, secondOffset + secondLength)));
+		}
+
+		// skip leading zeros
+		while (firstLength > 0 && first.get(firstOffset) == 0) {
+			++firstOffset;
+			--firstLength;
+		}
+		while (secondLength > 0 && second.get(secondOffset) == 0) {
+			++secondOffset;
+			--secondLength;
+		}
+		if (firstLength != secondLength) {
+			return firstLength < secondLength ? -1 : 1;
+		}
+		for (int i = 0; i < firstLength; i++) {
+			int diff = (first.get(firstOffset + i) & 0xff) - (second.get(secondOffset + i) & 0xff);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return 0;
+	}
+
+	private static byte[] copyOfRange(ByteBuffer byteBuffer, int from, int to) {
+		byte[] result = new byte[to - from];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = byteBuffer.get(from + i);
+		}
+		return result;
+	}
+
+	/**
+	 * Stable (bottom-up merge) sort of the entry offsets by their serial numbers
+	 */
+	private void sort(int[] offsets) throws IOException {
+		int[] source = offsets;
+		int[] target = new int[offsets.length];
+		for (int width = 1; width < source.length; width *= 2) {
+			for (int low = 0; low < source.length; low += 2 * width) {
+				int middle = Math.min(low + width, source.length);
+				int high = Math.min(low + 2 * width, source.length);
+				int i = low;
+				int j = middle;
+				for (int k = low; k < high; k++) {
+					if (i < middle && (j >= high || compareEntries(source[i], source[j]) <= 0)) {
+						target[k] = source[i++];
+					} else {
+						target[k] = source[j++];
+					}
+				}
+			}
+			int[] tmp = source;
+			source = target;
+			target = tmp;
+		}
+		if (source != offsets) {
+			System.arraycopy(source, 0, offsets, 0, offsets.length);
+		}
+	}
+
+}
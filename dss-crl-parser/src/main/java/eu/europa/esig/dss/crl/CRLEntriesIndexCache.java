@@ -0,0 +1,146 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class keeps the {@code CRLEntriesIndex} built for a CRL, identified by the digest of its binaries.
+ * <p>
+ * The revocation sources usually create a new {@code CRLBinary} and {@code CRLValidity} for every request
+ * (e.g. when the CRL is downloaded or loaded from a cache), so the index is shared between all the instances
+ * of the same CRL.
+ * <p>
+ * The cache is bounded by the heap memory retained by the indexes (see {@code CRLEntriesIndex#getWeight}),
+ * which includes the binaries of the CRLs which are not memory-mapped. The least recently used indexes are
+ * evicted first. The maximum weight can be configured with {@code #setMaximumWeight}, 0 disables the cache.
+ */
+public class CRLEntriesIndexCache {
+
+	/** The default maximum weight of the cache, in bytes */
+	public static final long DEFAULT_MAXIMUM_WEIGHT = 64L * 1024 * 1024;
+
+	/** The cache shared by the CRL utils implementations */
+	private static final CRLEntriesIndexCache INSTANCE = new CRLEntriesIndexCache();
+
+	/** The indexes by CRL identifiers, ordered from the least to the most recently used */
+	private final Map<String, CRLEntriesIndex> indexes = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** The maximum weight of the kept indexes, in bytes */
+	private long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+
+	/** The current weight of the kept indexes, in bytes */
+	private long weight;
+
+	/**
+	 * Default constructor instantiating a cache with the {@code DEFAULT_MAXIMUM_WEIGHT}
+	 */
+	public CRLEntriesIndexCache() {
+		// empty
+	}
+
+	/**
+	 * Returns the cache shared by the CRL utils implementations
+	 *
+	 * @return {@link CRLEntriesIndexCache}
+	 */
+	public static CRLEntriesIndexCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Sets the maximum heap memory retained by the kept indexes, in bytes.
+	 * An index heavier than the maximum weight is not kept. 0 disables the cache.
+	 * <p>
+	 * Default : {@code DEFAULT_MAXIMUM_WEIGHT} (64 MB)
+	 *
+	 * @param maximumWeight the maximum weight in bytes
+	 */
+	public synchronized void setMaximumWeight(long maximumWeight) {
+		if (maximumWeight < 0) {
+			throw new IllegalArgumentException("The maximum weight cannot be negative!");
+		}
+		this.maximumWeight = maximumWeight;
+		evict();
+	}
+
+	/**
+	 * Returns the current heap memory retained by the kept indexes, in bytes
+	 *
+	 * @return the weight in bytes
+	 */
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Removes all the kept indexes
+	 */
+	public synchronized void clear() {
+		indexes.clear();
+		weight = 0;
+	}
+
+	/**
+	 * Gets the index of the revokedCertificates entries of the given CRL, builds it when not available yet
+	 *
+	 * @param crlBinary {@link CRLBinary} the CRL
+	 * @return {@link CRLEntriesIndex}
+	 * @throws IOException if an error occurs on the CRL parsing
+	 */
+	public CRLEntriesIndex getEntriesIndex(CRLBinary crlBinary) throws IOException {
+		final String key = crlBinary.asXmlId();
+		CRLEntriesIndex index = get(key);
+		if (index == null) {
+			index = CRLEntriesIndex.build(crlBinary.toByteBuffer());
+			synchronized (this) {
+				// keep the index built concurrently by another thread, if any
+				CRLEntriesIndex existingIndex = indexes.get(key);
+				if (existingIndex != null) {
+					return existingIndex;
+				}
+				long indexWeight = index.getWeight();
+				if (indexWeight <= maximumWeight) {
+					indexes.put(key, index);
+					weight += indexWeight;
+					evict();
+				}
+			}
+		}
+		return index;
+	}
+
+	private synchronized CRLEntriesIndex get(String key) {
+		return indexes.get(key);
+	}
+
+	private void evict() {
+		Iterator<CRLEntriesIndex> iterator = indexes.values().iterator();
+		while (weight > maximumWeight && iterator.hasNext()) {
+			weight -= iterator.next().getWeight();
+			iterator.remove();
+		}
+	}
+
+}
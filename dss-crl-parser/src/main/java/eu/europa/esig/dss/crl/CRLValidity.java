@@ -24,7 +24,6 @@ import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import org.bouncycastle.asn1.x509.ReasonFlags;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.math.BigInteger;
@@ -93,6 +92,9 @@ public class CRLValidity implements Serializable {
 
 	/** The CRL Number extension value */
 	private BigInteger crlNumber;
+
+	/** The Delta CRL Indicator extension value (the number of the base CRL), present only for a delta CRL */
+	private BigInteger baseCRLNumber;
 	
 	/**
 	 * Default constructor
@@ -122,13 +124,23 @@ public class CRLValidity implements Serializable {
 		return crlBinary.getBinaries();
 	}
 
+	/**
+	 * Returns an estimation of the heap memory retained by the parsed CRL kept within the object,
+	 * in addition to the CRL binaries. The CRL is not kept parsed by default.
+	 *
+	 * @return the number of bytes
+	 */
+	public long getParsedCRLWeight() {
+		return 0;
+	}
+
 	/**
 	 * Opens the InputStream with the CRL's binaries
 	 *
 	 * @return {@link InputStream}
 	 */
 	public InputStream toCRLInputStream() {
-		return new ByteArrayInputStream(getDerEncoded());
+		return crlBinary.openStream();
 	}
 
 	/**
@@ -203,6 +215,34 @@ public class CRLValidity implements Serializable {
 		this.crlNumber = crlNumber;
 	}
 
+	/**
+	 * Gets the Delta CRL Indicator extension value, defining the number of the complete CRL
+	 * used as a base for the delta CRL
+	 *
+	 * @return {@link BigInteger} base CRL Number, or null if the CRL is not a delta CRL
+	 */
+	public BigInteger getBaseCRLNumber() {
+		return baseCRLNumber;
+	}
+
+	/**
+	 * Sets the Delta CRL Indicator extension value
+	 *
+	 * @param baseCRLNumber {@link BigInteger} base CRL Number
+	 */
+	public void setBaseCRLNumber(BigInteger baseCRLNumber) {
+		this.baseCRLNumber = baseCRLNumber;
+	}
+
+	/**
+	 * Checks if the CRL is a delta CRL (contains the Delta CRL Indicator extension)
+	 *
+	 * @return TRUE if the CRL is a delta CRL, FALSE otherwise
+	 */
+	public boolean isDeltaCRL() {
+		return baseCRLNumber != null;
+	}
+
 	/**
 	 * Gets the 'expiredCertsOnCRL' field Date
 	 *
@@ -397,6 +437,22 @@ public class CRLValidity implements Serializable {
 		this.onlyAttributeCerts = onlyAttributeCerts;
 	}
 
+	/**
+	 * Checks whether the given CRL covers the same scope as the current CRL, i.e. both CRLs
+	 * define the same Issuing Distribution Point extension values (see RFC 5280, 5.2.4)
+	 *
+	 * @param crlValidity {@link CRLValidity} to compare the scope with
+	 * @return TRUE if both CRLs have the same scope, FALSE otherwise
+	 */
+	public boolean isSameScope(CRLValidity crlValidity) {
+		return onlyUserCerts == crlValidity.onlyUserCerts
+				&& onlyCaCerts == crlValidity.onlyCaCerts
+				&& onlyAttributeCerts == crlValidity.onlyAttributeCerts
+				&& indirectCrl == crlValidity.indirectCrl
+				&& Objects.equals(onlySomeReasonFlags, crlValidity.onlySomeReasonFlags)
+				&& Objects.equals(url, crlValidity.url);
+	}
+
 	/**
 	 * Checks if the collection of critical extension OIDs is not empty
 	 *
@@ -467,7 +523,8 @@ public class CRLValidity implements Serializable {
 			return false;
 		if (!Objects.equals(nextUpdate, that.nextUpdate)) return false;
 		if (!Objects.equals(thisUpdate, that.thisUpdate)) return false;
-		return Objects.equals(crlNumber, that.crlNumber);
+		if (!Objects.equals(crlNumber, that.crlNumber)) return false;
+		return Objects.equals(baseCRLNumber, that.baseCRLNumber);
 	}
 
 	@Override
@@ -490,6 +547,7 @@ public class CRLValidity implements Serializable {
 		result = 31 * result + (nextUpdate != null ? nextUpdate.hashCode() : 0);
 		result = 31 * result + (thisUpdate != null ? thisUpdate.hashCode() : 0);
 		result = 31 * result + (crlNumber != null ? crlNumber.hashCode() : 0);
+		result = 31 * result + (baseCRLNumber != null ? baseCRLNumber.hashCode() : 0);
 		return result;
 	}
 
@@ -0,0 +1,185 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Reads the DER encoded elements (TLV) of a {@code ByteBuffer} by their absolute offsets, without copying the content.
+ * <p>
+ * All the offsets and lengths are checked against the buffer limit, so a truncated or corrupted content
+ * results in an {@code IOException} instead of reading outside the element.
+ * Only single byte tags and definite lengths encoded on up to 4 bytes are supported, as required for a DER encoded CRL.
+ */
+public class DERReader {
+
+	/** The DER encoded content */
+	private final ByteBuffer binaries;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param binaries {@link ByteBuffer} with a DER encoded content (read from its position)
+	 */
+	public DERReader(ByteBuffer binaries) {
+		Objects.requireNonNull(binaries, "ByteBuffer cannot be null!");
+		this.binaries = binaries.slice();
+	}
+
+	/**
+	 * Returns the DER encoded content, with offsets relative to the position of the original buffer
+	 *
+	 * @return {@link ByteBuffer}
+	 */
+	public ByteBuffer getBinaries() {
+		return binaries.duplicate();
+	}
+
+	/**
+	 * Returns the length of the DER encoded content
+	 *
+	 * @return the number of bytes
+	 */
+	public int getLength() {
+		return binaries.limit();
+	}
+
+	/**
+	 * Returns the byte at the given offset
+	 *
+	 * @param offset the offset within the content
+	 * @return the byte value
+	 * @throws IOException if the offset is out of the content
+	 */
+	public byte get(int offset) throws IOException {
+		checkOffset(offset);
+		return binaries.get(offset);
+	}
+
+	/**
+	 * Returns the tag of the element starting at the given offset
+	 *
+	 * @param offset the offset of the element
+	 * @return the tag value
+	 * @throws IOException if the offset is out of the content
+	 */
+	public int getTag(int offset) throws IOException {
+		return get(offset) & 0xff;
+	}
+
+	/**
+	 * Returns the offset of the content (value) of the element starting at the given offset
+	 *
+	 * @param offset the offset of the element
+	 * @return the offset of the element content
+	 * @throws IOException if the element header is truncated or not supported
+	 */
+	public int getContentOffset(int offset) throws IOException {
+		int lengthByte = get(offset + 1) & 0xff;
+		if (lengthByte < 0x80) {
+			return offset + 2;
+		}
+		return offset + 2 + getNumberOfLengthBytes(lengthByte);
+	}
+
+	/**
+	 * Returns the length of the content (value) of the element starting at the given offset
+	 *
+	 * @param offset the offset of the element
+	 * @return the length of the element content
+	 * @throws IOException if the element is truncated or its length encoding is not supported
+	 */
+	public int getContentLength(int offset) throws IOException {
+		int lengthByte = get(offset + 1) & 0xff;
+		long length;
+		if (lengthByte < 0x80) {
+			length = lengthByte;
+		} else {
+			int nbBytes = getNumberOfLengthBytes(lengthByte);
+			length = 0;
+			for (int i = 0; i < nbBytes; i++) {
+				length = (length << 8) | (get(offset + 2 + i) & 0xff);
+			}
+		}
+		if (getContentOffset(offset) + length > binaries.limit()) {
+			throw new IOException("Unable to read the DER element : the content is truncated!");
+		}
+		return (int) length;
+	}
+
+	/**
+	 * Returns the offset following the element starting at the given offset
+	 *
+	 * @param offset the offset of the element
+	 * @return the end offset (exclusive) of the element
+	 * @throws IOException if the element is truncated or its length encoding is not supported
+	 */
+	public int getEnd(int offset) throws IOException {
+		return getContentOffset(offset) + getContentLength(offset);
+	}
+
+	/**
+	 * Copies the whole DER encoded element (tag, length and value) starting at the given offset
+	 *
+	 * @param offset the offset of the element
+	 * @return byte array
+	 * @throws IOException if the element is truncated or its length encoding is not supported
+	 */
+	public byte[] copy(int offset) throws IOException {
+		return copy(offset, getEnd(offset));
+	}
+
+	/**
+	 * Copies the content between the given offsets
+	 *
+	 * @param from the start offset (inclusive)
+	 * @param to the end offset (exclusive)
+	 * @return byte array
+	 * @throws IOException if the range is out of the content
+	 */
+	public byte[] copy(int from, int to) throws IOException {
+		if (from < 0 || to < from || to > binaries.limit()) {
+			throw new IOException("Unable to read the DER element : the content is truncated!");
+		}
+		byte[] result = new byte[to - from];
+		ByteBuffer duplicate = binaries.duplicate();
+		duplicate.position(from);
+		duplicate.get(result);
+		return result;
+	}
+
+	private int getNumberOfLengthBytes(int lengthByte) throws IOException {
+		int nbBytes = lengthByte & 0x7f;
+		if (nbBytes == 0 || nbBytes > 4) {
+			throw new IOException("Unable to read the DER element : unsupported length encoding!");
+		}
+		return nbBytes;
+	}
+
+	private void checkOffset(int offset) throws IOException {
+		if (offset < 0 || offset >= binaries.limit()) {
+			throw new IOException("Unable to read the DER element : the content is truncated!");
+		}
+	}
+
+}
@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.crl;
 
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.KeyUsageBit;
 import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
 import eu.europa.esig.dss.model.DSSException;
@@ -27,10 +28,18 @@ import eu.europa.esig.dss.model.x509.CertificateToken;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledForJreRange;
 import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509CRLEntry;
@@ -42,6 +51,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -80,6 +90,76 @@ public abstract class AbstractTestCRLUtils extends AbstractCRLParserTestUtils {
 		}
 	}
 
+	@Test
+	public void memoryMappedCRL(@TempDir Path tempDir) throws Exception {
+		try (InputStream is = AbstractTestCRLUtils.class.getResourceAsStream("/http___crl.globalsign.com_gs_gspersonalsign2sha2g2.crl");
+				InputStream isCer = AbstractTestCRLUtils.class.getResourceAsStream("/citizen_ca.cer")) {
+			CertificateToken certificateToken = loadCert(isCer);
+			byte[] crlBinaries = toByteArray(is);
+
+			File crlFile = tempDir.resolve("crl.crl").toFile();
+			Files.write(crlFile.toPath(), crlBinaries);
+
+			CRLBinary crlBinary = CRLUtils.buildCRLBinary(crlBinaries);
+			CRLBinary mappedCrlBinary = new CRLBinary(crlFile);
+			assertFalse(crlBinary.isMemoryMapped());
+			assertTrue(mappedCrlBinary.isMemoryMapped());
+			assertEquals(crlBinary, mappedCrlBinary);
+			assertEquals(crlBinary.asXmlId(), mappedCrlBinary.asXmlId());
+			assertArrayEquals(crlBinary.getDigestValue(DigestAlgorithm.SHA1), mappedCrlBinary.getDigestValue(DigestAlgorithm.SHA1));
+			byte[] mappedBinaries = mappedCrlBinary.getBinaries();
+			assertArrayEquals(crlBinaries, mappedBinaries);
+			assertSame(mappedBinaries, mappedCrlBinary.getBinaries());
+			assertEquals(crlBinaries.length, mappedCrlBinary.getLength());
+
+			CRLValidity validity = CRLUtils.buildCRLValidity(crlBinary, certificateToken);
+			CRLValidity mappedValidity = CRLUtils.buildCRLValidity(mappedCrlBinary, certificateToken);
+			assertEquals(validity.isSignatureIntact(), mappedValidity.isSignatureIntact());
+			assertEquals(validity.getSignatureInvalidityReason(), mappedValidity.getSignatureInvalidityReason());
+			assertEquals(validity.getSignatureAlgorithm(), mappedValidity.getSignatureAlgorithm());
+			assertEquals(validity.getThisUpdate(), mappedValidity.getThisUpdate());
+			assertEquals(validity.getNextUpdate(), mappedValidity.getNextUpdate());
+			assertEquals(validity.isIssuerX509PrincipalMatches(), mappedValidity.isIssuerX509PrincipalMatches());
+			assertEquals(validity.isCrlSignKeyUsage(), mappedValidity.isCrlSignKeyUsage());
+			assertEquals(validity.getCRLNumber(), mappedValidity.getCRLNumber());
+			assertEquals(validity.areCriticalExtensionsOidNotEmpty(), mappedValidity.areCriticalExtensionsOidNotEmpty());
+			assertEquals(validity.isUnknownCriticalExtension(), mappedValidity.isUnknownCriticalExtension());
+			assertEquals(validity.isSameScope(mappedValidity), mappedValidity.isSameScope(validity));
+
+			BigInteger serialNumber = new BigInteger("288350169419475868349393253038503091234");
+			X509CRLEntry entry = CRLUtils.getRevocationInfo(mappedValidity, serialNumber);
+			assertNotNull(entry);
+			assertEquals(CRLUtils.getRevocationInfo(validity, serialNumber), entry);
+			assertNull(CRLUtils.getRevocationInfo(mappedValidity, new BigInteger("111111111111111111111111111")));
+		}
+	}
+
+	@Test
+	public void memoryMappedCRLSerialization(@TempDir Path tempDir) throws Exception {
+		try (InputStream is = AbstractTestCRLUtils.class.getResourceAsStream("/belgium2.crl")) {
+			byte[] crlBinaries = toByteArray(is);
+			File crlFile = tempDir.resolve("serialized.crl").toFile();
+			Files.write(crlFile.toPath(), crlBinaries);
+			CRLBinary mappedCrlBinary = new CRLBinary(crlFile);
+
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+				oos.writeObject(mappedCrlBinary);
+			}
+			byte[] serialized = baos.toByteArray();
+			assertFalse(new String(serialized, StandardCharsets.ISO_8859_1).contains(crlFile.getName()));
+
+			CRLBinary deserialized;
+			try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+				deserialized = (CRLBinary) ois.readObject();
+			}
+			assertFalse(deserialized.isMemoryMapped());
+			assertEquals(mappedCrlBinary, deserialized);
+			assertEquals(mappedCrlBinary.asXmlId(), deserialized.asXmlId());
+			assertArrayEquals(crlBinaries, deserialized.getBinaries());
+		}
+	}
+
 	@Test
 	public void testUA() throws Exception {
 		try (InputStream is = AbstractTestCRLUtils.class.getResourceAsStream("/CA-5358AA45-Full.crl");
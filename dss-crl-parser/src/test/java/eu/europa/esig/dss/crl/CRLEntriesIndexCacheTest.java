@@ -0,0 +1,80 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl;
+
+import org.bouncycastle.util.io.Streams;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CRLEntriesIndexCacheTest {
+
+	@Test
+	void boundedByWeight() throws IOException {
+		CRLBinary firstCRL = new CRLBinary(load("/belgium2.crl"));
+		CRLBinary secondCRL = new CRLBinary(load("/eidc201631.crl"));
+
+		CRLEntriesIndexCache cache = new CRLEntriesIndexCache();
+		CRLEntriesIndex firstIndex = cache.getEntriesIndex(firstCRL);
+		assertSame(firstIndex, cache.getEntriesIndex(new CRLBinary(firstCRL.getBinaries())));
+		// the index retains the CRL binaries
+		assertTrue(firstIndex.getWeight() >= firstCRL.getLength());
+		assertEquals(firstIndex.getWeight(), cache.getWeight());
+
+		CRLEntriesIndex secondIndex = cache.getEntriesIndex(secondCRL);
+		assertEquals(firstIndex.getWeight() + secondIndex.getWeight(), cache.getWeight());
+
+		// the first index becomes the most recently used, the second one is evicted
+		assertSame(firstIndex, cache.getEntriesIndex(firstCRL));
+		cache.setMaximumWeight(firstIndex.getWeight());
+		assertEquals(firstIndex.getWeight(), cache.getWeight());
+		assertSame(firstIndex, cache.getEntriesIndex(firstCRL));
+
+		// too heavy to be kept
+		CRLEntriesIndex rebuiltSecondIndex = cache.getEntriesIndex(secondCRL);
+		assertNotSame(secondIndex, rebuiltSecondIndex);
+		if (secondIndex.getWeight() > firstIndex.getWeight()) {
+			assertSame(firstIndex, cache.getEntriesIndex(firstCRL));
+		}
+		assertTrue(cache.getWeight() <= firstIndex.getWeight());
+
+		cache.setMaximumWeight(0);
+		assertEquals(0, cache.getWeight());
+		assertNotSame(firstIndex, cache.getEntriesIndex(firstCRL));
+		assertEquals(0, cache.getWeight());
+
+		assertThrows(IllegalArgumentException.class, () -> cache.setMaximumWeight(-1));
+	}
+
+	private byte[] load(String resource) throws IOException {
+		try (InputStream is = CRLEntriesIndexCacheTest.class.getResourceAsStream(resource)) {
+			return Streams.readAll(is);
+		}
+	}
+
+}
@@ -0,0 +1,90 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl;
+
+import org.bouncycastle.util.io.Streams;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DERReaderTest {
+
+	@Test
+	void readElements() throws IOException {
+		// SEQUENCE { INTEGER 1, OCTET STRING (long form length) 0x0A0B }
+		byte[] binaries = new byte[] { 0x30, 0x08, 0x02, 0x01, 0x01, 0x04, (byte) 0x81, 0x02, 0x0A, 0x0B };
+		DERReader truncatedReader = new DERReader(ByteBuffer.wrap(binaries, 0, 9));
+		assertThrows(IOException.class, () -> truncatedReader.getEnd(0));
+		assertThrows(IOException.class, () -> truncatedReader.getContentLength(5));
+
+		DERReader validReader = new DERReader(ByteBuffer.wrap(binaries));
+		assertEquals(0x30, validReader.getTag(0));
+		assertEquals(2, validReader.getContentOffset(0));
+		assertEquals(8, validReader.getContentLength(0));
+		assertEquals(10, validReader.getEnd(0));
+		assertEquals(5, validReader.getEnd(2));
+		assertEquals(8, validReader.getContentOffset(5));
+		assertEquals(2, validReader.getContentLength(5));
+		assertArrayEquals(new byte[] { 0x02, 0x01, 0x01 }, validReader.copy(2));
+	}
+
+	@Test
+	void outOfBounds() throws IOException {
+		DERReader reader = new DERReader(ByteBuffer.wrap(new byte[] { 0x02 }));
+		assertThrows(IOException.class, () -> reader.getTag(-1));
+		assertThrows(IOException.class, () -> reader.getTag(1));
+		assertThrows(IOException.class, () -> reader.getContentOffset(0));
+		assertThrows(IOException.class, () -> reader.getContentLength(0));
+		assertThrows(IOException.class, () -> reader.copy(0, 2));
+
+		// length encoded on 4 bytes, exceeding the content
+		DERReader longLengthReader = new DERReader(ByteBuffer.wrap(
+				new byte[] { 0x04, (byte) 0x84, 0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x00 }));
+		assertEquals(6, longLengthReader.getContentOffset(0));
+		assertThrows(IOException.class, () -> longLengthReader.getContentLength(0));
+
+		// unsupported length encodings
+		assertThrows(IOException.class, () -> new DERReader(ByteBuffer.wrap(new byte[] { 0x04, (byte) 0x80, 0x00 })).getContentLength(0));
+		assertThrows(IOException.class, () -> new DERReader(ByteBuffer.wrap(
+				new byte[] { 0x04, (byte) 0x85, 0x00, 0x00, 0x00, 0x00, 0x01, 0x00 })).getContentLength(0));
+	}
+
+	@Test
+	void truncatedCRL() throws IOException {
+		byte[] crlBinaries;
+		try (InputStream is = DERReaderTest.class.getResourceAsStream("/eidc201631.crl")) {
+			crlBinaries = Streams.readAll(is);
+		}
+		assertTrue(CRLEntriesIndex.build(ByteBuffer.wrap(crlBinaries)).size() > 0);
+		for (int length : new int[] { 1, 10, crlBinaries.length / 2, crlBinaries.length - 1 }) {
+			ByteBuffer truncated = ByteBuffer.wrap(crlBinaries, 0, length);
+			assertThrows(IOException.class, () -> CRLEntriesIndex.build(truncated));
+		}
+	}
+
+}
@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.jaxb.common;
 
+import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
 import jakarta.xml.bind.JAXBContext;
@@ -328,6 +329,35 @@ public abstract class AbstractJaxbFacade<T> {
 		return unmarshall(new StreamSource(new StringReader(xmlObject)), validate);
 	}
 
+	/**
+	 * This method unmarshalls the already parsed DOM {@link Node} and returns an instance of the
+	 * JAXB Object with an optional validation. This method allows to avoid a new parsing of the XML,
+	 * when a DOM representation of the document is already available.
+	 * NOTE: the DOM shall be built with a namespace aware and secure (XXE protected) parser
+	 * 
+	 * @param node
+	 *                 the {@link Node} which contains a XML representation of JAXB Object
+	 *                 (e.g. a {@code org.w3c.dom.Document})
+	 * @param validate
+	 *                 enable/disable the validation against the related XSD
+	 * @return an instance of JAXB Object
+	 * @throws JAXBException
+	 *                            if an exception occurred with the
+	 *                            {@link JAXBContext}
+	 * @throws IOException
+	 *                            if an exception occurred with the I/O.
+	 * @throws SAXException
+	 *                            if an exception occurred with the {@link Schema}
+	 */
+	@SuppressWarnings("unchecked")
+	public T unmarshall(Node node, boolean validate) throws JAXBException, IOException, SAXException {
+		Objects.requireNonNull(node, "Node is null");
+		Unmarshaller unmarshaller = getUnmarshaller(validate);
+
+		JAXBElement<T> unmarshal = (JAXBElement<T>) unmarshaller.unmarshal(node);
+		return unmarshal.getValue();
+	}
+
 	@SuppressWarnings("unchecked")
 	private T unmarshall(Source source, boolean validate) throws JAXBException, XMLStreamException, IOException, SAXException {
 		Unmarshaller unmarshaller = getUnmarshaller(validate);
@@ -35,6 +35,7 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Abstract class for XSD Utils
@@ -47,6 +48,12 @@ public abstract class XSDAbstractUtils {
 	/** Cached schema */
 	private Schema schema;
 
+	/**
+	 * The secure Validator of the cached schema, kept for reuse between two validations.
+	 * The Validator is taken by one validation at a time.
+	 */
+	private final AtomicReference<Validator> reusableValidator = new AtomicReference<>();
+
 	/**
 	 * Empty constructor
 	 */
@@ -141,6 +148,8 @@ public abstract class XSDAbstractUtils {
 
 	/**
 	 * This method allows to validate an XML against the module-default XSD schema plus custom sources.
+	 * The secure Validator of the cached module-default schema is reused by the next validations,
+	 * while it is used by one validation at a time and gets a new error handler on each use.
 	 *
 	 * @param xmlSource
 	 *                         the {@code Source}s to validate against (custom schemas)
@@ -152,16 +161,30 @@ public abstract class XSDAbstractUtils {
 	 */
 	public void validate(final Source xmlSource, final Schema schema, boolean secureValidation)
 			throws IOException {
-		Validator validator = schema.newValidator();
+		final boolean reusable = secureValidation && schema != null && schema == this.schema;
+		Validator validator = reusable ? reusableValidator.getAndSet(null) : null;
+		if (validator == null) {
+			validator = schema.newValidator();
+		}
+		boolean completed = false;
 		try {
 			if (secureValidation) {
+				// sets the configured features and attributes, and a new error handler
 				XmlDefinerUtils.getInstance().configure(validator);
 			}
 			validator.validate(xmlSource);
+			completed = true;
 		} catch (SAXException e) {
+			completed = true;
 			throw new XSDValidationException(Collections.singletonList(e.getMessage()));
 		} finally {
-			XmlDefinerUtils.getInstance().postProcess(validator);
+			try {
+				XmlDefinerUtils.getInstance().postProcess(validator);
+			} finally {
+				if (reusable && completed) {
+					reusableValidator.set(validator);
+				}
+			}
 		}
 	}
 
@@ -31,6 +31,9 @@ import java.util.Map;
  */
 public class ResponseEnvelope {
 
+    /** The status code of the response (e.g. HTTP status code), when available */
+    private int statusCode;
+
     /** Contains the response body binaries obtained from a remote server */
     private byte[] responseBody;
 
@@ -56,6 +59,25 @@ public class ResponseEnvelope {
         this.responseBody = responseBody;
     }
 
+    /**
+     * Gets the status code of the response (e.g. HTTP status code).
+     * Returns 0 when the status code is not available.
+     *
+     * @return status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Sets the status code of the response (e.g. HTTP status code)
+     *
+     * @param statusCode status code
+     */
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
     /**
      * Gets the response message body
      *
@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.model.identifier;
 
+import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.model.x509.revocation.Revocation;
 
 /**
@@ -31,13 +32,26 @@ public class EncapsulatedRevocationTokenIdentifier<R extends Revocation> extends
 
 	private static final long serialVersionUID = -562828035596645649L;
 
+	/** The prefix used for revocation data identifiers */
+	protected static final String REVOCATION_ID_PREFIX = "R-";
+
 	/**
 	 * Default constructor
 	 *
 	 * @param binaries revocation data binaries
 	 */
 	public EncapsulatedRevocationTokenIdentifier(byte[] binaries) {
-		super("R-", binaries);
+		super(REVOCATION_ID_PREFIX, binaries);
+	}
+
+	/**
+	 * Constructor for revocation data with binaries not kept in memory by the identifier
+	 *
+	 * @param prefix {@link String} for the identifier
+	 * @param digestId {@link Digest} SHA-256 digest of the revocation data binaries
+	 */
+	protected EncapsulatedRevocationTokenIdentifier(String prefix, Digest digestId) {
+		super(prefix, digestId);
 	}
 	
 	@Override
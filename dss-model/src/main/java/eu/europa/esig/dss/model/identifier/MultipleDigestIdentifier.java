@@ -54,6 +54,21 @@ public abstract class MultipleDigestIdentifier extends Identifier {
 		digestMap.put(id.getAlgorithm(), id.getValue());
 	}
 
+	/**
+	 * Constructor used when the token binaries are not kept in memory by the identifier
+	 * (e.g. when they are read from an external storage on demand).
+	 * The implementation shall override {@code #getBinaries} and {@code #computeDigestValue} methods.
+	 *
+	 * @param prefix {@link String} for the identifier
+	 * @param digestId {@link Digest} SHA-256 digest of the token binaries
+	 */
+	protected MultipleDigestIdentifier(final String prefix, final Digest digestId) {
+		super(prefix, digestId);
+		this.binaries = null;
+
+		digestMap.put(digestId.getAlgorithm(), digestId.getValue());
+	}
+
 	/**
 	 * Gets token binaries
 	 *
@@ -70,7 +85,17 @@ public abstract class MultipleDigestIdentifier extends Identifier {
 	 * @return digests
 	 */
 	public byte[] getDigestValue(DigestAlgorithm digestAlgorithm) {
-		return digestMap.computeIfAbsent(digestAlgorithm, k -> getMessageDigest(digestAlgorithm).digest(getBinaries()));
+		return digestMap.computeIfAbsent(digestAlgorithm, k -> computeDigestValue(digestAlgorithm));
+	}
+
+	/**
+	 * Computes a digest value of the token binaries for the given {@code digestAlgorithm}
+	 *
+	 * @param digestAlgorithm {@link DigestAlgorithm}
+	 * @return digests
+	 */
+	protected byte[] computeDigestValue(DigestAlgorithm digestAlgorithm) {
+		return getMessageDigest(digestAlgorithm).digest(getBinaries());
 	}
 
 	/**
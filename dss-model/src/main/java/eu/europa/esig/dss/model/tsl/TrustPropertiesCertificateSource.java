@@ -68,4 +68,17 @@ public interface TrustPropertiesCertificateSource extends TrustedCertificateSour
      */
     void setTrustTimeByCertificates(final Map<CertificateToken, List<CertificateTrustTime>> trustTimeByCertificate);
 
+    /**
+     * The method allows to fill the CertificateSource with trust properties and trusted time periods at once.
+     * Implementations may publish both maps atomically, so concurrent readers never observe a partial update.
+     *
+     * @param trustPropertiesByCerts map between {@link CertificateToken}s and a list of {@link TrustProperties}
+     * @param trustTimeByCertificate map between {@link CertificateToken}s and a list of {@link CertificateTrustTime}s
+     */
+    default void setTrustByCertificates(final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts,
+                                        final Map<CertificateToken, List<CertificateTrustTime>> trustTimeByCertificate) {
+        setTrustPropertiesByCertificates(trustPropertiesByCerts);
+        setTrustTimeByCertificates(trustTimeByCertificate);
+    }
+
 }
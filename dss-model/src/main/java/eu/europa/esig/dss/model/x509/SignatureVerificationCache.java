@@ -0,0 +1,52 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.model.x509;
+
+import java.security.PublicKey;
+
+/**
+ * Keeps results of successful signature verifications of tokens against public keys of their issuers.
+ * The cache allows to skip a repeated cryptographic verification of the same token (e.g. an intermediate CA
+ * certificate) by the same public key across different validations.
+ * <p>
+ * NOTE: The implementation shall be thread-safe, as the same instance can be shared between different validations.
+ *
+ */
+public interface SignatureVerificationCache {
+
+	/**
+	 * Checks whether the {@code token} has been successfully verified against the given {@code publicKey}
+	 *
+	 * @param token {@link Token} to check
+	 * @param publicKey {@link PublicKey} of the signer candidate
+	 * @return TRUE if a successful verification is known, FALSE otherwise
+	 */
+	boolean isVerified(Token token, PublicKey publicKey);
+
+	/**
+	 * Registers a successful signature verification of the {@code token} against the given {@code publicKey}
+	 *
+	 * @param token {@link Token} verified
+	 * @param publicKey {@link PublicKey} of the signer
+	 */
+	void registerVerified(Token token, PublicKey publicKey);
+
+}
@@ -155,6 +155,20 @@ public abstract class Token implements IdentifierBasedObject, Serializable {
 		return isSignedBy(token.getPublicKey());
 	}
 
+	/**
+	 * Checks if the token is signed by the given token in the parameter,
+	 * using the provided cache of successful signature verifications.
+	 *
+	 * @param token
+	 *              the candidate to be tested
+	 * @param signatureVerificationCache
+	 *              {@link SignatureVerificationCache} to be used (optional)
+	 * @return true if this token is signed by the given certificate token
+	 */
+	public synchronized boolean isSignedBy(CertificateToken token, SignatureVerificationCache signatureVerificationCache) {
+		return isSignedBy(token.getPublicKey(), signatureVerificationCache);
+	}
+
 	/**
 	 * Checks if the OCSP token is signed by the given publicKey
 	 * 
@@ -163,9 +177,24 @@ public abstract class Token implements IdentifierBasedObject, Serializable {
 	 * @return true if this token is signed by the given public key
 	 */
 	public synchronized boolean isSignedBy(final PublicKey publicKey) {
+		return isSignedBy(publicKey, null);
+	}
+
+	/**
+	 * Checks if the token is signed by the given publicKey, using the provided cache of successful
+	 * signature verifications. When the verification is known by the cache, the cryptographic
+	 * verification is skipped and the state of the token is restored with {@code setSignedBy(publicKey)}.
+	 *
+	 * @param publicKey
+	 *              the candidate to be tested
+	 * @param signatureVerificationCache
+	 *              {@link SignatureVerificationCache} to be used (optional)
+	 * @return true if this token is signed by the given public key
+	 */
+	public synchronized boolean isSignedBy(final PublicKey publicKey, SignatureVerificationCache signatureVerificationCache) {
 		if (publicKeyOfTheSigner != null) {
 			return publicKeyOfTheSigner.equals(publicKey);
-		} else if (SignatureValidity.VALID == checkIsSignedBy(publicKey)) {
+		} else if (isVerifiedInCache(publicKey, signatureVerificationCache) || isVerified(publicKey, signatureVerificationCache)) {
 			if (!isSelfSigned()) {
 				this.publicKeyOfTheSigner = publicKey;
 			}
@@ -174,6 +203,36 @@ public abstract class Token implements IdentifierBasedObject, Serializable {
 		return false;
 	}
 
+	private boolean isVerified(final PublicKey publicKey, SignatureVerificationCache signatureVerificationCache) {
+		if (SignatureValidity.VALID == checkIsSignedBy(publicKey)) {
+			if (signatureVerificationCache != null) {
+				signatureVerificationCache.registerVerified(this, publicKey);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private boolean isVerifiedInCache(final PublicKey publicKey, SignatureVerificationCache signatureVerificationCache) {
+		if (signatureVerificationCache != null && signatureVerificationCache.isVerified(this, publicKey)) {
+			setSignedBy(publicKey);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Sets the state of the token resulting from a successful {@code checkIsSignedBy(publicKey)} call.
+	 * The method is used when the verification result is obtained from a {@code SignatureVerificationCache},
+	 * thus the tokens setting additional values within {@code checkIsSignedBy(publicKey)} shall override it.
+	 *
+	 * @param publicKey {@link PublicKey} of the signer
+	 */
+	protected void setSignedBy(final PublicKey publicKey) {
+		this.signatureValidity = SignatureValidity.VALID;
+		this.signatureInvalidityReason = "";
+	}
+
 	/**
 	 * Verifies if the current token has been signed by the specified publicKey
 	 * @param publicKey {@link PublicKey} of a signing candidate
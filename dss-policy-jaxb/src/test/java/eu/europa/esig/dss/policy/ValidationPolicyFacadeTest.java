@@ -31,7 +31,11 @@ import eu.europa.esig.dss.policy.jaxb.TimeConstraint;
 import eu.europa.esig.dss.policy.jaxb.TimeUnit;
 import jakarta.xml.bind.UnmarshalException;
 import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
 
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.File;
 import java.io.InputStream;
 
@@ -112,6 +116,33 @@ class ValidationPolicyFacadeTest {
 		assertThrows(UnmarshalException.class, () -> facade.unmarshall(invalidFile));
 	}
 
+	@Test
+	void testUnmarshallNode() throws Exception {
+		File file = new File("src/test/resources/constraint.xml");
+		ConstraintsParameters fromFile = facade.unmarshall(file);
+		ConstraintsParameters fromNode = facade.unmarshall(buildDOM(file), true);
+		assertNotNull(fromNode);
+		assertEquals(facade.marshall(fromFile), facade.marshall(fromNode));
+	}
+
+	@Test
+	void testInvalidNode() throws Exception {
+		Document document = buildDOM(new File("src/test/resources/invalid-policy.xml"));
+		assertThrows(UnmarshalException.class, () -> facade.unmarshall(document, true));
+	}
+
+	@Test
+	void unmarshallNullNode() throws Exception {
+		assertThrows(NullPointerException.class, () -> facade.unmarshall((Node) null, true));
+	}
+
+	private Document buildDOM(File file) throws Exception {
+		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+		dbf.setNamespaceAware(true);
+		dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+		return dbf.newDocumentBuilder().parse(file);
+	}
+
 	@Test
 	void unmarshallNullIS() throws Exception {
 		assertThrows(NullPointerException.class, () -> facade.unmarshall((InputStream) null));
@@ -35,6 +35,7 @@ import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -53,6 +54,15 @@ public class FileCacheCRLSource extends FileRevocationSource<CRL> implements CRL
     /** Extension used for the CRL filename definition */
     private static final String CRL_FILE_EXTENSION = ".crl";
 
+    /** DER tag of a SEQUENCE, starting a DER encoded CRL */
+    private static final byte DER_SEQUENCE_TAG = 0x30;
+
+    /**
+     * Defines whether the cached CRL files are memory-mapped instead of being loaded into the heap
+     * Default : FALSE (the CRL binaries are loaded into the memory)
+     */
+    private boolean memoryMapping = false;
+
     /**
      * Empty constructor.
      * The proxied CRLSource can be provided using the {@code #setProxySource} method.
@@ -71,11 +81,26 @@ public class FileCacheCRLSource extends FileRevocationSource<CRL> implements CRL
         super(proxiedSource);
     }
 
+    /**
+     * Sets whether the cached CRL files shall be memory-mapped, instead of being loaded into the heap.
+     * When enabled, the digest computation, the signature verification and the revocation status lookups
+     * are performed directly over the mapped file, that reduces the memory consumption for large CRLs.
+     * <p>
+     * NOTE: on some platforms (e.g. Windows), a memory-mapped file cannot be removed or replaced
+     * until the mapping is released by the garbage collector.
+     * Default : FALSE (the CRL binaries are loaded into the memory)
+     *
+     * @param memoryMapping whether the cached CRL files shall be memory-mapped
+     */
+    public void setMemoryMapping(boolean memoryMapping) {
+        this.memoryMapping = memoryMapping;
+    }
+
     @Override
     protected RevocationToken<CRL> reconstructTokenFromEncodedData(FileRevocationSource<CRL>.FileCacheEntry revocationCache,
                                                                    CertificateToken certificateToken, CertificateToken issuerCertToken) {
         try {
-            CRLBinary crlBinary = CRLUtils.buildCRLBinary(revocationCache.getRevocationDataBinaries());
+            CRLBinary crlBinary = buildCRLBinary(revocationCache);
 
             CertificateToken revocationIssuer = revocationCache.getIssuerCertificateToken();
             if (revocationIssuer == null) {
@@ -85,7 +110,7 @@ public class FileCacheCRLSource extends FileRevocationSource<CRL> implements CRL
             CRLValidity crlValidity = CRLUtils.buildCRLValidity(crlBinary, revocationIssuer);
             crlValidity.setIssuerToken(revocationIssuer);
 
-            CRLToken token = new CRLToken(certificateToken, crlValidity);
+            CRLToken token = buildCRLToken(revocationCache, certificateToken, revocationIssuer, crlValidity);
             token.setExternalOrigin(RevocationOrigin.CACHED);
             token.setSourceURL(revocationCache.getRevocationDataSourceUrl());
             return token;
@@ -97,9 +122,43 @@ public class FileCacheCRLSource extends FileRevocationSource<CRL> implements CRL
         }
     }
 
+    private CRLToken buildCRLToken(FileRevocationSource<CRL>.FileCacheEntry revocationCache, CertificateToken certificateToken,
+                                   CertificateToken revocationIssuer, CRLValidity crlValidity) {
+        byte[] deltaCrlBinaries = revocationCache.getDeltaRevocationDataBinaries();
+        if (deltaCrlBinaries != null) {
+            try {
+                CRLValidity deltaCrlValidity = CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(deltaCrlBinaries), revocationIssuer);
+                deltaCrlValidity.setIssuerToken(revocationIssuer);
+                return new CRLToken(certificateToken, crlValidity, deltaCrlValidity);
+
+            } catch (Exception e) {
+                // e.g. the base CRL has been replaced meanwhile
+                LOG.debug("Unable to use the cached delta CRL for certificate '{}' : {}",
+                        certificateToken.getDSSIdAsString(), e.getMessage());
+            }
+        }
+        return new CRLToken(certificateToken, crlValidity);
+    }
+
+    private CRLBinary buildCRLBinary(FileRevocationSource<CRL>.FileCacheEntry revocationCache) {
+        if (memoryMapping) {
+            File crlFile = revocationCache.getRevocationDataFile();
+            if (crlFile != null) {
+                CRLBinary crlBinary = new CRLBinary(crlFile);
+                if (DER_SEQUENCE_TAG == crlBinary.toByteBuffer().get(0)) {
+                    return crlBinary;
+                }
+                LOG.debug("The cached CRL file '{}' is not DER encoded. The file is loaded into the memory.", crlFile.getName());
+            }
+        }
+        return CRLUtils.buildCRLBinary(revocationCache.getRevocationDataBinaries());
+    }
+
     @Override
     protected void saveRevocationToken(FileRevocationSource<CRL>.FileCacheEntry revocationCache, RevocationToken<CRL> token) {
         super.saveRevocationToken(revocationCache, token);
+        CRLValidity deltaCrlValidity = ((CRLToken) token).getDeltaCrlValidity();
+        revocationCache.saveDeltaRevocationData(deltaCrlValidity != null ? deltaCrlValidity.getDerEncoded() : null);
         if (token.getIssuerCertificateToken() != null) {
             revocationCache.saveCertificateToken(token.getIssuerCertificateToken());
         }
@@ -40,7 +40,12 @@ import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * CRLSource that retrieve information from a JDBC datasource
@@ -56,9 +61,41 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
 
     /**
      * Used in the init method to create the table, if not existing: ID (char40
-     * = SHA1 length) and DATA (blob)
+     * = SHA1 length), DATA (blob), ISSUER (binaries of the CRL issuer),
+     * EXPIRY (timestamp = expiration time of the entry within the cache) and DELTA (blob = delta CRL, optional)
      */
-    private static final SqlQuery SQL_INIT_CREATE_TABLE = SqlQuery.createQuery("CREATE TABLE CACHED_CRL (ID CHAR(40), DATA BLOB, ISSUER LONGVARBINARY)");
+    private static final SqlQuery SQL_INIT_CREATE_TABLE = SqlQuery.createQuery("CREATE TABLE CACHED_CRL (ID CHAR(40) PRIMARY KEY, DATA BLOB, ISSUER LONGVARBINARY, EXPIRY TIMESTAMP, DELTA BLOB)");
+
+    /**
+     * Used in the init method to create a unique index on the ID column of a table created with a previous schema
+     * (created as a primary key within the current schema), required by the concurrent upserts
+     */
+    private static final SqlQuery SQL_INIT_CREATE_ID_INDEX = SqlQuery.createQuery("CREATE UNIQUE INDEX CACHED_CRL_ID_IDX ON CACHED_CRL (ID)");
+
+    /**
+     * Used in the init method to create an index on the EXPIRY column
+     */
+    private static final SqlQuery SQL_INIT_CREATE_EXPIRY_INDEX = SqlQuery.createQuery("CREATE INDEX CACHED_CRL_EXPIRY_IDX ON CACHED_CRL (EXPIRY)");
+
+    /**
+     * Used in the init method to check the existence of the EXPIRY column
+     */
+    private static final SqlQuery SQL_INIT_CHECK_EXPIRY_COLUMN = SqlQuery.createQuery("SELECT EXPIRY FROM CACHED_CRL WHERE 1 = 0");
+
+    /**
+     * Used in the init method to add the EXPIRY column to a table created with a previous schema
+     */
+    private static final SqlQuery SQL_INIT_ADD_EXPIRY_COLUMN = SqlQuery.createQuery("ALTER TABLE CACHED_CRL ADD EXPIRY TIMESTAMP");
+
+    /**
+     * Used in the init method to check the existence of the DELTA column
+     */
+    private static final SqlQuery SQL_INIT_CHECK_DELTA_COLUMN = SqlQuery.createQuery("SELECT DELTA FROM CACHED_CRL WHERE 1 = 0");
+
+    /**
+     * Used in the init method to add the DELTA column to a table created with a previous schema
+     */
+    private static final SqlQuery SQL_INIT_ADD_DELTA_COLUMN = SqlQuery.createQuery("ALTER TABLE CACHED_CRL ADD DELTA BLOB");
 
     /**
      * Used to drop the cache table
@@ -68,31 +105,32 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
     /**
      * Used via the find method to insert a new record
      */
-    private static final SqlQuery SQL_FIND_INSERT = SqlQuery.createQuery("INSERT INTO CACHED_CRL (ID, DATA, ISSUER) VALUES (?, ?, ?)");
+    private static final SqlQuery SQL_FIND_INSERT = SqlQuery.createQuery("INSERT INTO CACHED_CRL (ID, DATA, ISSUER, EXPIRY, DELTA) VALUES (?, ?, ?, ?, ?)");
 
     /**
      * Used via the find method to update an existing record via the id
      */
-    private static final SqlQuery SQL_FIND_UPDATE = SqlQuery.createQuery("UPDATE CACHED_CRL SET DATA = ?, ISSUER = ?  WHERE ID = ?");
+    private static final SqlQuery SQL_FIND_UPDATE = SqlQuery.createQuery("UPDATE CACHED_CRL SET DATA = ?, ISSUER = ?, EXPIRY = ?, DELTA = ? WHERE ID = ?");
 
     /**
      * Used via the find method to remove an existing record by the id
      */
     private static final SqlQuery SQL_FIND_REMOVE = SqlQuery.createQuery("DELETE FROM CACHED_CRL WHERE ID = ?");
 
+    /**
+     * Used to remove all the records expired before the given time
+     */
+    private static final SqlQuery SQL_REMOVE_EXPIRED = SqlQuery.createQuery("DELETE FROM CACHED_CRL WHERE EXPIRY < ?");
+
     /**
      * A list of requests to extract the certificates by
      */
-    private static final SqlSelectQuery SQL_FIND_QUERY = new SqlSelectQuery("SELECT * FROM CACHED_CRL WHERE ID = ?") {
-        @Override
-        public SqlCRLRecord getRecord(ResultSet rs) throws SQLException {
-            SqlCRLRecord response = new SqlCRLRecord();
-            response.id = rs.getString("ID");
-            response.crlBinary = rs.getBytes("DATA");
-            response.certificateIssuerBinary = rs.getBytes("ISSUER");
-            return response;
-        }
-    };
+    private static final SqlSelectQuery SQL_FIND_QUERY = new CRLSelectQuery("SELECT ID, DATA, ISSUER, DELTA FROM CACHED_CRL WHERE ID = ?");
+
+    /**
+     * Used to extract the records for several ids at once
+     */
+    private static final SqlSelectQuery SQL_FIND_ALL_QUERY = new CRLSelectQuery("SELECT ID, DATA, ISSUER, DELTA FROM CACHED_CRL WHERE ID IN (?)");
 
     /**
      * Default constructor
@@ -136,6 +174,35 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
         return SQL_FIND_QUERY;
     }
 
+    @Override
+    protected List<SqlQuery> getCreateIndexQueries() {
+        return Collections.singletonList(SQL_INIT_CREATE_EXPIRY_INDEX);
+    }
+
+    @Override
+    protected Map<SqlQuery, List<SqlQuery>> getAddColumnQueries() {
+        final Map<SqlQuery, List<SqlQuery>> addColumnQueries = new LinkedHashMap<>();
+        addColumnQueries.put(SQL_INIT_CHECK_EXPIRY_COLUMN,
+                Arrays.asList(SQL_INIT_ADD_EXPIRY_COLUMN, SQL_INIT_CREATE_ID_INDEX, SQL_INIT_CREATE_EXPIRY_INDEX));
+        addColumnQueries.put(SQL_INIT_CHECK_DELTA_COLUMN, Collections.singletonList(SQL_INIT_ADD_DELTA_COLUMN));
+        return addColumnQueries;
+    }
+
+    @Override
+    protected SqlSelectQuery getRevocationDataBatchExtractQuery() {
+        return SQL_FIND_ALL_QUERY;
+    }
+
+    @Override
+    protected SqlQuery getRemoveExpiredRevocationTokenEntriesQuery() {
+        return SQL_REMOVE_EXPIRED;
+    }
+
+    @Override
+    protected String getRevocationTokenKey(SqlRecord sqlRecord) {
+        return ((SqlCRLRecord) sqlRecord).id;
+    }
+
     /**
      * Returns a revocation token key
      *
@@ -158,7 +225,13 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
             final CRLValidity cached = CRLUtils.buildCRLValidity(crlBinary, cachedIssuerCertificate);
             cached.setIssuerToken(cachedIssuerCertificate);
 
-            CRLToken crlToken = new CRLToken(certificateToken, cached);
+            CRLValidity cachedDelta = null;
+            if (crlResponse.deltaCrlBinary != null) {
+                cachedDelta = CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(crlResponse.deltaCrlBinary), cachedIssuerCertificate);
+                cachedDelta.setIssuerToken(cachedIssuerCertificate);
+            }
+
+            CRLToken crlToken = new CRLToken(certificateToken, cached, cachedDelta);
             crlToken.setExternalOrigin(RevocationOrigin.CACHED);
             return crlToken;
 
@@ -170,20 +243,33 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
 
     @Override
     protected void insertRevocation(final String revocationKey, final RevocationToken<CRL> token) {
-        CRLToken crlToken = (CRLToken) token;
-        CRLValidity crlValidity = crlToken.getCrlValidity();
-
-        getJdbcCacheConnector().execute(getInsertRevocationTokenEntryQuery(), revocationKey, crlValidity.getDerEncoded(),
-                crlValidity.getIssuerToken().getEncoded());
+        upsertRevocation(revocationKey, token);
     }
 
     @Override
     protected void updateRevocation(final String revocationKey, final RevocationToken<CRL> token) {
+        upsertRevocation(revocationKey, token);
+    }
+
+    /**
+     * Inserts or updates the CRL entry with the given {@code revocationKey} within a single transaction,
+     * which allows several instances to share the same table
+     *
+     * @param revocationKey {@link String} the key of the revocation data
+     * @param token {@link RevocationToken} to be stored
+     */
+    private void upsertRevocation(final String revocationKey, final RevocationToken<CRL> token) {
         CRLToken crlToken = (CRLToken) token;
         CRLValidity crlValidity = crlToken.getCrlValidity();
-
-        getJdbcCacheConnector().execute(getUpdateRevocationTokenEntryQuery(), crlValidity.getDerEncoded(),
-                crlValidity.getIssuerToken().getEncoded(), revocationKey);
+        byte[] crlBinaries = crlValidity.getDerEncoded();
+        byte[] issuerBinaries = crlValidity.getIssuerToken().getEncoded();
+        Timestamp expiryTime = getExpiryTime(token);
+        CRLValidity deltaCrlValidity = crlToken.getDeltaCrlValidity();
+        byte[] deltaCrlBinaries = deltaCrlValidity != null ? deltaCrlValidity.getDerEncoded() : null;
+
+        getJdbcCacheConnector().upsert(
+                getUpdateRevocationTokenEntryQuery(), new Object[] { crlBinaries, issuerBinaries, expiryTime, deltaCrlBinaries, revocationKey },
+                getInsertRevocationTokenEntryQuery(), new Object[] { revocationKey, crlBinaries, issuerBinaries, expiryTime, deltaCrlBinaries });
     }
 
     @Override
@@ -206,6 +292,32 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
         return DSSRevocationUtils.getCRLRevocationTokenKey(urlString);
     }
 
+    /**
+     * Extracts {@code SqlCRLRecord}s from the CRL table
+     */
+    private static class CRLSelectQuery extends SqlSelectQuery {
+
+        /**
+         * Default constructor
+         *
+         * @param queryString {@link String}
+         */
+        private CRLSelectQuery(String queryString) {
+            super(queryString);
+        }
+
+        @Override
+        public SqlCRLRecord getRecord(ResultSet rs) throws SQLException {
+            SqlCRLRecord response = new SqlCRLRecord();
+            response.id = rs.getString("ID");
+            response.crlBinary = rs.getBytes("DATA");
+            response.certificateIssuerBinary = rs.getBytes("ISSUER");
+            response.deltaCrlBinary = rs.getBytes("DELTA");
+            return response;
+        }
+
+    }
+
     /**
      * Represents a CRL record extracted from the SQL database table
      */
@@ -226,6 +338,11 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
          */
         protected byte[] certificateIssuerBinary;
 
+        /**
+         * Delta CRL binary, when present
+         */
+        protected byte[] deltaCrlBinary;
+
         /**
          * Default constructor
          */
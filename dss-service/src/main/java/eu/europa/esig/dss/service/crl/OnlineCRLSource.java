@@ -29,6 +29,7 @@ import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
 import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.client.http.HedgedRequestExecutor;
 import eu.europa.esig.dss.spi.client.http.Protocol;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
@@ -38,10 +39,14 @@ import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Online CRL repository. This CRL repository implementation will download the
@@ -70,6 +75,24 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 	 */
 	private DataLoader dataLoader;
 
+	/**
+	 * Defines whether the delta CRLs (see FreshestCRL certificate extension) shall be retrieved
+	 * and merged onto the base CRLs
+	 * Default : FALSE (only complete CRLs are used)
+	 */
+	private boolean deltaCRLSupport = false;
+
+	/**
+	 * Base CRLs with published delta CRLs, kept until their 'nextUpdate' in order to download
+	 * only the delta CRLs on refresh
+	 */
+	private final Map<String, CRLValidity> baseCRLs = new ConcurrentHashMap<>();
+
+	/**
+	 * Executes the requests to the alternative CRL locations in parallel, when defined (optional)
+	 */
+	private transient HedgedRequestExecutor hedgedRequestExecutor;
+
 	/**
 	 * The default constructor. A {@code CommonsDataLoader is created}.
 	 */
@@ -113,6 +136,31 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 		this.dataLoader = dataLoader;
 	}
 
+	/**
+	 * Sets whether the delta CRLs shall be retrieved from the locations defined within the FreshestCRL
+	 * certificate extension and merged onto the base CRLs.
+	 * When enabled, the base CRLs with published delta CRLs are kept in memory until their 'nextUpdate',
+	 * so only the delta CRLs are downloaded on a refresh.
+	 * Default : FALSE (only complete CRLs are used)
+	 *
+	 * @param deltaCRLSupport whether the delta CRLs shall be used
+	 */
+	public void setDeltaCRLSupport(boolean deltaCRLSupport) {
+		this.deltaCRLSupport = deltaCRLSupport;
+	}
+
+	/**
+	 * Sets the executor used to request the alternative CRL locations in parallel (hedged requests).
+	 * When defined, the next CRL location is requested when the previous one did not respond within
+	 * the hedging delay, and the first valid CRL is used.
+	 * Default : null (the CRL locations are requested one after another)
+	 *
+	 * @param hedgedRequestExecutor {@link HedgedRequestExecutor}
+	 */
+	public void setHedgedRequestExecutor(HedgedRequestExecutor hedgedRequestExecutor) {
+		this.hedgedRequestExecutor = hedgedRequestExecutor;
+	}
+
 	@Override
 	public CRLToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
 		return getRevocationToken(certificateToken, issuerCertificateToken, Collections.emptyList());
@@ -135,24 +183,25 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 			return null;
 		}
 
+		final List<String> deltaCrlUrls = getDeltaCRLAccessURLs(certificateToken);
+
+		if (hedgedRequestExecutor != null && crlUrls.size() > 1) {
+			try {
+				return hedgedRequestExecutor.execute(crlUrls,
+						crlUrl -> getCRLToken(certificateToken, issuerToken, crlUrl, deltaCrlUrls));
+			} catch (DSSExternalResourceException e) {
+				throw new DSSExternalResourceException(String.format(
+						"Unable to retrieve CRL for certificate with Id '%s'. Reason : %s",
+						certificateToken.getDSSIdAsString(), e.getMessage()), e);
+			}
+		}
+
 		int nbTries = crlUrls.size();
 		for (String crlUrl : crlUrls) {
-			if (LOG.isDebugEnabled()) {
-				LOG.debug("Trying to retrieve a CRL from URL '{}'...", crlUrl);
-			}
 			nbTries--;
 
 			try {
-				final CRLBinary crlBinary = executeCRLRequest(crlUrl);
-				final CRLValidity crlValidity = CRLUtils.buildCRLValidity(crlBinary, issuerToken);
-				final CRLToken crlToken = new CRLToken(certificateToken, crlValidity);
-				crlToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
-				crlToken.setSourceURL(crlUrl);
-				if (LOG.isDebugEnabled()) {
-					LOG.debug("CRL '{}' has been retrieved from a source with URL '{}'.",
-							crlToken.getDSSIdAsString(), crlUrl);
-				}
-				return crlToken;
+				return getCRLToken(certificateToken, issuerToken, crlUrl, deltaCrlUrls);
 
 			} catch (Exception e) {
 				if (nbTries == 0) {
@@ -170,6 +219,22 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 				"for a certificate call with id '%s'", certificateToken.getDSSIdAsString()));
 	}
 
+	private CRLToken getCRLToken(CertificateToken certificateToken, CertificateToken issuerToken, String crlUrl,
+								 List<String> deltaCrlUrls) throws IOException {
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Trying to retrieve a CRL from URL '{}'...", crlUrl);
+		}
+		final CRLValidity crlValidity = getBaseCRLValidity(crlUrl, issuerToken, Utils.isCollectionNotEmpty(deltaCrlUrls));
+		final CRLToken crlToken = buildCRLToken(certificateToken, issuerToken, crlValidity, deltaCrlUrls);
+		crlToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+		crlToken.setSourceURL(crlUrl);
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("CRL '{}' has been retrieved from a source with URL '{}'.",
+					crlToken.getDSSIdAsString(), crlUrl);
+		}
+		return crlToken;
+	}
+
 	/**
 	 * Extracts a list of CRL distribution point URLs to be used in the provided order to retrieve a CRL
 	 *
@@ -192,6 +257,72 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 		return crlUrls;
 	}
 
+	/**
+	 * Extracts a list of delta CRL distribution point URLs (FreshestCRL extension), when the delta CRLs are supported
+	 *
+	 * @param certificateToken {@link CertificateToken} to retrieve delta CRL for
+	 * @return a list of {@link String} urls
+	 */
+	protected List<String> getDeltaCRLAccessURLs(CertificateToken certificateToken) {
+		if (!deltaCRLSupport) {
+			return Collections.emptyList();
+		}
+		final List<String> deltaCrlUrls = new ArrayList<>(CertificateExtensionsUtils.getFreshestCRLAccessUrls(certificateToken));
+		prioritize(deltaCrlUrls);
+		return deltaCrlUrls;
+	}
+
+	private CRLValidity getBaseCRLValidity(String crlUrl, CertificateToken issuerToken, boolean deltaCRLPublished) throws IOException {
+		if (deltaCRLPublished) {
+			CRLValidity cachedCrlValidity = baseCRLs.get(crlUrl);
+			if (cachedCrlValidity != null && issuerToken.equals(cachedCrlValidity.getIssuerToken())
+					&& isNotExpired(cachedCrlValidity)) {
+				LOG.debug("The base CRL from URL '{}' is re-used.", crlUrl);
+				return cachedCrlValidity;
+			}
+		}
+
+		final CRLBinary crlBinary = executeCRLRequest(crlUrl);
+		final CRLValidity crlValidity = CRLUtils.buildCRLValidity(crlBinary, issuerToken);
+		if (deltaCRLPublished) {
+			baseCRLs.values().removeIf(cachedCrlValidity -> !isNotExpired(cachedCrlValidity));
+			if (crlValidity.isValid() && !crlValidity.isDeltaCRL() && isNotExpired(crlValidity)) {
+				baseCRLs.put(crlUrl, crlValidity);
+			}
+		}
+		return crlValidity;
+	}
+
+	private boolean isNotExpired(CRLValidity crlValidity) {
+		return crlValidity.getNextUpdate() != null && new Date().before(crlValidity.getNextUpdate());
+	}
+
+	private CRLToken buildCRLToken(CertificateToken certificateToken, CertificateToken issuerToken,
+								   CRLValidity crlValidity, List<String> deltaCrlUrls) {
+		for (String deltaCrlUrl : deltaCrlUrls) {
+			try {
+				final CRLBinary deltaCrlBinary = executeCRLRequest(deltaCrlUrl);
+				final CRLValidity deltaCrlValidity = CRLUtils.buildCRLValidity(deltaCrlBinary, issuerToken);
+				final CRLToken crlToken = new CRLToken(certificateToken, crlValidity, deltaCrlValidity);
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Delta CRL has been retrieved from a source with URL '{}'.", deltaCrlUrl);
+				}
+				return crlToken;
+
+			} catch (Exception e) {
+				LOG.warn("Unable to use delta CRL with URL '{}' : {}", deltaCrlUrl, e.getMessage());
+			}
+		}
+		return new CRLToken(certificateToken, crlValidity);
+	}
+
+	/**
+	 * Clears the base CRLs kept in memory for the delta CRL processing
+	 */
+	public void clearBaseCRLs() {
+		baseCRLs.clear();
+	}
+
 	/**
 	 * Download a CRL from given location
 	 *
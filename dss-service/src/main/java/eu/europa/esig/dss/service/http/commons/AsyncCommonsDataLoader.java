@@ -0,0 +1,521 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.http.commons;
+
+import eu.europa.esig.dss.model.http.ResponseEnvelope;
+import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.Protocol;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.utils.Utils;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.routing.DefaultRoutePlanner;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.apache.hc.core5.http.nio.ssl.TlsStrategy;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.reactor.ssl.SSLBufferMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+import java.io.Closeable;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Non-blocking implementation of {@code CommonsDataLoader} based on the HttpClient 5 asynchronous API.
+ * <p>
+ * All HTTP(S) requests are executed by a single shared {@code CloseableHttpAsyncClient} with a pooled
+ * connection manager (see {@code #setConnectionsMaxTotal} and {@code #setConnectionsMaxPerRoute}), created
+ * on the first request. The {@code CompletableFuture}-returning methods allow overlapping the retrieval of
+ * revocation data, AIA certificates and timestamps without blocking one thread per request, while
+ * the methods of the {@code DataLoader} interface wait for the response and behave as in {@code CommonsDataLoader}.
+ * <p>
+ * NOTE: the configuration of the data loader shall be done before the first request, as the shared client is
+ * reused for all the following requests. Use {@code #close()} to release the client and its connections.
+ * The returned futures are completed within the I/O threads of the client, therefore the dependent stages
+ * shall not execute blocking operations (use the {@code *Async} variants of {@code CompletableFuture} instead).
+ * FILE, FTP and LDAP URLs are processed synchronously within the calling thread.
+ */
+public class AsyncCommonsDataLoader extends CommonsDataLoader implements Closeable {
+
+	private static final long serialVersionUID = -3318164327513496417L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(AsyncCommonsDataLoader.class);
+
+	/** The content type header name */
+	private static final String CONTENT_TYPE = "Content-Type";
+
+	/** The shared asynchronous client, created on the first request */
+	private transient volatile CloseableHttpAsyncClient asyncHttpClient;
+
+	/**
+	 * The default constructor for AsyncCommonsDataLoader.
+	 */
+	public AsyncCommonsDataLoader() {
+		// empty
+	}
+
+	/**
+	 * The constructor for AsyncCommonsDataLoader with defined content-type.
+	 *
+	 * @param contentType
+	 *            The content type of each request
+	 */
+	public AsyncCommonsDataLoader(final String contentType) {
+		super(contentType);
+	}
+
+	/**
+	 * Retrieves the content from the given {@code url} asynchronously
+	 *
+	 * @param url {@link String} to retrieve data from
+	 * @return {@link CompletableFuture} of the obtained byte array
+	 */
+	public CompletableFuture<byte[]> getAsync(final String url) {
+		if (Protocol.isHttpUrl(url)) {
+			return requestGetAsync(url, false, true).thenApply(ResponseEnvelope::getResponseBody);
+		}
+		try {
+			return CompletableFuture.completedFuture(get(url));
+		} catch (Exception e) {
+			return failedFuture(e);
+		}
+	}
+
+	/**
+	 * Executes an HTTP GET request to the given {@code url} asynchronously
+	 *
+	 * @param url {@link String} to request
+	 * @param includeResponseDetails whether the response details (headers, TLS certificates) are to be included
+	 * @param includeResponseBody whether the response message body is to be included in the result
+	 * @return {@link CompletableFuture} of the {@link ResponseEnvelope}
+	 */
+	public CompletableFuture<ResponseEnvelope> requestGetAsync(final String url, boolean includeResponseDetails,
+															   boolean includeResponseBody) {
+		return requestGetAsync(url, Collections.emptyMap(), includeResponseDetails, includeResponseBody);
+	}
+
+	/**
+	 * Executes an HTTP GET request with the given {@code requestHeaders} to the {@code url} asynchronously
+	 *
+	 * @param url {@link String} to request
+	 * @param requestHeaders a map of HTTP request headers to be added to the request (e.g. "If-None-Match")
+	 * @param includeResponseDetails whether the response details (headers, TLS certificates) are to be included
+	 * @param includeResponseBody whether the response message body is to be included in the result
+	 * @return {@link CompletableFuture} of the {@link ResponseEnvelope}
+	 */
+	public CompletableFuture<ResponseEnvelope> requestGetAsync(final String url, final Map<String, String> requestHeaders,
+															   boolean includeResponseDetails, boolean includeResponseBody) {
+		LOG.debug("Fetching data asynchronously via GET from url {}", url);
+		try {
+			final SimpleRequestBuilder requestBuilder = SimpleRequestBuilder.get(URI.create(Utils.trim(url)));
+			if (getContentType() != null) {
+				requestBuilder.setHeader(CONTENT_TYPE, getContentType());
+			}
+			if (requestHeaders != null) {
+				for (Map.Entry<String, String> header : requestHeaders.entrySet()) {
+					requestBuilder.setHeader(header.getKey(), header.getValue());
+				}
+			}
+			return executeAsync(url, "GET", requestBuilder.build(), includeResponseDetails, includeResponseBody);
+
+		} catch (Exception e) {
+			return failedFuture(new DSSExternalResourceException(String.format(
+					"Unable to process GET call for url [%s]. Reason : [%s]", url, DSSUtils.getExceptionMessage(e)), e));
+		}
+	}
+
+	/**
+	 * Executes an HTTP POST request with the given {@code content} to the {@code url} asynchronously
+	 *
+	 * @param url {@link String} to request
+	 * @param content byte array to be sent
+	 * @return {@link CompletableFuture} of the obtained byte array
+	 */
+	public CompletableFuture<byte[]> postAsync(final String url, final byte[] content) {
+		return requestPostAsync(url, content, false, true).thenApply(ResponseEnvelope::getResponseBody);
+	}
+
+	/**
+	 * Executes an HTTP POST request with the given {@code content} to the {@code url} asynchronously
+	 *
+	 * @param url {@link String} to request
+	 * @param content byte array to be sent
+	 * @param includeResponseDetails whether the response details (headers, TLS certificates) are to be included
+	 * @param includeResponseBody whether the response message body is to be included in the result
+	 * @return {@link CompletableFuture} of the {@link ResponseEnvelope}
+	 */
+	public CompletableFuture<ResponseEnvelope> requestPostAsync(final String url, final byte[] content,
+																boolean includeResponseDetails, boolean includeResponseBody) {
+		LOG.debug("Fetching data asynchronously via POST from url {}", url);
+		try {
+			final SimpleHttpRequest request = SimpleRequestBuilder.post(URI.create(Utils.trim(url)))
+					.setBody(content, toContentType(getContentType()))
+					.build();
+			return executeAsync(url, "POST", request, includeResponseDetails, includeResponseBody);
+
+		} catch (Exception e) {
+			return failedFuture(new DSSExternalResourceException(String.format(
+					"Unable to process POST call for url [%s]. Reason : [%s]", url, DSSUtils.getExceptionMessage(e)), e));
+		}
+	}
+
+	@Override
+	public ResponseEnvelope requestGet(String url, boolean includeResponseDetails, boolean includeResponseBody) {
+		return waitFor(requestGetAsync(url, includeResponseDetails, includeResponseBody));
+	}
+
+	@Override
+	public ResponseEnvelope requestGet(String url, Map<String, String> requestHeaders,
+									  boolean includeResponseDetails, boolean includeResponseBody) {
+		return waitFor(requestGetAsync(url, requestHeaders, includeResponseDetails, includeResponseBody));
+	}
+
+	@Override
+	public ResponseEnvelope requestPost(String url, byte[] content, boolean includeResponseDetails,
+										boolean includeResponseBody) {
+		return waitFor(requestPostAsync(url, content, includeResponseDetails, includeResponseBody));
+	}
+
+	/**
+	 * Executes the {@code request} using the shared asynchronous client
+	 *
+	 * @param url {@link String} requested url
+	 * @param method {@link String} HTTP method name, used for error messages
+	 * @param request {@link SimpleHttpRequest} to execute
+	 * @param includeResponseDetails whether the response details are to be included
+	 * @param includeResponseBody whether the response message body is to be included in the result
+	 * @return {@link CompletableFuture} of the {@link ResponseEnvelope}
+	 */
+	protected CompletableFuture<ResponseEnvelope> executeAsync(final String url, final String method,
+															   final SimpleHttpRequest request,
+															   final boolean includeResponseDetails,
+															   final boolean includeResponseBody) {
+		assertHostAvailable(url);
+		final long startTime = System.currentTimeMillis();
+
+		final CompletableFuture<ResponseEnvelope> result = new CompletableFuture<>();
+		final Future<SimpleHttpResponse> future;
+		try {
+			request.setConfig(getAdaptiveRequestConfig(url));
+
+			final HttpHost targetHost = new HttpHost(request.getScheme(), request.getAuthority());
+			final HttpContext localContext = getHttpContext(targetHost);
+			future = getAsyncHttpClient().execute(
+					SimpleRequestProducer.create(request), SimpleResponseConsumer.create(), localContext,
+					new FutureCallback<SimpleHttpResponse>() {
+
+						@Override
+						public void completed(SimpleHttpResponse response) {
+							try {
+								result.complete(toResponseEnvelope(request, response, localContext,
+										includeResponseDetails, includeResponseBody));
+							} catch (Exception e) {
+								failed(e);
+							}
+						}
+
+						@Override
+						public void failed(Exception e) {
+							result.completeExceptionally(new DSSExternalResourceException(String.format(
+									"Unable to process %s call for url [%s]. Reason : [%s]",
+									method, url, DSSUtils.getExceptionMessage(e)), e));
+						}
+
+						@Override
+						public void cancelled() {
+							result.cancel(false);
+						}
+
+					});
+
+		} catch (RuntimeException | Error e) {
+			// the request has not been sent, thus the error does not reflect the host availability.
+			// The request is reported as cancelled in order to release a possibly reserved trial request.
+			recordRequestCancelled(url);
+			throw e;
+		}
+
+		result.whenComplete((responseEnvelope, throwable) -> {
+			if (throwable != null && isCancellation(throwable)) {
+				// e.g. a hedged request superseded by another one, which does not reflect the host availability
+				recordRequestCancelled(url);
+			} else {
+				recordRequestResult(url, startTime, throwable == null);
+			}
+			// propagates the cancellation to the HTTP exchange
+			if (result.isCancelled()) {
+				future.cancel(true);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Builds a {@code ResponseEnvelope} from the obtained {@code response}.
+	 * The response is processed with the same {@code HttpClientResponseHandler}s as within {@code CommonsDataLoader}
+	 * in order to ensure the same validation of the HTTP status and content, including the acceptance
+	 * of a "304 Not Modified" response for a conditional request.
+	 *
+	 * @param request {@link SimpleHttpRequest} the executed request
+	 * @param response {@link SimpleHttpResponse}
+	 * @param localContext {@link HttpContext} used for the request
+	 * @param includeResponseDetails whether the response details are to be included
+	 * @param includeResponseBody whether the response message body is to be included in the result
+	 * @return {@link ResponseEnvelope}
+	 * @throws Exception if the response is not acceptable
+	 */
+	protected ResponseEnvelope toResponseEnvelope(SimpleHttpRequest request, SimpleHttpResponse response,
+												  HttpContext localContext, boolean includeResponseDetails,
+												  boolean includeResponseBody) throws Exception {
+		HttpClientResponseHandler<byte[]> responseHandler;
+		if (includeResponseBody) {
+			responseHandler = getHttpClientResponseHandler();
+		} else {
+			responseHandler = new NoSenseHttpClientResponseHandler();
+		}
+		if (isConditionalRequest(request)) {
+			responseHandler = new NotModifiedHttpClientResponseHandler(responseHandler);
+		}
+
+		final ResponseEnvelope responseEnvelope = new ResponseEnvelope();
+
+		try (BasicClassicHttpResponse classicHttpResponse = new BasicClassicHttpResponse(
+				response.getCode(), response.getReasonPhrase())) {
+			classicHttpResponse.setHeaders(response.getHeaders());
+			if (response.getBodyBytes() != null) {
+				classicHttpResponse.setEntity(new ByteArrayEntity(response.getBodyBytes(), response.getContentType()));
+			}
+			responseEnvelope.setResponseBody(responseHandler.handleResponse(classicHttpResponse));
+		}
+
+		if (includeResponseDetails) {
+			responseEnvelope.setStatusCode(response.getCode());
+			responseEnvelope.setHeaders(toHeadersMap(response.getHeaders()));
+			SSLSession sslSession = HttpClientContext.castOrCreate(localContext).getSSLSession();
+			if (sslSession != null) {
+				try {
+					responseEnvelope.setTLSCertificates(sslSession.getPeerCertificates());
+				} catch (SSLPeerUnverifiedException e) {
+					LOG.debug("Unable to extract TLS certificates : {}", e.getMessage());
+				}
+			}
+		}
+
+		return responseEnvelope;
+	}
+
+	/**
+	 * Gets the shared asynchronous HTTP client, creates and starts it on the first call
+	 *
+	 * @return {@link CloseableHttpAsyncClient}
+	 */
+	protected CloseableHttpAsyncClient getAsyncHttpClient() {
+		CloseableHttpAsyncClient client = asyncHttpClient;
+		if (client == null) {
+			synchronized (this) {
+				client = asyncHttpClient;
+				if (client == null) {
+					client = getHttpAsyncClientBuilder().build();
+					client.start();
+					asyncHttpClient = client;
+				}
+			}
+		}
+		return client;
+	}
+
+	/**
+	 * Gets a configured {@code HttpAsyncClientBuilder}
+	 *
+	 * @return {@link HttpAsyncClientBuilder}
+	 */
+	protected HttpAsyncClientBuilder getHttpAsyncClientBuilder() {
+		final HttpAsyncClientBuilder httpClientBuilder = HttpAsyncClients.custom();
+		if (isUseSystemProperties()) {
+			httpClientBuilder.useSystemProperties();
+		}
+
+		final BasicCredentialsProvider credentialsProvider = getCredentialsProvider();
+		configureProxy(httpClientBuilder, credentialsProvider);
+
+		return httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider)
+				.setConnectionManager(getAsyncConnectionManager())
+				.setIOReactorConfig(getIOReactorConfig())
+				.setDefaultRequestConfig(getRequestConfig())
+				.setRetryStrategy(getRetryStrategy());
+	}
+
+	/**
+	 * Gets a configured {@code PoolingAsyncClientConnectionManager}, shared between all the requests
+	 *
+	 * @return {@link PoolingAsyncClientConnectionManager}
+	 */
+	protected PoolingAsyncClientConnectionManager getAsyncConnectionManager() {
+		final ConnectionConfig connectionConfig = ConnectionConfig.custom()
+				.setConnectTimeout(toTimeout(getTimeoutConnection()))
+				.setSocketTimeout(toTimeout(getTimeoutSocket()))
+				.setTimeToLive(TimeValue.ofMilliseconds(getConnectionTimeToLive()))
+				.build();
+
+		final PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+				.setTlsStrategy(getTlsStrategy())
+				.setMaxConnTotal(getConnectionsMaxTotal())
+				.setMaxConnPerRoute(getConnectionsMaxPerRoute())
+				.setDefaultConnectionConfig(connectionConfig)
+				.build();
+
+		LOG.debug("PoolingAsyncClientConnectionManager: max total: {}", connectionManager.getMaxTotal());
+		LOG.debug("PoolingAsyncClientConnectionManager: max per route: {}", connectionManager.getDefaultMaxPerRoute());
+
+		return connectionManager;
+	}
+
+	/**
+	 * Gets a configured {@code IOReactorConfig}
+	 *
+	 * @return {@link IOReactorConfig}
+	 */
+	protected IOReactorConfig getIOReactorConfig() {
+		return IOReactorConfig.custom()
+				.setSoTimeout(toTimeout(getTimeoutSocket()))
+				.build();
+	}
+
+	/**
+	 * Gets a configured {@code TlsStrategy}
+	 *
+	 * @return {@link TlsStrategy}
+	 */
+	protected TlsStrategy getTlsStrategy() {
+		try {
+			return new DefaultClientTlsStrategy(getSSLContextBuilder().build(), getSupportedSSLProtocols(),
+					getSupportedSSLCipherSuites(), SSLBufferMode.STATIC, getHostnameVerifier());
+		} catch (final Exception e) {
+			throw new IllegalArgumentException("Unable to configure the TlsStrategy", e);
+		}
+	}
+
+	/**
+	 * Configures the proxy for the shared client. As the client is used for both HTTP and HTTPS requests,
+	 * the proxy is determined per request, based on the scheme of the target host.
+	 *
+	 * @param httpClientBuilder {@link HttpAsyncClientBuilder}
+	 * @param credentialsProvider {@link BasicCredentialsProvider}
+	 */
+	private void configureProxy(HttpAsyncClientBuilder httpClientBuilder, BasicCredentialsProvider credentialsProvider) {
+		final ProxyConfig proxyConfig = getProxyConfig();
+		if (proxyConfig == null) {
+			return;
+		}
+
+		configureProxyCredentials(proxyConfig.getHttpProperties(), credentialsProvider);
+		configureProxyCredentials(proxyConfig.getHttpsProperties(), credentialsProvider);
+
+		httpClientBuilder.setRoutePlanner(new DefaultRoutePlanner(null) {
+
+			@Override
+			protected HttpHost determineProxy(HttpHost host, HttpContext context) {
+				return getProxyHost(host);
+			}
+
+		});
+	}
+
+	private <T> T waitFor(CompletableFuture<T> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			throw new DSSExternalResourceException(String.format("The request has been interrupted : %s", e.getMessage()), e);
+		} catch (ExecutionException | CompletionException e) {
+			if (e.getCause() instanceof DSSExternalResourceException) {
+				throw (DSSExternalResourceException) e.getCause();
+			}
+			throw new DSSExternalResourceException(String.format("Unable to process the request. Reason : [%s]",
+					e.getCause() != null ? e.getCause().getMessage() : e.getMessage()), e);
+		} catch (CancellationException e) {
+			throw new DSSExternalResourceException("The request has been cancelled", e);
+		}
+	}
+
+	private static <T> CompletableFuture<T> failedFuture(Throwable e) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(e);
+		return future;
+	}
+
+	private static Timeout toTimeout(int millis) {
+		return millis < 0 ? null : Timeout.ofMilliseconds(millis);
+	}
+
+	private static ContentType toContentType(String contentTypeString) {
+		return Utils.isStringNotBlank(contentTypeString) ? ContentType.create(contentTypeString) : null;
+	}
+
+	/**
+	 * Closes the shared asynchronous client and its connections.
+	 * A new client will be created on the next request.
+	 */
+	@Override
+	public void close() {
+		final CloseableHttpAsyncClient client;
+		synchronized (this) {
+			client = asyncHttpClient;
+			asyncHttpClient = null;
+		}
+		if (client != null) {
+			client.close(CloseMode.GRACEFUL);
+		}
+	}
+
+}
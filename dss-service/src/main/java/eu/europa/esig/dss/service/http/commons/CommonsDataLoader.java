@@ -26,6 +26,8 @@ import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
 import eu.europa.esig.dss.service.http.proxy.ProxyProperties;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.client.http.HedgedRequestExecutor;
+import eu.europa.esig.dss.spi.client.http.HostCircuitBreaker;
 import eu.europa.esig.dss.spi.client.http.AdvancedDataLoader;
 import eu.europa.esig.dss.spi.client.http.Protocol;
 import eu.europa.esig.dss.spi.exception.DSSDataLoaderMultipleException;
@@ -46,6 +48,8 @@ import org.apache.hc.client5.http.impl.auth.BasicScheme;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.classic.RequestAbortedException;
+import org.apache.hc.client5.http.impl.classic.RequestFailedException;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.impl.routing.DefaultProxyRoutePlanner;
@@ -60,8 +64,11 @@ import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpRequest;
 import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.io.HttpClientResponseHandler;
 import org.apache.hc.core5.http.io.SocketConfig;
 import org.apache.hc.core5.http.io.entity.BufferedHttpEntity;
@@ -260,6 +267,16 @@ public class CommonsDataLoader implements DataLoader, AdvancedDataLoader {
 	 */
 	private Collection<String> ldapTrustedHostnames;
 
+	/**
+	 * Executes the requests to the alternative URLs in parallel, when defined (optional)
+	 */
+	private transient HedgedRequestExecutor hedgedRequestExecutor;
+
+	/**
+	 * Tracks the health of the requested hosts, when defined (optional)
+	 */
+	private transient HostCircuitBreaker hostCircuitBreaker;
+
 	/**
 	 * The default constructor for CommonsDataLoader.
 	 */
@@ -680,6 +697,39 @@ public class CommonsDataLoader implements DataLoader, AdvancedDataLoader {
 		this.preemptiveAuthentication = preemptiveAuthentication;
 	}
 
+	/**
+	 * Sets the executor used to request the alternative URLs of {@code get(List<String>)} in parallel
+	 * (hedged requests). When defined, the next URL is requested when the previous one did not respond within
+	 * the hedging delay, and the first non-empty response is returned.
+	 * Default : null (the URLs are requested one after another)
+	 *
+	 * @param hedgedRequestExecutor {@link HedgedRequestExecutor}
+	 */
+	public void setHedgedRequestExecutor(HedgedRequestExecutor hedgedRequestExecutor) {
+		this.hedgedRequestExecutor = hedgedRequestExecutor;
+	}
+
+	/**
+	 * Sets the circuit breaker tracking the health of the requested hosts.
+	 * When defined, the HTTP requests to a host are rejected straight away after repeated failures (during
+	 * a cool-down period), and the response timeout is derived from the observed latencies of the host.
+	 * Default : null (no health tracking)
+	 *
+	 * @param hostCircuitBreaker {@link HostCircuitBreaker}
+	 */
+	public void setHostCircuitBreaker(HostCircuitBreaker hostCircuitBreaker) {
+		this.hostCircuitBreaker = hostCircuitBreaker;
+	}
+
+	/**
+	 * Gets the custom retry strategy, when defined
+	 *
+	 * @return {@link HttpRequestRetryStrategy}
+	 */
+	protected HttpRequestRetryStrategy getRetryStrategy() {
+		return retryStrategy;
+	}
+
 	/**
 	 * Sets a custom retry strategy
 	 *
@@ -816,6 +866,13 @@ public class CommonsDataLoader implements DataLoader, AdvancedDataLoader {
 			throw new DSSExternalResourceException("Cannot process the GET call. List of URLs is empty!");
 		}
 
+		if (hedgedRequestExecutor != null && urlStrings.size() > 1) {
+			return hedgedRequestExecutor.execute(urlStrings, urlString -> {
+				final byte[] bytes = get(urlString);
+				return Utils.isArrayNotEmpty(bytes) ? new DataAndUrl(urlString, bytes) : null;
+			});
+		}
+
 		final Map<String, Throwable> exceptions = new HashMap<>(); // store map of exception thrown for urls
 		for (String urlString : urlStrings) {
 			LOG.debug("Processing a GET call to URL [{}]...", urlString);
@@ -954,19 +1011,48 @@ public class CommonsDataLoader implements DataLoader, AdvancedDataLoader {
 
 	@Override
 	public ResponseEnvelope requestGet(String url, boolean includeResponseDetails, boolean includeResponseBody) {
+		return requestGet(url, Collections.emptyMap(), includeResponseDetails, includeResponseBody);
+	}
+
+	@Override
+	public ResponseEnvelope requestGet(String url, Map<String, String> requestHeaders,
+									  boolean includeResponseDetails, boolean includeResponseBody) {
 		HttpGet httpRequest = null;
 		CloseableHttpClient client = null;
+		final long startTime = System.currentTimeMillis();
+		boolean requestAllowed = false;
+		boolean success = false;
+		Throwable failure = null;
 		try {
+			assertHostAvailable(url);
+			requestAllowed = true;
+
 			httpRequest = getHttpRequest(url);
+			httpRequest.setConfig(getAdaptiveRequestConfig(url));
+			if (requestHeaders != null) {
+				for (Map.Entry<String, String> header : requestHeaders.entrySet()) {
+					httpRequest.setHeader(header.getKey(), header.getValue());
+				}
+			}
 			client = getHttpClient(url);
 
-			return executeHttpRequest(client, httpRequest, includeResponseDetails, includeResponseBody);
+			ResponseEnvelope responseEnvelope = executeHttpRequest(client, httpRequest, includeResponseDetails, includeResponseBody);
+			success = true;
+			return responseEnvelope;
 
 		} catch (URISyntaxException | IOException e) {
+			failure = e;
 			throw new DSSExternalResourceException(String.format("Unable to process GET call for url [%s]. Reason : [%s]", url, DSSUtils.getExceptionMessage(e)), e);
 
+		} catch (RuntimeException | Error e) {
+			failure = e;
+			throw e;
+
 		} finally {
 			closeQuietly(httpRequest, client);
+			if (requestAllowed) {
+				recordRequestCompletion(url, startTime, success, failure);
+			}
 		}
 	}
 
@@ -991,33 +1077,158 @@ public class CommonsDataLoader implements DataLoader, AdvancedDataLoader {
 										boolean includeResponseBody) {
 		LOG.debug("Fetching data via POST from url {}", url);
 
-		final URI uri = URI.create(Utils.trim(url));
-		HttpPost httpRequest = new HttpPost(uri);
+		HttpPost httpRequest = null;
 		CloseableHttpClient client = null;
-
-		// The length for the InputStreamEntity is needed, because some receivers (on the other side)
-		// need this information.
-		// To determine the length, we cannot read the content-stream up to the end and re-use it afterwards.
-		// This is because, it may not be possible to reset the stream (= go to position 0).
-		// So, the solution is to cache temporarily the complete content data (as we do not expect much here) in
-		// a byte-array.
-		try (final ByteArrayInputStream bis = new ByteArrayInputStream(content);
-			 final HttpEntity httpEntity = new InputStreamEntity(bis, content.length, toContentType(contentType));
-			 final HttpEntity requestEntity = new BufferedHttpEntity(httpEntity)) {
-
-			httpRequest.setEntity(requestEntity);
-
-			client = getHttpClient(url);
-			return executeHttpRequest(client, httpRequest, includeResponseDetails, includeResponseBody);
+		final long startTime = System.currentTimeMillis();
+		boolean requestAllowed = false;
+		boolean success = false;
+		Throwable failure = null;
+		try {
+			assertHostAvailable(url);
+			requestAllowed = true;
+
+			final URI uri = URI.create(Utils.trim(url));
+			httpRequest = new HttpPost(uri);
+			httpRequest.setConfig(getAdaptiveRequestConfig(url));
+
+			// The length for the InputStreamEntity is needed, because some receivers (on the other side)
+			// need this information.
+			// To determine the length, we cannot read the content-stream up to the end and re-use it afterwards.
+			// This is because, it may not be possible to reset the stream (= go to position 0).
+			// So, the solution is to cache temporarily the complete content data (as we do not expect much here) in
+			// a byte-array.
+			try (final ByteArrayInputStream bis = new ByteArrayInputStream(content);
+				 final HttpEntity httpEntity = new InputStreamEntity(bis, content.length, toContentType(contentType));
+				 final HttpEntity requestEntity = new BufferedHttpEntity(httpEntity)) {
+
+				httpRequest.setEntity(requestEntity);
+
+				client = getHttpClient(url);
+				ResponseEnvelope responseEnvelope = executeHttpRequest(client, httpRequest, includeResponseDetails, includeResponseBody);
+				success = true;
+				return responseEnvelope;
+			}
 
 		} catch (IOException e) {
+			failure = e;
 			throw new DSSExternalResourceException(String.format("Unable to process POST call for url [%s]. Reason : [%s]", url, e.getMessage()) , e);
 
+		} catch (RuntimeException | Error e) {
+			failure = e;
+			throw e;
+
 		} finally {
 			closeQuietly(httpRequest, client);
+			if (requestAllowed) {
+				recordRequestCompletion(url, startTime, success, failure);
+			}
+		}
+	}
+
+	/**
+	 * Verifies whether a request to the host of the given {@code url} is allowed by the {@code HostCircuitBreaker},
+	 * when defined. When the method returns normally, the result of the request shall always be reported
+	 * with {@code #recordRequestCompletion} (or {@code #recordRequestResult}/{@code #recordRequestCancelled}),
+	 * in order to release a possibly reserved trial request.
+	 *
+	 * @param url {@link String} to be requested
+	 * @throws DSSExternalResourceException if the host is considered as unavailable
+	 */
+	protected void assertHostAvailable(String url) {
+		if (hostCircuitBreaker != null) {
+			hostCircuitBreaker.assertRequestAllowed(url);
 		}
 	}
 
+	/**
+	 * Reports the result of a request to the {@code HostCircuitBreaker}, when defined
+	 *
+	 * @param url {@link String} the requested url
+	 * @param startTime the time (in milliseconds) when the request has been started
+	 * @param success whether the request succeeded
+	 */
+	protected void recordRequestResult(String url, long startTime, boolean success) {
+		if (hostCircuitBreaker != null) {
+			if (success) {
+				hostCircuitBreaker.recordSuccess(url, System.currentTimeMillis() - startTime);
+			} else {
+				hostCircuitBreaker.recordFailure(url);
+			}
+		}
+	}
+
+	/**
+	 * Reports the completion of a request allowed by {@code #assertHostAvailable} to the {@code HostCircuitBreaker},
+	 * when defined. A request which has been cancelled or interrupted is counted neither as a success
+	 * nor as a failure.
+	 *
+	 * @param url {@link String} the requested url
+	 * @param startTime the time (in milliseconds) when the request has been started
+	 * @param success whether the request succeeded
+	 * @param failure {@link Throwable} the cause of the failure, when known
+	 */
+	protected void recordRequestCompletion(String url, long startTime, boolean success, Throwable failure) {
+		if (!success && (Thread.currentThread().isInterrupted() || (failure != null && isCancellation(failure)))) {
+			recordRequestCancelled(url);
+		} else {
+			recordRequestResult(url, startTime, success);
+		}
+	}
+
+	/**
+	 * Reports to the {@code HostCircuitBreaker}, when defined, that a request has been cancelled or interrupted
+	 * before its completion (e.g. a hedged request superseded by another one).
+	 * Such a request does not reflect the availability of the host, and is counted neither as a success nor as a failure.
+	 *
+	 * @param url {@link String} the requested url
+	 */
+	protected void recordRequestCancelled(String url) {
+		if (hostCircuitBreaker != null) {
+			hostCircuitBreaker.recordCancellation(url);
+		}
+	}
+
+	/**
+	 * Checks whether the given {@code throwable}, or one of its causes, results from a cancellation
+	 * or an interruption of the request, rather than from a failure of the requested host
+	 *
+	 * @param throwable {@link Throwable} to check
+	 * @return TRUE if the request has been cancelled or interrupted, FALSE otherwise
+	 */
+	protected static boolean isCancellation(Throwable throwable) {
+		if (HostCircuitBreaker.isCancellation(throwable)) {
+			return true;
+		}
+		Throwable cause = throwable;
+		while (cause != null) {
+			if (cause instanceof RequestFailedException || cause instanceof RequestAbortedException) {
+				return true;
+			}
+			cause = cause.getCause();
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a {@code RequestConfig} with a response timeout adapted to the observed latencies of the host
+	 * of the given {@code url}, when a {@code HostCircuitBreaker} is defined
+	 *
+	 * @param url {@link String} to be requested
+	 * @return {@link RequestConfig} to be used for the request, or null to use the default configuration
+	 */
+	protected RequestConfig getAdaptiveRequestConfig(String url) {
+		if (hostCircuitBreaker == null) {
+			return null;
+		}
+		final int defaultTimeout = timeoutResponse != null ? timeoutResponse.toMillisecondsIntBound() : -1;
+		final int timeout = hostCircuitBreaker.getTimeout(url, defaultTimeout);
+		if (timeout == defaultTimeout) {
+			return null;
+		}
+		LOG.debug("Use an adaptive response timeout of {} ms for url [{}]", timeout, url);
+		return getRequestConfigBuilder().setResponseTimeout(toTimeoutMilliseconds(timeout)).build();
+	}
+
 	/**
 	 * Processes {@code httpRequest} and returns the byte array representing the response's content
 	 *
@@ -1047,12 +1258,15 @@ public class CommonsDataLoader implements DataLoader, AdvancedDataLoader {
 		final HttpHost targetHost = getHttpHost(httpRequest);
 		final HttpContext localContext = getHttpContext(targetHost);
 
-		final HttpClientResponseHandler<byte[]> responseHandler;
+		HttpClientResponseHandler<byte[]> responseHandler;
 		if (includeResponseBody) {
 			responseHandler = getHttpClientResponseHandler();
 		} else {
 			responseHandler = new NoSenseHttpClientResponseHandler();
 		}
+		if (isConditionalRequest(httpRequest)) {
+			responseHandler = new NotModifiedHttpClientResponseHandler(responseHandler);
+		}
 
 		final ResponseEnvelope responseEnvelope = new ResponseEnvelope();
 
@@ -1064,6 +1278,7 @@ public class CommonsDataLoader implements DataLoader, AdvancedDataLoader {
 				HttpCoreContext httpCoreContext = (HttpCoreContext) localContext;
 				HttpResponse response = httpCoreContext.getResponse();
 				if (response != null) {
+					responseEnvelope.setStatusCode(response.getCode());
 					responseEnvelope.setHeaders(toHeadersMap(response.getHeaders()));
 				}
 				SSLSession sslSession = httpCoreContext.getSSLSession();
@@ -1076,6 +1291,17 @@ public class CommonsDataLoader implements DataLoader, AdvancedDataLoader {
 		return responseEnvelope;
 	}
 
+	/**
+	 * Checks whether the {@code httpRequest} is a conditional request, for which a "304 Not Modified" response
+	 * is expected to be returned when the resource has not been changed
+	 *
+	 * @param httpRequest {@link HttpRequest}
+	 * @return TRUE if the request is conditional, FALSE otherwise
+	 */
+	protected boolean isConditionalRequest(final HttpRequest httpRequest) {
+		return httpRequest.containsHeader(HttpHeaders.IF_NONE_MATCH) || httpRequest.containsHeader(HttpHeaders.IF_MODIFIED_SINCE);
+	}
+
 	/**
 	 * Reads {@code headers} to a {@code Map} of strings
 	 *
@@ -1308,7 +1534,7 @@ public class CommonsDataLoader implements DataLoader, AdvancedDataLoader {
 
 		httpClientBuilder.setConnectionManager(getConnectionManager())
 				.setDefaultRequestConfig(getRequestConfig())
-				.setRetryStrategy(retryStrategy);
+				.setRetryStrategy(getRetryStrategy());
 		
 		return httpClientBuilder;
 	}
@@ -1410,49 +1636,21 @@ public class CommonsDataLoader implements DataLoader, AdvancedDataLoader {
 			return httpClientBuilder;
 		}
 
-		String scheme = proxyProps.getScheme();
-		String proxyHost = proxyProps.getHost();
-		int proxyPort = proxyProps.getPort();
-		String proxyUser = proxyProps.getUser();
-		char[] proxyPassword = proxyProps.getPassword();
-		Collection<String> excludedHosts = proxyProps.getExcludedHosts();
+		configureProxyCredentials(proxyProps, credentialsProvider);
 
-		if (Utils.isStringNotEmpty(proxyUser) && Utils.isArrayNotEmpty(proxyPassword)) {
-			AuthScope proxyAuth = new AuthScope(proxyHost, proxyPort);
-			UsernamePasswordCredentials proxyCredentials = new UsernamePasswordCredentials(
-					proxyUser, proxyPassword);
-			credentialsProvider.setCredentials(proxyAuth, proxyCredentials);
-		}
-
-		LOG.debug("proxy host/port: {}:{}", proxyHost, proxyPort);
-		final HttpHost proxy = new HttpHost(scheme, proxyHost, proxyPort);
+		LOG.debug("proxy host/port: {}:{}", proxyProps.getHost(), proxyProps.getPort());
+		final HttpHost proxy = new HttpHost(proxyProps.getScheme(), proxyProps.getHost(), proxyProps.getPort());
 
+		final Collection<String> excludedHosts = proxyProps.getExcludedHosts();
 		if (Utils.isCollectionNotEmpty(excludedHosts)) {
 
 			final HttpRoutePlanner routePlanner = new DefaultProxyRoutePlanner(proxy) {
 
 				@Override
 				protected HttpHost determineProxy(HttpHost host, HttpContext context) throws HttpException {
-					String hostname = (host != null ? host.getHostName().toLowerCase() : null);
-					if (hostname != null) {
-						for (String h : excludedHosts) {
-							String hostnamePattern = h.toLowerCase();
-							if (hostname.equals(hostnamePattern)) {
-								// bypass proxy for that hostname
-								return null;
-
-							} else if (hostnamePattern.equals("*")) {
-								// bypass all hostnames
-								return null;
-
-							} else if (hostnamePattern.startsWith("*.")) {
-								String matchingEnd = hostnamePattern.substring(1).toLowerCase();
-								if (hostname.endsWith(matchingEnd)) {
-									// pattern matches, bypass proxy for that hostname
-									return null;
-								}
-							}
-						}
+					if (host != null && isExcludedHost(host.getHostName(), excludedHosts)) {
+						// bypass proxy for that hostname
+						return null;
 					}
 					return super.determineProxy(host, context);
 				}
@@ -1465,6 +1663,71 @@ public class CommonsDataLoader implements DataLoader, AdvancedDataLoader {
 		return httpClientBuilder.setProxy(proxy);
 	}
 
+	/**
+	 * Sets the credentials of the proxy defined by {@code proxyProps} to the {@code credentialsProvider}, when defined
+	 *
+	 * @param proxyProps {@link ProxyProperties}
+	 * @param credentialsProvider {@link BasicCredentialsProvider}
+	 */
+	protected void configureProxyCredentials(ProxyProperties proxyProps, BasicCredentialsProvider credentialsProvider) {
+		if (proxyProps != null && Utils.isStringNotEmpty(proxyProps.getUser()) && Utils.isArrayNotEmpty(proxyProps.getPassword())) {
+			AuthScope proxyAuth = new AuthScope(proxyProps.getHost(), proxyProps.getPort());
+			UsernamePasswordCredentials proxyCredentials = new UsernamePasswordCredentials(
+					proxyProps.getUser(), proxyProps.getPassword());
+			credentialsProvider.setCredentials(proxyAuth, proxyCredentials);
+		}
+	}
+
+	/**
+	 * Returns the proxy to be used to reach the {@code targetHost}, based on its scheme
+	 * and the excluded hosts of the {@code ProxyConfig}
+	 *
+	 * @param targetHost {@link HttpHost} to be requested
+	 * @return {@link HttpHost} of the proxy, or null if the host shall be reached directly
+	 */
+	protected HttpHost getProxyHost(HttpHost targetHost) {
+		if (proxyConfig == null || targetHost == null) {
+			return null;
+		}
+		final ProxyProperties proxyProps = Protocol.isHttps(targetHost.getSchemeName()) ?
+				proxyConfig.getHttpsProperties() : proxyConfig.getHttpProperties();
+		if (proxyProps == null || isExcludedHost(targetHost.getHostName(), proxyProps.getExcludedHosts())) {
+			return null;
+		}
+		return new HttpHost(proxyProps.getScheme(), proxyProps.getHost(), proxyProps.getPort());
+	}
+
+	/**
+	 * Checks whether the {@code hostname} matches one of the {@code excludedHosts} patterns
+	 * (e.g. "host.com", "*.host.com" or "*"), so the proxy shall be bypassed
+	 *
+	 * @param hostname {@link String} the requested host name
+	 * @param excludedHosts a collection of {@link String} host name patterns
+	 * @return TRUE if the proxy shall be bypassed for the host, FALSE otherwise
+	 */
+	protected static boolean isExcludedHost(String hostname, Collection<String> excludedHosts) {
+		if (hostname == null || Utils.isCollectionEmpty(excludedHosts)) {
+			return false;
+		}
+		final String lowerCaseHostname = hostname.toLowerCase();
+		for (String h : excludedHosts) {
+			String hostnamePattern = h.toLowerCase();
+			if (lowerCaseHostname.equals(hostnamePattern)) {
+				// bypass proxy for that hostname
+				return true;
+
+			} else if (hostnamePattern.equals("*")) {
+				// bypass all hostnames
+				return true;
+
+			} else if (hostnamePattern.startsWith("*.") && lowerCaseHostname.endsWith(hostnamePattern.substring(1))) {
+				// pattern matches, bypass proxy for that hostname
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private static Timeout toTimeoutMilliseconds(int millis) {
 		if (millis < 0) {
 			LOG.info("A negative timeout has been provided. Use system default.");
@@ -1481,11 +1744,41 @@ public class CommonsDataLoader implements DataLoader, AdvancedDataLoader {
 		return Utils.isStringNotBlank(contentTypeString) ? ContentType.create(contentTypeString) : null;
 	}
 
+	/**
+	 * This class handles a "304 Not Modified" response of a conditional request, by returning an empty content.
+	 * Other responses are processed by the wrapped {@code HttpClientResponseHandler}.
+	 */
+	static class NotModifiedHttpClientResponseHandler implements HttpClientResponseHandler<byte[]> {
+
+		/** The handler to process the responses with a modified content */
+		private final HttpClientResponseHandler<byte[]> responseHandler;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param responseHandler {@link HttpClientResponseHandler} to process the responses with a modified content
+		 */
+		protected NotModifiedHttpClientResponseHandler(HttpClientResponseHandler<byte[]> responseHandler) {
+			this.responseHandler = responseHandler;
+		}
+
+		@Override
+		public byte[] handleResponse(ClassicHttpResponse classicHttpResponse) throws HttpException, IOException {
+			if (classicHttpResponse != null && HttpStatus.SC_NOT_MODIFIED == classicHttpResponse.getCode()) {
+				EntityUtils.consumeQuietly(classicHttpResponse.getEntity());
+				Utils.closeQuietly(classicHttpResponse);
+				return DSSUtils.EMPTY_BYTE_ARRAY;
+			}
+			return responseHandler.handleResponse(classicHttpResponse);
+		}
+
+	}
+
 	/**
 	 * This class consumes the {@code ClassicHttpResponse} but does not process or return any content.
 	 * It is used to quickly process a response without a need to extract any data.
 	 */
-	private static class NoSenseHttpClientResponseHandler implements HttpClientResponseHandler<byte[]> {
+	static class NoSenseHttpClientResponseHandler implements HttpClientResponseHandler<byte[]> {
 
 		/**
 		 * Default constructor
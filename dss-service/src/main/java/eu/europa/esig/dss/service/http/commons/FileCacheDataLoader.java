@@ -24,9 +24,12 @@ import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.http.ResponseEnvelope;
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.AdvancedDataLoader;
 import eu.europa.esig.dss.spi.client.http.DSSCacheFileLoader;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.client.http.HedgedRequestExecutor;
 import eu.europa.esig.dss.spi.client.http.Protocol;
 import eu.europa.esig.dss.spi.exception.DSSDataLoaderMultipleException;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
@@ -36,13 +39,20 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
 
 /**
  * This class provides some caching features to handle the resources. The default cache folder is set to
@@ -58,6 +68,27 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 	/** The error message if the dataloader is not configured */
 	private static final String DATA_LOADER_NOT_CONFIGURED = "The DataLoader is not configured";
 
+	/** The extension of the files storing the validators (ETag, Last-Modified) of the cached files */
+	private static final String VALIDATORS_FILE_EXTENSION = ".validators";
+
+	/** The extension of the temporary files used to replace the validators files */
+	private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+	/** The "ETag" HTTP header name */
+	private static final String ETAG = "ETag";
+
+	/** The "Last-Modified" HTTP header name */
+	private static final String LAST_MODIFIED = "Last-Modified";
+
+	/** The "If-None-Match" HTTP header name */
+	private static final String IF_NONE_MATCH = "If-None-Match";
+
+	/** The "If-Modified-Since" HTTP header name */
+	private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+	/** The "304 Not Modified" HTTP status code */
+	private static final int HTTP_NOT_MODIFIED = 304;
+
 	/** The directory to cache files */
 	private File fileCacheDirectory = new File(System.getProperty("java.io.tmpdir"));
 
@@ -76,6 +107,12 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 	/** The dataloader to be used for a remote files access */
 	private DataLoader dataLoader;
 
+	/** Executes the requests to the alternative URLs in parallel, when defined (optional) */
+	private transient HedgedRequestExecutor hedgedRequestExecutor;
+
+	/** Defines whether the cached files are to be revalidated with conditional GET requests */
+	private boolean conditionalRequests = false;
+
 	/**
 	 * Empty constructor
 	 */
@@ -145,6 +182,31 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 		this.cacheExpirationTime = cacheExpirationTimeInMilliseconds;
 	}
 
+	/**
+	 * Sets the executor used to request the alternative URLs of {@code get(List<String>)} in parallel
+	 * (hedged requests). The first non-empty response (cached or downloaded) is returned.
+	 * Default : null (the URLs are processed one after another)
+	 *
+	 * @param hedgedRequestExecutor {@link HedgedRequestExecutor}
+	 */
+	public void setHedgedRequestExecutor(HedgedRequestExecutor hedgedRequestExecutor) {
+		this.hedgedRequestExecutor = hedgedRequestExecutor;
+	}
+
+	/**
+	 * Sets whether the cached files are to be revalidated with conditional GET requests.
+	 * When enabled and the configured {@code DataLoader} is an {@code AdvancedDataLoader}, the validators
+	 * ('ETag' and 'Last-Modified' headers) of an HTTP(S) response are stored beside the cached file, and used
+	 * within the next request to the same URL ('If-None-Match' and 'If-Modified-Since' headers).
+	 * On a "304 Not Modified" response, the expiration of the cached file is renewed without a new transfer.
+	 * Default : FALSE (the document is downloaded again on expiration or refresh)
+	 *
+	 * @param conditionalRequests whether conditional GET requests are to be used
+	 */
+	public void setConditionalRequests(boolean conditionalRequests) {
+		this.conditionalRequests = conditionalRequests;
+	}
+
 	/**
 	 * Sets the ResourceLoader for an absolute path creation
 	 *
@@ -243,6 +305,10 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 			return new FileDocument(file);
 		}
 		
+		if (isConditionalRequestSupported(url)) {
+			return getDocumentWithConditionalRequest(url, fileName, file);
+		}
+
 		byte[] bytes;
 		if (!isNetworkProtocol(url)) {
 			bytes = getLocalFileContent(url);
@@ -265,11 +331,114 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 	public DSSDocument getDocument(String url) {
 		return getDocument(url, false);
 	}
+
+	private boolean isConditionalRequestSupported(final String url) {
+		return conditionalRequests && dataLoader instanceof AdvancedDataLoader
+				&& Protocol.isHttpUrl(Utils.trim(url).toLowerCase());
+	}
+
+	private DSSDocument getDocumentWithConditionalRequest(final String url, final String fileName, final File file) {
+		final File validatorsFile = getCacheFile(fileName + VALIDATORS_FILE_EXTENSION);
+		final Map<String, String> requestHeaders = file.exists() ? getConditionalRequestHeaders(validatorsFile) : Collections.emptyMap();
+
+		final ResponseEnvelope responseEnvelope = ((AdvancedDataLoader) dataLoader).requestGet(url, requestHeaders, true, true);
+		if (!requestHeaders.isEmpty() && HTTP_NOT_MODIFIED == responseEnvelope.getStatusCode()) {
+			LOG.debug("The cached file for url '{}' has not been modified.", url);
+			if (!file.setLastModified(System.currentTimeMillis())) {
+				LOG.warn("Unable to renew the expiration of the cached file for url '{}'.", url);
+			}
+			return new FileDocument(file);
+		}
+
+		final byte[] bytes = responseEnvelope.getResponseBody();
+		if (Utils.isArrayNotEmpty(bytes)) {
+			final File out = createFile(fileName, bytes);
+			storeValidators(validatorsFile, responseEnvelope.getHeaders());
+			return new FileDocument(out);
+		}
+		throw new DSSExternalResourceException(String.format("Cannot retrieve data from url [%s]. Empty content is obtained!", url));
+	}
+
+	private Map<String, String> getConditionalRequestHeaders(final File validatorsFile) {
+		if (!validatorsFile.exists()) {
+			return Collections.emptyMap();
+		}
+		final Properties validators = new Properties();
+		try (InputStream is = Files.newInputStream(validatorsFile.toPath())) {
+			validators.load(is);
+		} catch (IOException e) {
+			LOG.warn("Unable to read the validators file '{}' : {}", validatorsFile.getName(), e.getMessage());
+			return Collections.emptyMap();
+		}
+		final Map<String, String> requestHeaders = new HashMap<>();
+		final String eTag = validators.getProperty(ETAG);
+		if (Utils.isStringNotEmpty(eTag)) {
+			requestHeaders.put(IF_NONE_MATCH, eTag);
+		}
+		final String lastModified = validators.getProperty(LAST_MODIFIED);
+		if (Utils.isStringNotEmpty(lastModified)) {
+			requestHeaders.put(IF_MODIFIED_SINCE, lastModified);
+		}
+		return requestHeaders;
+	}
+
+	private void storeValidators(final File validatorsFile, final Map<String, List<String>> responseHeaders) {
+		final Properties validators = new Properties();
+		final String eTag = getHeaderValue(responseHeaders, ETAG);
+		if (Utils.isStringNotEmpty(eTag)) {
+			validators.setProperty(ETAG, eTag);
+		}
+		final String lastModified = getHeaderValue(responseHeaders, LAST_MODIFIED);
+		if (Utils.isStringNotEmpty(lastModified)) {
+			validators.setProperty(LAST_MODIFIED, lastModified);
+		}
+
+		Path tempFile = null;
+		try {
+			if (validators.isEmpty()) {
+				Files.deleteIfExists(validatorsFile.toPath());
+				return;
+			}
+			// a unique temporary file, so a concurrent reader or writer never sees a partially written file
+			tempFile = Files.createTempFile(validatorsFile.getParentFile().toPath(), validatorsFile.getName(), TEMP_FILE_EXTENSION);
+			try (OutputStream os = Files.newOutputStream(tempFile)) {
+				validators.store(os, null);
+			}
+			try {
+				Files.move(tempFile, validatorsFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				LOG.debug("Atomic move is not supported : {}", e.getMessage());
+				Files.move(tempFile, validatorsFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			LOG.warn("Unable to store the validators file '{}' : {}", validatorsFile.getName(), e.getMessage());
+			if (tempFile != null) {
+				try {
+					Files.deleteIfExists(tempFile);
+				} catch (IOException ioe) {
+					LOG.warn("Unable to remove the temporary file '{}' : {}", tempFile.getFileName(), ioe.getMessage());
+				}
+			}
+		}
+	}
+
+	private String getHeaderValue(final Map<String, List<String>> headers, final String headerName) {
+		if (headers == null) {
+			return null;
+		}
+		for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+			if (headerName.equalsIgnoreCase(header.getKey()) && Utils.isCollectionNotEmpty(header.getValue())) {
+				return header.getValue().get(0);
+			}
+		}
+		return null;
+	}
 	
 	@Override
 	public boolean remove(String url) {
 		final String fileName = DSSUtils.getNormalizedString(url);
 		final File file = getCacheFile(fileName);
+		removeValidators(fileName);
 		if (file.exists()) {
 			if (LOG.isTraceEnabled()) {
 				LOG.trace("Deleting the file corresponding to URL '{}'...", url);
@@ -294,6 +463,15 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 		return false;
 	}
 
+	private void removeValidators(final String fileName) {
+		final File validatorsFile = getCacheFile(fileName + VALIDATORS_FILE_EXTENSION);
+		try {
+			Files.deleteIfExists(validatorsFile.toPath());
+		} catch (IOException e) {
+			LOG.warn("Unable to remove the validators file '{}' : {}", validatorsFile.getName(), e.getMessage());
+		}
+	}
+
 	/**
 	 * Checks if the URL defines a network protocol
 	 *
@@ -411,6 +589,13 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 		if (Utils.isCollectionEmpty(urlStrings)) {
 			throw new DSSExternalResourceException("Cannot process the GET call. List of URLs is empty!");
 		}
+
+		if (hedgedRequestExecutor != null && urlStrings.size() > 1) {
+			return hedgedRequestExecutor.execute(urlStrings, urlString -> {
+				final byte[] bytes = get(urlString);
+				return Utils.isArrayNotEmpty(bytes) ? new DataAndUrl(urlString, bytes) : null;
+			});
+		}
 		
 		final Map<String, Throwable> exceptions = new HashMap<>(); // store map of exception thrown for urls
 		for (final String urlString : urlStrings) {
@@ -41,7 +41,10 @@ import org.bouncycastle.cert.ocsp.SingleResp;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * OCSPSource that retrieve information from a JDBC data-source.
@@ -58,24 +61,51 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 
 	/**
 	 * Used in the init method to create the table, if not existing:
-	 * ID (char40 = SHA1 length), DATA (blob = OCSP binaries) and LOC (varchar(200) = location url)
+	 * ID (char40 = SHA1 length), DATA (blob = OCSP binaries), LOC (varchar(200) = location url)
+	 * and EXPIRY (timestamp = expiration time of the entry within the cache)
+	 * NOTE: ID is not unique, several OCSP responses may be stored for a key
  	 */
-	private static final SqlQuery SQL_INIT_CREATE_TABLE = SqlQuery.createQuery("CREATE TABLE CACHED_OCSP (ID VARCHAR(100), DATA BLOB, LOC VARCHAR(200))");
+	private static final SqlQuery SQL_INIT_CREATE_TABLE = SqlQuery.createQuery("CREATE TABLE CACHED_OCSP (ID VARCHAR(100), DATA BLOB, LOC VARCHAR(200), EXPIRY TIMESTAMP)");
+
+	/**
+	 * Used in the init method to create an index on the ID column
+	 */
+	private static final SqlQuery SQL_INIT_CREATE_ID_INDEX = SqlQuery.createQuery("CREATE INDEX CACHED_OCSP_ID_IDX ON CACHED_OCSP (ID)");
+
+	/**
+	 * Used in the init method to create an index on the EXPIRY column
+	 */
+	private static final SqlQuery SQL_INIT_CREATE_EXPIRY_INDEX = SqlQuery.createQuery("CREATE INDEX CACHED_OCSP_EXPIRY_IDX ON CACHED_OCSP (EXPIRY)");
+
+	/**
+	 * Used in the init method to check if the table has been created with the current schema
+	 */
+	private static final SqlQuery SQL_INIT_CHECK_EXPIRY_COLUMN = SqlQuery.createQuery("SELECT EXPIRY FROM CACHED_OCSP WHERE 1 = 0");
+
+	/**
+	 * Used in the init method to add the EXPIRY column to a table created with a previous schema
+	 */
+	private static final SqlQuery SQL_INIT_ADD_EXPIRY_COLUMN = SqlQuery.createQuery("ALTER TABLE CACHED_OCSP ADD EXPIRY TIMESTAMP");
 
 	/**
 	 * Used via the find method to insert a new record
 	 */
-	private static final SqlQuery SQL_FIND_INSERT = SqlQuery.createQuery("INSERT INTO CACHED_OCSP (ID, DATA, LOC) VALUES (?, ?, ?)");
+	private static final SqlQuery SQL_FIND_INSERT = SqlQuery.createQuery("INSERT INTO CACHED_OCSP (ID, DATA, LOC, EXPIRY) VALUES (?, ?, ?, ?)");
 
 	/**
 	 * Used via the find method to update an existing record via the id
 	 */
-	private static final SqlQuery SQL_FIND_UPDATE = SqlQuery.createQuery("UPDATE CACHED_OCSP SET DATA = ?, LOC = ? WHERE ID = ?");
+	private static final SqlQuery SQL_FIND_UPDATE = SqlQuery.createQuery("UPDATE CACHED_OCSP SET DATA = ?, LOC = ?, EXPIRY = ? WHERE ID = ?");
 	
 	/**
 	 * Used via the find method to remove an existing record by the id
 	 */
 	private static final SqlQuery SQL_FIND_REMOVE = SqlQuery.createQuery("DELETE FROM CACHED_OCSP WHERE ID = ?");
+
+	/**
+	 * Used to remove all the records expired before the given time
+	 */
+	private static final SqlQuery SQL_REMOVE_EXPIRED = SqlQuery.createQuery("DELETE FROM CACHED_OCSP WHERE EXPIRY < ?");
 	
 	/**
 	 * Used to drop the OCSP cache table
@@ -85,16 +115,12 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 	/**
 	 * A list of requests to extract the certificates by
 	 */
-	private static final SqlSelectQuery SQL_FIND_QUERY = new SqlSelectQuery("SELECT * FROM CACHED_OCSP WHERE ID = ?") {
-		@Override
-		public SqlOCSPResponse getRecord(ResultSet rs) throws SQLException {
-			SqlOCSPResponse response = new SqlOCSPResponse();
-			response.id = rs.getString("ID");
-			response.ocspBinary = rs.getBytes("DATA");
-			response.ocspUrl = rs.getString("LOC");
-			return response;
-		}
-	};
+	private static final SqlSelectQuery SQL_FIND_QUERY = new OCSPSelectQuery("SELECT ID, DATA, LOC FROM CACHED_OCSP WHERE ID = ?");
+
+	/**
+	 * Used to extract the records for several ids at once
+	 */
+	private static final SqlSelectQuery SQL_FIND_ALL_QUERY = new OCSPSelectQuery("SELECT ID, DATA, LOC FROM CACHED_OCSP WHERE ID IN (?)");
 
 	/**
 	 * Default constructor
@@ -138,6 +164,32 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 		return SQL_FIND_QUERY;
 	}
 
+	@Override
+	protected List<SqlQuery> getCreateIndexQueries() {
+		return Arrays.asList(SQL_INIT_CREATE_ID_INDEX, SQL_INIT_CREATE_EXPIRY_INDEX);
+	}
+
+	@Override
+	protected Map<SqlQuery, List<SqlQuery>> getAddColumnQueries() {
+		return Collections.singletonMap(SQL_INIT_CHECK_EXPIRY_COLUMN,
+				Arrays.asList(SQL_INIT_ADD_EXPIRY_COLUMN, SQL_INIT_CREATE_ID_INDEX, SQL_INIT_CREATE_EXPIRY_INDEX));
+	}
+
+	@Override
+	protected SqlSelectQuery getRevocationDataBatchExtractQuery() {
+		return SQL_FIND_ALL_QUERY;
+	}
+
+	@Override
+	protected SqlQuery getRemoveExpiredRevocationTokenEntriesQuery() {
+		return SQL_REMOVE_EXPIRED;
+	}
+
+	@Override
+	protected String getRevocationTokenKey(SqlRecord sqlRecord) {
+		return ((SqlOCSPResponse) sqlRecord).id;
+	}
+
 	@Override
 	protected final List<String> initRevocationTokenKeys(CertificateToken certificateToken) {
 		return DSSRevocationUtils.getOcspRevocationTokenKeys(certificateToken);
@@ -163,7 +215,8 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 
 	@Override
 	protected void insertRevocation(final String revocationKey, final RevocationToken<OCSP> token) {
-		getJdbcCacheConnector().execute(getInsertRevocationTokenEntryQuery(), revocationKey, token.getEncoded(), token.getSourceURL());
+		getJdbcCacheConnector().execute(getInsertRevocationTokenEntryQuery(), revocationKey, token.getEncoded(),
+				token.getSourceURL(), getExpiryTime(token));
 	}
 
 	/**
@@ -175,7 +228,8 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 	 */
 	@Override
 	protected void updateRevocation(final String revocationKey, final RevocationToken<OCSP> token) {
-		getJdbcCacheConnector().execute(getUpdateRevocationTokenEntryQuery(), token.getEncoded(), token.getSourceURL(), revocationKey);
+		getJdbcCacheConnector().execute(getUpdateRevocationTokenEntryQuery(), token.getEncoded(), token.getSourceURL(),
+				getExpiryTime(token), revocationKey);
 	}
 
 	@Override
@@ -198,6 +252,31 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 		return DSSRevocationUtils.getOcspRevocationKey(certificateToken, urlString);
 	}
 
+	/**
+	 * Extracts {@code SqlOCSPResponse}s from the OCSP table
+	 */
+	private static class OCSPSelectQuery extends SqlSelectQuery {
+
+		/**
+		 * Default constructor
+		 *
+		 * @param queryString {@link String}
+		 */
+		private OCSPSelectQuery(String queryString) {
+			super(queryString);
+		}
+
+		@Override
+		public SqlOCSPResponse getRecord(ResultSet rs) throws SQLException {
+			SqlOCSPResponse response = new SqlOCSPResponse();
+			response.id = rs.getString("ID");
+			response.ocspBinary = rs.getBytes("DATA");
+			response.ocspUrl = rs.getString("LOC");
+			return response;
+		}
+
+	}
+
 	/**
 	 * Represents an OCSP record extracted from the SQL database table
 	 */
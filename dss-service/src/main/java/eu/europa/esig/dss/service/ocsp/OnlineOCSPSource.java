@@ -36,6 +36,7 @@ import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
 import eu.europa.esig.dss.spi.DSSRevocationUtils;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.client.http.HedgedRequestExecutor;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPRespStatus;
@@ -62,9 +63,12 @@ import org.slf4j.event.Level;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -116,6 +120,17 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 	 */
 	private long nextUpdateTolerancePeriod = 0;
 
+	/**
+	 * The maximum number of certificates (CertIDs) to be requested within a single OCSP request
+	 * by the batch method {@code #getRevocationTokens}
+	 */
+	private int maxBatchSize = 20;
+
+	/**
+	 * Executes the requests to the alternative OCSP responders in parallel, when defined (optional)
+	 */
+	private transient HedgedRequestExecutor hedgedRequestExecutor;
+
 	/**
 	 * Create an OCSP source The default constructor for OnlineOCSPSource. The
 	 * default {@code OCSPDataLoader} is set. It is possible to change it with
@@ -214,11 +229,159 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 		this.nextUpdateTolerancePeriod = nextUpdateTolerancePeriod;
 	}
 
+	/**
+	 * Sets the maximum number of certificates (CertIDs) to be requested within a single OCSP request
+	 * by the batch method {@code #getRevocationTokens}. Larger sets of certificates are split into several requests.
+	 * Default : 20
+	 *
+	 * @param maxBatchSize the maximum number of certificates per OCSP request
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		if (maxBatchSize < 1) {
+			throw new IllegalArgumentException("The maxBatchSize shall be a positive number!");
+		}
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Sets the executor used to request the alternative OCSP responders in parallel (hedged requests).
+	 * When defined, the next OCSP responder is requested when the previous one did not respond within
+	 * the hedging delay, and the first valid OCSP response is used.
+	 * Default : null (the OCSP responders are requested one after another)
+	 *
+	 * @param hedgedRequestExecutor {@link HedgedRequestExecutor}
+	 */
+	public void setHedgedRequestExecutor(HedgedRequestExecutor hedgedRequestExecutor) {
+		this.hedgedRequestExecutor = hedgedRequestExecutor;
+	}
+
 	@Override
 	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
 		return getRevocationToken(certificateToken, issuerCertificateToken, Collections.emptyList());
 	}
 
+	/**
+	 * Retrieves OCSP responses for several certificates issued by the same {@code issuerCertificateToken}.
+	 * The certificates sharing the same OCSP access locations are requested within a single OCSP request
+	 * containing several CertIDs (up to {@code maxBatchSize}), and the obtained response is split into
+	 * per-certificate {@code OCSPToken}s.
+	 * <p>
+	 * When the responder does not accept the request or does not answer for some certificates,
+	 * these certificates are requested one by one with {@code #getRevocationToken} method.
+	 * The certificates for which no OCSP response can be obtained are not present in the returned map.
+	 * <p>
+	 * NOTE: the method is not used by the validation process, which requests the revocation data
+	 * certificate by certificate with {@code #getRevocationToken}. It is intended to be called by the client
+	 * (e.g. to prefetch the OCSP responses of the certificates issued by the same CA).
+	 *
+	 * @param certificateTokens a collection of {@link CertificateToken}s to retrieve OCSP responses for
+	 * @param issuerCertificateToken {@link CertificateToken} the issuer of the certificates
+	 * @return a map between the certificates and the obtained {@link OCSPToken}s
+	 */
+	public Map<CertificateToken, OCSPToken> getRevocationTokens(Collection<CertificateToken> certificateTokens,
+																CertificateToken issuerCertificateToken) {
+		Objects.requireNonNull(certificateTokens, "CertificateTokens cannot be null!");
+		Objects.requireNonNull(issuerCertificateToken, "Issuer CertificateToken cannot be null!");
+		Objects.requireNonNull(dataLoader, "DataLoader is not provided !");
+
+		final Map<List<String>, List<CertificateToken>> certificatesByResponder = new LinkedHashMap<>();
+		for (CertificateToken certificateToken : certificateTokens) {
+			final List<String> ocspUrls = getOCSPAccessURLs(certificateToken, Collections.emptyList());
+			if (Utils.isCollectionEmpty(ocspUrls)) {
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("No OCSP location found for certificate with Id '{}'", certificateToken.getDSSIdAsString());
+				}
+				continue;
+			}
+			final List<CertificateToken> certificates = certificatesByResponder.computeIfAbsent(ocspUrls, k -> new ArrayList<>());
+			if (!certificates.contains(certificateToken)) {
+				certificates.add(certificateToken);
+			}
+		}
+
+		final Map<CertificateToken, OCSPToken> result = new LinkedHashMap<>();
+		for (Map.Entry<List<String>, List<CertificateToken>> entry : certificatesByResponder.entrySet()) {
+			final List<CertificateToken> certificates = entry.getValue();
+			for (int i = 0; i < certificates.size(); i += maxBatchSize) {
+				final List<CertificateToken> batch = certificates.subList(i, Math.min(i + maxBatchSize, certificates.size()));
+				result.putAll(getRevocationTokensBatch(batch, issuerCertificateToken, entry.getKey()));
+			}
+		}
+		return result;
+	}
+
+	private Map<CertificateToken, OCSPToken> getRevocationTokensBatch(List<CertificateToken> certificateTokens,
+																	  CertificateToken issuerCertificateToken, List<String> ocspUrls) {
+		final Map<CertificateToken, OCSPToken> result = new LinkedHashMap<>();
+		if (certificateTokens.size() > 1) {
+			byte[] nonce = null;
+			if (nonceSource != null) {
+				nonce = nonceSource.getNonceValue();
+			}
+
+			final byte[] content = buildOCSPRequest(certificateTokens, issuerCertificateToken, nonce);
+			for (String ocspAccessLocation : ocspUrls) {
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Trying to retrieve an OCSP response for {} certificates from URL '{}'...",
+							certificateTokens.size(), ocspAccessLocation);
+				}
+				try {
+					BasicOCSPResp basicResponse = executeOCSPRequest(ocspAccessLocation, content);
+					for (CertificateToken certificateToken : certificateTokens) {
+						OCSPToken ocspToken = buildOCSPToken(basicResponse, certificateToken, issuerCertificateToken,
+								ocspAccessLocation, nonce);
+						if (ocspToken != null) {
+							result.put(certificateToken, ocspToken);
+						}
+					}
+					break;
+
+				} catch (Exception e) {
+					LOG.warn("Unable to retrieve OCSP response for {} certificates with URL '{}' : {}",
+							certificateTokens.size(), ocspAccessLocation, e.getMessage());
+				}
+			}
+		}
+
+		for (CertificateToken certificateToken : certificateTokens) {
+			if (!result.containsKey(certificateToken)) {
+				// the responder did not answer for the certificate within the batch request
+				try {
+					OCSPToken ocspToken = getRevocationToken(certificateToken, issuerCertificateToken);
+					if (ocspToken != null) {
+						result.put(certificateToken, ocspToken);
+					}
+				} catch (Exception e) {
+					LOG.warn(e.getMessage());
+				}
+			}
+		}
+		return result;
+	}
+
+	private OCSPToken buildOCSPToken(BasicOCSPResp basicResponse, CertificateToken certificateToken,
+									 CertificateToken issuerCertificateToken, String ocspAccessLocation, byte[] nonce) {
+		try {
+			SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(basicResponse, certificateToken, issuerCertificateToken);
+			if (latestSingleResponse == null) {
+				LOG.debug("No single response found for certificate with Id '{}' from URL '{}'",
+						certificateToken.getDSSIdAsString(), ocspAccessLocation);
+				return null;
+			}
+			assertOCSPResponseValid(basicResponse, latestSingleResponse, nonce);
+
+			OCSPToken ocspToken = new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerCertificateToken);
+			ocspToken.setSourceURL(ocspAccessLocation);
+			ocspToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+			return ocspToken;
+
+		} catch (Exception e) {
+			LOG.warn("Unable to use OCSP response for certificate with Id '{}' from URL '{}' : {}",
+					certificateToken.getDSSIdAsString(), ocspAccessLocation, e.getMessage());
+			return null;
+		}
+	}
+
 	@Override
 	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
 										List<String> alternativeUrls) {
@@ -243,27 +406,24 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 
 		final byte[] content = buildOCSPRequest(certificateToken, issuerCertificateToken, nonce);
 
+		if (hedgedRequestExecutor != null && ocspUrls.size() > 1) {
+			final byte[] expectedNonce = nonce;
+			try {
+				return hedgedRequestExecutor.execute(ocspUrls, ocspAccessLocation ->
+						getOCSPToken(certificateToken, issuerCertificateToken, ocspAccessLocation, content, expectedNonce));
+			} catch (DSSExternalResourceException e) {
+				throw new DSSExternalResourceException(String.format(
+						"Unable to retrieve OCSP response for certificate with Id '%s'. Reason : %s",
+						certificateToken.getDSSIdAsString(), e.getMessage()), e);
+			}
+		}
+
 		int nbTries = ocspUrls.size();
 		for (String ocspAccessLocation : ocspUrls) {
-			if (LOG.isDebugEnabled()) {
-				LOG.debug("Trying to retrieve an OCSP response from URL '{}'...", ocspAccessLocation);
-			}
 			nbTries--;
 
 			try {
-				BasicOCSPResp basicResponse = executeOCSPRequest(ocspAccessLocation, content);
-				SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(basicResponse, certificateToken, issuerCertificateToken);
-				assertOCSPResponseValid(basicResponse, latestSingleResponse, nonce);
-
-				OCSPToken ocspToken = new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerCertificateToken);
-				ocspToken.setSourceURL(ocspAccessLocation);
-				ocspToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
-
-				if (LOG.isDebugEnabled()) {
-					LOG.debug("OCSP Response '{}' has been retrieved from a source with URL '{}'.",
-							ocspToken.getDSSIdAsString(), ocspAccessLocation);
-				}
-				return ocspToken;
+				return getOCSPToken(certificateToken, issuerCertificateToken, ocspAccessLocation, content, nonce);
 
 			} catch (Exception e) {
 				if (nbTries == 0) {
@@ -280,6 +440,26 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 				"for a certificate call with id '%s'", certificateToken.getDSSIdAsString()));
 	}
 
+	private OCSPToken getOCSPToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+								   String ocspAccessLocation, byte[] content, byte[] nonce) throws IOException, OCSPException {
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Trying to retrieve an OCSP response from URL '{}'...", ocspAccessLocation);
+		}
+		BasicOCSPResp basicResponse = executeOCSPRequest(ocspAccessLocation, content);
+		SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(basicResponse, certificateToken, issuerCertificateToken);
+		assertOCSPResponseValid(basicResponse, latestSingleResponse, nonce);
+
+		OCSPToken ocspToken = new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerCertificateToken);
+		ocspToken.setSourceURL(ocspAccessLocation);
+		ocspToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("OCSP Response '{}' has been retrieved from a source with URL '{}'.",
+					ocspToken.getDSSIdAsString(), ocspAccessLocation);
+		}
+		return ocspToken;
+	}
+
 	/**
 	 * Extracts a list of OCSP access URLs to be used in the provided order to retrieve an OCSP response
 	 *
@@ -309,11 +489,25 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 	 * @return byte array representing an OCSP request
 	 */
 	protected byte[] buildOCSPRequest(CertificateToken certificateToken, CertificateToken issuerToken, byte[] nonce) {
+		return buildOCSPRequest(Collections.singletonList(certificateToken), issuerToken, nonce);
+	}
+
+	/**
+	 * Builds an OCSP request containing a CertID for each of {@code certificateTokens}
+	 *
+	 * @param certificateTokens a list of {@link CertificateToken}s to retrieve an OCSP token for
+	 * @param issuerToken {@link CertificateToken} representing an issuer certificate of {@code certificateTokens}
+	 * @param nonce byte array containing a unique nonce
+	 * @return byte array representing an OCSP request
+	 */
+	protected byte[] buildOCSPRequest(List<CertificateToken> certificateTokens, CertificateToken issuerToken, byte[] nonce) {
 		try {
 			final OCSPReqBuilder ocspReqBuilder = new OCSPReqBuilder();
 
-			final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerToken, certIDDigestAlgorithm);
-			ocspReqBuilder.addRequest(certId);
+			for (CertificateToken certificateToken : certificateTokens) {
+				final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerToken, certIDDigestAlgorithm);
+				ocspReqBuilder.addRequest(certId);
+			}
 			/*
 			 * The nonce extension is used to bind a request to a response to
 			 * prevent replay attacks. RFC 6960 (OCSP) section 4.1.2 such
@@ -0,0 +1,330 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.x509.aia;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.x509.aia.AIASource;
+import eu.europa.esig.dss.spi.x509.aia.RepositoryAIASource;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * AIASource that provides file-based caching functionality for certificates downloaded by AIA.
+ * The cache directory may be shared between several instances or nodes (e.g. a network file system),
+ * including the negative cache entries defined with {@code #setNegativeCacheDelay}.
+ * <p>
+ * WARNING: The class represents an experimental functionality.
+ *          Please note the class was not extensively tested.
+ */
+public class FileCacheAIASource extends RepositoryAIASource {
+
+    private static final long serialVersionUID = 2318479465207368924L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileCacheAIASource.class);
+
+    /** Subdirectory to be used by default for AIA certificates caching */
+    private static final String DEFAULT_AIA_CACHE_SUBDIRECTORY = "/dss-cache-aia";
+
+    /** Extension used for the certificate filename definition */
+    private static final String CERT_FILE_EXTENSION = ".cer";
+
+    /** Extension used for the negative cache entry filename definition */
+    private static final String NEGATIVE_CACHE_FILE_EXTENSION = ".fail";
+
+    /** File extension used for a file being written */
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+    /**
+     * The directory where cached certificate files are stored
+     * Default : Temporary directory with a "/dss-cache-aia" subdirectory
+     */
+    private File fileCacheDirectory = new File(System.getProperty("java.io.tmpdir"), DEFAULT_AIA_CACHE_SUBDIRECTORY);
+
+    /**
+     * Empty constructor.
+     * The proxied AIASource can be provided using the {@code #setProxySource} method.
+     */
+    public FileCacheAIASource() {
+        super();
+    }
+
+    /**
+     * Constructor that initializes the file cache AIA source with a proxied AIASource provided.
+     *
+     * @param proxiedSource {@link AIASource} to be used to load certificates when the corresponding
+     *                                        AIA entry is not available in the file system.
+     */
+    public FileCacheAIASource(AIASource proxiedSource) {
+        this.proxiedSource = proxiedSource;
+    }
+
+    /**
+     * This method allows to set the file cache directory. If the cache folder does not exist then it's created.
+     * Default : Temporary directory with a "/dss-cache-aia" subdirectory
+     *
+     * @param fileCacheDirectory
+     *            {@code File} pointing the cache folder to be used.
+     */
+    public void setFileCacheDirectory(File fileCacheDirectory) {
+        Objects.requireNonNull(fileCacheDirectory, "File cache directory cannot be null!");
+        this.fileCacheDirectory = initializeCacheDirectory(fileCacheDirectory);
+    }
+
+    private File initializeCacheDirectory(File fileCacheDirectory) {
+        if (!fileCacheDirectory.exists()) {
+            if (fileCacheDirectory.mkdirs()) {
+                LOG.info("Cache directory '{}' created successfully", fileCacheDirectory.getAbsolutePath());
+            } else {
+                throw new IllegalStateException(
+                        String.format("Unable to create cache directory '%s'", fileCacheDirectory.getAbsolutePath()));
+            }
+        }
+        if (!fileCacheDirectory.isDirectory()) {
+            throw new IllegalArgumentException(
+                    String.format("Cache path '%s' is not a directory", fileCacheDirectory.getAbsolutePath()));
+        }
+        return fileCacheDirectory;
+    }
+
+    /**
+     * Gets the cache directory
+     *
+     * @return {@link File} the cache directory
+     */
+    public File getFileCacheDirectory() {
+        return fileCacheDirectory;
+    }
+
+    @Override
+    protected Set<CertificateToken> findCertificates(final String key) {
+        final Set<CertificateToken> certificateTokens = new LinkedHashSet<>();
+        for (File certificateFile : listFiles(getAIAKeyDirectory(key), CERT_FILE_EXTENSION)) {
+            try {
+                certificateTokens.add(DSSUtils.loadCertificate(certificateFile));
+            } catch (Exception e) {
+                LOG.warn("Unable to load a cached AIA certificate from file with name '{}' : {}",
+                        certificateFile.getName(), e.getMessage());
+            }
+        }
+        return certificateTokens;
+    }
+
+    @Override
+    protected void insertCertificate(final String aiaKey, final CertificateToken certificateToken) {
+        if (certificateToken != null && aiaKey != null) {
+            String filename = getUniqueCertificateAiaId(certificateToken, aiaKey) + CERT_FILE_EXTENSION;
+            replaceFile(certificateToken.getEncoded(), new File(getAIAKeyDirectory(aiaKey), filename));
+            LOG.debug("AIA Certificate with Id '{}' successfully inserted in the file cache", certificateToken.getDSSIdAsString());
+        }
+    }
+
+    @Override
+    protected void removeCertificates(final String aiaKey) {
+        final File aiaKeyDirectory = getAIAKeyDirectory(aiaKey);
+        for (File certificateFile : listFiles(aiaKeyDirectory, CERT_FILE_EXTENSION)) {
+            deleteCacheFile(certificateFile);
+        }
+        try {
+            Files.deleteIfExists(aiaKeyDirectory.toPath());
+        } catch (IOException e) {
+            // e.g. a certificate is being inserted concurrently
+            LOG.debug("The AIA key directory '{}' has not been removed : {}", aiaKeyDirectory.getName(), e.getMessage());
+        }
+        LOG.debug("Certificate tokens with AIA key '{}' successfully removed from the file cache", aiaKey);
+    }
+
+    /**
+     * Returns the AIA keys having a directory within the cache directory,
+     * ordered from the least recently modified directory
+     *
+     * @return a list of {@link String} AIA keys
+     */
+    @Override
+    protected List<String> getExistingAIAKeys() {
+        File[] aiaKeyDirectories = fileCacheDirectory.listFiles(File::isDirectory);
+        if (aiaKeyDirectories == null) {
+            return Collections.emptyList();
+        }
+        final List<File> directories = new ArrayList<>();
+        Collections.addAll(directories, aiaKeyDirectories);
+        directories.sort(Comparator.comparingLong(File::lastModified));
+
+        final List<String> aiaKeys = new ArrayList<>();
+        for (File directory : directories) {
+            aiaKeys.add(directory.getName());
+        }
+        return aiaKeys;
+    }
+
+    @Override
+    protected boolean containsAIAKey(final String aiaKey) {
+        return getAIAKeyDirectory(aiaKey).isDirectory();
+    }
+
+    @Override
+    protected Date getNegativeCacheExpirationTime(final String aiaKey) {
+        File negativeCacheFile = getCacheFile(aiaKey + NEGATIVE_CACHE_FILE_EXTENSION);
+        if (negativeCacheFile.exists()) {
+            try {
+                String content = new String(DSSUtils.toByteArray(negativeCacheFile), StandardCharsets.UTF_8);
+                return new Date(Long.parseLong(content.trim()));
+            } catch (Exception e) {
+                LOG.warn("Unable to read the AIA negative cache file with name '{}' : {}",
+                        negativeCacheFile.getName(), e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void insertNegativeCacheEntry(final String aiaKey, final Date expirationTime) {
+        byte[] content = String.valueOf(expirationTime.getTime()).getBytes(StandardCharsets.UTF_8);
+        replaceFile(content, getCacheFile(aiaKey + NEGATIVE_CACHE_FILE_EXTENSION));
+    }
+
+    @Override
+    protected void removeNegativeCacheEntry(final String aiaKey) {
+        File negativeCacheFile = getCacheFile(aiaKey + NEGATIVE_CACHE_FILE_EXTENSION);
+        if (negativeCacheFile.exists()) {
+            deleteCacheFile(negativeCacheFile);
+        }
+    }
+
+    /**
+     * Removes the expired negative cache entries from the cache directory.
+     * The method may be called periodically in order to keep the cache directory small.
+     *
+     * @return number of removed entries
+     */
+    public int removeExpiredNegativeCacheEntries() {
+        final Date currentTime = new Date();
+        int removed = 0;
+        for (File negativeCacheFile : listFiles(fileCacheDirectory, NEGATIVE_CACHE_FILE_EXTENSION)) {
+            String filename = negativeCacheFile.getName();
+            String aiaKey = filename.substring(0, filename.length() - NEGATIVE_CACHE_FILE_EXTENSION.length());
+            Date expirationTime = getNegativeCacheExpirationTime(aiaKey);
+            if (expirationTime == null || !expirationTime.after(currentTime)) {
+                deleteCacheFile(negativeCacheFile);
+                ++removed;
+            }
+        }
+        LOG.debug("{} expired AIA negative cache entries have been removed from the file cache", removed);
+        return removed;
+    }
+
+    /**
+     * Clears all cached files from the cache directory
+     */
+    public void clearCache() {
+        if (!fileCacheDirectory.isDirectory()) {
+            LOG.warn("Cache directory '{}' does not exist or is not a directory!", fileCacheDirectory.getAbsolutePath());
+            return;
+        }
+        try {
+            Utils.cleanDirectory(fileCacheDirectory);
+            LOG.info("Cache cleared for directory: {}", fileCacheDirectory.getAbsolutePath());
+
+        } catch (IOException e) {
+            LOG.warn("Failed to clean the directory '{}' : {}", fileCacheDirectory.getAbsolutePath(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the directory containing the certificates cached for the given {@code aiaKey},
+     * so a single AIA key is accessed without listing the whole cache directory
+     *
+     * @param aiaKey {@link String} AIA key identifying an AIA access URL
+     * @return {@link File} directory
+     */
+    private File getAIAKeyDirectory(String aiaKey) {
+        return getCacheFile(aiaKey);
+    }
+
+    private List<File> listFiles(File directory, String extension) {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(extension));
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        List<File> result = new ArrayList<>();
+        Collections.addAll(result, files);
+        return result;
+    }
+
+    private File getCacheFile(String filename) {
+        return new File(fileCacheDirectory, filename);
+    }
+
+    /**
+     * Writes {@code bytes} to a temporary file and moves it to the target {@code file},
+     * in order to keep the content consistent for concurrent readers
+     *
+     * @param bytes content to be written
+     * @param file {@link File} to be replaced
+     */
+    private void replaceFile(byte[] bytes, File file) {
+        Path tempFile = null;
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            // a unique temporary file, so concurrent writers do not overwrite each other's content
+            tempFile = Files.createTempFile(file.getParentFile().toPath(), file.getName(), TEMP_FILE_EXTENSION);
+            Files.write(tempFile, bytes);
+            try {
+                Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                LOG.debug("Atomic move is not supported : {}", e.getMessage());
+                Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            if (tempFile != null) {
+                deleteCacheFile(tempFile.toFile());
+            }
+            throw new DSSException(String.format("Unable to save a file : %s", e.getMessage()), e);
+        }
+    }
+
+    private void deleteCacheFile(File cacheFile) {
+        try {
+            Files.deleteIfExists(cacheFile.toPath());
+        } catch (IOException e) {
+            LOG.warn("Failed to delete cache file '{}': {}", cacheFile.getAbsolutePath(), e.getMessage());
+        }
+    }
+
+}
@@ -34,7 +34,9 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.Collection;
+import java.util.Date;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -101,6 +103,67 @@ public class JdbcCacheAIASource extends RepositoryAIASource {
         }
     };
 
+    /**
+     * Requests to check whether certificates are stored for the given AIA key
+     */
+    private static final SqlSelectQuery SQL_AIA_KEY_QUERY = new SqlSelectQuery("SELECT DISTINCT AIA FROM AIA_CERTIFICATES WHERE AIA = ?") {
+        @Override
+        public SqlAIAResponse getRecord(ResultSet rs) throws SQLException {
+            SqlAIAResponse response = new SqlAIAResponse();
+            response.aiaKey = rs.getString("AIA");
+            return response;
+        }
+    };
+
+    /**
+     * Used in the init method to check if the negative cache table exists
+     */
+    private static final SqlQuery SQL_INIT_CHECK_NEGATIVE_CACHE_EXISTENCE = SqlQuery.createQuery("SELECT COUNT(*) FROM AIA_NEGATIVE_CACHE");
+
+    /**
+     * Used in the init method to create the negative cache table, if not existing:
+     * AIA url key (char40 = SHA1 length) and EXPIRY (timestamp) until which the AIA url shall not be requested
+     */
+    private static final SqlQuery SQL_INIT_CREATE_NEGATIVE_CACHE_TABLE = SqlQuery.createQuery("CREATE TABLE AIA_NEGATIVE_CACHE (AIA CHAR(40) PRIMARY KEY, EXPIRY TIMESTAMP)");
+
+    /**
+     * Used to drop the negative cache table
+     */
+    private static final SqlQuery SQL_DROP_NEGATIVE_CACHE_TABLE = SqlQuery.createQuery("DROP TABLE AIA_NEGATIVE_CACHE");
+
+    /**
+     * Used to insert a new negative cache record
+     */
+    private static final SqlQuery SQL_NEGATIVE_CACHE_INSERT = SqlQuery.createQuery("INSERT INTO AIA_NEGATIVE_CACHE (AIA, EXPIRY) VALUES (?, ?)");
+
+    /**
+     * Used to update an existing negative cache record
+     */
+    private static final SqlQuery SQL_NEGATIVE_CACHE_UPDATE = SqlQuery.createQuery("UPDATE AIA_NEGATIVE_CACHE SET EXPIRY = ? WHERE AIA = ?");
+
+    /**
+     * Used to remove a negative cache record by the AIA key
+     */
+    private static final SqlQuery SQL_NEGATIVE_CACHE_REMOVE = SqlQuery.createQuery("DELETE FROM AIA_NEGATIVE_CACHE WHERE AIA = ?");
+
+    /**
+     * Used to remove the expired negative cache records
+     */
+    private static final SqlQuery SQL_NEGATIVE_CACHE_REMOVE_EXPIRED = SqlQuery.createQuery("DELETE FROM AIA_NEGATIVE_CACHE WHERE EXPIRY < ?");
+
+    /**
+     * Requests to extract a negative cache record
+     */
+    private static final SqlSelectQuery SQL_NEGATIVE_CACHE_FIND_QUERY = new SqlSelectQuery("SELECT AIA, EXPIRY FROM AIA_NEGATIVE_CACHE WHERE AIA = ?") {
+        @Override
+        public SqlAIAResponse getRecord(ResultSet rs) throws SQLException {
+            SqlAIAResponse response = new SqlAIAResponse();
+            response.aiaKey = rs.getString("AIA");
+            response.expiry = rs.getTimestamp("EXPIRY");
+            return response;
+        }
+    };
+
     /**
      * Connection to database
      */
@@ -185,6 +248,87 @@ public class JdbcCacheAIASource extends RepositoryAIASource {
         return SQL_DISTINCT_AIA_KEYS_QUERY;
     }
 
+    /**
+     * Returns an SQL query to check whether the given AIA key is stored in a table
+     *
+     * @return {@link SqlSelectQuery}
+     */
+    protected SqlSelectQuery getAIAKeyExtractQuery() {
+        return SQL_AIA_KEY_QUERY;
+    }
+
+    /**
+     * Returns CREATE_TABLE sql query for the negative cache table
+     *
+     * @return {@link SqlQuery}
+     */
+    protected SqlQuery getCreateNegativeCacheTableQuery() {
+        return SQL_INIT_CREATE_NEGATIVE_CACHE_TABLE;
+    }
+
+    /**
+     * Returns an sql query to check the negative cache table existence
+     *
+     * @return {@link SqlQuery}
+     */
+    protected SqlQuery getNegativeCacheTableExistenceQuery() {
+        return SQL_INIT_CHECK_NEGATIVE_CACHE_EXISTENCE;
+    }
+
+    /**
+     * Returns an sql query to remove the negative cache table from DB
+     *
+     * @return {@link SqlQuery}
+     */
+    protected SqlQuery getDeleteNegativeCacheTableQuery() {
+        return SQL_DROP_NEGATIVE_CACHE_TABLE;
+    }
+
+    /**
+     * Returns an SQL query to insert a new negative cache entry
+     *
+     * @return {@link SqlQuery}
+     */
+    protected SqlQuery getInsertNegativeCacheEntryQuery() {
+        return SQL_NEGATIVE_CACHE_INSERT;
+    }
+
+    /**
+     * Returns an SQL query to update an existing negative cache entry
+     *
+     * @return {@link SqlQuery}
+     */
+    protected SqlQuery getUpdateNegativeCacheEntryQuery() {
+        return SQL_NEGATIVE_CACHE_UPDATE;
+    }
+
+    /**
+     * Returns an SQL query to remove a negative cache entry
+     *
+     * @return {@link SqlQuery}
+     */
+    protected SqlQuery getRemoveNegativeCacheEntryQuery() {
+        return SQL_NEGATIVE_CACHE_REMOVE;
+    }
+
+    /**
+     * Returns an SQL query to remove the expired negative cache entries
+     *
+     * @return {@link SqlQuery}
+     */
+    protected SqlQuery getRemoveExpiredNegativeCacheEntriesQuery() {
+        return SQL_NEGATIVE_CACHE_REMOVE_EXPIRED;
+    }
+
+    /**
+     * Returns an SQL query to extract a negative cache entry
+     *
+     * @return {@link SqlSelectQuery}
+     */
+    protected SqlSelectQuery getNegativeCacheEntryExtractQuery() {
+        return SQL_NEGATIVE_CACHE_FIND_QUERY;
+    }
+
     @Override
     protected Set<CertificateToken> findCertificates(final String key) {
         Collection<SqlRecord> records = jdbcCacheConnector.select(getAIACertificatesExtractQuery(), key);
@@ -225,12 +369,54 @@ public class JdbcCacheAIASource extends RepositoryAIASource {
         LOG.debug("Certificate tokens with AIA key '{}' successfully removed from DB", aiaKey);
     }
 
+    @Override
+    protected Date getNegativeCacheExpirationTime(String aiaKey) {
+        Collection<SqlRecord> records = jdbcCacheConnector.select(getNegativeCacheEntryExtractQuery(), aiaKey);
+        for (SqlRecord resultRecord : records) {
+            Timestamp expiry = ((SqlAIAResponse) resultRecord).expiry;
+            if (expiry != null) {
+                return new Date(expiry.getTime());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void insertNegativeCacheEntry(String aiaKey, Date expirationTime) {
+        Timestamp expiry = new Timestamp(expirationTime.getTime());
+        jdbcCacheConnector.upsert(getUpdateNegativeCacheEntryQuery(), new Object[] { expiry, aiaKey },
+                getInsertNegativeCacheEntryQuery(), new Object[] { aiaKey, expiry });
+        LOG.debug("Negative cache entry for AIA key '{}' successfully stored in DB", aiaKey);
+    }
+
+    @Override
+    protected void removeNegativeCacheEntry(String aiaKey) {
+        jdbcCacheConnector.execute(getRemoveNegativeCacheEntryQuery(), aiaKey);
+    }
+
+    /**
+     * Removes the expired negative cache entries from DB.
+     * The method may be called periodically in order to keep the negative cache table small.
+     *
+     * @return number of removed entries
+     */
+    public int removeExpiredNegativeCacheEntries() {
+        int removed = jdbcCacheConnector.execute(getRemoveExpiredNegativeCacheEntriesQuery(), new Timestamp(System.currentTimeMillis()));
+        LOG.debug("{} expired AIA negative cache entries have been removed from DB", removed);
+        return removed;
+    }
+
     @Override
     protected List<String> getExistingAIAKeys() {
         Collection<SqlRecord> result = jdbcCacheConnector.select(getAIAKeysExtractQuery());
         return result.stream().map(r -> ((SqlAIAResponse) r).aiaKey).collect(Collectors.toList());
     }
 
+    @Override
+    protected boolean containsAIAKey(String aiaKey) {
+        return !jdbcCacheConnector.select(getAIAKeyExtractQuery(), aiaKey).isEmpty();
+    }
+
     /**
      * Initialize the table.
      *
@@ -245,6 +431,11 @@ public class JdbcCacheAIASource extends RepositoryAIASource {
         } else {
             LOG.debug("Table already exists.");
         }
+        if (!isNegativeCacheTableExists()) {
+            LOG.debug("Negative cache table does not exist. Creating a new table...");
+            jdbcCacheConnector.executeThrowable(getCreateNegativeCacheTableQuery());
+            LOG.info("Negative cache table was created.");
+        }
     }
 
     /**
@@ -256,6 +447,10 @@ public class JdbcCacheAIASource extends RepositoryAIASource {
         return jdbcCacheConnector.tableQuery(getTableExistenceQuery());
     }
 
+    private boolean isNegativeCacheTableExists() {
+        return jdbcCacheConnector.tableQuery(getNegativeCacheTableExistenceQuery());
+    }
+
     private void createTable() throws SQLException {
         jdbcCacheConnector.executeThrowable(getCreateTableQuery());
     }
@@ -274,6 +469,10 @@ public class JdbcCacheAIASource extends RepositoryAIASource {
         } else {
             LOG.warn("Cannot drop the table. Table does not exist.");
         }
+        if (isNegativeCacheTableExists()) {
+            jdbcCacheConnector.executeThrowable(getDeleteNegativeCacheTableQuery());
+            LOG.info("Negative cache table was destroyed.");
+        }
     }
 
     private void dropTable() throws SQLException {
@@ -300,6 +499,11 @@ public class JdbcCacheAIASource extends RepositoryAIASource {
          */
         protected byte[] certificateBinary;
 
+        /**
+         * Expiration time of a negative cache entry
+         */
+        protected Timestamp expiry;
+
         /**
          * Default constructor
          */
@@ -38,10 +38,13 @@ import java.util.Calendar;
 import java.util.concurrent.TimeUnit;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FileCacheCRLSourceTest extends OnlineSourceTest {
 
@@ -108,6 +111,35 @@ class FileCacheCRLSourceTest extends OnlineSourceTest {
 
 	}
 
+	@Test
+	void memoryMappingTest() {
+		DataLoader dataLoader = new CommonsDataLoader();
+		CertificateToken certificateToken = DSSUtils
+				.loadCertificate(dataLoader.get(ONLINE_PKI_HOST + "/crt/good-user-crl-ocsp.crt"));
+		CertificateToken caToken = DSSUtils.loadCertificate(dataLoader.get(ONLINE_PKI_HOST + "/crt/good-ca.crt"));
+
+		fileCacheCRLSource.setProxySource(new OnlineCRLSource());
+		fileCacheCRLSource.setMemoryMapping(true);
+
+		CRLToken revocationToken = fileCacheCRLSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(revocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+		assertFalse(revocationToken.getCrlValidity().getCrlBinary().isMemoryMapped());
+
+		CRLToken savedRevocationToken = fileCacheCRLSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(savedRevocationToken);
+		assertEquals(RevocationOrigin.CACHED, savedRevocationToken.getExternalOrigin());
+		assertTrue(savedRevocationToken.getCrlValidity().getCrlBinary().isMemoryMapped());
+		assertTrue(savedRevocationToken.isSignatureIntact());
+		compareTokens(revocationToken, savedRevocationToken);
+
+		// the cache file is replaced while mapped
+		CRLToken forceRefresh = fileCacheCRLSource.getRevocationToken(certificateToken, caToken, true);
+		assertNotNull(forceRefresh);
+		assertEquals(RevocationOrigin.EXTERNAL, forceRefresh.getExternalOrigin());
+		assertArrayEquals(revocationToken.getEncoded(), savedRevocationToken.getEncoded());
+	}
+
 	@Test
 	void testExpired() {
 		CRLToken revocationToken;
@@ -20,25 +20,63 @@
  */
 package eu.europa.esig.dss.service.crl;
 
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.enumerations.CertificateStatus;
 import eu.europa.esig.dss.enumerations.RevocationOrigin;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 import eu.europa.esig.dss.service.OnlineSourceTest;
 import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.client.jdbc.JdbcCacheConnector;
+import eu.europa.esig.dss.spi.client.jdbc.query.SqlQuery;
+import eu.europa.esig.dss.spi.client.jdbc.query.SqlSelectQuery;
+import eu.europa.esig.dss.spi.client.jdbc.record.SqlRecord;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLNumber;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.h2.jdbcx.JdbcDataSource;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -48,9 +86,20 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class JdbcCacheCrlSourceTest extends OnlineSourceTest {
 	
+	private static final SqlSelectQuery SQL_FIND_IDS = new SqlSelectQuery("SELECT ID FROM CACHED_CRL") {
+
+		@Override
+		protected SqlRecord getRecord(ResultSet rs) {
+			return new SqlRecord() { };
+		}
+
+	};
+
 	private JdbcDataSource dataSource = new JdbcDataSource();
 	
 	private MockJdbcCacheCRLSource crlSource = new MockJdbcCacheCRLSource();
+
+	private JdbcCacheConnector jdbcCacheConnector;
 	
 //	private Server webServer;
 	
@@ -59,7 +108,7 @@ class JdbcCacheCrlSourceTest extends OnlineSourceTest {
 		// for testing purposes. DB view available on http://localhost:8082
 		// webServer = Server.createWebServer("-web","-webAllowOthers","-webPort","8082").start();
 		dataSource.setUrl("jdbc:h2:mem:test;DB_CLOSE_DELAY=-1");
-		JdbcCacheConnector jdbcCacheConnector = new JdbcCacheConnector(dataSource);
+		jdbcCacheConnector = new JdbcCacheConnector(dataSource);
 		crlSource.setJdbcCacheConnector(jdbcCacheConnector);
 		assertFalse(crlSource.isTableExists());
 		crlSource.initTable();
@@ -151,6 +200,187 @@ class JdbcCacheCrlSourceTest extends OnlineSourceTest {
 		assertEquals(RevocationOrigin.EXTERNAL, savedRevocationToken.getExternalOrigin()); // expired crl
 	}
 
+	@Test
+	void removeExpiredRevocationsTest() {
+		Date now = new Date();
+		jdbcCacheConnector.execute(SqlQuery.createQuery("INSERT INTO CACHED_CRL (ID, EXPIRY) VALUES (?, ?)"),
+				"expired", new Timestamp(now.getTime() - 60000L));
+		jdbcCacheConnector.execute(SqlQuery.createQuery("INSERT INTO CACHED_CRL (ID, EXPIRY) VALUES (?, ?)"),
+				"valid", new Timestamp(now.getTime() + 60000L));
+
+		assertEquals(1, crlSource.removeExpiredRevocations());
+		assertEquals(0, crlSource.removeExpiredRevocations());
+		assertEquals(1, jdbcCacheConnector.select(SQL_FIND_IDS, new Object[0]).size());
+	}
+
+	@Test
+	void upgradeTableTest() throws SQLException {
+		crlSource.destroyTable();
+		jdbcCacheConnector.execute(SqlQuery.createQuery("CREATE TABLE CACHED_CRL (ID CHAR(40), DATA BLOB, ISSUER LONGVARBINARY)"));
+		jdbcCacheConnector.execute(SqlQuery.createQuery("INSERT INTO CACHED_CRL (ID) VALUES (?)"), "legacy");
+		assertTrue(crlSource.isTableExists());
+
+		crlSource.initTable();
+		assertTrue(crlSource.isTableExists());
+		assertTrue(jdbcCacheConnector.tableQuery(SqlQuery.createQuery("SELECT EXPIRY, DELTA FROM CACHED_CRL WHERE 1 = 0")));
+
+		// legacy entries without an expiry time are kept
+		assertEquals(0, crlSource.removeExpiredRevocations());
+		assertEquals(1, jdbcCacheConnector.select(SQL_FIND_IDS, new Object[0]).size());
+
+		// the table is upgraded only once
+		crlSource.initTable();
+		assertEquals(1, jdbcCacheConnector.select(SQL_FIND_IDS, new Object[0]).size());
+
+		// the upgraded table does not accept several records for the same key
+		assertEquals(1, upsert("legacy", new byte[] { 1 }));
+		assertEquals(1, jdbcCacheConnector.select(SQL_FIND_IDS, new Object[0]).size());
+		assertEquals(0, jdbcCacheConnector.execute(SqlQuery.createQuery("INSERT INTO CACHED_CRL (ID) VALUES (?)"), "legacy"));
+		assertEquals(1, jdbcCacheConnector.select(SQL_FIND_IDS, new Object[0]).size());
+	}
+
+	@Test
+	void concurrentUpsertTest() throws Exception {
+		final int threads = 8;
+		ExecutorService executorService = Executors.newFixedThreadPool(threads);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				final byte[] data = new byte[] { (byte) i };
+				futures.add(executorService.submit(() -> {
+					start.await();
+					return upsert("concurrent-key", data);
+				}));
+			}
+			start.countDown();
+			for (Future<Integer> future : futures) {
+				assertEquals(1, future.get());
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		// concurrent upserts shall not insert several records for the same key
+		assertEquals(1, jdbcCacheConnector.select(SQL_FIND_IDS, new Object[0]).size());
+	}
+
+	private int upsert(String key, byte[] data) {
+		return jdbcCacheConnector.upsert(
+				crlSource.getUpdateRevocationTokenEntryQuery(), new Object[] { data, null, null, null, key },
+				crlSource.getInsertRevocationTokenEntryQuery(), new Object[] { key, data, null, null, null });
+	}
+
+	@Test
+	void deltaCRLTest() throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+		keyPairGenerator.initialize(256);
+		KeyPair caKeyPair = keyPairGenerator.generateKeyPair();
+		ContentSigner signer = new JcaContentSignerBuilder("SHA256withECDSA").build(caKeyPair.getPrivate());
+
+		X500Name caName = new X500Name("CN=Delta CRL CA,O=DSS-test");
+		CertificateToken caToken = buildCaCertificate(caName, caKeyPair, signer);
+		CertificateToken certificateToken = buildUserCertificate(caName, keyPairGenerator.generateKeyPair(), signer);
+		CRLValidity baseCrl = buildBaseCRL(caName, caToken, signer);
+
+		Date deltaThisUpdate = new Date();
+		X509v2CRLBuilder deltaBuilder = new X509v2CRLBuilder(caName, deltaThisUpdate);
+		deltaBuilder.setNextUpdate(new Date(deltaThisUpdate.getTime() + 3600000L));
+		deltaBuilder.addCRLEntry(certificateToken.getSerialNumber(), deltaThisUpdate, CRLReason.keyCompromise);
+		deltaBuilder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.valueOf(2)));
+		deltaBuilder.addExtension(Extension.deltaCRLIndicator, true, new CRLNumber(BigInteger.ONE));
+		CRLValidity deltaCrl = CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(deltaBuilder.build(signer).getEncoded()), caToken);
+
+		crlSource.setProxySource((CRLSource) (certificate, issuer) -> {
+			CRLToken crlToken = new CRLToken(certificate, baseCrl, deltaCrl);
+			crlToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+			crlToken.setSourceURL("http://crl.test/ca.crl");
+			return crlToken;
+		});
+
+		CRLToken revocationToken = crlSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(revocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+		assertEquals(CertificateStatus.REVOKED, revocationToken.getStatus());
+
+		CRLToken savedRevocationToken = crlSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(savedRevocationToken);
+		assertEquals(RevocationOrigin.CACHED, savedRevocationToken.getExternalOrigin());
+		assertNotNull(savedRevocationToken.getDeltaCrlValidity());
+		assertArrayEquals(deltaCrl.getDerEncoded(), savedRevocationToken.getEncoded());
+		assertEquals(revocationToken.getDSSId(), savedRevocationToken.getDSSId());
+		assertEquals(CertificateStatus.REVOKED, savedRevocationToken.getStatus());
+		assertEquals(deltaCrl.getNextUpdate(), savedRevocationToken.getNextUpdate());
+	}
+
+	@Test
+	void oldSchemaCreateTableQueryTest() throws Exception {
+		crlSource.destroyTable();
+
+		LegacyJdbcCacheCRLSource legacyCrlSource = new LegacyJdbcCacheCRLSource();
+		legacyCrlSource.setJdbcCacheConnector(jdbcCacheConnector);
+		legacyCrlSource.initTable();
+		assertTrue(legacyCrlSource.isTableExists());
+		// the columns missing from the overridden query are added
+		assertTrue(jdbcCacheConnector.tableQuery(SqlQuery.createQuery("SELECT EXPIRY, DELTA FROM CACHED_CRL WHERE 1 = 0")));
+
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+		keyPairGenerator.initialize(256);
+		KeyPair caKeyPair = keyPairGenerator.generateKeyPair();
+		ContentSigner signer = new JcaContentSignerBuilder("SHA256withECDSA").build(caKeyPair.getPrivate());
+
+		X500Name caName = new X500Name("CN=Legacy CRL CA,O=DSS-test");
+		CertificateToken caToken = buildCaCertificate(caName, caKeyPair, signer);
+		CertificateToken certificateToken = buildUserCertificate(caName, keyPairGenerator.generateKeyPair(), signer);
+		CRLValidity baseCrl = buildBaseCRL(caName, caToken, signer);
+
+		legacyCrlSource.setProxySource((CRLSource) (certificate, issuer) -> {
+			CRLToken crlToken = new CRLToken(certificate, baseCrl);
+			crlToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+			crlToken.setSourceURL("http://crl.test/ca.crl");
+			return crlToken;
+		});
+
+		CRLToken revocationToken = legacyCrlSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(revocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+
+		Map<CertificateToken, List<RevocationToken<CRL>>> cachedRevocationTokens =
+				legacyCrlSource.getCachedRevocationTokens(Arrays.asList(certificateToken, caToken));
+		assertEquals(1, cachedRevocationTokens.size());
+		List<RevocationToken<CRL>> savedRevocationTokens = cachedRevocationTokens.get(certificateToken);
+		assertEquals(1, savedRevocationTokens.size());
+		assertEquals(RevocationOrigin.CACHED, savedRevocationTokens.get(0).getExternalOrigin());
+		assertEquals(revocationToken.getDSSId(), savedRevocationTokens.get(0).getDSSId());
+		assertEquals(CertificateStatus.GOOD, savedRevocationTokens.get(0).getStatus());
+	}
+
+	private static CertificateToken buildCaCertificate(X500Name caName, KeyPair caKeyPair, ContentSigner signer) throws Exception {
+		JcaX509v3CertificateBuilder caBuilder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE,
+				new Date(System.currentTimeMillis() - 86400000L), new Date(System.currentTimeMillis() + 86400000L),
+				caName, caKeyPair.getPublic());
+		caBuilder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+		return DSSUtils.loadCertificate(caBuilder.build(signer).getEncoded());
+	}
+
+	private static CertificateToken buildUserCertificate(X500Name caName, KeyPair userKeyPair, ContentSigner signer) throws Exception {
+		JcaX509v3CertificateBuilder userBuilder = new JcaX509v3CertificateBuilder(caName, BigInteger.TEN,
+				new Date(System.currentTimeMillis() - 86400000L), new Date(System.currentTimeMillis() + 86400000L),
+				new X500Name("CN=CRL user,O=DSS-test"), userKeyPair.getPublic());
+		userBuilder.addExtension(Extension.cRLDistributionPoints, false, new CRLDistPoint(new DistributionPoint[] {
+				new DistributionPoint(new DistributionPointName(new GeneralNames(
+						new GeneralName(GeneralName.uniformResourceIdentifier, "http://crl.test/ca.crl"))), null, null) }));
+		return DSSUtils.loadCertificate(userBuilder.build(signer).getEncoded());
+	}
+
+	private static CRLValidity buildBaseCRL(X500Name caName, CertificateToken caToken, ContentSigner signer) throws Exception {
+		Date baseThisUpdate = new Date(System.currentTimeMillis() - 3600000L);
+		X509v2CRLBuilder baseBuilder = new X509v2CRLBuilder(caName, baseThisUpdate);
+		baseBuilder.setNextUpdate(new Date(baseThisUpdate.getTime() + 86400000L));
+		baseBuilder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.ONE));
+		return CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(baseBuilder.build(signer).getEncoded()), caToken);
+	}
+
 	@AfterEach
 	void cleanUp() throws SQLException {
 		crlSource.destroyTable();
@@ -170,4 +400,14 @@ class JdbcCacheCrlSourceTest extends OnlineSourceTest {
 		
 	}
 
+	@SuppressWarnings("serial")
+	private static class LegacyJdbcCacheCRLSource extends JdbcCacheCRLSource {
+
+		@Override
+		protected SqlQuery getCreateTableQuery() {
+			return SqlQuery.createQuery("CREATE TABLE CACHED_CRL (ID CHAR(40), DATA BLOB, ISSUER LONGVARBINARY)");
+		}
+
+	}
+
 }
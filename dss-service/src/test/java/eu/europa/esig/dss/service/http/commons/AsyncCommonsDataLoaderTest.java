@@ -0,0 +1,227 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.http.commons;
+
+import eu.europa.esig.dss.model.http.ResponseEnvelope;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
+import eu.europa.esig.dss.service.http.proxy.ProxyProperties;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.HostCircuitBreaker;
+import eu.europa.esig.dss.spi.client.http.NativeHTTPDataLoader;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncCommonsDataLoaderTest {
+
+	private static final String URL_TO_LOAD = "http://certs.eid.belgium.be/belgiumrs2.crt";
+	private static final String FILE_URL_TO_LOAD = "file:src/test/resources/belgiumrs2.crt";
+	private static final String NOT_FOUND_URL = "http://certs.eid.belgium.be/not-existing.crt";
+
+	private AsyncCommonsDataLoader dataLoader;
+
+	@BeforeEach
+	void init() {
+		dataLoader = new AsyncCommonsDataLoader();
+	}
+
+	@AfterEach
+	void close() {
+		dataLoader.close();
+	}
+
+	@Test
+	void testGet() {
+		byte[] bytesArray = dataLoader.get(URL_TO_LOAD);
+
+		NativeHTTPDataLoader dataLoader2 = new NativeHTTPDataLoader();
+		byte[] bytesArrays2 = dataLoader2.get(URL_TO_LOAD);
+
+		assertArrayEquals(bytesArray, bytesArrays2);
+
+		CertificateToken certificate = DSSUtils.loadCertificate(bytesArray);
+		assertNotNull(certificate);
+	}
+
+	@Test
+	void testGetAsync() throws Exception {
+		byte[] expected = new NativeHTTPDataLoader().get(URL_TO_LOAD);
+
+		List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			futures.add(dataLoader.getAsync(URL_TO_LOAD));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+		for (CompletableFuture<byte[]> future : futures) {
+			assertArrayEquals(expected, future.get());
+		}
+	}
+
+	@Test
+	void testGetAsyncFile() throws Exception {
+		byte[] bytesArray = dataLoader.getAsync(FILE_URL_TO_LOAD).get();
+		assertNotNull(DSSUtils.loadCertificate(bytesArray));
+	}
+
+	@Test
+	void testGetAsyncNotFound() {
+		CompletableFuture<byte[]> future = dataLoader.getAsync(NOT_FOUND_URL);
+		ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+		assertInstanceOf(DSSExternalResourceException.class, exception.getCause());
+
+		assertThrows(DSSExternalResourceException.class, () -> dataLoader.get(NOT_FOUND_URL));
+	}
+
+	@Test
+	void cancelledRequestTest() throws Exception {
+		HostCircuitBreaker circuitBreaker = new HostCircuitBreaker();
+		circuitBreaker.setFailureThreshold(1);
+		dataLoader.setHostCircuitBreaker(circuitBreaker);
+
+		// the connections are accepted, but never answered
+		try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+			String url = "http://127.0.0.1:" + serverSocket.getLocalPort() + "/ca.crl";
+
+			CompletableFuture<ResponseEnvelope> future = dataLoader.requestGetAsync(url, false, true);
+			assertTrue(future.cancel(true));
+			assertThrows(CancellationException.class, future::get);
+
+			// a cancelled request (e.g. a hedged request loser) is not a failure of the host
+			assertFalse(circuitBreaker.isOpen(url));
+			future = dataLoader.requestGetAsync(url, false, true);
+			assertTrue(future.cancel(true));
+			assertFalse(circuitBreaker.isOpen(url));
+		}
+	}
+
+	@Test
+	void requestGetWithHeadersTest() throws Exception {
+		try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+			CompletableFuture<List<String>> receivedHeaders = respond(serverSocket,
+					"HTTP/1.1 200 OK\r\nContent-Length: 2\r\nConnection: close\r\n\r\nok");
+
+			String url = "http://127.0.0.1:" + serverSocket.getLocalPort() + "/ca.crl";
+			ResponseEnvelope response = dataLoader.requestGet(url, Collections.singletonMap("If-None-Match", "\"etag\""), true, true);
+			assertEquals(200, response.getStatusCode());
+			assertArrayEquals("ok".getBytes(StandardCharsets.US_ASCII), response.getResponseBody());
+			assertTrue(receivedHeaders.get().contains("if-none-match: \"etag\""));
+		}
+	}
+
+	@Test
+	void notModifiedTest() throws Exception {
+		HostCircuitBreaker circuitBreaker = new HostCircuitBreaker();
+		circuitBreaker.setFailureThreshold(1);
+		dataLoader.setHostCircuitBreaker(circuitBreaker);
+
+		final String notModified = "HTTP/1.1 304 Not Modified\r\nETag: \"etag\"\r\nConnection: close\r\n\r\n";
+		try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+			String url = "http://127.0.0.1:" + serverSocket.getLocalPort() + "/ca.crl";
+
+			// a "304 Not Modified" response is accepted for a conditional request
+			CompletableFuture<List<String>> receivedHeaders = respond(serverSocket, notModified);
+			ResponseEnvelope response = dataLoader.requestGetAsync(url, Collections.singletonMap("If-None-Match", "\"etag\""),
+					true, true).get();
+			assertEquals(304, response.getStatusCode());
+			assertArrayEquals(DSSUtils.EMPTY_BYTE_ARRAY, response.getResponseBody());
+			assertEquals(Collections.singletonList("\"etag\""), response.getHeaders().get("ETag"));
+			assertTrue(receivedHeaders.get().contains("if-none-match: \"etag\""));
+			assertFalse(circuitBreaker.isOpen(url));
+
+			// but not for an unconditional one
+			respond(serverSocket, notModified);
+			assertThrows(DSSExternalResourceException.class, () -> dataLoader.requestGet(url, true, true));
+		}
+	}
+
+	private static CompletableFuture<List<String>> respond(ServerSocket serverSocket, String httpResponse) {
+		return CompletableFuture.supplyAsync(() -> {
+			try (Socket socket = serverSocket.accept()) {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+				List<String> lines = new ArrayList<>();
+				String line;
+				while ((line = reader.readLine()) != null && !line.isEmpty()) {
+					lines.add(line.toLowerCase());
+				}
+				OutputStream os = socket.getOutputStream();
+				os.write(httpResponse.getBytes(StandardCharsets.US_ASCII));
+				os.flush();
+				return lines;
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	@Test
+	void proxyExcludedHostsTest() {
+		ProxyProperties httpProperties = new ProxyProperties();
+		httpProperties.setHost("proxy.local");
+		httpProperties.setPort(8080);
+		httpProperties.setExcludedHosts(Arrays.asList("excluded.com", "*.internal.eu"));
+		ProxyConfig proxyConfig = new ProxyConfig();
+		proxyConfig.setHttpProperties(httpProperties);
+		dataLoader.setProxyConfig(proxyConfig);
+
+		HttpHost proxy = dataLoader.getProxyHost(new HttpHost("http", "dss.europa.eu", 80));
+		assertNotNull(proxy);
+		assertEquals("proxy.local", proxy.getHostName());
+		assertEquals(8080, proxy.getPort());
+
+		assertNull(dataLoader.getProxyHost(new HttpHost("http", "EXCLUDED.com", 80)));
+		assertNull(dataLoader.getProxyHost(new HttpHost("http", "crl.internal.eu", 80)));
+		// no proxy is defined for https
+		assertNull(dataLoader.getProxyHost(new HttpHost("https", "dss.europa.eu", 443)));
+
+		assertTrue(CommonsDataLoader.isExcludedHost("any.host", Collections.singletonList("*")));
+		assertFalse(CommonsDataLoader.isExcludedHost("internal.eu", Collections.singletonList("*.internal.eu")));
+		assertFalse(CommonsDataLoader.isExcludedHost(null, Collections.singletonList("*")));
+	}
+
+}
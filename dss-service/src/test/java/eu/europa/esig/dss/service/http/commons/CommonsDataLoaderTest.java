@@ -25,6 +25,7 @@ import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
 import eu.europa.esig.dss.service.http.proxy.ProxyProperties;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.client.http.DataLoader.DataAndUrl;
+import eu.europa.esig.dss.spi.client.http.HostCircuitBreaker;
 import eu.europa.esig.dss.spi.client.http.NativeHTTPDataLoader;
 import eu.europa.esig.dss.spi.exception.DSSDataLoaderMultipleException;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
@@ -311,4 +312,23 @@ class CommonsDataLoaderTest {
 				"Reason : [Not acceptable HTTP Status (HTTP status code : 200 / reason : OK)]", exception.getMessage());
 	}
 
+	@Test
+	void invalidUrlReleasesTrialRequestTest() {
+		HostCircuitBreaker circuitBreaker = new HostCircuitBreaker();
+		circuitBreaker.setFailureThreshold(1);
+		circuitBreaker.setCoolDownPeriod(0);
+		dataLoader.setHostCircuitBreaker(circuitBreaker);
+
+		String invalidUrl = "http://127.0.0.1/invalid url.crl";
+		circuitBreaker.recordFailure(invalidUrl);
+
+		// the trial request fails before being sent, but shall not keep the trial reserved
+		assertThrows(IllegalArgumentException.class, () -> dataLoader.requestPost(invalidUrl, new byte[] { 1 }));
+		circuitBreaker.assertRequestAllowed(invalidUrl);
+		circuitBreaker.recordCancellation(invalidUrl);
+
+		assertThrows(DSSExternalResourceException.class, () -> dataLoader.requestGet(invalidUrl, false, true));
+		circuitBreaker.assertRequestAllowed(invalidUrl);
+	}
+
 }
@@ -22,7 +22,9 @@ package eu.europa.esig.dss.service.http.commons;
 
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.http.ResponseEnvelope;
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.AdvancedMemoryDataLoader;
 import eu.europa.esig.dss.spi.client.http.DataLoader.DataAndUrl;
 import eu.europa.esig.dss.spi.client.http.IgnoreDataLoader;
 import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
@@ -35,14 +37,18 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -179,6 +185,72 @@ class FileCacheDataLoaderTest {
 		assertNotNull(dataAndUrl.getData());
 	}
 
+	@Test
+	void conditionalRequestTest() {
+		final AtomicInteger transfers = new AtomicInteger();
+		final List<Map<String, String>> receivedHeaders = new ArrayList<>();
+		final byte[] content = "content".getBytes();
+
+		AdvancedMemoryDataLoader advancedDataLoader = new AdvancedMemoryDataLoader(new HashMap<>()) {
+
+			private static final long serialVersionUID = 4380269815413378532L;
+
+			@Override
+			public ResponseEnvelope requestGet(String url, Map<String, String> requestHeaders,
+											   boolean includeResponseDetails, boolean includeResponseBody) {
+				receivedHeaders.add(requestHeaders);
+				ResponseEnvelope responseEnvelope = new ResponseEnvelope();
+				if ("\"v1\"".equals(requestHeaders.get("If-None-Match"))) {
+					responseEnvelope.setStatusCode(304);
+					return responseEnvelope;
+				}
+				transfers.incrementAndGet();
+				responseEnvelope.setStatusCode(200);
+				responseEnvelope.setResponseBody(content);
+				Map<String, List<String>> headers = new HashMap<>();
+				headers.put("etag", Collections.singletonList("\"v1\""));
+				headers.put("Last-Modified", Collections.singletonList("Wed, 21 Oct 2015 07:28:00 GMT"));
+				responseEnvelope.setHeaders(headers);
+				return responseEnvelope;
+			}
+
+		};
+
+		FileCacheDataLoader conditionalDataLoader = new FileCacheDataLoader(advancedDataLoader);
+		conditionalDataLoader.setFileCacheDirectory(cacheDirectory);
+		conditionalDataLoader.setCacheExpirationTime(0);
+		conditionalDataLoader.setConditionalRequests(true);
+
+		DSSDocument document = conditionalDataLoader.getDocument(URL_TO_LOAD);
+		assertArrayEquals(content, DSSUtils.toByteArray(document));
+		assertEquals(1, transfers.get());
+		assertTrue(receivedHeaders.get(0).isEmpty());
+		// the validators are written through a temporary file, which does not remain
+		assertEquals(0, cacheDirectory.listFiles((dir, name) -> name.endsWith(".tmp")).length);
+
+		document = conditionalDataLoader.getDocument(URL_TO_LOAD);
+		assertArrayEquals(content, DSSUtils.toByteArray(document));
+		assertEquals(1, transfers.get());
+		assertEquals("\"v1\"", receivedHeaders.get(1).get("If-None-Match"));
+		assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", receivedHeaders.get(1).get("If-Modified-Since"));
+
+		// forced refresh is revalidated as well
+		document = conditionalDataLoader.getDocument(URL_TO_LOAD, true);
+		assertArrayEquals(content, DSSUtils.toByteArray(document));
+		assertEquals(1, transfers.get());
+
+		// validators are removed with the cached file
+		assertTrue(conditionalDataLoader.remove(URL_TO_LOAD));
+		document = conditionalDataLoader.getDocument(URL_TO_LOAD);
+		assertArrayEquals(content, DSSUtils.toByteArray(document));
+		assertEquals(2, transfers.get());
+		assertTrue(receivedHeaders.get(3).isEmpty());
+
+		// disabled conditional requests
+		conditionalDataLoader.setConditionalRequests(false);
+		assertThrows(DSSException.class, () -> conditionalDataLoader.getDocument(URL_TO_LOAD));
+	}
+
 	private long getUrlAndReturnCacheCreationTime() {
 		byte[] bytesArray = dataLoader.get(URL_TO_LOAD);
 		assertTrue(bytesArray.length > 0);
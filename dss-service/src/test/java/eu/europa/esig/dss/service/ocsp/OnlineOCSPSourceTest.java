@@ -24,6 +24,7 @@ import eu.europa.esig.dss.alert.SilentOnStatusAlert;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
 import eu.europa.esig.dss.enumerations.SignatureValidity;
+import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
 import eu.europa.esig.dss.service.OnlineSourceTest;
@@ -40,16 +41,19 @@ import eu.europa.esig.dss.spi.x509.AlternateUrlsSourceAdapter;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import org.bouncycastle.cert.ocsp.OCSPReq;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -113,6 +117,36 @@ class OnlineOCSPSourceTest extends OnlineSourceTest {
 		assertTrue(ocspToken.isValid());
 	}
 	
+	@Test
+	void testBatchOCSP() {
+		CertIDsCountingOCSPDataLoader dataLoader = new CertIDsCountingOCSPDataLoader();
+		OnlineOCSPSource ocspSource = new OnlineOCSPSource(dataLoader);
+		Map<CertificateToken, OCSPToken> ocspTokens = ocspSource.getRevocationTokens(
+				Arrays.asList(goodUser, goodUserOCSPWithReqCertId, goodUser), goodCa);
+		assertEquals(2, ocspTokens.size());
+
+		// a single OCSP request carries the CertIDs of both certificates
+		assertEquals(Collections.singletonList(2), dataLoader.numberOfCertIDsPerRequest);
+
+		OCSPToken ocspToken = ocspTokens.get(goodUser);
+		assertNotNull(ocspToken);
+		assertEquals(goodUser, ocspToken.getRelatedCertificate());
+		assertTrue(ocspToken.isValid());
+
+		ocspToken = ocspTokens.get(goodUserOCSPWithReqCertId);
+		assertNotNull(ocspToken);
+		assertEquals(goodUserOCSPWithReqCertId, ocspToken.getRelatedCertificate());
+		assertTrue(ocspToken.isValid());
+
+		dataLoader.numberOfCertIDsPerRequest.clear();
+		ocspSource.setMaxBatchSize(1);
+		ocspTokens = ocspSource.getRevocationTokens(Arrays.asList(goodUser, goodUserOCSPWithReqCertId), goodCa);
+		assertEquals(2, ocspTokens.size());
+		assertEquals(Arrays.asList(1, 1), dataLoader.numberOfCertIDsPerRequest);
+
+		assertThrows(IllegalArgumentException.class, () -> ocspSource.setMaxBatchSize(0));
+	}
+
 	@Test
 	void testWithCustomDataLoaderConstructor() {
 		OCSPDataLoader ocspDataLoader = new OCSPDataLoader();
@@ -414,6 +448,24 @@ class OnlineOCSPSourceTest extends OnlineSourceTest {
 		assertEquals("DataLoader is not provided !", exception.getMessage());
 	}
 
+	private static class CertIDsCountingOCSPDataLoader extends OCSPDataLoader {
+
+		private static final long serialVersionUID = 2712985349160391374L;
+
+		private final List<Integer> numberOfCertIDsPerRequest = new ArrayList<>();
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			try {
+				numberOfCertIDsPerRequest.add(new OCSPReq(content).getRequestList().length);
+			} catch (IOException e) {
+				throw new DSSException(e);
+			}
+			return super.post(url, content);
+		}
+
+	}
+
 	private static class NoNonceSubstituteOCSPSource extends OnlineOCSPSource {
 
 		private static final long serialVersionUID = 8123906984792075209L;
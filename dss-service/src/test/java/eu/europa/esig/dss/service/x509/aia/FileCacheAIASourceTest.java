@@ -0,0 +1,203 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.x509.aia;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
+import eu.europa.esig.dss.spi.x509.aia.DefaultAIASource;
+import eu.europa.esig.dss.utils.Utils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileCacheAIASourceTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private FileCacheAIASource aiaSource;
+
+    private final CertificateToken certificateWithAIA = DSSUtils.loadCertificate(new File("src/test/resources/sk_ca.cer"));
+
+    private final CertificateToken caCertificate = DSSUtils.loadCertificate(new File("src/test/resources/CALT.crt"));
+
+    private final Map<String, byte[]> dataMap = new HashMap<>();
+
+    private final AtomicInteger requestCounter = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        aiaSource = new FileCacheAIASource(new DefaultAIASource(new MemoryDataLoader(dataMap) {
+            @Override
+            public byte[] get(String url) {
+                requestCounter.incrementAndGet();
+                return dataMap.get(url);
+            }
+        }));
+        aiaSource.setFileCacheDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void test() {
+        List<String> aiaUrls = CertificateExtensionsUtils.getCAIssuersAccessUrls(certificateWithAIA);
+        dataMap.put(aiaUrls.get(0), caCertificate.getEncoded());
+
+        Set<CertificateToken> certificates = aiaSource.getCertificatesByAIA(certificateWithAIA);
+        assertEquals(1, certificates.size());
+        assertEquals(caCertificate, certificates.iterator().next());
+        assertEquals(1, requestCounter.get());
+
+        certificates = aiaSource.getCertificatesByAIA(certificateWithAIA);
+        assertEquals(1, certificates.size());
+        assertEquals(1, requestCounter.get());
+
+        FileCacheAIASource otherAIASource = new FileCacheAIASource();
+        otherAIASource.setFileCacheDirectory(tempDir.toFile());
+        certificates = otherAIASource.getCertificatesByAIA(certificateWithAIA);
+        assertEquals(1, certificates.size());
+
+        certificates = aiaSource.getCertificatesByAIA(certificateWithAIA, true);
+        assertEquals(1, certificates.size());
+        assertEquals(2, requestCounter.get());
+    }
+
+    @Test
+    void maxCacheSizeTest() {
+        List<String> aiaUrls = CertificateExtensionsUtils.getCAIssuersAccessUrls(certificateWithAIA);
+        dataMap.put(aiaUrls.get(0), caCertificate.getEncoded());
+
+        final String otherAIAKey = DSSUtils.getSHA1Digest("http://aia.test/ca.crt");
+        aiaSource.insertCertificate(otherAIAKey, caCertificate);
+        assertTrue(aiaSource.containsAIAKey(otherAIAKey));
+        assertEquals(1, aiaSource.getExistingAIAKeys().size());
+
+        aiaSource.setMaxCacheSize(1);
+        assertEquals(1, aiaSource.getCertificatesByAIA(certificateWithAIA).size());
+        assertEquals(1, requestCounter.get());
+
+        // the eldest AIA key has been evicted
+        assertFalse(aiaSource.containsAIAKey(otherAIAKey));
+        assertTrue(Utils.isCollectionEmpty(aiaSource.findCertificates(otherAIAKey)));
+        assertEquals(1, aiaSource.getExistingAIAKeys().size());
+
+        assertEquals(1, aiaSource.getCertificatesByAIA(certificateWithAIA).size());
+        assertEquals(1, requestCounter.get());
+    }
+
+    @Test
+    void negativeCacheTest() {
+        List<String> aiaUrls = CertificateExtensionsUtils.getCAIssuersAccessUrls(certificateWithAIA);
+        aiaSource.setNegativeCacheDelay(60L);
+
+        assertTrue(Utils.isCollectionEmpty(aiaSource.getCertificatesByAIA(certificateWithAIA)));
+        assertEquals(aiaUrls.size(), requestCounter.get());
+        for (String url : aiaUrls) {
+            assertNotNull(aiaSource.getNegativeCacheExpirationTime(DSSUtils.getSHA1Digest(url)));
+        }
+
+        dataMap.put(aiaUrls.get(0), caCertificate.getEncoded());
+        assertTrue(Utils.isCollectionEmpty(aiaSource.getCertificatesByAIA(certificateWithAIA)));
+        assertEquals(aiaUrls.size(), requestCounter.get());
+        assertEquals(0, aiaSource.removeExpiredNegativeCacheEntries());
+
+        assertEquals(1, aiaSource.getCertificatesByAIA(certificateWithAIA, true).size());
+        assertEquals(aiaUrls.size() + 1, requestCounter.get());
+        for (String url : aiaUrls) {
+            assertNull(aiaSource.getNegativeCacheExpirationTime(DSSUtils.getSHA1Digest(url)));
+        }
+    }
+
+    @Test
+    void negativeCacheDisabledTest() {
+        List<String> aiaUrls = CertificateExtensionsUtils.getCAIssuersAccessUrls(certificateWithAIA);
+
+        assertTrue(Utils.isCollectionEmpty(aiaSource.getCertificatesByAIA(certificateWithAIA)));
+        assertTrue(Utils.isCollectionEmpty(aiaSource.getCertificatesByAIA(certificateWithAIA)));
+        assertEquals(2 * aiaUrls.size(), requestCounter.get());
+    }
+
+    @Test
+    void concurrentNegativeCacheWriteTest() throws Exception {
+        final String aiaKey = DSSUtils.getSHA1Digest("http://aia.test/ca.crt");
+        final int threads = 8;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final Date expirationTime = new Date(1000000L * (i + 1));
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 20; j++) {
+                        aiaSource.insertNegativeCacheEntry(aiaKey, expirationTime);
+                        // the entry is always readable and complete
+                        assertNotNull(aiaSource.getNegativeCacheExpirationTime(aiaKey));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(0, (long) (aiaSource.getNegativeCacheExpirationTime(aiaKey).getTime() % 1000000L));
+        // no temporary file remains
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        aiaSource.clearCache();
+    }
+
+}
@@ -40,10 +40,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class JdbcCacheAIASourceTest {
@@ -176,6 +178,53 @@ class JdbcCacheAIASourceTest {
         assertEquals(2, urlNotFoundCounter);
     }
 
+    @Test
+    void testNegativeCache() {
+        CertificateToken certificateWithAIA = DSSUtils.loadCertificate(new File("src/test/resources/sk_ca.cer"));
+        CertificateToken caCertificate = DSSUtils.loadCertificate(new File("src/test/resources/CALT.crt"));
+        List<String> aiaUrls = CertificateExtensionsUtils.getCAIssuersAccessUrls(certificateWithAIA);
+
+        Map<String, byte[]> dataMap = new HashMap<>();
+        AtomicInteger requestCounter = new AtomicInteger();
+        aiaSource.setProxySource(new DefaultAIASource(new MemoryDataLoader(dataMap) {
+            @Override
+            public byte[] get(String url) {
+                requestCounter.incrementAndGet();
+                return dataMap.get(url);
+            }
+        }));
+        aiaSource.setNegativeCacheDelay(60L);
+
+        assertTrue(Utils.isCollectionEmpty(aiaSource.getCertificatesByAIA(certificateWithAIA)));
+        assertEquals(aiaUrls.size(), requestCounter.get());
+
+        for (String url : aiaUrls) {
+            dataMap.put(url, caCertificate.getEncoded());
+        }
+
+        // failed AIA urls are not requested again within the delay
+        assertTrue(Utils.isCollectionEmpty(aiaSource.getCertificatesByAIA(certificateWithAIA)));
+        assertEquals(aiaUrls.size(), requestCounter.get());
+
+        // the negative cache is shared between the instances using the same DB
+        JdbcCacheAIASource otherAIASource = new JdbcCacheAIASource();
+        otherAIASource.setJdbcCacheConnector(new JdbcCacheConnector(dataSource));
+        otherAIASource.setProxySource(new DefaultAIASource(new MemoryDataLoader(dataMap)));
+        otherAIASource.setNegativeCacheDelay(60L);
+        assertTrue(Utils.isCollectionEmpty(otherAIASource.getCertificatesByAIA(certificateWithAIA)));
+
+        Set<CertificateToken> certificates = aiaSource.getCertificatesByAIA(certificateWithAIA, true);
+        assertEquals(1, certificates.size());
+        assertEquals(aiaUrls.size() + 1, requestCounter.get());
+
+        // negative cache entries are removed after a successful request
+        for (String url : aiaUrls) {
+            assertNull(aiaSource.getNegativeCacheExpirationTime(DSSUtils.getSHA1Digest(url)));
+        }
+        assertEquals(1, otherAIASource.getCertificatesByAIA(certificateWithAIA).size());
+        assertEquals(0, aiaSource.removeExpiredNegativeCacheEntries());
+    }
+
     @AfterEach
     void cleanUp() throws SQLException {
         aiaSource.destroyTable();
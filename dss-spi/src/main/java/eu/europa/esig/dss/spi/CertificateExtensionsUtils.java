@@ -820,6 +820,17 @@ public class CertificateExtensionsUtils {
         return null;
     }
 
+    /**
+     * Returns the delta CRL distribution URIs extracted from freshestCRL field
+     *
+     * @param certificate {@link CertificateToken}
+     * @return a list of delta CRL URIs, or empty list if the extension is not present.
+     */
+    public static List<String> getFreshestCRLAccessUrls(final CertificateToken certificate) {
+        FreshestCRL freshestCRL = CertificateExtensionsUtils.getFreshestCRL(certificate);
+        return freshestCRL != null ? freshestCRL.getCrlUrls() : Collections.emptyList();
+    }
+
     /**
      * Returns the key usage, when present
      *
@@ -22,6 +22,8 @@ package eu.europa.esig.dss.spi.client.http;
 
 import eu.europa.esig.dss.model.http.ResponseEnvelope;
 
+import java.util.Map;
+
 /**
  * This data loader is used to perform a remote request (HTTP, HTTPS, etc.) and
  * retrieve a {@code eu.europa.esig.dss.model.http.ResponseEnvelope} object,
@@ -64,6 +66,23 @@ public interface AdvancedDataLoader extends DataLoader {
      */
     ResponseEnvelope requestGet(String url, boolean includeResponseDetails, boolean includeResponseBody);
 
+    /**
+     * Executes a GET request with the additional {@code requestHeaders} and returns an {@code ResponseEnvelope} object.
+     * This method allows to perform a conditional request (e.g. with 'If-None-Match' or 'If-Modified-Since' headers),
+     * in which case the status code of the returned response shall be defined (e.g. 304 for 'Not Modified').
+     * The default implementation ignores the {@code requestHeaders}.
+     *
+     * @param url {@link String} URL to perform request to
+     * @param requestHeaders a map of {@link String} header names and values to be added to the request
+     * @param includeResponseDetails defines whether the response context (HTTP headers, metadata) is to be included within the response
+     * @param includeResponseBody defines whether the response body is to be included within the response
+     * @return {@link ResponseEnvelope}
+     */
+    default ResponseEnvelope requestGet(String url, Map<String, String> requestHeaders,
+                                        boolean includeResponseDetails, boolean includeResponseBody) {
+        return requestGet(url, includeResponseDetails, includeResponseBody);
+    }
+
     /**
      * Executes a POST request and returns an {@code ResponseEnvelope} object.
      * This method included the response message body, context and metadata within the response object.
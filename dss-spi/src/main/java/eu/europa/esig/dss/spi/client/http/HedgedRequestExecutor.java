@@ -0,0 +1,189 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.client.http;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.spi.exception.DSSDataLoaderMultipleException;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes the same request against several alternative URLs (e.g. mirrors of a CRL distribution point),
+ * by starting the request to the next URL in parallel when the previous one did not respond within
+ * the hedging delay (or immediately when it failed).
+ * The first valid response is returned and the other pending requests are cancelled.
+ * <p>
+ * With a hedging delay of zero, all URLs are requested at once.
+ */
+public class HedgedRequestExecutor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(HedgedRequestExecutor.class);
+
+	/** The executor service used to run the requests */
+	private final ExecutorService executorService;
+
+	/**
+	 * The delay (in milliseconds) after which the next URL is requested in parallel,
+	 * when no response has been obtained from the previous ones
+	 */
+	private long hedgingDelay = 1000;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param executorService {@link ExecutorService} to run the requests
+	 */
+	public HedgedRequestExecutor(ExecutorService executorService) {
+		Objects.requireNonNull(executorService, "ExecutorService cannot be null!");
+		this.executorService = executorService;
+	}
+
+	/**
+	 * Sets the delay (in milliseconds) after which the next URL is requested in parallel, when no response
+	 * has been obtained from the previous ones. Zero (0) value is used to request all URLs at once.
+	 * Default : 1000 (1 second)
+	 *
+	 * @param hedgingDelay the hedging delay in milliseconds
+	 */
+	public void setHedgingDelay(long hedgingDelay) {
+		if (hedgingDelay < 0) {
+			throw new IllegalArgumentException("The hedgingDelay cannot be negative!");
+		}
+		this.hedgingDelay = hedgingDelay;
+	}
+
+	/**
+	 * Executes the {@code request} against the given {@code urls} and returns the first valid result.
+	 * A result is considered as valid when the request does not throw an exception and does not return null.
+	 *
+	 * @param urls a list of {@link String} URLs, in the order of preference
+	 * @param request {@link HedgedRequest} to be executed for each URL
+	 * @param <T> the result type
+	 * @return the first valid result
+	 * @throws DSSDataLoaderMultipleException if none of the URLs returned a valid result
+	 */
+	public <T> T execute(List<String> urls, HedgedRequest<T> request) {
+		if (Utils.isCollectionEmpty(urls)) {
+			throw new DSSExternalResourceException("Cannot process the request. List of URLs is empty!");
+		}
+		Objects.requireNonNull(request, "HedgedRequest cannot be null!");
+
+		final CompletionService<T> completionService = new ExecutorCompletionService<>(executorService);
+		final Map<Future<T>, String> pendingRequests = new IdentityHashMap<>();
+		final Map<String, Throwable> exceptions = new LinkedHashMap<>();
+		int nextUrlIndex = 0;
+		try {
+			do {
+				if (pendingRequests.isEmpty() || (hedgingDelay == 0 && nextUrlIndex < urls.size())) {
+					// start the next request immediately
+					nextUrlIndex = submit(completionService, pendingRequests, urls, nextUrlIndex, request);
+					continue;
+				}
+
+				final Future<T> completed;
+				if (nextUrlIndex < urls.size()) {
+					completed = completionService.poll(hedgingDelay, TimeUnit.MILLISECONDS);
+					if (completed == null) {
+						LOG.debug("No response obtained within {} ms. Request the next URL in parallel...", hedgingDelay);
+						nextUrlIndex = submit(completionService, pendingRequests, urls, nextUrlIndex, request);
+						continue;
+					}
+				} else {
+					completed = completionService.take();
+				}
+
+				final String url = pendingRequests.remove(completed);
+				try {
+					T result = completed.get();
+					if (result != null) {
+						return result;
+					}
+					LOG.debug("The retrieved content from URL [{}] is empty.", url);
+					exceptions.put(url, new DSSExternalResourceException(
+							String.format("The retrieved content from URL [%s] is empty!", url)));
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause() != null ? e.getCause() : e;
+					LOG.warn("Cannot obtain data using '{}' : {}", url, cause.getMessage());
+					exceptions.put(url, cause);
+				}
+
+				if (nextUrlIndex < urls.size()) {
+					// do not wait for the hedging delay when a request failed
+					nextUrlIndex = submit(completionService, pendingRequests, urls, nextUrlIndex, request);
+				}
+
+			} while (!pendingRequests.isEmpty() || nextUrlIndex < urls.size());
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException(String.format("The request has been interrupted : %s", e.getMessage()), e);
+
+		} finally {
+			for (Future<T> future : new ArrayList<>(pendingRequests.keySet())) {
+				future.cancel(true);
+			}
+		}
+
+		throw new DSSDataLoaderMultipleException(exceptions);
+	}
+
+	private <T> int submit(CompletionService<T> completionService, Map<Future<T>, String> pendingRequests,
+						   List<String> urls, int urlIndex, HedgedRequest<T> request) {
+		final String url = urls.get(urlIndex);
+		LOG.debug("Processing a request to URL [{}]...", url);
+		pendingRequests.put(completionService.submit(() -> request.execute(url)), url);
+		return urlIndex + 1;
+	}
+
+	/**
+	 * Represents a request to be executed against a URL
+	 *
+	 * @param <T> the result type
+	 */
+	public interface HedgedRequest<T> {
+
+		/**
+		 * Executes the request against the given {@code url}
+		 *
+		 * @param url {@link String} to be requested
+		 * @return the result, or null if the URL did not return a valid result
+		 * @throws Exception if an error occurs
+		 */
+		T execute(String url) throws Exception;
+
+	}
+
+}
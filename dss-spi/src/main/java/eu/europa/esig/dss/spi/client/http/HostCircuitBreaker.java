@@ -0,0 +1,437 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.client.http;
+
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the health of the remote hosts requested by the data loaders.
+ * <p>
+ * After {@code failureThreshold} consecutive failed requests to a host, the circuit for this host is opened and
+ * the following requests to the host are rejected straight away (without waiting for a timeout) during the
+ * {@code coolDownPeriod}. Once the period has elapsed, a single trial request is allowed: the circuit is closed
+ * when it succeeds, or opened again for another cool-down period when it fails.
+ * <p>
+ * The latencies of the successful requests are recorded as well, in order to derive a response timeout
+ * from the observed latency percentile of a host (see {@code #getTimeout}). After a failure, the configured
+ * timeout is used again until a request to the host succeeds, so the trial request is not rejected by a timeout
+ * learned when the host was faster.
+ * <p>
+ * The number of tracked hosts is bounded (see {@code #setMaximumHostNumber}), the least recently requested hosts
+ * are forgotten first.
+ * <p>
+ * The same instance may be shared between several data loaders (e.g. OCSP and CRL data loaders).
+ */
+public class HostCircuitBreaker {
+
+	private static final Logger LOG = LoggerFactory.getLogger(HostCircuitBreaker.class);
+
+	/** The minimum number of latency samples required to compute an adaptive timeout */
+	private static final int MIN_LATENCY_SAMPLES = 10;
+
+	/** The health state of the requested hosts */
+	private final Map<String, HostState> hostStates = new ConcurrentHashMap<>();
+
+	/** The number of consecutive failures opening the circuit for a host */
+	private int failureThreshold = 5;
+
+	/** The time (in milliseconds) during which the requests to a host with an open circuit are rejected */
+	private long coolDownPeriod = 30000;
+
+	/** The number of the latest latency samples kept per host */
+	private int latencySampleSize = 100;
+
+	/** The latency percentile used to compute the adaptive timeout */
+	private double latencyPercentile = 0.99;
+
+	/** The multiplier applied to the latency percentile to compute the adaptive timeout */
+	private double timeoutMultiplier = 3.0;
+
+	/** The lower bound (in milliseconds) of the adaptive timeout */
+	private int minimumTimeout = 1000;
+
+	/** The maximum number of tracked hosts */
+	private int maximumHostNumber = 1000;
+
+	/**
+	 * Default constructor
+	 */
+	public HostCircuitBreaker() {
+		// empty
+	}
+
+	/**
+	 * Sets the number of consecutive failed requests to a host opening the circuit for this host.
+	 * Default : 5
+	 *
+	 * @param failureThreshold the number of consecutive failures
+	 */
+	public void setFailureThreshold(int failureThreshold) {
+		if (failureThreshold < 1) {
+			throw new IllegalArgumentException("The failureThreshold shall be a positive number!");
+		}
+		this.failureThreshold = failureThreshold;
+	}
+
+	/**
+	 * Sets the time (in milliseconds) during which the requests to a host with an open circuit are rejected.
+	 * Default : 30000 (30 seconds)
+	 *
+	 * @param coolDownPeriod the cool-down period in milliseconds
+	 */
+	public void setCoolDownPeriod(long coolDownPeriod) {
+		if (coolDownPeriod < 0) {
+			throw new IllegalArgumentException("The coolDownPeriod cannot be negative!");
+		}
+		this.coolDownPeriod = coolDownPeriod;
+	}
+
+	/**
+	 * Sets the number of the latest latency samples kept per host to compute the adaptive timeout.
+	 * Default : 100
+	 *
+	 * @param latencySampleSize the number of latency samples
+	 */
+	public void setLatencySampleSize(int latencySampleSize) {
+		if (latencySampleSize < MIN_LATENCY_SAMPLES) {
+			throw new IllegalArgumentException(String.format(
+					"The latencySampleSize cannot be lower than %s!", MIN_LATENCY_SAMPLES));
+		}
+		this.latencySampleSize = latencySampleSize;
+	}
+
+	/**
+	 * Sets the latency percentile (between 0 and 1) used to compute the adaptive timeout.
+	 * Default : 0.99
+	 *
+	 * @param latencyPercentile the latency percentile
+	 */
+	public void setLatencyPercentile(double latencyPercentile) {
+		if (latencyPercentile <= 0 || latencyPercentile > 1) {
+			throw new IllegalArgumentException("The latencyPercentile shall be within ]0, 1]!");
+		}
+		this.latencyPercentile = latencyPercentile;
+	}
+
+	/**
+	 * Sets the multiplier applied to the latency percentile to compute the adaptive timeout.
+	 * Default : 3.0
+	 *
+	 * @param timeoutMultiplier the timeout multiplier
+	 */
+	public void setTimeoutMultiplier(double timeoutMultiplier) {
+		if (timeoutMultiplier < 1) {
+			throw new IllegalArgumentException("The timeoutMultiplier cannot be lower than 1!");
+		}
+		this.timeoutMultiplier = timeoutMultiplier;
+	}
+
+	/**
+	 * Sets the lower bound (in milliseconds) of the adaptive timeout.
+	 * Default : 1000 (1 second)
+	 *
+	 * @param minimumTimeout the minimum timeout in milliseconds
+	 */
+	public void setMinimumTimeout(int minimumTimeout) {
+		if (minimumTimeout < 0) {
+			throw new IllegalArgumentException("The minimumTimeout cannot be negative!");
+		}
+		this.minimumTimeout = minimumTimeout;
+	}
+
+	/**
+	 * Sets the maximum number of tracked hosts. When the number is exceeded, the state of the least recently
+	 * requested host is removed.
+	 * Default : 1000
+	 *
+	 * @param maximumHostNumber the maximum number of hosts
+	 */
+	public void setMaximumHostNumber(int maximumHostNumber) {
+		if (maximumHostNumber < 1) {
+			throw new IllegalArgumentException("The maximumHostNumber shall be a positive number!");
+		}
+		this.maximumHostNumber = maximumHostNumber;
+	}
+
+	/**
+	 * Verifies whether a request to the host of the given {@code url} is allowed, and throws an exception if
+	 * the circuit for this host is open. When the cool-down period has elapsed, the call reserves the trial
+	 * request for the host, therefore the result of the request shall be reported
+	 * with {@code #recordSuccess}, {@code #recordFailure} or {@code #recordCancellation}.
+	 *
+	 * @param url {@link String} to be requested
+	 * @throws DSSExternalResourceException if the circuit for the host is open
+	 */
+	public void assertRequestAllowed(String url) {
+		final String host = DSSUtils.getHost(url);
+		final HostState hostState = hostStates.get(host);
+		if (hostState != null && !hostState.tryAcquire(System.currentTimeMillis())) {
+			throw new DSSExternalResourceException(String.format(
+					"The request to URL '%s' has been skipped : the host '%s' is unavailable " +
+							"(the circuit is open after %s consecutive failures).", url, host, failureThreshold));
+		}
+	}
+
+	/**
+	 * Records a successful request to the host of the given {@code url}
+	 *
+	 * @param url {@link String} the requested url
+	 * @param latency the time of the request in milliseconds
+	 */
+	public void recordSuccess(String url, long latency) {
+		getHostState(url).recordSuccess(latency);
+	}
+
+	/**
+	 * Records a failed request to the host of the given {@code url}
+	 *
+	 * @param url {@link String} the requested url
+	 */
+	public void recordFailure(String url) {
+		getHostState(url).recordFailure(System.currentTimeMillis());
+	}
+
+	/**
+	 * Records a request to the host of the given {@code url} which has been cancelled or interrupted
+	 * before its completion (e.g. a hedged request superseded by another one).
+	 * The request is counted neither as a success nor as a failure, but releases the trial request, if reserved.
+	 *
+	 * @param url {@link String} the requested url
+	 */
+	public void recordCancellation(String url) {
+		final HostState hostState = hostStates.get(DSSUtils.getHost(url));
+		if (hostState != null) {
+			hostState.releaseTrial();
+		}
+	}
+
+	/**
+	 * Returns the response timeout to be used for a request to the host of the given {@code url}.
+	 * The timeout is computed as the latency percentile of the host multiplied by {@code timeoutMultiplier},
+	 * not lower than {@code minimumTimeout} and not greater than the {@code defaultTimeout}.
+	 * The {@code defaultTimeout} is returned when not enough latencies have been recorded for the host,
+	 * or when the latest request to the host failed (e.g. for the trial request after the cool-down period).
+	 *
+	 * @param url {@link String} to be requested
+	 * @param defaultTimeout the configured timeout in milliseconds (zero or negative value for an infinite timeout)
+	 * @return the timeout in milliseconds
+	 */
+	public int getTimeout(String url, int defaultTimeout) {
+		final HostState hostState = hostStates.get(DSSUtils.getHost(url));
+		if (hostState == null) {
+			return defaultTimeout;
+		}
+		final long latency = hostState.getAdaptiveLatency(latencyPercentile);
+		if (latency < 0) {
+			return defaultTimeout;
+		}
+		long timeout = Math.max(minimumTimeout, (long) Math.ceil(latency * timeoutMultiplier));
+		if (defaultTimeout > 0) {
+			timeout = Math.min(defaultTimeout, timeout);
+		}
+		return (int) Math.min(Integer.MAX_VALUE, timeout);
+	}
+
+	/**
+	 * Checks whether the circuit for the host of the given {@code url} is currently open
+	 *
+	 * @param url {@link String} to check
+	 * @return TRUE if the host is considered as unavailable, FALSE otherwise
+	 */
+	public boolean isOpen(String url) {
+		final HostState hostState = hostStates.get(DSSUtils.getHost(url));
+		return hostState != null && hostState.isOpen(System.currentTimeMillis());
+	}
+
+	/**
+	 * Removes all the recorded health data
+	 */
+	public void reset() {
+		hostStates.clear();
+	}
+
+	/**
+	 * Returns the number of tracked hosts
+	 *
+	 * @return the number of hosts
+	 */
+	public int getHostNumber() {
+		return hostStates.size();
+	}
+
+	/**
+	 * Checks whether the given {@code throwable}, or one of its causes, results from a cancellation
+	 * or an interruption of the request, rather than from a failure of the requested host.
+	 * Such a request shall be reported with {@code #recordCancellation}.
+	 *
+	 * @param throwable {@link Throwable} to check
+	 * @return TRUE if the request has been cancelled or interrupted, FALSE otherwise
+	 */
+	public static boolean isCancellation(Throwable throwable) {
+		Throwable cause = throwable;
+		while (cause != null) {
+			// a SocketTimeoutException extends InterruptedIOException, but is a failure of the host
+			if (cause instanceof CancellationException || cause instanceof InterruptedException
+					|| cause instanceof ClosedByInterruptException || InterruptedIOException.class == cause.getClass()) {
+				return true;
+			}
+			cause = cause.getCause();
+		}
+		return false;
+	}
+
+	private HostState getHostState(String url) {
+		final String host = DSSUtils.getHost(url);
+		HostState hostState = hostStates.get(host);
+		if (hostState == null) {
+			hostState = hostStates.computeIfAbsent(host, h -> new HostState(h, latencySampleSize));
+			if (hostStates.size() > maximumHostNumber) {
+				evictLeastRecentlyUsed(hostState);
+			}
+		}
+		return hostState;
+	}
+
+	private void evictLeastRecentlyUsed(HostState newHostState) {
+		while (hostStates.size() > maximumHostNumber) {
+			HostState leastRecentlyUsed = null;
+			for (HostState hostState : hostStates.values()) {
+				if (hostState != newHostState && (leastRecentlyUsed == null || hostState.lastUse < leastRecentlyUsed.lastUse)) {
+					leastRecentlyUsed = hostState;
+				}
+			}
+			if (leastRecentlyUsed == null || !hostStates.remove(leastRecentlyUsed.host, leastRecentlyUsed)) {
+				return;
+			}
+			LOG.debug("The state of host '{}' has been removed (maximum number of tracked hosts reached).", leastRecentlyUsed.host);
+		}
+	}
+
+	/**
+	 * Contains the health state of a single host
+	 */
+	private class HostState {
+
+		/** The host name */
+		private final String host;
+
+		/** Ring buffer of the latest latencies */
+		private final long[] latencies;
+
+		/** The number of recorded latencies */
+		private int latencyCount;
+
+		/** The position of the next latency in the ring buffer */
+		private int latencyIndex;
+
+		/** The number of consecutive failures */
+		private int consecutiveFailures;
+
+		/** The time until which the circuit is open (0 when closed) */
+		private long openUntil;
+
+		/** Whether a trial request is in progress after the cool-down period */
+		private boolean trialInProgress;
+
+		/** The time of the latest use of the state, for the eviction of the least recently requested hosts */
+		private volatile long lastUse = System.nanoTime();
+
+		/**
+		 * Default constructor
+		 *
+		 * @param host {@link String} the host name
+		 * @param latencySampleSize the number of latency samples to keep
+		 */
+		HostState(String host, int latencySampleSize) {
+			this.host = host;
+			this.latencies = new long[latencySampleSize];
+		}
+
+		synchronized boolean tryAcquire(long now) {
+			lastUse = System.nanoTime();
+			if (openUntil == 0) {
+				return true;
+			}
+			if (now < openUntil || trialInProgress) {
+				return false;
+			}
+			trialInProgress = true;
+			return true;
+		}
+
+		synchronized boolean isOpen(long now) {
+			return openUntil != 0 && (now < openUntil || trialInProgress);
+		}
+
+		synchronized void recordSuccess(long latency) {
+			lastUse = System.nanoTime();
+			if (openUntil != 0) {
+				LOG.debug("The circuit for host '{}' has been closed after a successful request.", host);
+			}
+			consecutiveFailures = 0;
+			openUntil = 0;
+			trialInProgress = false;
+
+			latencies[latencyIndex] = latency;
+			latencyIndex = (latencyIndex + 1) % latencies.length;
+			latencyCount = Math.min(latencyCount + 1, latencies.length);
+		}
+
+		synchronized void recordFailure(long now) {
+			lastUse = System.nanoTime();
+			consecutiveFailures++;
+			if (trialInProgress || consecutiveFailures >= failureThreshold) {
+				if (openUntil == 0) {
+					LOG.warn("The circuit for host '{}' has been opened for {} ms after {} consecutive failures.",
+							host, coolDownPeriod, consecutiveFailures);
+				}
+				openUntil = now + coolDownPeriod;
+				trialInProgress = false;
+			}
+		}
+
+		synchronized void releaseTrial() {
+			trialInProgress = false;
+		}
+
+		synchronized long getAdaptiveLatency(double percentile) {
+			if (consecutiveFailures > 0 || latencyCount < MIN_LATENCY_SAMPLES) {
+				return -1;
+			}
+			final long[] sortedLatencies = Arrays.copyOf(latencies, latencyCount);
+			Arrays.sort(sortedLatencies);
+			final int index = (int) Math.ceil(percentile * latencyCount) - 1;
+			return sortedLatencies[Math.max(0, index)];
+		}
+
+	}
+
+}
@@ -51,6 +51,11 @@ public class NativeHTTPDataLoader implements DataLoader, AdvancedDataLoader {
 	 */
 	private int readTimeout = 0;
 
+	/**
+	 * Tracks the health of the requested hosts, when defined (optional)
+	 */
+	private transient HostCircuitBreaker hostCircuitBreaker;
+
 	/**
 	 * Default constructor instantiating object with null values
 	 */
@@ -121,6 +126,18 @@ public class NativeHTTPDataLoader implements DataLoader, AdvancedDataLoader {
 		this.readTimeout = readTimeout;
 	}
 
+	/**
+	 * Sets the circuit breaker tracking the health of the requested hosts.
+	 * When defined, the requests to a host are rejected straight away after repeated failures (during
+	 * a cool-down period), and the read timeout is derived from the observed latencies of the host.
+	 * Default : null (no health tracking)
+	 *
+	 * @param hostCircuitBreaker {@link HostCircuitBreaker}
+	 */
+	public void setHostCircuitBreaker(HostCircuitBreaker hostCircuitBreaker) {
+		this.hostCircuitBreaker = hostCircuitBreaker;
+	}
+
 	/**
 	 * Execute the request
 	 *
@@ -153,7 +170,7 @@ public class NativeHTTPDataLoader implements DataLoader, AdvancedDataLoader {
 		httpDataLoaderCall.setUseCaches(!refresh);
 		httpDataLoaderCall.setMaxInputSize(maxInputSize);
 		httpDataLoaderCall.setConnectTimeout(connectTimeout);
-		httpDataLoaderCall.setReadTimeout(readTimeout);
+		httpDataLoaderCall.setReadTimeout(isHostTracked(url) ? hostCircuitBreaker.getTimeout(url, readTimeout) : readTimeout);
 		httpDataLoaderCall.setIncludeResponseDetails(includeResponseDetails);
 		httpDataLoaderCall.setIncludeResponseBody(includeResponseBody);
 		return httpDataLoaderCall;
@@ -172,17 +189,44 @@ public class NativeHTTPDataLoader implements DataLoader, AdvancedDataLoader {
 	 */
 	protected ResponseEnvelope request(String url, HttpMethod method, byte[] content, boolean refresh,
 									   boolean includeResponseDetails, boolean includeResponseBody) {
+		final boolean hostTracked = isHostTracked(url);
+		if (hostTracked) {
+			hostCircuitBreaker.assertRequestAllowed(url);
+		}
+
+		final long startTime = System.currentTimeMillis();
+		boolean success = false;
+		Exception failure = null;
 		try {
 			Callable<ResponseEnvelope> task = createNativeHTTPDataLoaderCall(
 					url, method, content, refresh, includeResponseDetails, includeResponseBody);
-			return task.call();
+			ResponseEnvelope responseEnvelope = task.call();
+			success = true;
+			return responseEnvelope;
 		} catch (DSSExternalResourceException e) {
+			failure = e;
 			throw e;
 		} catch (Exception e) {
+			failure = e;
 			throw new DSSExternalResourceException(e);
+		} finally {
+			if (hostTracked) {
+				if (success) {
+					hostCircuitBreaker.recordSuccess(url, System.currentTimeMillis() - startTime);
+				} else if (Thread.currentThread().isInterrupted() || HostCircuitBreaker.isCancellation(failure)) {
+					// an interrupted request does not reflect the availability of the host
+					hostCircuitBreaker.recordCancellation(url);
+				} else {
+					hostCircuitBreaker.recordFailure(url);
+				}
+			}
 		}
 	}
 
+	private boolean isHostTracked(String url) {
+		return hostCircuitBreaker != null && Protocol.isHttpUrl(url);
+	}
+
 	/**
 	 * This method creates a task call to be executed by NativeHTTPDataLoader
 	 *
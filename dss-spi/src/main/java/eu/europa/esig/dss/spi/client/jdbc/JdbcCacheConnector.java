@@ -31,9 +31,12 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -44,6 +47,11 @@ public class JdbcCacheConnector {
 
     private static final Logger LOG = LoggerFactory.getLogger(JdbcCacheConnector.class);
 
+    /**
+     * The maximum number of parameters within a single IN clause (e.g. Oracle DB limits it to 1000)
+     */
+    private static final int MAX_IN_CLAUSE_PARAMETERS = 500;
+
     /**
      * SQL DataSource to create connection with
      */
@@ -131,6 +139,138 @@ public class JdbcCacheConnector {
         }
     }
 
+    /**
+     * This method executes the query for a collection of {@code values} and returns a collection of selected objects.
+     * The query string shall contain a single parameter placeholder '?' within an IN clause
+     * (e.g. "SELECT * FROM TABLE WHERE ID IN (?)"), which is expanded to the number of the provided values.
+     * The values are requested within a single connection, using one or a few statements.
+     *
+     * @param selectQuery {@link SqlSelectQuery} the query to SELECT objects
+     * @param values a collection of {@link Object}s to be used within the IN clause
+     * @return a collection of {@link SqlRecord}s
+     */
+    public Collection<SqlRecord> selectIn(final SqlSelectQuery selectQuery, final Collection<?> values) {
+        Objects.requireNonNull(selectQuery, "Query cannot be null!");
+        if (values == null || values.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        final String queryString = selectQuery.getQueryString();
+        final int placeholderIndex = queryString.indexOf('?');
+        if (placeholderIndex == -1 || queryString.indexOf('?', placeholderIndex + 1) != -1) {
+            throw new IllegalArgumentException(String.format(
+                    "The query [%s] shall contain a single parameter placeholder!", selectQuery));
+        }
+
+        final List<?> valueList = new ArrayList<>(values);
+        Connection c = null;
+        try {
+            c = dataSource.getConnection();
+            c.setAutoCommit(false);
+
+            final Collection<SqlRecord> records = new ArrayList<>();
+            for (int from = 0; from < valueList.size(); from += MAX_IN_CLAUSE_PARAMETERS) {
+                final List<?> chunk = valueList.subList(from, Math.min(valueList.size(), from + MAX_IN_CLAUSE_PARAMETERS));
+                final String chunkQueryString = queryString.substring(0, placeholderIndex) +
+                        String.join(", ", Collections.nCopies(chunk.size(), "?")) +
+                        queryString.substring(placeholderIndex + 1);
+                try (PreparedStatement s = c.prepareStatement(chunkQueryString)) {
+                    for (int ii = 0; ii < chunk.size(); ii++) {
+                        s.setObject(ii + 1, chunk.get(ii));
+                    }
+                    try (ResultSet rs = s.executeQuery()) {
+                        records.addAll(selectQuery.getRecords(rs));
+                    }
+                }
+            }
+
+            c.commit();
+            LOG.debug("The SELECT query [{}] has been executed successfully for {} values.", selectQuery, valueList.size());
+            return records;
+
+        } catch (final SQLException e) {
+            LOG.error("Unable to execute query [{}]. Reason : {}", selectQuery, e.getMessage(), e);
+            rollback(c);
+            return Collections.emptySet();
+
+        } finally {
+            closeQuietly(c, null, null);
+        }
+    }
+
+    /**
+     * This method updates an existing record, or inserts a new record when no record has been updated,
+     * within a single transaction. When the insertion fails because of a concurrent insertion of a record
+     * with the same key (i.e. an integrity constraint violation on the primary key or a unique index),
+     * the transaction is rolled back and the update is executed again.
+     * NOTE: the table shall define a unique constraint on the key in order to prevent concurrent upserts
+     * from inserting several records with the same key.
+     *
+     * @param updateQuery {@link SqlQuery} the UPDATE query
+     * @param updateArguments an array of {@link Object}s, representing the UPDATE query arguments
+     * @param insertQuery {@link SqlQuery} the INSERT query
+     * @param insertArguments an array of {@link Object}s, representing the INSERT query arguments
+     * @return number of rows concerned by the query
+     */
+    public int upsert(final SqlQuery updateQuery, final Object[] updateArguments,
+                      final SqlQuery insertQuery, final Object[] insertArguments) {
+        Objects.requireNonNull(updateQuery, "Update query cannot be null!");
+        Objects.requireNonNull(insertQuery, "Insert query cannot be null!");
+
+        Connection c = null;
+        try {
+            c = dataSource.getConnection();
+            c.setAutoCommit(false);
+
+            int result = executeUpdate(c, updateQuery, updateArguments);
+            if (result == 0) {
+                try {
+                    result = executeUpdate(c, insertQuery, insertArguments);
+                } catch (final SQLException e) {
+                    if (!isIntegrityConstraintViolation(e)) {
+                        throw e;
+                    }
+                    LOG.debug("The record has been inserted concurrently ({}). Retry the update...", e.getMessage());
+                    c.rollback();
+                    result = executeUpdate(c, updateQuery, updateArguments);
+                }
+            }
+            c.commit();
+            LOG.debug("The upsert queries [{}] / [{}] have been executed successfully", updateQuery, insertQuery);
+            return result;
+
+        } catch (final SQLException e) {
+            LOG.error("Unable to execute the upsert queries [{}] / [{}]. Reason : '{}'",
+                    updateQuery, insertQuery, e.getMessage(), e);
+            rollback(c);
+            return 0;
+
+        } finally {
+            closeQuietly(c, null, null);
+        }
+    }
+
+    /**
+     * Checks whether the exception is caused by an integrity constraint violation (SQLState class '23'),
+     * such as a duplicate key
+     *
+     * @param e {@link SQLException} to check
+     * @return TRUE if the exception is caused by an integrity constraint violation, FALSE otherwise
+     */
+    private boolean isIntegrityConstraintViolation(final SQLException e) {
+        return e instanceof SQLIntegrityConstraintViolationException
+                || (e.getSQLState() != null && e.getSQLState().startsWith("23"));
+    }
+
+    private int executeUpdate(final Connection c, final SqlQuery query, final Object[] arguments) throws SQLException {
+        try (PreparedStatement s = c.prepareStatement(query.getQueryString())) {
+            for (int ii = 0; ii < arguments.length; ii++) {
+                s.setObject(ii + 1, arguments[ii]);
+            }
+            return s.executeUpdate();
+        }
+    }
+
     /**
      * This method allows table creation, removal and existence check
      *
@@ -33,6 +33,7 @@ import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -52,11 +53,12 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 	/** The TL Validation job summary */
 	private TLValidationJobSummary summary;
 
-	/** The map of trust properties by EntityIdentifier (public keys) */
-	private Map<EntityIdentifier, List<TrustProperties>> trustPropertiesByEntity = new HashMap<>();
-
-	/** The map of trust time periods by EntityIdentifier */
-	private Map<EntityIdentifier, List<CertificateTrustTime>> trustTimeByEntity = new HashMap<>();
+	/**
+	 * The current trust snapshot (certificates, trust properties and trust time periods).
+	 * The snapshot is never modified once published, and a synchronization replaces it with a single reference swap,
+	 * so readers do not need any locking.
+	 */
+	private volatile TrustSnapshot trustSnapshot = new TrustSnapshot();
 
 	/**
 	 * The default constructor.
@@ -104,60 +106,85 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 	@Override
 	public synchronized void setTrustPropertiesByCertificates(final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts) {
 		Objects.requireNonNull(trustPropertiesByCerts, "TrustPropertiesByCerts cannot be null!");
-		this.trustPropertiesByEntity = new HashMap<>(); // reinit the map
-		super.reset();
-		trustPropertiesByCerts.forEach(this::addCertificate);
-	}
-	
-	private void addCertificate(CertificateToken certificateToken, List<TrustProperties> trustPropertiesList) {
-		super.addCertificate(certificateToken);
-		Objects.requireNonNull(trustPropertiesList, "TrustPropertiesList must be filled");
-		
-		EntityIdentifier entityKey = certificateToken.getEntityKey();
-		List<TrustProperties> list = trustPropertiesByEntity.computeIfAbsent(entityKey, k -> new ArrayList<>());
-		for (TrustProperties trustProperties : trustPropertiesList) {
-			if (!list.contains(trustProperties)) {
-				list.add(trustProperties);
-			}
-		}
+		// certificates are re-initialized, trust time periods are kept
+		final CertificateIndex certificateIndex = new CertificateIndex();
+		this.trustSnapshot = new TrustSnapshot(certificateIndex,
+				indexByEntity(certificateIndex, trustPropertiesByCerts, "TrustPropertiesList must be filled"),
+				trustSnapshot.trustTimeByEntity);
 	}
 
 	@Override
-	public synchronized List<TrustProperties> getTrustServices(CertificateToken token) {
-		List<TrustProperties> currentTrustProperties = trustPropertiesByEntity.get(token.getEntityKey());
-		if (currentTrustProperties != null) {
-			return currentTrustProperties;
-		} else {
-			return Collections.emptyList();
-		}
+	public synchronized void setTrustTimeByCertificates(Map<CertificateToken, List<CertificateTrustTime>> trustTimeByCertificate) {
+		Objects.requireNonNull(trustTimeByCertificate, "trustTimeByCertificate cannot be null!");
+		// certificates are complemented, trust properties are kept
+		final TrustSnapshot current = trustSnapshot;
+		final CertificateIndex certificateIndex = new CertificateIndex(current.certificateIndex.getCertificates());
+		this.trustSnapshot = new TrustSnapshot(certificateIndex, current.trustPropertiesByEntity,
+				indexByEntity(certificateIndex, trustTimeByCertificate, "CertificateTrustTimes must be filled"));
 	}
 
 	@Override
-	public synchronized void setTrustTimeByCertificates(Map<CertificateToken, List<CertificateTrustTime>> trustTimeByCertificate) {
+	public synchronized void setTrustByCertificates(Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts,
+													Map<CertificateToken, List<CertificateTrustTime>> trustTimeByCertificate) {
+		Objects.requireNonNull(trustPropertiesByCerts, "TrustPropertiesByCerts cannot be null!");
 		Objects.requireNonNull(trustTimeByCertificate, "trustTimeByCertificate cannot be null!");
-		this.trustTimeByEntity = new HashMap<>(); // reinit the map
-		trustTimeByCertificate.forEach(this::addCertificateTrustTimes);
+		final CertificateIndex certificateIndex = new CertificateIndex();
+		this.trustSnapshot = new TrustSnapshot(certificateIndex,
+				indexByEntity(certificateIndex, trustPropertiesByCerts, "TrustPropertiesList must be filled"),
+				indexByEntity(certificateIndex, trustTimeByCertificate, "CertificateTrustTimes must be filled"));
 	}
 
-	private void addCertificateTrustTimes(CertificateToken certificateToken, List<CertificateTrustTime> certificateTrustTimes) {
-		super.addCertificate(certificateToken);
-		Objects.requireNonNull(certificateTrustTimes, "CertificateTrustTimes must be filled");
+	/**
+	 * Adds the certificates to the {@code certificateIndex} and groups the given values by the certificates' entity keys
+	 *
+	 * @param certificateIndex {@link CertificateIndex} to be filled with the certificates
+	 * @param valuesByCerts map of values by certificates
+	 * @param nullValuesMessage {@link String} the exception message when values are not defined for a certificate
+	 * @return unmodifiable map of unmodifiable value lists by {@link EntityIdentifier}
+	 * @param <V> the type of values
+	 */
+	private static <V> Map<EntityIdentifier, List<V>> indexByEntity(CertificateIndex certificateIndex,
+			Map<CertificateToken, List<V>> valuesByCerts, String nullValuesMessage) {
+		final Map<EntityIdentifier, List<V>> result = new HashMap<>();
+		for (Map.Entry<CertificateToken, List<V>> entry : valuesByCerts.entrySet()) {
+			CertificateToken certificateToken = entry.getKey();
+			Objects.requireNonNull(certificateToken, "The certificate must be filled");
+			certificateIndex.add(certificateToken);
+			Objects.requireNonNull(entry.getValue(), nullValuesMessage);
 
-		EntityIdentifier entityKey = certificateToken.getEntityKey();
-		List<CertificateTrustTime> list = trustTimeByEntity.computeIfAbsent(entityKey, k -> new ArrayList<>());
-		for (CertificateTrustTime trustTime : certificateTrustTimes) {
-			if (!list.contains(trustTime)) {
-				list.add(trustTime);
+			List<V> list = result.computeIfAbsent(certificateToken.getEntityKey(), k -> new ArrayList<>());
+			for (V value : entry.getValue()) {
+				if (!list.contains(value)) {
+					list.add(value);
+				}
 			}
 		}
+		result.replaceAll((entityKey, values) -> Collections.unmodifiableList(values));
+		return Collections.unmodifiableMap(result);
 	}
 
 	@Override
-	public synchronized CertificateTrustTime getTrustTime(CertificateToken token) {
-		if (!super.isTrusted(token)) {
+	protected CertificateIndex getCertificateIndex() {
+		return trustSnapshot.certificateIndex;
+	}
+
+	@Override
+	public List<TrustProperties> getTrustServices(CertificateToken token) {
+		List<TrustProperties> currentTrustProperties = trustSnapshot.trustPropertiesByEntity.get(token.getEntityKey());
+		if (currentTrustProperties != null) {
+			return currentTrustProperties;
+		} else {
+			return Collections.emptyList();
+		}
+	}
+
+	@Override
+	public CertificateTrustTime getTrustTime(CertificateToken token) {
+		final TrustSnapshot snapshot = trustSnapshot;
+		if (!snapshot.certificateIndex.isKnown(token)) {
 			return new CertificateTrustTime(false);
 		}
-		List<CertificateTrustTime> trustTimes = trustTimeByEntity.get(token.getEntityKey());
+		List<CertificateTrustTime> trustTimes = snapshot.trustTimeByEntity.get(token.getEntityKey());
 		if (Utils.isCollectionNotEmpty(trustTimes)) {
 			CertificateTrustTime certificateTrustTime = null;
 			for (CertificateTrustTime trustTime : trustTimes) {
@@ -212,11 +239,9 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 
 	@Override
 	public boolean isTrusted(CertificateToken certificateToken) {
-		if (super.isTrusted(certificateToken)) {
-			CertificateTrustTime trustTime = getTrustTime(certificateToken);
-			return trustTime == null || trustTime.isTrusted();
-		}
-		return false;
+		// an unknown certificate returns a not trusted time
+		CertificateTrustTime trustTime = getTrustTime(certificateToken);
+		return trustTime == null || trustTime.isTrusted();
 	}
 
 	/**
@@ -225,7 +250,49 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 	 * @return the number of trusted entity keys (public key + subject name)
 	 */
 	public int getNumberOfTrustedEntityKeys() {
-		return trustPropertiesByEntity.size();
+		return trustSnapshot.trustPropertiesByEntity.size();
+	}
+
+	/**
+	 * Immutable state of the certificate source, published as a whole
+	 */
+	private static final class TrustSnapshot implements Serializable {
+
+		private static final long serialVersionUID = -3372659104917564021L;
+
+		/** The indexes of trusted certificates */
+		private final CertificateIndex certificateIndex;
+
+		/** The map of trust properties by EntityIdentifier (public keys) */
+		private final Map<EntityIdentifier, List<TrustProperties>> trustPropertiesByEntity;
+
+		/** The map of trust time periods by EntityIdentifier */
+		private final Map<EntityIdentifier, List<CertificateTrustTime>> trustTimeByEntity;
+
+		/**
+		 * Creates an empty snapshot
+		 */
+		private TrustSnapshot() {
+			this.certificateIndex = new CertificateIndex();
+			this.trustPropertiesByEntity = Collections.emptyMap();
+			this.trustTimeByEntity = Collections.emptyMap();
+		}
+
+		/**
+		 * Default constructor
+		 *
+		 * @param certificateIndex {@link CertificateIndex} containing the trusted certificates
+		 * @param trustPropertiesByEntity map of trust properties by entity keys
+		 * @param trustTimeByEntity map of trust time periods by entity keys
+		 */
+		private TrustSnapshot(CertificateIndex certificateIndex,
+							  Map<EntityIdentifier, List<TrustProperties>> trustPropertiesByEntity,
+							  Map<EntityIdentifier, List<CertificateTrustTime>> trustTimeByEntity) {
+			this.certificateIndex = certificateIndex;
+			this.trustPropertiesByEntity = trustPropertiesByEntity;
+			this.trustTimeByEntity = trustTimeByEntity;
+		}
+
 	}
 
 }
@@ -23,6 +23,7 @@ package eu.europa.esig.dss.spi.validation;
 import eu.europa.esig.dss.alert.ExceptionOnStatusAlert;
 import eu.europa.esig.dss.alert.LogOnStatusAlert;
 import eu.europa.esig.dss.alert.StatusAlert;
+import eu.europa.esig.dss.model.x509.SignatureVerificationCache;
 import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
@@ -30,6 +31,8 @@ import eu.europa.esig.dss.spi.x509.ListCertificateSource;
 import eu.europa.esig.dss.spi.x509.aia.AIASource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
 
+import java.util.concurrent.ExecutorService;
+
 /**
  * Provides information on the sources to be used in the validation process in
  * the context of a signature.
@@ -129,6 +132,62 @@ public interface CertificateVerifier {
 	 */
 	void setRevocationFallback(boolean revocationFallback);
 
+	/**
+	 * Returns the {@code ExecutorService} used to load revocation data concurrently
+	 *
+	 * @return {@link ExecutorService}, NULL when revocation data is loaded sequentially
+	 */
+	ExecutorService getRevocationDataLoadingExecutorService();
+
+	/**
+	 * Sets the {@code ExecutorService} used to load revocation data concurrently.
+	 * When defined, the validation process discovers certificate chains first and then requests revocation data
+	 * for all the concerned certificates in parallel, using the configured {@code RevocationDataLoadingStrategyFactory}.
+	 * The obtained revocation data is verified sequentially afterwards.
+	 * <p>
+	 * NOTE: The lifecycle of the {@code ExecutorService} is not managed by DSS.
+	 * Default : NULL (revocation data is loaded sequentially)
+	 *
+	 * @param revocationDataLoadingExecutorService {@link ExecutorService}
+	 */
+	void setRevocationDataLoadingExecutorService(ExecutorService revocationDataLoadingExecutorService);
+
+	/**
+	 * Returns the maximum time (in milliseconds) to wait for revocation data loaded concurrently within one validation
+	 *
+	 * @return revocation data loading timeout in milliseconds
+	 */
+	long getRevocationDataLoadingTimeout();
+
+	/**
+	 * Sets the maximum time (in milliseconds) to wait for revocation data loaded concurrently within one validation.
+	 * The deadline is computed from the beginning of the validation. When reached, the outstanding requests are
+	 * cancelled and the concerned certificates are processed without the online revocation data.
+	 * The value is used only when {@code revocationDataLoadingExecutorService} is defined.
+	 * Default : 0 (no deadline)
+	 *
+	 * @param revocationDataLoadingTimeout revocation data loading timeout in milliseconds
+	 */
+	void setRevocationDataLoadingTimeout(long revocationDataLoadingTimeout);
+
+	/**
+	 * Returns the cache of successful token signature verifications
+	 *
+	 * @return {@link SignatureVerificationCache}
+	 */
+	SignatureVerificationCache getSignatureVerificationCache();
+
+	/**
+	 * Sets the cache of successful token signature verifications (e.g. a certificate signed by its issuer).
+	 * When defined, the cache is used by the validation process in order to avoid repeated cryptographic verifications
+	 * of the same tokens (e.g. intermediate CA certificates) across different validations.
+	 * The same instance may be shared between different {@code CertificateVerifier}s.
+	 * Default : NULL (no cache is used)
+	 *
+	 * @param signatureVerificationCache {@link SignatureVerificationCache}
+	 */
+	void setSignatureVerificationCache(SignatureVerificationCache signatureVerificationCache);
+
 	/**
 	 * Returns a {@code TimestampTokenVerifier} associated with this verifier.
 	 *
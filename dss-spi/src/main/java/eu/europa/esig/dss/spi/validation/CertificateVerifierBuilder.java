@@ -50,6 +50,9 @@ public class CertificateVerifierBuilder {
 			copy.setOcspSource(certificateVerifier.getOcspSource());
 			copy.setRevocationDataLoadingStrategyFactory(certificateVerifier.getRevocationDataLoadingStrategyFactory());
 			copy.setRevocationFallback(certificateVerifier.isRevocationFallback());
+			copy.setRevocationDataLoadingExecutorService(certificateVerifier.getRevocationDataLoadingExecutorService());
+			copy.setRevocationDataLoadingTimeout(certificateVerifier.getRevocationDataLoadingTimeout());
+			copy.setSignatureVerificationCache(certificateVerifier.getSignatureVerificationCache());
 			copy.setRevocationDataVerifier(certificateVerifier.getRevocationDataVerifier());
 			copy.setTimestampTokenVerifier(certificateVerifier.getTimestampTokenVerifier());
 			copy.setTrustAnchorVerifier(certificateVerifier.getTrustAnchorVerifier());
@@ -84,6 +87,7 @@ public class CertificateVerifierBuilder {
 			offlineCertificateVerifier.setTrustedCertSources(certificateVerifier.getTrustedCertSources());
 			offlineCertificateVerifier.setRevocationDataVerifier(certificateVerifier.getRevocationDataVerifier());
 			offlineCertificateVerifier.setTimestampTokenVerifier(certificateVerifier.getTimestampTokenVerifier());
+			offlineCertificateVerifier.setSignatureVerificationCache(certificateVerifier.getSignatureVerificationCache());
 			offlineCertificateVerifier.setTrustAnchorVerifier(getTrustAnchorVerifierOfflineCopy(certificateVerifier.getTrustAnchorVerifier()));
 
 			// keep alerting
@@ -114,6 +118,7 @@ public class CertificateVerifierBuilder {
 			offlineCertificateVerifier.setTrustedCertSources(certificateVerifier.getTrustedCertSources());
 			offlineCertificateVerifier.setRevocationDataVerifier(certificateVerifier.getRevocationDataVerifier());
 			offlineCertificateVerifier.setTimestampTokenVerifier(certificateVerifier.getTimestampTokenVerifier());
+			offlineCertificateVerifier.setSignatureVerificationCache(certificateVerifier.getSignatureVerificationCache());
 			offlineCertificateVerifier.setTrustAnchorVerifier(getTrustAnchorVerifierOfflineCopy(certificateVerifier.getTrustAnchorVerifier()));
 		}
 		// disable alerting
@@ -0,0 +1,260 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.validation;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.spi.x509.revocation.RepositoryRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class is used to extract the cached revocation data of a whole certificate chain at once
+ * within a single {@code SignatureValidationContext#validate} execution.
+ * <p>
+ * The certificate chains are registered before their processing (see {@code #register}). On the first revocation
+ * request for a certificate of a registered chain, the cached revocation data of all the chain certificates
+ * is extracted from the {@code RepositoryRevocationSource} at once. The extracted tokens are returned
+ * by the wrapped revocation sources (see {@code #getChainOCSPSource} and {@code #getChainCRLSource}), while
+ * the requests for certificates without fresh cached revocation data are forwarded to the wrapped source.
+ * The proxied (online) source is never requested during the chain extraction.
+ * <p>
+ * The loader is used only when enabled with {@code SignatureValidationContext#setChainRevocationDataLoading}.
+ *
+ */
+class ChainRevocationDataLoader {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ChainRevocationDataLoader.class);
+
+	/** The registered certificate chains by the contained certificates */
+	private final Map<CertificateToken, List<CertificateToken>> certificateChains = new HashMap<>();
+
+	/** The cached OCSP responses of the registered chains */
+	private final ChainRevocationCache<OCSP> ocspCache;
+
+	/** The cached CRLs of the registered chains */
+	private final ChainRevocationCache<CRL> crlCache;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param ocspSource {@link RevocationSource} the remote OCSP source
+	 * @param crlSource {@link RevocationSource} the remote CRL source
+	 */
+	ChainRevocationDataLoader(RevocationSource<OCSP> ocspSource, RevocationSource<CRL> crlSource) {
+		this.ocspCache = new ChainRevocationCache<>(ocspSource);
+		this.crlCache = new ChainRevocationCache<>(crlSource);
+	}
+
+	/**
+	 * Checks whether the cached revocation data may be extracted per certificate chain for one of the given sources
+	 *
+	 * @param ocspSource {@link RevocationSource} the remote OCSP source
+	 * @param crlSource {@link RevocationSource} the remote CRL source
+	 * @return TRUE if one of the sources is a {@code RepositoryRevocationSource}, FALSE otherwise
+	 */
+	static boolean isSupported(RevocationSource<OCSP> ocspSource, RevocationSource<CRL> crlSource) {
+		return ocspSource instanceof RepositoryRevocationSource || crlSource instanceof RepositoryRevocationSource;
+	}
+
+	/**
+	 * Registers a certificate chain, ordered from the end-entity certificate to the trust anchor.
+	 * The cached revocation data is extracted only on the first revocation request for a certificate of the chain.
+	 *
+	 * @param certificateChain a list of {@link CertificateToken}s
+	 */
+	void register(List<CertificateToken> certificateChain) {
+		if (Utils.collectionSize(certificateChain) > 1) {
+			for (CertificateToken certificateToken : certificateChain) {
+				// the first registered chain is the longest one, as a chain is processed from the end-entity certificate
+				certificateChains.putIfAbsent(certificateToken, certificateChain);
+			}
+		}
+	}
+
+	/**
+	 * Wraps the given OCSP source in order to return the cached revocation data extracted per certificate chain
+	 *
+	 * @param ocspSource {@link RevocationSource} to wrap
+	 * @return {@link RevocationSource}
+	 */
+	RevocationSource<OCSP> getChainOCSPSource(RevocationSource<OCSP> ocspSource) {
+		return ocspSource != null && ocspCache.isEnabled() ? new ChainRevocationSource<>(ocspSource, ocspCache) : ocspSource;
+	}
+
+	/**
+	 * Wraps the given CRL source in order to return the cached revocation data extracted per certificate chain
+	 *
+	 * @param crlSource {@link RevocationSource} to wrap
+	 * @return {@link RevocationSource}
+	 */
+	RevocationSource<CRL> getChainCRLSource(RevocationSource<CRL> crlSource) {
+		return crlSource != null && crlCache.isEnabled() ? new ChainRevocationSource<>(crlSource, crlCache) : crlSource;
+	}
+
+	/**
+	 * Contains the cached revocation data extracted per certificate chain from a {@code RepositoryRevocationSource}
+	 *
+	 * @param <R> {@link Revocation} type
+	 */
+	private class ChainRevocationCache<R extends Revocation> {
+
+		/** The repository source, null when the remote source is not a {@code RepositoryRevocationSource} */
+		private final RepositoryRevocationSource<R> repositorySource;
+
+		/** The certificates the cached revocation data has been extracted for */
+		private final Set<CertificateToken> loadedCertificates = new HashSet<>();
+
+		/** The latest fresh cached revocation tokens by certificates */
+		private final Map<CertificateToken, RevocationToken<R>> revocationTokens = new HashMap<>();
+
+		/**
+		 * Default constructor
+		 *
+		 * @param revocationSource {@link RevocationSource} the remote revocation source
+		 */
+		ChainRevocationCache(RevocationSource<R> revocationSource) {
+			this.repositorySource = revocationSource instanceof RepositoryRevocationSource ?
+					(RepositoryRevocationSource<R>) revocationSource : null;
+		}
+
+		/**
+		 * Checks whether the cached revocation data may be extracted per certificate chain
+		 *
+		 * @return TRUE if the remote source is a {@code RepositoryRevocationSource}, FALSE otherwise
+		 */
+		boolean isEnabled() {
+			return repositorySource != null;
+		}
+
+		/**
+		 * Returns the cached revocation token for the given certificate, extracting the cached revocation data
+		 * of its certificate chain when not yet done
+		 *
+		 * @param certificateToken {@link CertificateToken} to get revocation data for
+		 * @param issuerCertificateToken {@link CertificateToken} issuer of {@code certificateToken}
+		 * @return {@link RevocationToken} if fresh revocation data is cached, null otherwise
+		 */
+		RevocationToken<R> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			final List<CertificateToken> certificateChain = certificateChains.get(certificateToken);
+			if (certificateChain == null || !isIssuerInChain(certificateChain, certificateToken, issuerCertificateToken)) {
+				return null;
+			}
+			if (!loadedCertificates.contains(certificateToken)) {
+				load(certificateChain);
+			}
+			return revocationTokens.get(certificateToken);
+		}
+
+		private boolean isIssuerInChain(List<CertificateToken> certificateChain, CertificateToken certificateToken,
+										CertificateToken issuerCertificateToken) {
+			final int issuerIndex = certificateChain.indexOf(certificateToken) + 1;
+			return issuerIndex < certificateChain.size() && certificateChain.get(issuerIndex).equals(issuerCertificateToken);
+		}
+
+		private void load(List<CertificateToken> certificateChain) {
+			LOG.trace("Extracting the cached revocation data for a chain of {} certificates...", certificateChain.size());
+			final Map<CertificateToken, List<RevocationToken<R>>> cachedRevocationTokens =
+					repositorySource.getCachedRevocationTokens(certificateChain);
+			for (Map.Entry<CertificateToken, List<RevocationToken<R>>> entry : cachedRevocationTokens.entrySet()) {
+				final RevocationToken<R> latestRevocationToken = getLatestRevocationToken(entry.getValue());
+				if (latestRevocationToken != null) {
+					revocationTokens.put(entry.getKey(), latestRevocationToken);
+				}
+			}
+			loadedCertificates.addAll(certificateChain);
+		}
+
+		private RevocationToken<R> getLatestRevocationToken(List<RevocationToken<R>> tokens) {
+			RevocationToken<R> latestRevocationToken = null;
+			for (RevocationToken<R> revocationToken : tokens) {
+				if (latestRevocationToken == null || isAfter(revocationToken.getThisUpdate(), latestRevocationToken.getThisUpdate())) {
+					latestRevocationToken = revocationToken;
+				}
+			}
+			return latestRevocationToken;
+		}
+
+		/**
+		 * Checks whether the {@code thisUpdate} time is after {@code latestThisUpdate}.
+		 * A token without thisUpdate time is never preferred, and any token with a time is preferred to it.
+		 */
+		private boolean isAfter(Date thisUpdate, Date latestThisUpdate) {
+			if (thisUpdate == null) {
+				return false;
+			}
+			return latestThisUpdate == null || thisUpdate.after(latestThisUpdate);
+		}
+
+	}
+
+	/**
+	 * Returns the cached revocation data extracted per certificate chain,
+	 * or forwards the request to the wrapped source when no fresh revocation data is cached
+	 *
+	 * @param <R> {@link Revocation} type
+	 */
+	@SuppressWarnings("serial")
+	private static class ChainRevocationSource<R extends Revocation> implements RevocationSource<R> {
+
+		/** The wrapped revocation source */
+		private final RevocationSource<R> revocationSource;
+
+		/** The cached revocation data of the registered chains */
+		private final transient ChainRevocationCache<R> chainRevocationCache;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param revocationSource {@link RevocationSource} to wrap
+		 * @param chainRevocationCache {@link ChainRevocationCache}
+		 */
+		ChainRevocationSource(RevocationSource<R> revocationSource, ChainRevocationCache<R> chainRevocationCache) {
+			this.revocationSource = revocationSource;
+			this.chainRevocationCache = chainRevocationCache;
+		}
+
+		@Override
+		public RevocationToken<R> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			final RevocationToken<R> revocationToken = chainRevocationCache.getRevocationToken(certificateToken, issuerCertificateToken);
+			if (revocationToken != null) {
+				LOG.debug("Revocation data for certificate '{}' has been extracted with its certificate chain",
+						certificateToken.getDSSIdAsString());
+				return revocationToken;
+			}
+			return revocationSource.getRevocationToken(certificateToken, issuerCertificateToken);
+		}
+
+	}
+
+}
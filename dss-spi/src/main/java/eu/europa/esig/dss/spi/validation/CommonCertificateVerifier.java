@@ -23,6 +23,7 @@ package eu.europa.esig.dss.spi.validation;
 import eu.europa.esig.dss.alert.ExceptionOnStatusAlert;
 import eu.europa.esig.dss.alert.LogOnStatusAlert;
 import eu.europa.esig.dss.alert.StatusAlert;
+import eu.europa.esig.dss.model.x509.SignatureVerificationCache;
 import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
@@ -35,6 +36,7 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.event.Level;
 
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 
 /**
  * This class provides the different sources used to verify the status of a certificate using the trust model. There are
@@ -90,6 +92,23 @@ public class CommonCertificateVerifier implements CertificateVerifier {
 	 */
 	private boolean revocationFallback = false;
 
+	/**
+	 * The executor used to load revocation data concurrently. When not defined, revocation data is loaded sequentially.
+	 */
+	private ExecutorService revocationDataLoadingExecutorService;
+
+	/**
+	 * The maximum time (in milliseconds) to wait for revocation data loaded concurrently within one validation.
+	 * <p>
+	 * Default : 0 (no deadline)
+	 */
+	private long revocationDataLoadingTimeout = 0;
+
+	/**
+	 * The cache of successful token signature verifications, shared between validations (optional)
+	 */
+	private SignatureVerificationCache signatureVerificationCache;
+
 	/**
 	 * Verifies validity of a timestamp tokens encapsulated within the signature document.
 	 */
@@ -271,6 +290,36 @@ public class CommonCertificateVerifier implements CertificateVerifier {
 		this.revocationFallback = revocationFallback;
 	}
 
+	@Override
+	public ExecutorService getRevocationDataLoadingExecutorService() {
+		return revocationDataLoadingExecutorService;
+	}
+
+	@Override
+	public void setRevocationDataLoadingExecutorService(ExecutorService revocationDataLoadingExecutorService) {
+		this.revocationDataLoadingExecutorService = revocationDataLoadingExecutorService;
+	}
+
+	@Override
+	public long getRevocationDataLoadingTimeout() {
+		return revocationDataLoadingTimeout;
+	}
+
+	@Override
+	public void setRevocationDataLoadingTimeout(long revocationDataLoadingTimeout) {
+		this.revocationDataLoadingTimeout = revocationDataLoadingTimeout;
+	}
+
+	@Override
+	public SignatureVerificationCache getSignatureVerificationCache() {
+		return signatureVerificationCache;
+	}
+
+	@Override
+	public void setSignatureVerificationCache(SignatureVerificationCache signatureVerificationCache) {
+		this.signatureVerificationCache = signatureVerificationCache;
+	}
+
 	@Override
 	public TimestampTokenVerifier getTimestampTokenVerifier() {
 		return timestampTokenVerifier;
@@ -0,0 +1,268 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.validation;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This class is used to load revocation data concurrently within a single {@code SignatureValidationContext#validate}
+ * execution.
+ * <p>
+ * Revocation requests are submitted to the provided {@code ExecutorService} using the configured
+ * {@code RevocationDataLoadingStrategy}, without verification of the obtained tokens.
+ * The results are shared with the sequential validation process through the wrapped revocation sources
+ * (see {@code #getSharedOCSPSource} and {@code #getSharedCRLSource}), where the obtained tokens are verified
+ * as usual. A request for the same pair of certificate and issuer is executed only once.
+ *
+ */
+class ConcurrentRevocationDataLoader {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ConcurrentRevocationDataLoader.class);
+
+	/** The executor used to load revocation data */
+	private final ExecutorService executorService;
+
+	/** The deadline of the revocation data loading (see {@code System#nanoTime}), 0 when not defined */
+	private final long deadline;
+
+	/** Results of OCSP requests by certificate and issuer identifiers */
+	private final ConcurrentMap<String, Future<RevocationToken<OCSP>>> ocspResults = new ConcurrentHashMap<>();
+
+	/** Results of CRL requests by certificate and issuer identifiers */
+	private final ConcurrentMap<String, Future<RevocationToken<CRL>>> crlResults = new ConcurrentHashMap<>();
+
+	/** Submitted tasks by certificate identifiers */
+	private final Map<String, Future<?>> submittedTasks = new HashMap<>();
+
+	/**
+	 * Default constructor
+	 *
+	 * @param executorService {@link ExecutorService} to be used to load revocation data
+	 * @param timeout the maximum time in milliseconds to wait for the revocation data, 0 for no deadline
+	 */
+	ConcurrentRevocationDataLoader(ExecutorService executorService, long timeout) {
+		this.executorService = executorService;
+		this.deadline = timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+	}
+
+	/**
+	 * Wraps the given OCSP source in order to share the results of concurrently executed requests
+	 *
+	 * @param ocspSource {@link RevocationSource} to wrap
+	 * @return {@link RevocationSource}
+	 */
+	RevocationSource<OCSP> getSharedOCSPSource(RevocationSource<OCSP> ocspSource) {
+		return ocspSource != null ? new SharedResultRevocationSource<>(ocspSource, ocspResults) : null;
+	}
+
+	/**
+	 * Wraps the given CRL source in order to share the results of concurrently executed requests
+	 *
+	 * @param crlSource {@link RevocationSource} to wrap
+	 * @return {@link RevocationSource}
+	 */
+	RevocationSource<CRL> getSharedCRLSource(RevocationSource<CRL> crlSource) {
+		return crlSource != null ? new SharedResultRevocationSource<>(crlSource, crlResults) : null;
+	}
+
+	/**
+	 * Submits a request for revocation data of the {@code certificateToken} using the given strategy.
+	 * The strategy shall be configured with the shared revocation sources.
+	 * <p>
+	 * NOTE: The obtained revocation data is not verified, as the verification requires access
+	 *       to the not thread-safe validation context. The verification is performed on the later sequential
+	 *       request to the strategy, which re-uses the obtained results.
+	 *
+	 * @param revocationDataLoadingStrategy {@link RevocationDataLoadingStrategy} to be used
+	 * @param certificateToken {@link CertificateToken} to get revocation data for
+	 * @param issuerToken {@link CertificateToken} issuer of {@code certificateToken}
+	 */
+	void submit(RevocationDataLoadingStrategy revocationDataLoadingStrategy, CertificateToken certificateToken,
+				CertificateToken issuerToken) {
+		revocationDataLoadingStrategy.setRevocationDataVerifier(new AcceptAllRevocationDataVerifier());
+		try {
+			submittedTasks.put(certificateToken.getDSSIdAsString(), executorService.submit(() -> {
+				try {
+					revocationDataLoadingStrategy.getRevocationToken(certificateToken, issuerToken);
+				} catch (Exception e) {
+					LOG.debug("Unable to load revocation data for certificate '{}' : {}",
+							certificateToken.getDSSIdAsString(), e.getMessage(), e);
+				}
+			}));
+		} catch (RejectedExecutionException e) {
+			LOG.warn("Unable to submit a revocation request for certificate '{}' : {}. " +
+					"The request will be executed sequentially.", certificateToken.getDSSIdAsString(), e.getMessage());
+		}
+	}
+
+	/**
+	 * Waits for completion of the task submitted for the given {@code certificateToken}, if any
+	 *
+	 * @param certificateToken {@link CertificateToken} to wait revocation data for
+	 * @return TRUE if the task has been completed or not submitted, FALSE if the deadline has been reached
+	 */
+	boolean await(CertificateToken certificateToken) {
+		final Future<?> task = submittedTasks.get(certificateToken.getDSSIdAsString());
+		if (task == null) {
+			return true;
+		}
+		try {
+			getResult(task);
+			return true;
+		} catch (TimeoutException e) {
+			task.cancel(true);
+			LOG.warn("The revocation data loading deadline has been reached for certificate '{}'!",
+					certificateToken.getDSSIdAsString());
+			return false;
+		} catch (CancellationException | ExecutionException e) {
+			// exceptions are handled within the task
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException(String.format("Revocation data loading has been interrupted for certificate '%s'!",
+					certificateToken.getDSSIdAsString()), e);
+		}
+	}
+
+	/**
+	 * Cancels all the outstanding revocation requests
+	 */
+	void cancel() {
+		for (Future<?> task : submittedTasks.values()) {
+			task.cancel(true);
+		}
+		submittedTasks.clear();
+	}
+
+	private <T> T getResult(Future<T> future) throws InterruptedException, ExecutionException, TimeoutException {
+		if (deadline == 0) {
+			return future.get();
+		}
+		return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+	}
+
+	private <R extends Revocation> RevocationToken<R> getResult(Future<RevocationToken<R>> future, CertificateToken certificateToken) {
+		try {
+			return getResult(future);
+
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			LOG.warn("The revocation data loading deadline has been reached for certificate '{}'!",
+					certificateToken.getDSSIdAsString());
+			return null;
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException(String.format("Revocation data loading has been interrupted for certificate '%s'!",
+					certificateToken.getDSSIdAsString()), e);
+
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new DSSException(String.format("Unable to load revocation data for certificate '%s' : %s",
+					certificateToken.getDSSIdAsString(), e.getMessage()), e);
+
+		} catch (CancellationException e) {
+			LOG.warn("The revocation data loading has been cancelled for certificate '{}'!",
+					certificateToken.getDSSIdAsString());
+			return null;
+		}
+	}
+
+	/**
+	 * Executes a revocation request once per pair of certificate and issuer and shares its result between callers
+	 *
+	 * @param <R> {@link Revocation} type
+	 */
+	@SuppressWarnings("serial")
+	private class SharedResultRevocationSource<R extends Revocation> implements RevocationSource<R> {
+
+		/** The wrapped revocation source */
+		private final RevocationSource<R> revocationSource;
+
+		/** The shared results */
+		private final ConcurrentMap<String, Future<RevocationToken<R>>> results;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param revocationSource {@link RevocationSource} to wrap
+		 * @param results a map of shared results
+		 */
+		SharedResultRevocationSource(RevocationSource<R> revocationSource,
+									 ConcurrentMap<String, Future<RevocationToken<R>>> results) {
+			this.revocationSource = revocationSource;
+			this.results = results;
+		}
+
+		@Override
+		public RevocationToken<R> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			final String key = certificateToken.getDSSIdAsString() + issuerCertificateToken.getDSSIdAsString();
+			final FutureTask<RevocationToken<R>> task = new FutureTask<>(
+					() -> revocationSource.getRevocationToken(certificateToken, issuerCertificateToken));
+			Future<RevocationToken<R>> future = results.putIfAbsent(key, task);
+			if (future == null) {
+				// the request is executed within the current thread
+				task.run();
+				future = task;
+			}
+			return getResult(future, certificateToken);
+		}
+
+	}
+
+	/**
+	 * Accepts all obtained revocation data.
+	 * Used to load revocation data without accessing the validation context.
+	 */
+	private static class AcceptAllRevocationDataVerifier extends RevocationDataVerifier {
+
+		@Override
+		public boolean isAcceptable(RevocationToken<?> revocationToken, Date controlTime) {
+			return true;
+		}
+
+	}
+
+}
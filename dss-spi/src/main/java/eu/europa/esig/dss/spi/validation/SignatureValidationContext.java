@@ -24,6 +24,7 @@ import eu.europa.esig.dss.enumerations.Context;
 import eu.europa.esig.dss.enumerations.RevocationReason;
 import eu.europa.esig.dss.model.identifier.EntityIdentifier;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.SignatureVerificationCache;
 import eu.europa.esig.dss.model.x509.Token;
 import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
 import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
@@ -61,10 +62,12 @@ import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -72,9 +75,9 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 /**
  * During the validation of a signature, the software retrieves different X509 artifacts like Certificate, CRL and OCSP
@@ -116,8 +119,23 @@ public class SignatureValidationContext implements ValidationContext {
 	 */
 	private CertificateVerifier certificateVerifier;
 
-	/** Map of tokens defining if they have been processed yet */
-	private final Map<Token, Boolean> tokensToProcess = new HashMap<>();
+	/** Set of all tokens registered for verification (processed or not) */
+	private final Set<Token> tokensToProcess = new HashSet<>();
+
+	/** Set of tokens which have been processed yet */
+	private final Set<Token> verifiedTokens = new HashSet<>();
+
+	/** Queue of tokens awaiting verification, in order of their registration */
+	private final Deque<Token> tokensQueue = new ArrayDeque<>();
+
+	/** Queue of revocation tokens awaiting verification, in order of their registration */
+	private final Deque<RevocationToken<?>> revocationTokensQueue = new ArrayDeque<>();
+
+	/** Queue of timestamp tokens awaiting verification, starting from the freshest timestamp */
+	private final Deque<TimestampToken> timestampTokensQueue = new ArrayDeque<>();
+
+	/** Defines whether new timestamps have been added since the last sorting of {@code timestampTokensQueue} */
+	private boolean timestampTokensQueueOutdated = false;
 
 	/** A map between certificate tokens and corresponding signatures (b-level creation) */
 	private final Map<CertificateToken, List<AdvancedSignature>> certificateSignaturesUsage = new HashMap<>();
@@ -167,6 +185,24 @@ public class SignatureValidationContext implements ValidationContext {
 	/** Defines whether a revocation data still shall be returned, when validation of obtained revocation tokens failed */
 	private boolean revocationFallback;
 
+	/** The executor used to load revocation data concurrently, when defined */
+	private ExecutorService revocationDataLoadingExecutorService;
+
+	/** The maximum time in milliseconds to wait for revocation data loaded concurrently */
+	private long revocationDataLoadingTimeout;
+
+	/** The cache of successful token signature verifications (optional) */
+	private SignatureVerificationCache signatureVerificationCache;
+
+	/** Loads revocation data concurrently during the {@code #validate} execution, when enabled */
+	private ConcurrentRevocationDataLoader concurrentRevocationDataLoader;
+
+	/** Defines whether the cached revocation data is extracted per certificate chain (disabled by default) */
+	private boolean chainRevocationDataLoading;
+
+	/** Extracts the cached revocation data per certificate chain during the {@code #validate} execution, when enabled */
+	private ChainRevocationDataLoader chainRevocationDataLoader;
+
 	/** This class is used to verify validity of a {@code TimestampToken} */
 	private TimestampTokenVerifier timestampTokenVerifier;
 
@@ -224,10 +260,28 @@ public class SignatureValidationContext implements ValidationContext {
 		this.revocationDataLoadingStrategyFactory = certificateVerifier.getRevocationDataLoadingStrategyFactory();
 		this.revocationDataVerifier = certificateVerifier.getRevocationDataVerifier();
 		this.revocationFallback = certificateVerifier.isRevocationFallback();
+		this.revocationDataLoadingExecutorService = certificateVerifier.getRevocationDataLoadingExecutorService();
+		this.revocationDataLoadingTimeout = certificateVerifier.getRevocationDataLoadingTimeout();
+		this.signatureVerificationCache = certificateVerifier.getSignatureVerificationCache();
 		this.timestampTokenVerifier = certificateVerifier.getTimestampTokenVerifier();
 		this.trustAnchorVerifier = certificateVerifier.getTrustAnchorVerifier();
 	}
 
+	/**
+	 * Sets whether the cached revocation data shall be extracted per certificate chain.
+	 * When enabled and the remote OCSP and/or CRL source is a {@code RepositoryRevocationSource},
+	 * the cached revocation data of all the certificates of a chain is extracted at once on the first
+	 * revocation request for one of them (e.g. with a single database query). The certificates without
+	 * fresh cached revocation data are still processed by the configured revocation source.
+	 * The option is not used when revocation data is loaded concurrently.
+	 * Default : FALSE (the revocation data is requested for each certificate separately)
+	 *
+	 * @param chainRevocationDataLoading whether the cached revocation data is extracted per certificate chain
+	 */
+	public void setChainRevocationDataLoading(boolean chainRevocationDataLoading) {
+		this.chainRevocationDataLoading = chainRevocationDataLoading;
+	}
+
 	/**
 	 * Gets the {@code CertificateVerifier} instance
 	 *
@@ -437,13 +491,7 @@ public class SignatureValidationContext implements ValidationContext {
 			if (revocationToken != null) {
 				return revocationToken;
 			}
-			for (final Entry<Token, Boolean> entry : tokensToProcess.entrySet()) {
-				if (entry.getValue() == null) {
-					entry.setValue(true);
-					return entry.getKey();
-				}
-			}
-			return null;
+			return pollNotYetVerifiedToken(tokensQueue);
 		}
 	}
 
@@ -455,16 +503,9 @@ public class SignatureValidationContext implements ValidationContext {
 	 * @return token to verify or null
 	 */
 	private RevocationToken<?> getNotYetVerifiedRevocationToken() {
-		if (Utils.isCollectionEmpty(processedRevocations)) {
-			return null;
-		}
-		final List<RevocationToken<?>> revocationTokens = new ArrayList<>(processedRevocations);
-		for (RevocationToken<?> revocationToken : revocationTokens) {
-			if (!isYetVerified(revocationToken)) {
-				return revocationToken;
-			}
+		synchronized (tokensToProcess) {
+			return pollNotYetVerifiedToken(revocationTokensQueue);
 		}
-		return null;
 	}
 
 	/**
@@ -473,16 +514,39 @@ public class SignatureValidationContext implements ValidationContext {
 	 * @return token to verify or null
 	 */
 	private TimestampToken getNotYetVerifiedTimestamp() {
-		if (Utils.isCollectionEmpty(processedTimestamps)) {
-			return null;
+		synchronized (tokensToProcess) {
+			if (timestampTokensQueueOutdated) {
+				// the queue is re-sorted only when new timestamps have been added
+				final List<TimestampToken> sortedTimestampTokens = new ArrayList<>(processedTimestamps);
+				sortedTimestampTokens.sort(new TimestampTokenComparator());
+				Collections.reverse(sortedTimestampTokens); // start processing from the freshest timestamp
+				timestampTokensQueue.clear();
+				for (TimestampToken timestampToken : sortedTimestampTokens) {
+					if (!verifiedTokens.contains(timestampToken)) {
+						timestampTokensQueue.add(timestampToken);
+					}
+				}
+				timestampTokensQueueOutdated = false;
+			}
+			return pollNotYetVerifiedToken(timestampTokensQueue);
 		}
-		final List<TimestampToken> sortedTimestampTokens = new ArrayList<>(processedTimestamps);
-		sortedTimestampTokens.sort(new TimestampTokenComparator());
-		Collections.reverse(sortedTimestampTokens); // start processing from the freshest timestamp
-		for (TimestampToken timestampToken : sortedTimestampTokens) {
-			if (!isYetVerified(timestampToken)) {
-				return timestampToken;
+	}
+
+	/**
+	 * Returns the first token from the {@code queue} not yet verified and marks it as verified.
+	 * Tokens verified in the meantime through another path (e.g. within a certificate chain) are discarded.
+	 *
+	 * @param queue {@link Deque} to poll tokens from
+	 * @return token to verify or null
+	 * @param <T> {@link Token} type
+	 */
+	private <T extends Token> T pollNotYetVerifiedToken(Deque<T> queue) {
+		T token = queue.poll();
+		while (token != null) {
+			if (!isYetVerified(token)) {
+				return token;
 			}
+			token = queue.poll();
 		}
 		return null;
 	}
@@ -498,12 +562,8 @@ public class SignatureValidationContext implements ValidationContext {
 
 	private boolean isYetVerified(Token token) {
 		synchronized (tokensToProcess) {
-			Boolean processed = tokensToProcess.get(token);
-			if (!Boolean.TRUE.equals(processed)) {
-				tokensToProcess.put(token, true);
-				return false;
-			}
-			return true;
+			tokensToProcess.add(token);
+			return !verifiedTokens.add(token);
 		}
 	}
 	
@@ -614,7 +674,7 @@ public class SignatureValidationContext implements ValidationContext {
 
 		candidates = ensureCandidatesFromProcessedCertificates(candidates);
 
-		issuerCertificateToken = new TokenIssuerSelector(token, candidates).getIssuer();
+		issuerCertificateToken = new TokenIssuerSelector(token, candidates, signatureVerificationCache).getIssuer();
 
 		// Request AIA only when no issuer has been found yet
 		if (issuerCertificateToken == null && aiaSource != null
@@ -684,7 +744,7 @@ public class SignatureValidationContext implements ValidationContext {
 		// isSignedBy(...) check is required when a certificate is present in different sources
 		// in order to instantiate a public key of the signer
 		if (issuerCertificateToken != null &&
-				(token.getPublicKeyOfTheSigner() != null || token.isSignedBy(issuerCertificateToken))) {
+				(token.getPublicKeyOfTheSigner() != null || token.isSignedBy(issuerCertificateToken, signatureVerificationCache))) {
 			return issuerCertificateToken;
 		}
 		return null;
@@ -797,14 +857,15 @@ public class SignatureValidationContext implements ValidationContext {
 
 		synchronized (tokensToProcess) {
 			try {
-				if (tokensToProcess.containsKey(token)) {
+				if (tokensToProcess.contains(token)) {
 					if (traceEnabled) {
 						LOG.trace("Token was already in the list {}:{}", token.getClass().getSimpleName(), token.getAbbreviation());
 					}
 					return false;
 				}
 
-				tokensToProcess.put(token, null);
+				tokensToProcess.add(token);
+				tokensQueue.add(token);
 				registerPOE(token.getDSSIdAsString(), currentTime);
 				if (traceEnabled) {
 					LOG.trace("+ New {} to check: {}", token.getClass().getSimpleName(), token.getAbbreviation());
@@ -833,6 +894,11 @@ public class SignatureValidationContext implements ValidationContext {
 			}
 
 			final boolean added = processedRevocations.add(revocationToken);
+			if (added) {
+				synchronized (tokensToProcess) {
+					revocationTokensQueue.add(revocationToken);
+				}
+			}
 			if (LOG.isTraceEnabled()) {
 				if (added) {
 					LOG.trace("RevocationToken added to processedRevocations: {} ", revocationToken);
@@ -877,6 +943,11 @@ public class SignatureValidationContext implements ValidationContext {
 			registerTimestampUsageDate(timestampToken);
 
 			final boolean added = processedTimestamps.add(timestampToken);
+			if (added) {
+				synchronized (tokensToProcess) {
+					timestampTokensQueueOutdated = true;
+				}
+			}
 			if (LOG.isTraceEnabled()) {
 				if (added) {
 					LOG.trace("TimestampToken added to processedTimestamps: {} ", processedTimestamps);
@@ -973,19 +1044,74 @@ public class SignatureValidationContext implements ValidationContext {
 
 	@Override
 	public void validate() {
-		TimestampToken timestampToken = getNotYetVerifiedTimestamp();
-		while (timestampToken != null) {
-			validateTimestamp(timestampToken);
-			timestampToken = getNotYetVerifiedTimestamp();
+		if (revocationDataLoadingExecutorService != null && (remoteOCSPSource != null || remoteCRLSource != null)) {
+			concurrentRevocationDataLoader = new ConcurrentRevocationDataLoader(
+					revocationDataLoadingExecutorService, revocationDataLoadingTimeout);
+			loadRevocationDataConcurrently();
+		} else if (chainRevocationDataLoading && ChainRevocationDataLoader.isSupported(remoteOCSPSource, remoteCRLSource)) {
+			chainRevocationDataLoader = new ChainRevocationDataLoader(remoteOCSPSource, remoteCRLSource);
 		}
-		
-		Token token = getNotYetVerifiedToken();
-		while (token != null) {
-			validateToken(token);
-			token = getNotYetVerifiedToken();
+
+		try {
+			TimestampToken timestampToken = getNotYetVerifiedTimestamp();
+			while (timestampToken != null) {
+				validateTimestamp(timestampToken);
+				timestampToken = getNotYetVerifiedTimestamp();
+			}
+
+			Token token = getNotYetVerifiedToken();
+			while (token != null) {
+				validateToken(token);
+				token = getNotYetVerifiedToken();
+			}
+
+		} finally {
+			if (concurrentRevocationDataLoader != null) {
+				concurrentRevocationDataLoader.cancel();
+				concurrentRevocationDataLoader = null;
+			}
+			chainRevocationDataLoader = null;
 		}
 	}
 
+	/**
+	 * Builds certificate chains for all the certificates to be processed and submits requests for online revocation data
+	 * for the certificates without embedded revocation data to {@code concurrentRevocationDataLoader}.
+	 * The obtained results are picked up on the revocation data request within the sequential validation process.
+	 */
+	private void loadRevocationDataConcurrently() {
+		final Set<CertificateToken> submittedCertificates = new HashSet<>();
+		for (CertificateToken certificateToken : new ArrayList<>(processedCertificates)) {
+			for (CertificateToken chainCertificate : toCertificateTokenChain(getCertChain(certificateToken))) {
+				if (submittedCertificates.add(chainCertificate)) {
+					submitRevocationDataRequest(chainCertificate);
+				}
+			}
+		}
+	}
+
+	private void submitRevocationDataRequest(CertificateToken certToken) {
+		if (isRevocationDataNotRequired(certToken, getLowestPOETime(certToken))) {
+			return;
+		}
+		final CertificateToken issuerToken = getIssuer(certToken);
+		if (issuerToken == null) {
+			return;
+		}
+		final List<Token> certChain = getCertChain(certToken);
+		if (!checkRevocationForUntrustedChains && !containsTrustAnchor(certChain)) {
+			return;
+		}
+		if (Utils.isCollectionNotEmpty(documentCRLSource.getRevocationTokens(certToken, issuerToken)) ||
+				Utils.isCollectionNotEmpty(documentOCSPSource.getRevocationTokens(certToken, issuerToken))) {
+			// online revocation data may not be required
+			return;
+		}
+		LOG.trace("Submitting revocation data request for certificate : {}", certToken.getDSSIdAsString());
+		CertificateToken trustAnchor = (CertificateToken) getFirstTrustAnchor(certChain);
+		concurrentRevocationDataLoader.submit(createRevocationDataLoadingStrategy(trustAnchor), certToken, issuerToken);
+	}
+
 	private void validateTimestamp(TimestampToken timestampToken) {
 		List<Token> certChain = getCertChain(timestampToken);
 		Token token = getNotYetVerifiedTokenFromChain(certChain);
@@ -999,6 +1125,9 @@ public class SignatureValidationContext implements ValidationContext {
 	private void validateToken(Token token) {
 		// extract the certificate chain and add missing tokens for verification
 		List<Token> certChain = getCertChain(token);
+		if (chainRevocationDataLoader != null && token instanceof CertificateToken) {
+			chainRevocationDataLoader.register(toCertificateTokenChain(certChain));
+		}
 		if (Utils.collectionSize(certChain) > 1) { // ensure certificate chain is processed
 			Token certChainToken = getNotYetVerifiedTokenFromChain(certChain);
 			if (certChainToken != null) {
@@ -1139,7 +1268,8 @@ public class SignatureValidationContext implements ValidationContext {
 			Set<CertificateToken> certificateTokens = certificateChildrenMap.get(issuerCertificateToken);
 			for (CertificateToken childCertificate : certificateTokens) {
 				if (certificateToken != childCertificate) {
-					CRLToken newCRLToken = new CRLToken(childCertificate, crlToken.getCrlValidity());
+					CRLToken newCRLToken = new CRLToken(childCertificate, crlToken.getCrlValidity(),
+							crlToken.getDeltaCrlValidity());
 					newCRLToken.setExternalOrigin(crlToken.getExternalOrigin());
 					newCRLToken.setSourceURL(crlToken.getSourceURL());
 					addRevocationTokenForVerification(newCRLToken);
@@ -1150,6 +1280,16 @@ public class SignatureValidationContext implements ValidationContext {
 
 	private RevocationToken<?> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificate,
 												  CertificateToken trustAnchor) {
+		if (concurrentRevocationDataLoader != null && !concurrentRevocationDataLoader.await(certificateToken)) {
+			// the deadline has been reached
+			return null;
+		}
+		final RevocationDataLoadingStrategy revocationDataLoadingStrategy = createRevocationDataLoadingStrategy(trustAnchor);
+		revocationDataLoadingStrategy.setRevocationDataVerifier(getRevocationDataVerifier());
+		return revocationDataLoadingStrategy.getRevocationToken(certificateToken, issuerCertificate);
+	}
+
+	private RevocationDataLoadingStrategy createRevocationDataLoadingStrategy(CertificateToken trustAnchor) {
 		// configure the CompositeRevocationSource
 		RevocationSource<OCSP> currentOCSPSource;
 		RevocationSource<CRL> currentCRLSource;
@@ -1163,13 +1303,21 @@ public class SignatureValidationContext implements ValidationContext {
 			currentCRLSource = remoteCRLSource;
 		}
 
-		// fetch the data
+		if (concurrentRevocationDataLoader != null) {
+			// share results of the requests executed concurrently
+			currentOCSPSource = concurrentRevocationDataLoader.getSharedOCSPSource(currentOCSPSource);
+			currentCRLSource = concurrentRevocationDataLoader.getSharedCRLSource(currentCRLSource);
+		} else if (chainRevocationDataLoader != null) {
+			// return the cached revocation data extracted for the whole certificate chain
+			currentOCSPSource = chainRevocationDataLoader.getChainOCSPSource(currentOCSPSource);
+			currentCRLSource = chainRevocationDataLoader.getChainCRLSource(currentCRLSource);
+		}
+
 		final RevocationDataLoadingStrategy revocationDataLoadingStrategy = revocationDataLoadingStrategyFactory.create();
 		revocationDataLoadingStrategy.setCrlSource(currentCRLSource);
 		revocationDataLoadingStrategy.setOcspSource(currentOCSPSource);
-		revocationDataLoadingStrategy.setRevocationDataVerifier(getRevocationDataVerifier());
 		revocationDataLoadingStrategy.setFallbackEnabled(revocationFallback);
-		return revocationDataLoadingStrategy.getRevocationToken(certificateToken, issuerCertificate);
+		return revocationDataLoadingStrategy;
 	}
 
 	private RevocationSource<OCSP> instantiateOCSPWithTrustServices(CertificateToken trustAnchor) {
@@ -135,14 +135,13 @@ public class ValidationData {
 	private boolean addRevocationToken(final RevocationToken<?> revocationToken) {
 		if (RevocationType.CRL.equals(revocationToken.getRevocationType())) {
 			CRLToken crlToken = (CRLToken) revocationToken;
-			if (!containsCRLToken(crlToken)) {
-				boolean added = crlTokens.add(crlToken);
-				if (added) {
-					LOG.trace("CRL RevocationToken with Id '{}' has been added to the ValidationData instance",
-							revocationToken.getDSSIdAsString());
-					return true;
-				}
+			if (crlToken.getDeltaCrlValidity() != null) {
+				// the token represents the delta CRL, the base CRL is included as a distinct CRL
+				boolean baseAdded = addCRLToken(crlToken.getBaseCRLToken());
+				boolean deltaAdded = addCRLToken(crlToken);
+				return baseAdded || deltaAdded;
 			}
+			return addCRLToken(crlToken);
 
 		} else if (RevocationType.OCSP.equals(revocationToken.getRevocationType())) {
 			OCSPToken ocspToken = (OCSPToken) revocationToken;
@@ -161,6 +160,18 @@ public class ValidationData {
 		return false;
 	}
 
+	private boolean addCRLToken(final CRLToken crlToken) {
+		if (!containsCRLToken(crlToken)) {
+			boolean added = crlTokens.add(crlToken);
+			if (added) {
+				LOG.trace("CRL RevocationToken with Id '{}' has been added to the ValidationData instance",
+						crlToken.getDSSIdAsString());
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private boolean containsCertificateToken(CertificateToken certificateTokenToAdd) {
 		return certificateTokens.contains(certificateTokenToAdd) || storedPublicKeys.contains(certificateTokenToAdd.getEntityKey());
 	}
@@ -31,9 +31,11 @@ import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.security.PublicKey;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -59,22 +61,17 @@ public class CommonCertificateSource implements CertificateSource {
 	protected final transient CertificateTokenRefMatcher certificateMatcher = new CertificateTokenRefMatcher();
 
 	/**
-	 * Map of entries, the key is a hash of the entity key (public key + subject name combination).
-	 * All entries share the same key pair and a subject name.
+	 * The indexes of the stored certificates.
+	 * The index is never modified once published: changes are applied on a copy which replaces
+	 * the reference, so readers always work on a consistent snapshot without locking.
 	 */
-	private Map<EntityIdentifier, EquivalentCertificatesEntity> entitiesByEntityKey = new HashMap<>();
+	private volatile CertificateIndex certificateIndex = new CertificateIndex();
 
 	/**
-	 * Map of entries, the key is a hash of a public key.
-	 * For a same KeyIdentifier, different subject names (and certificates) are possible.
+	 * The copy of the index modified by the latest changes, not yet visible to the readers.
+	 * It is published on the next read, so consecutive changes are applied on a single copy.
 	 */
-	private Map<KeyIdentifier, EquivalentCertificatesEntity> entitiesByPublicKey = new HashMap<>();
-
-	/**
-	 * Map of tokens, the key is a key of X500Name (RDN)
-	 * For a same SubjectX500Principal, different key pairs (and certificates) are possible
-	 */
-	private Map<X500NameIdentifier, Set<CertificateToken>> tokensBySubject = new HashMap<>();
+	private volatile CertificateIndex pendingCertificateIndex;
 
 	/**
 	 * The default constructor
@@ -99,37 +96,14 @@ public class CommonCertificateSource implements CertificateSource {
 			LOG.trace("Certificate to add: {} | {}", certificateToAdd.getIssuerX500Principal(), certificateToAdd.getSerialNumber());
 		}
 
-		synchronized (entitiesByEntityKey) {
-			final EntityIdentifier entityKey = certificateToAdd.getEntityKey();
-			EquivalentCertificatesEntity poolEntity = entitiesByEntityKey.get(entityKey);
-			if (poolEntity == null) {
-				LOG.trace("Entity key {} is not in the pool", entityKey);
-				poolEntity = new EquivalentCertificatesEntity(certificateToAdd);
-				entitiesByEntityKey.put(entityKey, poolEntity);
-			} else {
-				LOG.trace("Entity key {} is already in the pool", entityKey);
-				poolEntity.addEquivalentCertificate(certificateToAdd);
+		synchronized (this) {
+			final CertificateIndex currentCertificateIndex = pendingCertificateIndex != null ?
+					pendingCertificateIndex : certificateIndex;
+			if (!currentCertificateIndex.contains(certificateToAdd)) {
+				getPendingCertificateIndex().add(certificateToAdd);
 			}
 		}
 
-		synchronized (entitiesByPublicKey) {
-			final KeyIdentifier keyIdentifier = new KeyIdentifier(certificateToAdd.getPublicKey());
-			EquivalentCertificatesEntity poolEntity = entitiesByPublicKey.get(keyIdentifier);
-			if (poolEntity == null) {
-				LOG.trace("Key identifier {} is not in the pool", keyIdentifier);
-				poolEntity = new EquivalentCertificatesEntity(certificateToAdd);
-				entitiesByPublicKey.put(keyIdentifier, poolEntity);
-			} else {
-				LOG.trace("Key identifier {} is already in the pool", keyIdentifier);
-				poolEntity.addEquivalentCertificate(certificateToAdd);
-			}
-		}
-
-		synchronized (tokensBySubject) {
-			X500NameIdentifier x500NameIdentifier = new X500NameIdentifier(certificateToAdd.getSubject().getPrincipal());
-			tokensBySubject.computeIfAbsent(x500NameIdentifier, k -> new HashSet<>()).add(certificateToAdd);
-		}
-
 		return certificateToAdd;
 	}
 
@@ -145,73 +119,54 @@ public class CommonCertificateSource implements CertificateSource {
 			LOG.trace("Certificate to remove: {} | {}", certificateToRemove.getIssuerX500Principal(), certificateToRemove.getSerialNumber());
 		}
 
-		synchronized (entitiesByEntityKey) {
-			final EntityIdentifier entityKey = certificateToRemove.getEntityKey();
-			EquivalentCertificatesEntity poolEntity = entitiesByEntityKey.get(entityKey);
-			if (poolEntity == null) {
-				LOG.trace("Entity key {} is not in the pool", entityKey);
-			} else {
-				LOG.trace("Entity key {} is in the pool", entityKey);
-				if (poolEntity.getEquivalentCertificates().size() == 1) {
-					LOG.trace("Remove the entity key {} from the pool", entityKey);
-					entitiesByEntityKey.remove(entityKey);
-				} else {
-					LOG.trace("Remove the token {} from the pool", certificateToRemove.getAbbreviation());
-					poolEntity.removeEquivalentCertificate(certificateToRemove);
-				}
-			}
-		}
-
-		synchronized (entitiesByPublicKey) {
-			final KeyIdentifier keyIdentifier = new KeyIdentifier(certificateToRemove.getPublicKey());
-			EquivalentCertificatesEntity poolEntity = entitiesByPublicKey.get(keyIdentifier);
-			if (poolEntity == null) {
-				LOG.trace("Key identifier {} is not in the pool", keyIdentifier);
-			} else {
-				LOG.trace("Key identifier {} is in the pool", keyIdentifier);
-				if (poolEntity.getEquivalentCertificates().size() == 1) {
-					LOG.trace("Remove the Key identifier {} from the pool", keyIdentifier);
-					entitiesByPublicKey.remove(keyIdentifier);
-				} else {
-					LOG.trace("Remove the token {} from the pool", certificateToRemove.getAbbreviation());
-					poolEntity.removeEquivalentCertificate(certificateToRemove);
-				}
-			}
+		synchronized (this) {
+			getPendingCertificateIndex().remove(certificateToRemove);
 		}
+	}
 
-		synchronized (tokensBySubject) {
-			final X500NameIdentifier x500NameIdentifier = new X500NameIdentifier(certificateToRemove.getSubject().getPrincipal());
-			Set<CertificateToken> certificateTokens = tokensBySubject.get(x500NameIdentifier);
-			if (Utils.isCollectionEmpty(certificateTokens)) {
-				LOG.trace("RDN {} is not in the pool", x500NameIdentifier);
-			} else {
-				if (certificateTokens.size() == 1) {
-					tokensBySubject.remove(x500NameIdentifier);
-				} else {
-					certificateTokens.remove(certificateToRemove);
-				}
-			}
+	/**
+	 * Returns the copy of the index to be modified, creating it from the published one when required.
+	 * Shall be called while holding the lock on the current instance.
+	 *
+	 * @return {@link CertificateIndex}
+	 */
+	private CertificateIndex getPendingCertificateIndex() {
+		if (pendingCertificateIndex == null) {
+			pendingCertificateIndex = new CertificateIndex(certificateIndex);
 		}
+		return pendingCertificateIndex;
 	}
 
 	/**
 	 * This method removes all certificates from the source
 	 */
-	protected void reset() {
-		entitiesByEntityKey = new HashMap<>();
-		entitiesByPublicKey = new HashMap<>();
-		tokensBySubject = new HashMap<>();
+	protected synchronized void reset() {
+		pendingCertificateIndex = null;
+		certificateIndex = new CertificateIndex();
+	}
+
+	/**
+	 * Returns the indexes of the stored certificates used by the lookup methods.
+	 * Subclasses may override the method in order to publish the certificates together with
+	 * their own data as a single immutable snapshot.
+	 *
+	 * @return {@link CertificateIndex}
+	 */
+	protected CertificateIndex getCertificateIndex() {
+		if (pendingCertificateIndex != null) {
+			synchronized (this) {
+				if (pendingCertificateIndex != null) {
+					certificateIndex = pendingCertificateIndex;
+					pendingCertificateIndex = null;
+				}
+			}
+		}
+		return certificateIndex;
 	}
 
 	@Override
 	public boolean isKnown(CertificateToken token) {
-		final EquivalentCertificatesEntity poolEntity = entitiesByEntityKey.get(token.getEntityKey());
-		if (poolEntity != null) {
-			Set<CertificateToken> certsByPublicKey = poolEntity.getEquivalentCertificates();
-			Set<CertificateToken> certsBySubject = getBySubject(token.getSubject());
-			return Utils.containsAny(certsByPublicKey, certsBySubject);
-		}
-		return false;
+		return getCertificateIndex().isKnown(token);
 	}
 
 	/**
@@ -221,16 +176,12 @@ public class CommonCertificateSource implements CertificateSource {
 	 */
 	@Override
 	public List<CertificateToken> getCertificates() {
-		List<CertificateToken> allCertificates = new ArrayList<>();
-		for (EquivalentCertificatesEntity entity : entitiesByEntityKey.values()) {
-			allCertificates.addAll(entity.getEquivalentCertificates());
-		}
-		return Collections.unmodifiableList(allCertificates);
+		return Collections.unmodifiableList(getCertificateIndex().getCertificates());
 	}
 
 	@Override
 	public List<CertificateSourceEntity> getEntities() {
-		return new ArrayList<>(entitiesByEntityKey.values());
+		return new ArrayList<>(getCertificateIndex().entitiesByEntityKey.values());
 	}
 
 	/**
@@ -242,7 +193,7 @@ public class CommonCertificateSource implements CertificateSource {
 	 */
 	@Override
 	public Set<CertificateToken> getByPublicKey(PublicKey publicKey) {
-		EquivalentCertificatesEntity entity = entitiesByPublicKey.get(new KeyIdentifier(publicKey));
+		EquivalentCertificatesEntity entity = getCertificateIndex().entitiesByPublicKey.get(new KeyIdentifier(publicKey));
 		if (entity != null) {
 			return entity.getEquivalentCertificates();
 		} else {
@@ -252,7 +203,7 @@ public class CommonCertificateSource implements CertificateSource {
 
 	@Override
 	public Set<CertificateToken> getByEntityKey(EntityIdentifier entityKey) {
-		EquivalentCertificatesEntity entity = entitiesByEntityKey.get(entityKey);
+		EquivalentCertificatesEntity entity = getCertificateIndex().entitiesByEntityKey.get(entityKey);
 		if (entity != null) {
 			return entity.getEquivalentCertificates();
 		} else {
@@ -269,7 +220,7 @@ public class CommonCertificateSource implements CertificateSource {
 	 */
 	@Override
 	public Set<CertificateToken> getBySki(byte[] ski) {
-		for (EquivalentCertificatesEntity entity : entitiesByPublicKey.values()) {
+		for (EquivalentCertificatesEntity entity : getCertificateIndex().entitiesByPublicKey.values()) {
 			if (Arrays.equals(entity.getSki(), ski)) {
 				return entity.getEquivalentCertificates();
 			}
@@ -285,17 +236,13 @@ public class CommonCertificateSource implements CertificateSource {
 	 */
 	@Override
 	public Set<CertificateToken> getBySubject(X500PrincipalHelper subject) {
-		final Set<CertificateToken> tokensSet = tokensBySubject.get(new X500NameIdentifier(subject.getPrincipal()));
-		if (tokensSet != null) {
-			return tokensSet;
-		}
-		return Collections.emptySet();
+		return getCertificateIndex().getBySubject(subject);
 	}
 
 	@Override
 	public Set<CertificateToken> getBySignerIdentifier(SignerIdentifier signerIdentifier) {
 		Set<CertificateToken> result = new HashSet<>();
-		for (EquivalentCertificatesEntity entry : entitiesByEntityKey.values()) {
+		for (EquivalentCertificatesEntity entry : getCertificateIndex().entitiesByEntityKey.values()) {
 			for (CertificateToken certificateToken : entry.getEquivalentCertificates()) {
 				// run over all entries to compare with the SN too
 				if (signerIdentifier.isRelatedToCertificate(certificateToken)) {
@@ -309,7 +256,7 @@ public class CommonCertificateSource implements CertificateSource {
 	@Override
 	public Set<CertificateToken> getByCertificateDigest(Digest digest) {
 		Set<CertificateToken> result = new HashSet<>();
-		for (EquivalentCertificatesEntity entry : entitiesByEntityKey.values()) {
+		for (EquivalentCertificatesEntity entry : getCertificateIndex().entitiesByEntityKey.values()) {
 			for (CertificateToken certificateToken : entry.getEquivalentCertificates()) {
 				if (Arrays.equals(digest.getValue(), certificateToken.getDigest(digest.getAlgorithm()))) {
 					result.add(certificateToken);
@@ -322,7 +269,7 @@ public class CommonCertificateSource implements CertificateSource {
 	@Override
 	public Set<CertificateToken> findTokensFromCertRef(CertificateRef certificateRef) {
 		Set<CertificateToken> result = new HashSet<>();
-		for (EquivalentCertificatesEntity entry : entitiesByEntityKey.values()) {
+		for (EquivalentCertificatesEntity entry : getCertificateIndex().entitiesByEntityKey.values()) {
 			for (CertificateToken certificateToken : entry.getEquivalentCertificates()) {
 				if (doesCertificateReferenceMatch(certificateToken, certificateRef)) {
 					result.add(certificateToken);
@@ -359,7 +306,7 @@ public class CommonCertificateSource implements CertificateSource {
 	 * @return number of entities in this instance
 	 */
 	public int getNumberOfEntities() {
-		return entitiesByEntityKey.size();
+		return getCertificateIndex().entitiesByEntityKey.size();
 	}
 
 	@Override
@@ -397,4 +344,205 @@ public class CommonCertificateSource implements CertificateSource {
 		return new HashSet<>(getEntities()).equals(new HashSet<>(certificateSource.getEntities()));
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Contains the indexes of certificates of a certificate source
+	 * (by entity key, by public key and by subject name)
+	 *
+	 * NOTE: an index shall not be modified after it has been published to other threads.
+	 * Entities and subject sets are copied before being changed, so an index created with
+	 * {@link #CertificateIndex(CertificateIndex)} can be modified without affecting the original one.
+	 */
+	protected static final class CertificateIndex implements Serializable {
+
+		private static final long serialVersionUID = 2617431568734658104L;
+
+		/**
+		 * Map of entries, the key is a hash of the entity key (public key + subject name combination).
+		 * All entries share the same key pair and a subject name.
+		 */
+		private final Map<EntityIdentifier, EquivalentCertificatesEntity> entitiesByEntityKey = new HashMap<>();
+
+		/**
+		 * Map of entries, the key is a hash of a public key.
+		 * For a same KeyIdentifier, different subject names (and certificates) are possible.
+		 */
+		private final Map<KeyIdentifier, EquivalentCertificatesEntity> entitiesByPublicKey = new HashMap<>();
+
+		/**
+		 * Map of tokens, the key is a key of X500Name (RDN)
+		 * For a same SubjectX500Principal, different key pairs (and certificates) are possible
+		 */
+		private final Map<X500NameIdentifier, Set<CertificateToken>> tokensBySubject = new HashMap<>();
+
+		/**
+		 * Creates an empty index
+		 */
+		public CertificateIndex() {
+			// empty
+		}
+
+		/**
+		 * Creates an index containing the given certificates
+		 *
+		 * @param certificates a collection of {@link CertificateToken}s to be indexed
+		 */
+		public CertificateIndex(Collection<CertificateToken> certificates) {
+			for (CertificateToken certificateToken : certificates) {
+				add(certificateToken);
+			}
+		}
+
+		/**
+		 * Creates a copy of the given index.
+		 * The maps are copied, while the entities are shared until one of them is modified.
+		 *
+		 * @param certificateIndex {@link CertificateIndex} to copy
+		 */
+		public CertificateIndex(CertificateIndex certificateIndex) {
+			entitiesByEntityKey.putAll(certificateIndex.entitiesByEntityKey);
+			entitiesByPublicKey.putAll(certificateIndex.entitiesByPublicKey);
+			tokensBySubject.putAll(certificateIndex.tokensBySubject);
+		}
+
+		/**
+		 * Adds the certificate to the index
+		 *
+		 * @param certificateToAdd {@link CertificateToken} to add
+		 */
+		public void add(final CertificateToken certificateToAdd) {
+			final EntityIdentifier entityKey = certificateToAdd.getEntityKey();
+			EquivalentCertificatesEntity entityByEntityKey = entitiesByEntityKey.get(entityKey);
+			if (entityByEntityKey == null) {
+				LOG.trace("Entity key {} is not in the pool", entityKey);
+				entitiesByEntityKey.put(entityKey, new EquivalentCertificatesEntity(certificateToAdd));
+			} else {
+				LOG.trace("Entity key {} is already in the pool", entityKey);
+				entityByEntityKey = new EquivalentCertificatesEntity(entityByEntityKey);
+				entityByEntityKey.addEquivalentCertificate(certificateToAdd);
+				entitiesByEntityKey.put(entityKey, entityByEntityKey);
+			}
+
+			final KeyIdentifier keyIdentifier = new KeyIdentifier(certificateToAdd.getPublicKey());
+			EquivalentCertificatesEntity entityByPublicKey = entitiesByPublicKey.get(keyIdentifier);
+			if (entityByPublicKey == null) {
+				LOG.trace("Key identifier {} is not in the pool", keyIdentifier);
+				entitiesByPublicKey.put(keyIdentifier, new EquivalentCertificatesEntity(certificateToAdd));
+			} else {
+				LOG.trace("Key identifier {} is already in the pool", keyIdentifier);
+				entityByPublicKey = new EquivalentCertificatesEntity(entityByPublicKey);
+				entityByPublicKey.addEquivalentCertificate(certificateToAdd);
+				entitiesByPublicKey.put(keyIdentifier, entityByPublicKey);
+			}
+
+			final X500NameIdentifier x500NameIdentifier = new X500NameIdentifier(certificateToAdd.getSubject().getPrincipal());
+			final Set<CertificateToken> certificateTokens = tokensBySubject.get(x500NameIdentifier);
+			final Set<CertificateToken> newCertificateTokens = certificateTokens != null ?
+					new HashSet<>(certificateTokens) : new HashSet<>();
+			newCertificateTokens.add(certificateToAdd);
+			tokensBySubject.put(x500NameIdentifier, newCertificateTokens);
+		}
+
+		/**
+		 * Removes the certificate from the index
+		 *
+		 * @param certificateToRemove {@link CertificateToken} to remove
+		 */
+		public void remove(final CertificateToken certificateToRemove) {
+			final EntityIdentifier entityKey = certificateToRemove.getEntityKey();
+			EquivalentCertificatesEntity entityByEntityKey = entitiesByEntityKey.get(entityKey);
+			if (entityByEntityKey == null) {
+				LOG.trace("Entity key {} is not in the pool", entityKey);
+			} else {
+				LOG.trace("Entity key {} is in the pool", entityKey);
+				if (entityByEntityKey.getEquivalentCertificates().size() == 1) {
+					LOG.trace("Remove the entity key {} from the pool", entityKey);
+					entitiesByEntityKey.remove(entityKey);
+				} else {
+					LOG.trace("Remove the token {} from the pool", certificateToRemove.getAbbreviation());
+					entityByEntityKey = new EquivalentCertificatesEntity(entityByEntityKey);
+					entityByEntityKey.removeEquivalentCertificate(certificateToRemove);
+					entitiesByEntityKey.put(entityKey, entityByEntityKey);
+				}
+			}
+
+			final KeyIdentifier keyIdentifier = new KeyIdentifier(certificateToRemove.getPublicKey());
+			EquivalentCertificatesEntity entityByPublicKey = entitiesByPublicKey.get(keyIdentifier);
+			if (entityByPublicKey == null) {
+				LOG.trace("Key identifier {} is not in the pool", keyIdentifier);
+			} else {
+				LOG.trace("Key identifier {} is in the pool", keyIdentifier);
+				if (entityByPublicKey.getEquivalentCertificates().size() == 1) {
+					LOG.trace("Remove the Key identifier {} from the pool", keyIdentifier);
+					entitiesByPublicKey.remove(keyIdentifier);
+				} else {
+					LOG.trace("Remove the token {} from the pool", certificateToRemove.getAbbreviation());
+					entityByPublicKey = new EquivalentCertificatesEntity(entityByPublicKey);
+					entityByPublicKey.removeEquivalentCertificate(certificateToRemove);
+					entitiesByPublicKey.put(keyIdentifier, entityByPublicKey);
+				}
+			}
+
+			final X500NameIdentifier x500NameIdentifier = new X500NameIdentifier(certificateToRemove.getSubject().getPrincipal());
+			final Set<CertificateToken> certificateTokens = tokensBySubject.get(x500NameIdentifier);
+			if (Utils.isCollectionEmpty(certificateTokens)) {
+				LOG.trace("RDN {} is not in the pool", x500NameIdentifier);
+			} else if (certificateTokens.size() == 1) {
+				tokensBySubject.remove(x500NameIdentifier);
+			} else {
+				final Set<CertificateToken> newCertificateTokens = new HashSet<>(certificateTokens);
+				newCertificateTokens.remove(certificateToRemove);
+				tokensBySubject.put(x500NameIdentifier, newCertificateTokens);
+			}
+		}
+
+		/**
+		 * Returns all certificates of the index
+		 *
+		 * @return a list of {@link CertificateToken}s
+		 */
+		public List<CertificateToken> getCertificates() {
+			List<CertificateToken> allCertificates = new ArrayList<>();
+			for (EquivalentCertificatesEntity entity : entitiesByEntityKey.values()) {
+				allCertificates.addAll(entity.getEquivalentCertificates());
+			}
+			return allCertificates;
+		}
+
+		/**
+		 * Checks whether the certificate is present in the index
+		 *
+		 * @param token {@link CertificateToken} to check
+		 * @return TRUE if the certificate is known, FALSE otherwise
+		 */
+		public boolean isKnown(CertificateToken token) {
+			final EquivalentCertificatesEntity poolEntity = entitiesByEntityKey.get(token.getEntityKey());
+			if (poolEntity != null) {
+				Set<CertificateToken> certsByPublicKey = poolEntity.getEquivalentCertificates();
+				Set<CertificateToken> certsBySubject = getBySubject(token.getSubject());
+				return Utils.containsAny(certsByPublicKey, certsBySubject);
+			}
+			return false;
+		}
+
+		/**
+		 * Checks whether the given certificate token itself has been added to the index
+		 *
+		 * @param token {@link CertificateToken} to check
+		 * @return TRUE if the certificate token is present, FALSE otherwise
+		 */
+		public boolean contains(CertificateToken token) {
+			final EquivalentCertificatesEntity poolEntity = entitiesByEntityKey.get(token.getEntityKey());
+			return poolEntity != null && poolEntity.getEquivalentCertificates().contains(token);
+		}
+
+		private Set<CertificateToken> getBySubject(X500PrincipalHelper subject) {
+			final Set<CertificateToken> tokensSet = tokensBySubject.get(new X500NameIdentifier(subject.getPrincipal()));
+			if (tokensSet != null) {
+				return tokensSet;
+			}
+			return Collections.emptySet();
+		}
+
+	}
+
+}
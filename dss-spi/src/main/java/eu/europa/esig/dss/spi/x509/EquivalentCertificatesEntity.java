@@ -68,6 +68,17 @@ class EquivalentCertificatesEntity implements CertificateSourceEntity {
 		equivalentCertificates.add(initialCert);
 	}
 
+	/**
+	 * Copy constructor, creates an entity containing the same certificates as the given one
+	 *
+	 * @param entity {@link EquivalentCertificatesEntity} to copy
+	 */
+	EquivalentCertificatesEntity(EquivalentCertificatesEntity entity) {
+		identifier = entity.identifier;
+		ski = entity.ski;
+		equivalentCertificates.addAll(entity.equivalentCertificates);
+	}
+
 	/**
 	 * Adds a certificate token to the given list of equivalent certificates
 	 *
@@ -0,0 +1,118 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.x509.SignatureVerificationCache;
+import eu.europa.esig.dss.model.x509.Token;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.utils.Utils;
+
+import java.security.PublicKey;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe in-memory implementation of {@code SignatureVerificationCache}, bounded by a maximum number of entries.
+ * The least recently used entries are evicted first.
+ * <p>
+ * The entries are identified by the digest of the verified token and the digest of the signer's public key.
+ * The same instance is intended to be shared between different {@code CertificateVerifier}s
+ * within the running process.
+ *
+ */
+public class InMemorySignatureVerificationCache implements SignatureVerificationCache {
+
+	/** The default maximum number of entries */
+	private static final int DEFAULT_MAX_SIZE = 10000;
+
+	/** Map of known successful verifications */
+	private final Map<String, Boolean> verifiedEntries;
+
+	/**
+	 * Default constructor instantiating a cache with a default maximum number of entries (10000)
+	 */
+	public InMemorySignatureVerificationCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Constructor instantiating a cache with the given maximum number of entries
+	 *
+	 * @param maxSize the maximum number of entries to be kept
+	 */
+	public InMemorySignatureVerificationCache(final int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The maximum size of the cache shall be positive!");
+		}
+		this.verifiedEntries = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = -2624547302880934548L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+				return size() > maxSize;
+			}
+
+		};
+	}
+
+	@Override
+	public boolean isVerified(Token token, PublicKey publicKey) {
+		final String key = getKey(token, publicKey);
+		synchronized (verifiedEntries) {
+			return verifiedEntries.get(key) != null;
+		}
+	}
+
+	@Override
+	public void registerVerified(Token token, PublicKey publicKey) {
+		final String key = getKey(token, publicKey);
+		synchronized (verifiedEntries) {
+			verifiedEntries.put(key, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Returns the current number of entries within the cache
+	 *
+	 * @return number of entries
+	 */
+	public int size() {
+		synchronized (verifiedEntries) {
+			return verifiedEntries.size();
+		}
+	}
+
+	/**
+	 * Removes all the entries from the cache
+	 */
+	public void clear() {
+		synchronized (verifiedEntries) {
+			verifiedEntries.clear();
+		}
+	}
+
+	private String getKey(Token token, PublicKey publicKey) {
+		return token.getDSSIdAsString() + "-" + Utils.toHex(DSSUtils.digest(DigestAlgorithm.SHA256, publicKey.getEncoded()));
+	}
+
+}
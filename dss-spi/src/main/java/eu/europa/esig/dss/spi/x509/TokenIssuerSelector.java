@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.spi.x509;
 
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.SignatureVerificationCache;
 import eu.europa.esig.dss.model.x509.Token;
 import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
 import eu.europa.esig.dss.utils.Utils;
@@ -46,6 +47,9 @@ public class TokenIssuerSelector {
     /** Collection of issuer candidates */
     private final Collection<CertificateToken> certificateTokens;
 
+    /** The cache of successful signature verifications (optional) */
+    private final SignatureVerificationCache signatureVerificationCache;
+
     /**
      * Default constructor
      *
@@ -53,8 +57,22 @@ public class TokenIssuerSelector {
      * @param certificateTokens collection of {@link CertificateToken}s representing {@code token} issuer candidates
      */
     public TokenIssuerSelector(final Token token, final Collection<CertificateToken> certificateTokens) {
+        this(token, certificateTokens, null);
+    }
+
+    /**
+     * Constructor with a cache of successful signature verifications
+     *
+     * @param token {@link Token} to get an issuer for
+     * @param certificateTokens collection of {@link CertificateToken}s representing {@code token} issuer candidates
+     * @param signatureVerificationCache {@link SignatureVerificationCache} to be used on issuer candidates
+     *                                   signature verification (optional)
+     */
+    public TokenIssuerSelector(final Token token, final Collection<CertificateToken> certificateTokens,
+                               final SignatureVerificationCache signatureVerificationCache) {
         this.token = token;
         this.certificateTokens = certificateTokens;
+        this.signatureVerificationCache = signatureVerificationCache;
     }
 
     /**
@@ -89,10 +107,10 @@ public class TokenIssuerSelector {
      * @param candidates a collection of {@link CertificateToken}s
      * @return a collection of {@code CertificateToken}s issuer candidates
      */
-    private static Collection<CertificateToken> filterIssuersByPublicKey(Token token, Collection<CertificateToken> candidates) {
+    private Collection<CertificateToken> filterIssuersByPublicKey(Token token, Collection<CertificateToken> candidates) {
         List<CertificateToken> issuers = new ArrayList<>();
         for (CertificateToken candidate : candidates) {
-            if (token.isSignedBy(candidate)) {
+            if (token.isSignedBy(candidate, signatureVerificationCache)) {
                 issuers.add(candidate);
             }
         }
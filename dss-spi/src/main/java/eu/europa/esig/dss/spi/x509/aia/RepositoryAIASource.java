@@ -27,11 +27,15 @@ import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -49,6 +53,31 @@ public abstract class RepositoryAIASource implements AIASource {
      */
     protected AIASource proxiedSource;
 
+    /**
+     * Default maximum number of AIA keys with cached certificates
+     */
+    private static final int DEFAULT_MAX_CACHE_SIZE = 10000;
+
+    /**
+     * Maximum number of AIA keys with cached certificates
+     */
+    private int maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+
+    /**
+     * Time (in milliseconds) during which an AIA access URL that did not return any certificate is not requested again
+     */
+    private Long negativeCacheDelay;
+
+    /**
+     * Maximum number of failed AIA keys kept in the in-memory negative cache
+     */
+    private int maxNegativeCacheSize = 1000;
+
+    /**
+     * In-memory negative cache, used when the implementation does not persist the failed AIA keys
+     */
+    private volatile NegativeCache negativeCache;
+
     /**
      * Default constructor instantiating object with null proxied source
      */
@@ -66,6 +95,53 @@ public abstract class RepositoryAIASource implements AIASource {
         this.proxiedSource = proxiedSource;
     }
 
+    /**
+     * Sets the delay, in seconds, during which an AIA access URL, that failed or returned no certificates,
+     * is not requested again. Within this delay, an empty result is returned from the cache, so a broken AIA link
+     * costs one download attempt per delay instead of one per validation.
+     * The negative cache is ignored when {@code forceRefresh} is used.
+     * <p>
+     * Default : null (failed AIA requests are not cached)
+     *
+     * @param negativeCacheDelay {@link Long} value (seconds)
+     */
+    public void setNegativeCacheDelay(final Long negativeCacheDelay) {
+        this.negativeCacheDelay = negativeCacheDelay == null ? null : negativeCacheDelay * 1000; // to milliseconds
+    }
+
+    /**
+     * Sets the maximum number of AIA keys (i.e. AIA access URLs) with certificates kept within the cache.
+     * When the limit is exceeded after a download, the certificates of the keys returned first
+     * by {@code #getExistingAIAKeys} (the eldest ones, when supported by the implementation) are removed.
+     * <p>
+     * Default : 10000
+     *
+     * @param maxCacheSize maximum number of cached AIA keys
+     */
+    public void setMaxCacheSize(int maxCacheSize) {
+        if (maxCacheSize < 1) {
+            throw new IllegalArgumentException("The maximum cache size shall be a positive number!");
+        }
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of failed AIA keys kept within the in-memory negative cache.
+     * When the limit is reached, the eldest entries are evicted.
+     * NOTE: The value is not used by the implementations persisting the negative cache entries (e.g. JDBC).
+     * <p>
+     * Default : 1000
+     *
+     * @param maxNegativeCacheSize maximum number of in-memory negative cache entries
+     */
+    public void setMaxNegativeCacheSize(int maxNegativeCacheSize) {
+        if (maxNegativeCacheSize < 1) {
+            throw new IllegalArgumentException("The maximum negative cache size shall be a positive number!");
+        }
+        this.maxNegativeCacheSize = maxNegativeCacheSize;
+        this.negativeCache = null;
+    }
+
     @Override
     public Set<CertificateToken> getCertificatesByAIA(CertificateToken certificateToken) {
         return getCertificatesByAIA(certificateToken, false);
@@ -97,6 +173,10 @@ public abstract class RepositoryAIASource implements AIASource {
                 LOG.info("Certificate tokens with AIA '{}' have been loaded from the cache", urls);
                 return aiaCertificates;
             }
+            if (isNegativelyCached(aiaKeys)) {
+                LOG.info("The AIA request with URL(s) '{}' failed recently. The request is skipped.", urls);
+                return Collections.emptySet();
+            }
         }
 
         return extractAndInsertCertificatesFromProxiedSource(certificateToken, aiaKeys);
@@ -117,9 +197,8 @@ public abstract class RepositoryAIASource implements AIASource {
             return Collections.emptySet();
         }
 
-        List<String> existingAIAKeys = getExistingAIAKeys();
         for (String aiaKey : aiaKeys) {
-            if (existingAIAKeys.contains(aiaKey)) {
+            if (containsAIAKey(aiaKey)) {
                 LOG.info("AIA Certificates with key '{}' have been removed from DB", aiaKey);
                 removeCertificates(aiaKey);
             }
@@ -128,6 +207,9 @@ public abstract class RepositoryAIASource implements AIASource {
         final Set<CertificateToken> result = new HashSet<>();
 
         Set<CertificateToken> certificatesTokenByAIA = proxiedSource.getCertificatesByAIA(certificateToken);
+        if (negativeCacheDelay != null) {
+            updateNegativeCache(aiaKeys, Utils.isCollectionEmpty(certificatesTokenByAIA));
+        }
         if (Utils.isCollectionNotEmpty(certificatesTokenByAIA)) {
             for (CertificateToken certificate : certificatesTokenByAIA) {
                 String sourceUrl = getCertificateTokenAIAUrl(certificate);
@@ -140,11 +222,33 @@ public abstract class RepositoryAIASource implements AIASource {
                 result.add(certificate);
             }
             LOG.info("CA issuers for a certificate with Id '{}' are added into the cache", certificateToken.getDSSIdAsString());
+            ensureMaxCacheSize(aiaKeys);
         }
 
         return result;
     }
 
+    /**
+     * Removes the certificates of the eldest AIA keys, when the number of cached AIA keys exceeds the maximum size
+     *
+     * @param aiaKeys a list of {@link String} AIA keys just inserted, not to be removed
+     */
+    private void ensureMaxCacheSize(List<String> aiaKeys) {
+        try {
+            final List<String> existingAIAKeys = getExistingAIAKeys();
+            int numberToRemove = existingAIAKeys.size() - maxCacheSize;
+            for (int i = 0; i < existingAIAKeys.size() && numberToRemove > 0; i++) {
+                final String aiaKey = existingAIAKeys.get(i);
+                if (!aiaKeys.contains(aiaKey)) {
+                    removeCertificates(aiaKey);
+                    --numberToRemove;
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("Unable to remove the eldest AIA certificates from the cache : {}", e.getMessage(), e);
+        }
+    }
+
     /**
      * Returns a caIssuers access URL
      *
@@ -168,12 +272,26 @@ public abstract class RepositoryAIASource implements AIASource {
     }
 
     /**
-     * Returns a list of all existing AIA keys present in the DB
+     * Returns a list of all existing AIA keys present in the DB.
+     * When supported, the keys shall be ordered from the eldest to the most recently inserted one,
+     * as the first keys are removed when the cache exceeds its maximum size.
      *
      * @return a list of {@link String} AIA keys
      */
     protected abstract List<String> getExistingAIAKeys();
 
+    /**
+     * Checks whether certificates are present in the DB for the given {@code aiaKey}.
+     * The default implementation looks up the key within {@code #getExistingAIAKeys}, the method
+     * should be overridden by the implementations able to check a single key directly.
+     *
+     * @param aiaKey {@link String} AIA key identifying an AIA access URL
+     * @return TRUE if certificates are cached for the AIA key, FALSE otherwise
+     */
+    protected boolean containsAIAKey(final String aiaKey) {
+        return getExistingAIAKeys().contains(aiaKey);
+    }
+
     /**
      * Initialize a list of AIA certificate token keys {@link String} from the given urls
      *
@@ -209,6 +327,89 @@ public abstract class RepositoryAIASource implements AIASource {
         return DSSUtils.getSHA1Digest(certificateToken.getDSSIdAsString() + aiaUrl);
     }
 
+    /**
+     * Checks whether all the given AIA keys have a non-expired negative cache entry
+     *
+     * @param aiaKeys a list of {@link String} AIA keys
+     * @return TRUE if all the AIA keys failed within the negative cache delay, FALSE otherwise
+     */
+    private boolean isNegativelyCached(List<String> aiaKeys) {
+        if (negativeCacheDelay == null || proxiedSource == null) {
+            return false;
+        }
+        final Date currentTime = new Date();
+        for (String aiaKey : aiaKeys) {
+            Date expirationTime = getNegativeCacheExpirationTime(aiaKey);
+            if (expirationTime == null || !expirationTime.after(currentTime)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void updateNegativeCache(List<String> aiaKeys, boolean failed) {
+        try {
+            if (failed) {
+                final Date expirationTime = new Date(System.currentTimeMillis() + negativeCacheDelay);
+                for (String aiaKey : aiaKeys) {
+                    insertNegativeCacheEntry(aiaKey, expirationTime);
+                }
+                LOG.debug("AIA keys '{}' have been added to the negative cache until '{}'", aiaKeys, expirationTime);
+            } else {
+                for (String aiaKey : aiaKeys) {
+                    removeNegativeCacheEntry(aiaKey);
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("Unable to update the AIA negative cache : {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the expiration time of a negative cache entry for the given {@code aiaKey}, when present.
+     * The default implementation uses a bounded in-memory cache. The method may be overridden
+     * in order to share the negative cache entries across instances (e.g. by storing them in a DB).
+     *
+     * @param aiaKey {@link String} AIA key identifying an AIA access URL
+     * @return {@link Date} expiration time of the negative cache entry, NULL if not present
+     */
+    protected Date getNegativeCacheExpirationTime(final String aiaKey) {
+        return getNegativeCache().get(aiaKey);
+    }
+
+    /**
+     * Inserts or replaces a negative cache entry for an AIA access URL that failed or returned no certificate
+     *
+     * @param aiaKey {@link String} AIA key identifying an AIA access URL
+     * @param expirationTime {@link Date} time until which the AIA access URL shall not be requested again
+     */
+    protected void insertNegativeCacheEntry(final String aiaKey, final Date expirationTime) {
+        getNegativeCache().put(aiaKey, expirationTime);
+    }
+
+    /**
+     * Removes a negative cache entry for the given {@code aiaKey}, when present
+     *
+     * @param aiaKey {@link String} AIA key identifying an AIA access URL
+     */
+    protected void removeNegativeCacheEntry(final String aiaKey) {
+        getNegativeCache().remove(aiaKey);
+    }
+
+    private NegativeCache getNegativeCache() {
+        NegativeCache cache = negativeCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = negativeCache;
+                if (cache == null) {
+                    cache = new NegativeCache(maxNegativeCacheSize);
+                    negativeCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
     private Set<CertificateToken> extractAIAFromCacheSource(List<String> aiaKeys) {
         Set<CertificateToken> certificateTokens = new LinkedHashSet<>();
         for (String key : aiaKeys) {
@@ -240,4 +441,48 @@ public abstract class RepositoryAIASource implements AIASource {
      */
     protected abstract void removeCertificates(final String aiaKey);
 
+    /**
+     * Bounded in-memory map of AIA keys to the expiration time of their negative cache entry
+     */
+    private static class NegativeCache implements Serializable {
+
+        private static final long serialVersionUID = 4310564931684203127L;
+
+        /** Maximum number of entries */
+        private final int maxSize;
+
+        /** The entries, in the access order */
+        private final Map<String, Date> entries;
+
+        /**
+         * Default constructor
+         *
+         * @param maxSize maximum number of entries
+         */
+        private NegativeCache(final int maxSize) {
+            this.maxSize = maxSize;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        private synchronized Date get(String aiaKey) {
+            return entries.get(aiaKey);
+        }
+
+        private synchronized void put(String aiaKey, Date expirationTime) {
+            entries.put(aiaKey, expirationTime);
+            if (entries.size() > maxSize) {
+                final Date currentTime = new Date();
+                entries.values().removeIf(e -> !e.after(currentTime));
+            }
+            while (entries.size() > maxSize) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        }
+
+        private synchronized void remove(String aiaKey) {
+            entries.remove(aiaKey);
+        }
+
+    }
+
 }
@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.spi.x509.revocation;
 
+import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.revocation.Revocation;
 import eu.europa.esig.dss.spi.DSSUtils;
@@ -30,7 +31,10 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -239,6 +243,12 @@ public abstract class FileRevocationSource<R extends Revocation> extends Reposit
 		/** File extension used to store a revocation data issuer certificate */
 		private static final String CERT_FILE_EXTENSION = ".cer";
 
+		/** File extension prefix used to store a delta revocation data (e.g. a delta CRL) complementing the revocation data */
+		private static final String DELTA_FILE_EXTENSION = ".delta";
+
+		/** File extension used for a revocation data file being written */
+		private static final String TEMP_FILE_EXTENSION = ".tmp";
+
 		/** File extension used to define the original revocation data URI */
 		private static final String URI_FILE_EXTENSION = ".uri";
 
@@ -269,6 +279,34 @@ public abstract class FileRevocationSource<R extends Revocation> extends Reposit
 			return getFileContent(cacheFile);
 		}
 
+		/**
+		 * Gets the file containing the revocation data binaries, when present
+		 *
+		 * @return {@link File}
+		 */
+		public File getRevocationDataFile() {
+			File cacheFile = getCacheRevocationFile();
+			if (cacheFile.exists()) {
+				return cacheFile;
+			}
+			LOG.warn("The file '{}' does not exist or has been removed.", cacheFile.getName());
+			return null;
+		}
+
+		/**
+		 * Gets the binaries of the delta revocation data (e.g. a delta CRL) complementing the revocation data,
+		 * when present
+		 *
+		 * @return byte array, or null if no delta revocation data is stored
+		 */
+		public byte[] getDeltaRevocationDataBinaries() {
+			File cacheDeltaFile = getCacheDeltaRevocationFile();
+			if (cacheDeltaFile.exists()) {
+				return getFileContent(cacheDeltaFile);
+			}
+			return null;
+		}
+
 		/**
 		 * Gets URL originally used to retrieve the revocation data
 		 *
@@ -324,6 +362,15 @@ public abstract class FileRevocationSource<R extends Revocation> extends Reposit
 			return getCacheFileFromKey(revocationExtension);
 		}
 
+		/**
+		 * Gets the cached delta revocation file
+		 *
+		 * @return the cache file
+		 */
+		private File getCacheDeltaRevocationFile() {
+			return getCacheFileFromKey(DELTA_FILE_EXTENSION + revocationExtension);
+		}
+
 		/**
 		 * Gets the cached URI file
 		 *
@@ -359,12 +406,57 @@ public abstract class FileRevocationSource<R extends Revocation> extends Reposit
 		 */
 		public void saveRevocationToken(RevocationToken<R> revocationToken) {
 			Objects.requireNonNull(revocationToken, "RevocationToken cannot be null!");
-			DSSUtils.saveToFile(revocationToken.getEncoded(), getCacheRevocationFile());
+			replaceFile(revocationToken.getEncoded(), getCacheRevocationFile());
 			if (revocationToken.getSourceURL() != null) {
 				DSSUtils.saveToFile(revocationToken.getSourceURL().getBytes(StandardCharsets.UTF_8), getCacheUriFile());
 			}
 		}
 
+		/**
+		 * Writes the delta revocation data binaries (e.g. a delta CRL) complementing the revocation data,
+		 * or removes the previously stored delta revocation data when {@code bytes} is null
+		 *
+		 * @param bytes delta revocation data binaries, or null if not present
+		 */
+		public void saveDeltaRevocationData(byte[] bytes) {
+			File cacheDeltaFile = getCacheDeltaRevocationFile();
+			if (bytes != null) {
+				replaceFile(bytes, cacheDeltaFile);
+			} else if (cacheDeltaFile.exists()) {
+				removeFile(cacheDeltaFile);
+			}
+		}
+
+		/**
+		 * Writes {@code bytes} to a temporary file and moves it to the target {@code file}.
+		 * The existing file is replaced, but not modified, in order to keep its content
+		 * consistent for the readers (e.g. when the file is memory-mapped).
+		 *
+		 * @param bytes content to be written
+		 * @param file {@link File} to be replaced
+		 */
+		private void replaceFile(byte[] bytes, File file) {
+			Path tempFile = null;
+			try {
+				Files.createDirectories(file.getParentFile().toPath());
+				// a unique temporary file, so concurrent writers do not overwrite each other's content
+				tempFile = Files.createTempFile(file.getParentFile().toPath(), file.getName(), TEMP_FILE_EXTENSION);
+				Files.write(tempFile, bytes);
+				try {
+					Files.move(tempFile, file.toPath(),
+							StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					LOG.debug("Atomic move is not supported : {}", e.getMessage());
+					Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+			} catch (IOException e) {
+				if (tempFile != null) {
+					deleteCacheFile(tempFile.toFile());
+				}
+				throw new DSSException(String.format("Unable to save a file : %s", e.getMessage()), e);
+			}
+		}
+
 		/**
 		 * Writes {@code certificateToken} to corresponding cache document
 		 *
@@ -390,6 +482,10 @@ public abstract class FileRevocationSource<R extends Revocation> extends Reposit
 			if (cacheCertificateFile.exists()) {
 				cacheCleaned ^= removeFile(cacheCertificateFile);
 			}
+			File cacheDeltaFile = getCacheDeltaRevocationFile();
+			if (cacheDeltaFile.exists()) {
+				cacheCleaned ^= removeFile(cacheDeltaFile);
+			}
 			return cacheCleaned;
 		}
 
@@ -0,0 +1,306 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation;
+
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Abstract class that extends {@code RepositoryRevocationSource} to provide
+ * an in-memory caching of the already parsed revocation data.
+ * <p>
+ * The source is intended to be used as a first level cache shared within the running process,
+ * in front of another (e.g. JDBC or file-based) {@code RepositoryRevocationSource} defined as a proxied source.
+ * The cache is bounded by a maximum number of entries and by a maximum weight (the estimated heap memory
+ * retained by the cached revocation data, parsed objects included), with the least recently used entries
+ * evicted first.
+ * The expiration of the cached data follows the nextUpdate, {@code defaultNextUpdateDelay}
+ * and {@code maxNextUpdateDelay} rules defined within {@code RepositoryRevocationSource}.
+ * <p>
+ * The class is thread-safe.
+ *
+ * @param <R> {@code CRL} or {@code OCSP}
+ */
+public abstract class InMemoryRevocationSource<R extends Revocation> extends RepositoryRevocationSource<R> {
+
+	private static final long serialVersionUID = -4315062725584627338L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(InMemoryRevocationSource.class);
+
+	/** The default maximum number of cached entries */
+	private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	/** The default maximum weight of the cache (100 MB) */
+	private static final long DEFAULT_MAX_WEIGHT = 100L * 1024 * 1024;
+
+	/** Map of cached entries by revocation keys, ordered from the least to the most recently used */
+	private final Map<String, InMemoryCacheEntry<R>> cacheEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** The maximum number of entries to be kept within the cache */
+	private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+	/** The maximum total weight (in bytes) of the revocation data to be kept within the cache */
+	private long maxWeight = DEFAULT_MAX_WEIGHT;
+
+	/** The current total weight (in bytes) of the cached revocation data */
+	private long currentWeight = 0;
+
+	/**
+	 * Empty constructor.
+	 * The proxied revocation source can be provided using the {@code #setProxySource} method.
+	 */
+	protected InMemoryRevocationSource() {
+		// empty
+	}
+
+	/**
+	 * Constructor that initializes the in-memory revocation source with a proxied revocation source provided.
+	 *
+	 * @param proxiedSource {@link RevocationSource} to be used to load revocation data when the corresponding
+	 *                                               revocation document is not available in the memory
+	 */
+	protected InMemoryRevocationSource(RevocationSource<R> proxiedSource) {
+		this.proxiedSource = proxiedSource;
+	}
+
+	/**
+	 * Sets the maximum number of revocation entries to be kept within the cache.
+	 * When the limit is reached, the least recently used entries are evicted.
+	 * <p>
+	 * Default : 1000
+	 *
+	 * @param maxEntries the maximum number of entries
+	 */
+	public void setMaxEntries(int maxEntries) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("The maximum number of entries shall be positive!");
+		}
+		synchronized (cacheEntries) {
+			this.maxEntries = maxEntries;
+			evictEntries();
+		}
+	}
+
+	/**
+	 * Sets the maximum total weight (the estimated heap memory, in bytes) of the revocation data to be kept
+	 * within the cache. When the limit is reached, the least recently used entries are evicted.
+	 * Revocation data with a weight exceeding the limit is not cached.
+	 * <p>
+	 * Default : 100 MB
+	 *
+	 * @param maxWeight the maximum weight in bytes
+	 */
+	public void setMaxWeight(long maxWeight) {
+		if (maxWeight < 1) {
+			throw new IllegalArgumentException("The maximum weight shall be positive!");
+		}
+		synchronized (cacheEntries) {
+			this.maxWeight = maxWeight;
+			evictEntries();
+		}
+	}
+
+	@Override
+	protected List<RevocationToken<R>> findRevocations(String key, CertificateToken certificateToken,
+													   CertificateToken issuerCertToken) {
+		final InMemoryCacheEntry<R> cacheEntry;
+		synchronized (cacheEntries) {
+			cacheEntry = cacheEntries.get(key);
+		}
+		if (cacheEntry != null) {
+			try {
+				RevocationToken<R> token = reconstructToken(cacheEntry.getRevocationToken(), certificateToken, issuerCertToken);
+				if (token != null) {
+					token.setExternalOrigin(RevocationOrigin.CACHED);
+					token.setSourceURL(cacheEntry.getRevocationToken().getSourceURL());
+					return Collections.singletonList(token);
+				}
+				LOG.warn("Failed to reconstruct revocation token from the in-memory cache for key: {}", key);
+
+			} catch (Exception e) {
+				LOG.warn("Unable to reconstruct revocation token from the in-memory cache for key '{}': {}", key, e.getMessage(), e);
+			}
+		}
+		return Collections.emptyList();
+	}
+
+	@Override
+	protected void insertRevocation(String revocationKey, RevocationToken<R> token) {
+		final InMemoryCacheEntry<R> cacheEntry = new InMemoryCacheEntry<>(token, getTokenWeight(token));
+		synchronized (cacheEntries) {
+			removeEntry(revocationKey);
+			if (cacheEntry.getWeight() > maxWeight) {
+				LOG.debug("Revocation token for key '{}' exceeds the maximum weight of the cache and will not be cached.", revocationKey);
+				return;
+			}
+			cacheEntries.put(revocationKey, cacheEntry);
+			currentWeight += cacheEntry.getWeight();
+			evictEntries();
+		}
+		LOG.debug("Revocation token inserted into the in-memory cache for key: {}", revocationKey);
+	}
+
+	@Override
+	protected void updateRevocation(String revocationKey, RevocationToken<R> token) {
+		// For in-memory cache, update is the same as insert (replace the entry)
+		insertRevocation(revocationKey, token);
+	}
+
+	@Override
+	protected void removeRevocation(String revocationKey) {
+		synchronized (cacheEntries) {
+			removeEntry(revocationKey);
+		}
+		LOG.debug("Revocation token removed from the in-memory cache for key: {}", revocationKey);
+	}
+
+	private void removeEntry(String revocationKey) {
+		InMemoryCacheEntry<R> removed = cacheEntries.remove(revocationKey);
+		if (removed != null) {
+			currentWeight -= removed.getWeight();
+		}
+	}
+
+	private void evictEntries() {
+		Iterator<Map.Entry<String, InMemoryCacheEntry<R>>> it = cacheEntries.entrySet().iterator();
+		while ((cacheEntries.size() > maxEntries || currentWeight > maxWeight) && it.hasNext()) {
+			Map.Entry<String, InMemoryCacheEntry<R>> eldest = it.next();
+			currentWeight -= eldest.getValue().getWeight();
+			it.remove();
+			LOG.debug("Revocation token with key '{}' has been evicted from the in-memory cache.", eldest.getKey());
+		}
+	}
+
+	/**
+	 * Returns the current number of entries within the cache
+	 *
+	 * @return number of entries
+	 */
+	public int size() {
+		synchronized (cacheEntries) {
+			return cacheEntries.size();
+		}
+	}
+
+	/**
+	 * Returns the current total size (in bytes) of the encoded revocation data kept within the cache
+	 *
+	 * @return weight in bytes
+	 */
+	public long getWeight() {
+		synchronized (cacheEntries) {
+			return currentWeight;
+		}
+	}
+
+	/**
+	 * Removes all the entries from the cache
+	 */
+	public void clearCache() {
+		synchronized (cacheEntries) {
+			cacheEntries.clear();
+			currentWeight = 0;
+		}
+	}
+
+	/**
+	 * Returns the weight of the revocation token within the cache, being an estimation of the heap memory
+	 * (in bytes) retained by the token. The default implementation returns the size of its encoded revocation data,
+	 * the implementations add the estimated size of the parsed revocation data.
+	 *
+	 * @param revocationToken {@link RevocationToken}
+	 * @return weight in bytes
+	 */
+	protected long getTokenWeight(RevocationToken<R> revocationToken) {
+		byte[] encoded = revocationToken.getEncoded();
+		return encoded != null ? encoded.length : 0;
+	}
+
+	/**
+	 * Creates a new revocation token for the given {@code certificateToken} based on the cached revocation token,
+	 * by re-using the already parsed revocation data
+	 *
+	 * @param cachedToken      {@link RevocationToken} stored within the cache
+	 * @param certificateToken {@link CertificateToken} the certificate token
+	 * @param issuerCertToken  {@link CertificateToken} the issuer certificate token
+	 * @return the revocation token or null if creation fails
+	 */
+	protected abstract RevocationToken<R> reconstructToken(RevocationToken<R> cachedToken,
+														   CertificateToken certificateToken,
+														   CertificateToken issuerCertToken);
+
+	/**
+	 * Represents a revocation data entry stored within the in-memory cache
+	 *
+	 * @param <R> {@code CRL} or {@code OCSP}
+	 */
+	private static class InMemoryCacheEntry<R extends Revocation> implements Serializable {
+
+		private static final long serialVersionUID = 6107496458208737645L;
+
+		/** The cached revocation token */
+		private final RevocationToken<R> revocationToken;
+
+		/** The estimated heap memory retained by the revocation data */
+		private final long weight;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param revocationToken {@link RevocationToken} to be cached
+		 * @param weight the estimated heap memory retained by the revocation data
+		 */
+		private InMemoryCacheEntry(RevocationToken<R> revocationToken, long weight) {
+			this.revocationToken = revocationToken;
+			this.weight = weight;
+		}
+
+		/**
+		 * Gets the cached revocation token
+		 *
+		 * @return {@link RevocationToken}
+		 */
+		public RevocationToken<R> getRevocationToken() {
+			return revocationToken;
+		}
+
+		/**
+		 * Gets the estimated heap memory retained by the revocation data
+		 *
+		 * @return weight in bytes
+		 */
+		public long getWeight() {
+			return weight;
+		}
+
+	}
+
+}
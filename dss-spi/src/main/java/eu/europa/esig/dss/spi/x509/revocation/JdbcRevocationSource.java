@@ -33,11 +33,20 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstract class to retrieve token from a JDBC datasource
@@ -104,6 +113,55 @@ public abstract class JdbcRevocationSource<R extends Revocation> extends Reposit
 	 */
 	protected abstract SqlQuery getRemoveRevocationTokenEntryQuery();
 	
+	/**
+	 * Returns the sql queries creating the indexes of the table, executed after the table creation
+	 *
+	 * @return a list of {@link SqlQuery}s
+	 */
+	protected List<SqlQuery> getCreateIndexQueries() {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Returns the sql queries adding a column (and the related indexes) to a table created with a previous schema,
+	 * mapped by the sql query checking the existence of the column.
+	 * Each column is checked and added independently, for an existing table as well as after the table creation
+	 * (e.g. when {@code #getCreateTableQuery} is overridden with a previous schema).
+	 *
+	 * @return a map between the column existence {@link SqlQuery} and the list of {@link SqlQuery}s adding the column
+	 */
+	protected Map<SqlQuery, List<SqlQuery>> getAddColumnQueries() {
+		return Collections.emptyMap();
+	}
+
+	/**
+	 * Returns a request to find revocation data for several keys at once. The query shall contain
+	 * a single parameter placeholder within an IN clause (e.g. "SELECT * FROM TABLE WHERE ID IN (?)").
+	 *
+	 * @return {@link SqlSelectQuery}, NULL if not supported
+	 */
+	protected SqlSelectQuery getRevocationDataBatchExtractQuery() {
+		return null;
+	}
+
+	/**
+	 * Returns an sql query to remove all revocation tokens expired before the given time parameter
+	 *
+	 * @return {@link SqlQuery}, NULL if not supported
+	 */
+	protected SqlQuery getRemoveExpiredRevocationTokenEntriesQuery() {
+		return null;
+	}
+
+	/**
+	 * Returns the revocation key of the extracted record.
+	 * Used to map the records extracted with {@code #getRevocationDataBatchExtractQuery} to the requested keys.
+	 *
+	 * @param sqlRecord {@link SqlRecord}
+	 * @return {@link String} key
+	 */
+	protected abstract String getRevocationTokenKey(SqlRecord sqlRecord);
+
 	/**
 	 * Builds {@link RevocationToken} from the obtained {@link ResultSet}
 	 *
@@ -166,6 +224,106 @@ public abstract class JdbcRevocationSource<R extends Revocation> extends Reposit
 	 */
 	protected abstract SqlSelectQuery getRevocationDataExtractQuery();
 
+	/**
+	 * Finds the cached revocation data for several certificates (e.g. a certificate chain)
+	 * within a single query, when supported (see {@code #getRevocationDataBatchExtractQuery})
+	 *
+	 * @param issuers a map between the certificates to find the revocation data for and their issuers
+	 * @return a map between the certificates and their revocation tokens by revocation keys
+	 */
+	@Override
+	protected Map<CertificateToken, Map<String, List<RevocationToken<R>>>> findRevocations(
+			final Map<CertificateToken, CertificateToken> issuers) {
+		final SqlSelectQuery batchExtractQuery = getRevocationDataBatchExtractQuery();
+		if (batchExtractQuery == null) {
+			return super.findRevocations(issuers);
+		}
+
+		final Map<String, List<CertificateToken>> certificatesByKey = new HashMap<>();
+		for (CertificateToken certificateToken : issuers.keySet()) {
+			for (String key : initRevocationTokenKeys(certificateToken)) {
+				certificatesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(certificateToken);
+			}
+		}
+
+		final Map<CertificateToken, Map<String, List<RevocationToken<R>>>> result = new HashMap<>();
+		final Collection<SqlRecord> records = getJdbcCacheConnector().selectIn(batchExtractQuery, certificatesByKey.keySet());
+		LOG.debug("Records obtained for {} certificate(s) : {}", issuers.size(), records.size());
+		for (SqlRecord sqlRecord : records) {
+			final String key = getRevocationTokenKey(sqlRecord);
+			final List<CertificateToken> certificateTokens = certificatesByKey.get(key);
+			if (certificateTokens == null) {
+				continue;
+			}
+			for (CertificateToken certificateToken : certificateTokens) {
+				final RevocationToken<R> revocationToken = buildRevocationTokenFromRecord(
+						sqlRecord, certificateToken, issuers.get(certificateToken));
+				if (revocationToken != null) {
+					result.computeIfAbsent(certificateToken, k -> new HashMap<>())
+							.computeIfAbsent(key, k -> new ArrayList<>()).add(revocationToken);
+				}
+			}
+		}
+		return result;
+	}
+
+	private RevocationToken<R> buildRevocationTokenFromRecord(SqlRecord sqlRecord, CertificateToken certificateToken,
+															  CertificateToken issuerCertificateToken) {
+		try {
+			return buildRevocationTokenFromResult(sqlRecord, certificateToken, issuerCertificateToken);
+		} catch (DSSExternalResourceException e) {
+			LOG.warn("Unable to build a revocation token for certificate with Id '{}' from the cache : {}",
+					certificateToken.getDSSIdAsString(), e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the time of the expiration of the revocation token within the cache, to be stored in the table
+	 *
+	 * @param revocationToken {@link RevocationToken}
+	 * @return {@link Timestamp}, NULL if not determined
+	 */
+	protected Timestamp getExpiryTime(RevocationToken<R> revocationToken) {
+		final Date cacheNextUpdate = getCacheNextUpdate(revocationToken);
+		return cacheNextUpdate != null ? new Timestamp(cacheNextUpdate.getTime()) : null;
+	}
+
+	/**
+	 * Removes all the revocation tokens expired at the current time from the table.
+	 * The revocation tokens with an undefined expiration time are kept.
+	 *
+	 * @return number of removed entries
+	 */
+	public int removeExpiredRevocations() {
+		final SqlQuery query = getRemoveExpiredRevocationTokenEntriesQuery();
+		if (query == null) {
+			LOG.warn("The removal of expired revocation data is not supported by the current implementation!");
+			return 0;
+		}
+		final int removed = getJdbcCacheConnector().execute(query, new Timestamp(System.currentTimeMillis()));
+		LOG.debug("{} expired revocation token(s) have been removed from the cache", removed);
+		return removed;
+	}
+
+	/**
+	 * Schedules a periodic execution of the {@code #removeExpiredRevocations} method within the given {@code scheduler}
+	 *
+	 * @param scheduler {@link ScheduledExecutorService} to be used
+	 * @param period the delay between the end of an execution and the start of the next one
+	 * @param unit {@link TimeUnit} of the {@code period}
+	 * @return {@link ScheduledFuture} allowing to cancel the scheduled execution
+	 */
+	public ScheduledFuture<?> scheduleExpiredRevocationsRemoval(ScheduledExecutorService scheduler, long period, TimeUnit unit) {
+		return scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				removeExpiredRevocations();
+			} catch (Exception e) {
+				LOG.warn("Unable to remove expired revocation data : {}", e.getMessage(), e);
+			}
+		}, period, period, unit);
+	}
+
 	@Override
 	protected void removeRevocation(final String revocationTokenKey) {
 		getJdbcCacheConnector().execute(getRemoveRevocationTokenEntryQuery(), revocationTokenKey);
@@ -182,6 +340,8 @@ public abstract class JdbcRevocationSource<R extends Revocation> extends Reposit
 			LOG.debug("Table does not exist. Creating a new table...");
 			createTable();
 			LOG.info("Table was created.");
+		} else if (upgradeTable(new HashSet<>())) {
+			LOG.info("Table was upgraded.");
 		} else {
 			LOG.debug("Table already exists.");
 		}
@@ -189,6 +349,29 @@ public abstract class JdbcRevocationSource<R extends Revocation> extends Reposit
 	
 	private void createTable() throws SQLException {
 		getJdbcCacheConnector().executeThrowable(getCreateTableQuery());
+		// the created table may miss columns of the current schema
+		final Set<SqlQuery> executedQueries = new HashSet<>();
+		upgradeTable(executedQueries);
+		for (SqlQuery query : getCreateIndexQueries()) {
+			if (!executedQueries.contains(query)) {
+				getJdbcCacheConnector().executeThrowable(query);
+			}
+		}
+	}
+
+	private boolean upgradeTable(Set<SqlQuery> executedQueries) throws SQLException {
+		boolean upgraded = false;
+		for (Map.Entry<SqlQuery, List<SqlQuery>> entry : getAddColumnQueries().entrySet()) {
+			if (!getJdbcCacheConnector().tableQuery(entry.getKey())) {
+				LOG.debug("Table has a previous schema. Adding the missing column...");
+				for (SqlQuery query : entry.getValue()) {
+					getJdbcCacheConnector().executeThrowable(query);
+					executedQueries.add(query);
+				}
+				upgraded = true;
+			}
+		}
+		return upgraded;
 	}
 
 	/**
@@ -20,18 +20,32 @@
  */
 package eu.europa.esig.dss.spi.x509.revocation;
 
+import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.revocation.Revocation;
 import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -66,6 +80,33 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
      */
     private boolean removeExpired = true;
 
+    /**
+     * Map of ongoing requests to the proxied source by their revocation keys,
+     * used to share a single request between concurrent calls
+     */
+    private final ConcurrentMap<String, FutureTask<RevocationToken<R>>> ongoingRequests = new ConcurrentHashMap<>();
+
+    /**
+     * Defines the fraction of the revocation data validity window (between thisUpdate and nextUpdate),
+     * after which the revocation data is refreshed ahead
+     */
+    private Double refreshAheadFactor;
+
+    /**
+     * Defines the delay before nextUpdate, when the revocation data is refreshed ahead
+     */
+    private Long refreshAheadDelay;
+
+    /**
+     * The maximum number of the most requested revocation entries tracked for a refresh ahead
+     */
+    private int refreshAheadMaxEntries = 1000;
+
+    /**
+     * Map of revocation entries tracked for a refresh ahead, by their revocation keys
+     */
+    private final ConcurrentMap<String, RefreshAheadEntry> refreshAheadEntries = new ConcurrentHashMap<>();
+
     /**
      * Default constructor instantiating object with null values
      */
@@ -147,6 +188,61 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
         this.maxNextUpdateDelay = maxNextUpdateDelay == null ? null : maxNextUpdateDelay * 1000; // to milliseconds
     }
 
+    /**
+     * Sets the fraction of the revocation data validity window (between thisUpdate and nextUpdate, computed with
+     * respect to {@code defaultNextUpdateDelay} and {@code maxNextUpdateDelay}), after which the revocation data
+     * is eligible for a refresh ahead. The value shall be within ]0, 1] range.
+     * <p>
+     * {@code
+     * refreshTime = revocation.thisUpdate + (nextUpdate - revocation.thisUpdate) * refreshAheadFactor
+     * }
+     * <p>
+     * The refresh ahead is performed by the {@code #refreshAhead} method, which should be called periodically
+     * (see {@code #scheduleRefreshAhead}).
+     * Default : null (not used)
+     *
+     * @param refreshAheadFactor {@link Double}
+     */
+    public void setRefreshAheadFactor(final Double refreshAheadFactor) {
+        if (refreshAheadFactor != null && (refreshAheadFactor <= 0 || refreshAheadFactor > 1)) {
+            throw new IllegalArgumentException("The refresh ahead factor shall be within ]0, 1] range!");
+        }
+        this.refreshAheadFactor = refreshAheadFactor;
+    }
+
+    /**
+     * Sets the delay in seconds before nextUpdate (computed with respect to {@code defaultNextUpdateDelay}
+     * and {@code maxNextUpdateDelay}), when the revocation data is eligible for a refresh ahead.
+     * When used together with {@code refreshAheadFactor}, the earliest refresh time is used.
+     * <p>
+     * {@code
+     * refreshTime = nextUpdate - refreshAheadDelay
+     * }
+     * <p>
+     * The refresh ahead is performed by the {@code #refreshAhead} method, which should be called periodically
+     * (see {@code #scheduleRefreshAhead}).
+     * Default : null (not used)
+     *
+     * @param refreshAheadDelay long value (seconds)
+     */
+    public void setRefreshAheadDelay(final Long refreshAheadDelay) {
+        this.refreshAheadDelay = refreshAheadDelay == null ? null : refreshAheadDelay * 1000; // to milliseconds
+    }
+
+    /**
+     * Sets the maximum number of the most requested revocation entries to be tracked for a refresh ahead.
+     * <p>
+     * Default : 1000
+     *
+     * @param refreshAheadMaxEntries the maximum number of tracked entries
+     */
+    public void setRefreshAheadMaxEntries(int refreshAheadMaxEntries) {
+        if (refreshAheadMaxEntries < 1) {
+            throw new IllegalArgumentException("The maximum number of refresh ahead entries shall be positive!");
+        }
+        this.refreshAheadMaxEntries = refreshAheadMaxEntries;
+    }
+
     /**
      * The proxied revocation source to be called if the data is not available in
      * the cache
@@ -219,27 +315,134 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
         }
 
         Collection<String> keys = initRevocationTokenKeys(certificateToken);
+        final Collection<String> revocationKeys = keys;
         if (forceRefresh) {
             LOG.info("Cache is skipped to retrieve the revocation token for certificate with Id '{}'",
                     certificateToken.getDSSIdAsString());
+            keys = getCachedRevocationKeys(certificateToken, issuerCertificateToken, keys);
         } else {
             final Map<String, List<RevocationToken<R>>> cachedRevocationTokensMap =
                     extractRevocationFromCacheSource(certificateToken, issuerCertificateToken, keys);
             keys = cachedRevocationTokensMap.keySet(); // override with returned keys
             if (Utils.isMapNotEmpty(cachedRevocationTokensMap)) {
                 // add all extracted revocation values to a single List
-                return cachedRevocationTokensMap.values().stream().flatMap(Collection::stream).collect(Collectors.toList());
+                final List<RevocationToken<R>> cachedRevocationTokens = cachedRevocationTokensMap.values().stream()
+                        .flatMap(Collection::stream).collect(Collectors.toList());
+                registerRefreshAheadEntry(certificateToken, issuerCertificateToken, revocationKeys,
+                        getLatestRevocationData(cachedRevocationTokens));
+                return cachedRevocationTokens;
             }
         }
 
-        final RevocationToken<R> revocationToken = extractAndInsertRevocationTokenFromProxiedSource(
-                certificateToken, issuerCertificateToken, keys);
+        final RevocationToken<R> revocationToken = extractRevocationTokenFromProxiedSource(
+                certificateToken, issuerCertificateToken, revocationKeys, keys, forceRefresh);
         if (revocationToken != null) {
+            registerRefreshAheadEntry(certificateToken, issuerCertificateToken, revocationKeys, revocationToken);
             return Collections.singletonList(revocationToken);
         }
         return Collections.emptyList();
     }
 
+    /**
+     * Retrieves revocation tokens for all certificates of the given chain. The cached revocation data
+     * of the whole chain is extracted at once (see {@code #getCachedRevocationTokens}), and only the certificates
+     * without fresh cached revocation data are requested from the proxied source.
+     * The certificate chain shall be ordered from the end-entity certificate to the trust anchor,
+     * each certificate being followed by its issuer.
+     *
+     * @param certificateChain a list of {@link CertificateToken}s representing the certificate chain
+     * @return a map between the certificates and the obtained revocation tokens
+     */
+    public Map<CertificateToken, List<RevocationToken<R>>> getRevocationTokens(List<CertificateToken> certificateChain) {
+        final Map<CertificateToken, CertificateToken> issuers = getIssuers(certificateChain);
+        final Map<CertificateToken, List<RevocationToken<R>>> result = getCachedRevocationTokens(issuers);
+        for (Map.Entry<CertificateToken, CertificateToken> entry : issuers.entrySet()) {
+            final CertificateToken certificateToken = entry.getKey();
+            if (!result.containsKey(certificateToken)) {
+                final Collection<String> revocationKeys = initRevocationTokenKeys(certificateToken);
+                final RevocationToken<R> revocationToken = extractRevocationTokenFromProxiedSource(
+                        certificateToken, entry.getValue(), revocationKeys, Collections.emptyList(), false);
+                if (revocationToken != null) {
+                    registerRefreshAheadEntry(certificateToken, entry.getValue(), revocationKeys, revocationToken);
+                    result.put(certificateToken, Collections.singletonList(revocationToken));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the fresh cached revocation tokens for all certificates of the given chain, without requesting
+     * the proxied source. The cache is requested for the whole chain at once (see {@code #findRevocations(Map)}).
+     * The certificate chain shall be ordered from the end-entity certificate to the trust anchor,
+     * each certificate being followed by its issuer.
+     *
+     * @param certificateChain a list of {@link CertificateToken}s representing the certificate chain
+     * @return a map between the certificates with fresh cached revocation data and the obtained revocation tokens
+     */
+    public Map<CertificateToken, List<RevocationToken<R>>> getCachedRevocationTokens(List<CertificateToken> certificateChain) {
+        return getCachedRevocationTokens(getIssuers(certificateChain));
+    }
+
+    private Map<CertificateToken, CertificateToken> getIssuers(List<CertificateToken> certificateChain) {
+        Objects.requireNonNull(certificateChain, "The certificate chain shall be provided!");
+        final Map<CertificateToken, CertificateToken> issuers = new LinkedHashMap<>();
+        for (int i = 0; i < certificateChain.size() - 1; i++) {
+            final CertificateToken certificateToken = certificateChain.get(i);
+            if (!certificateToken.isSelfSigned()) {
+                issuers.put(certificateToken, certificateChain.get(i + 1));
+            }
+        }
+        return issuers;
+    }
+
+    private Map<CertificateToken, List<RevocationToken<R>>> getCachedRevocationTokens(
+            final Map<CertificateToken, CertificateToken> issuers) {
+        final Map<CertificateToken, List<RevocationToken<R>>> result = new LinkedHashMap<>();
+        if (Utils.isMapEmpty(issuers)) {
+            return result;
+        }
+        final Map<CertificateToken, Map<String, List<RevocationToken<R>>>> cachedRevocations = findRevocations(issuers);
+        for (Map.Entry<CertificateToken, CertificateToken> entry : issuers.entrySet()) {
+            final CertificateToken certificateToken = entry.getKey();
+            final Map<String, List<RevocationToken<R>>> revocationsByKey = cachedRevocations.get(certificateToken);
+            if (Utils.isMapNotEmpty(revocationsByKey)) {
+                final Map<String, List<RevocationToken<R>>> freshRevocationsByKey =
+                        filterFreshRevocations(certificateToken, entry.getValue(), revocationsByKey);
+                if (Utils.isMapNotEmpty(freshRevocationsByKey)) {
+                    final List<RevocationToken<R>> cachedRevocationTokens = freshRevocationsByKey.values().stream()
+                            .flatMap(Collection::stream).collect(Collectors.toList());
+                    registerRefreshAheadEntry(certificateToken, entry.getValue(), initRevocationTokenKeys(certificateToken),
+                            getLatestRevocationData(cachedRevocationTokens));
+                    result.put(certificateToken, cachedRevocationTokens);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the cached revocation data for several certificates at once.
+     * The default implementation requests every revocation key of each certificate individually
+     * (see {@code #findRevocations(String, CertificateToken, CertificateToken)}).
+     *
+     * @param issuers a map between the certificates to find the revocation data for and their issuers
+     * @return a map between the certificates and their revocation tokens (expired or not) by revocation keys
+     */
+    protected Map<CertificateToken, Map<String, List<RevocationToken<R>>>> findRevocations(
+            final Map<CertificateToken, CertificateToken> issuers) {
+        final Map<CertificateToken, Map<String, List<RevocationToken<R>>>> result = new HashMap<>();
+        for (Map.Entry<CertificateToken, CertificateToken> entry : issuers.entrySet()) {
+            for (String key : initRevocationTokenKeys(entry.getKey())) {
+                final List<RevocationToken<R>> revocationTokens = findRevocations(key, entry.getKey(), entry.getValue());
+                if (Utils.isCollectionNotEmpty(revocationTokens)) {
+                    result.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(key, revocationTokens);
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Returns a map of correspondence between requested revocation {@code keys} and extracted revocation data tokens.
      * The map contains entries only for keys with available and still fresh revocation data.
@@ -252,20 +455,38 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
      */
     private Map<String, List<RevocationToken<R>>> extractRevocationFromCacheSource(
             final CertificateToken certificateToken, final CertificateToken issuerCertificateToken, Collection<String> keys) {
-        final Map<String, List<RevocationToken<R>>> result = new HashMap<>();
+        final Map<String, List<RevocationToken<R>>> revocationsByKey = new HashMap<>();
         for (String key : keys) {
             final List<RevocationToken<R>> revocationTokens = findRevocations(key, certificateToken, issuerCertificateToken);
             if (Utils.isCollectionNotEmpty(revocationTokens)) {
-                final List<RevocationToken<R>> freshRevocationData = revocationTokens.stream()
-                        .filter(r -> isNotExpired(r, issuerCertificateToken)).collect(Collectors.toList());
-                if (Utils.isCollectionNotEmpty(freshRevocationData)) {
-                    result.put(key, freshRevocationData);
-                } else {
-                    LOG.debug("Revocation token is expired in the cache for certificate with Id '{}'",
-                            certificateToken.getDSSIdAsString());
-                    if (removeExpired) {
-                        removeRevocation(key);
-                    }
+                revocationsByKey.put(key, revocationTokens);
+            }
+        }
+        return filterFreshRevocations(certificateToken, issuerCertificateToken, revocationsByKey);
+    }
+
+    /**
+     * Filters the fresh revocation data from the extracted cached revocation data.
+     * The entries with expired revocation data only are removed from the cache, when {@code removeExpired} is set.
+     *
+     * @param certificateToken       {@link CertificateToken} the revocation tokens are extracted for
+     * @param issuerCertificateToken {@link CertificateToken} of the issuer
+     * @param revocationsByKey       a map between {@link String} keys and list of cached {@link RevocationToken}s
+     * @return a map between {@link String} keys and list of fresh {@link RevocationToken}s
+     */
+    private Map<String, List<RevocationToken<R>>> filterFreshRevocations(final CertificateToken certificateToken,
+            final CertificateToken issuerCertificateToken, final Map<String, List<RevocationToken<R>>> revocationsByKey) {
+        final Map<String, List<RevocationToken<R>>> result = new HashMap<>();
+        for (Map.Entry<String, List<RevocationToken<R>>> entry : revocationsByKey.entrySet()) {
+            final List<RevocationToken<R>> freshRevocationData = entry.getValue().stream()
+                    .filter(r -> isNotExpired(r, issuerCertificateToken)).collect(Collectors.toList());
+            if (Utils.isCollectionNotEmpty(freshRevocationData)) {
+                result.put(entry.getKey(), freshRevocationData);
+            } else {
+                LOG.debug("Revocation token is expired in the cache for certificate with Id '{}'",
+                        certificateToken.getDSSIdAsString());
+                if (removeExpired) {
+                    removeRevocation(entry.getKey());
                 }
             }
         }
@@ -276,6 +497,25 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
         return result;
     }
 
+    /**
+     * Returns the {@code keys} having an entry in the cache source (expired or not)
+     *
+     * @param certificateToken       {@link CertificateToken} to extract the revocation token for
+     * @param issuerCertificateToken {@link CertificateToken} of the issuer
+     * @param keys                   a collection of {@link String} keys to check
+     * @return a list of {@link String} keys present in the cache source
+     */
+    private List<String> getCachedRevocationKeys(final CertificateToken certificateToken,
+                                                 final CertificateToken issuerCertificateToken, Collection<String> keys) {
+        final List<String> cachedKeys = new ArrayList<>();
+        for (String key : keys) {
+            if (Utils.isCollectionNotEmpty(findRevocations(key, certificateToken, issuerCertificateToken))) {
+                cachedKeys.add(key);
+            }
+        }
+        return cachedKeys;
+    }
+
     private RevocationToken<R> getLatestRevocationData(Collection<RevocationToken<R>> revocationTokens) {
         RevocationToken<R> latestRevocationData = null;
         if (Utils.isCollectionNotEmpty(revocationTokens)) {
@@ -289,6 +529,70 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
         return latestRevocationData;
     }
 
+    /**
+     * Extracts a {@link RevocationToken} from the defined proxiedSource, ensuring only one request is performed
+     * at a time for the same revocation keys. Concurrent callers wait for the ongoing request and re-use its result.
+     *
+     * @param certificateToken       {@link CertificateToken} to extract the revocation token for
+     * @param issuerCertificateToken {@link CertificateToken} of the issuer
+     * @param revocationKeys         a collection of {@link String} keys identifying the revocation entries
+     *                               for the {@code certificateToken}
+     * @param cachedKeys             a collection of {@link String} keys of the entries present in the cache source
+     * @param forceRefresh           if true, skips the cache of the proxied source when it is a repository itself
+     * @return {@link RevocationToken}
+     */
+    private RevocationToken<R> extractRevocationTokenFromProxiedSource(
+            final CertificateToken certificateToken, final CertificateToken issuerCertificateToken,
+            final Collection<String> revocationKeys, final Collection<String> cachedKeys, final boolean forceRefresh) {
+        if (Utils.isCollectionEmpty(revocationKeys)) {
+            return extractAndInsertRevocationTokenFromProxiedSource(certificateToken, issuerCertificateToken, cachedKeys, forceRefresh);
+        }
+
+        final String requestKey = String.join(";", revocationKeys);
+        final FutureTask<RevocationToken<R>> request = new FutureTask<>(() ->
+                extractAndInsertRevocationTokenFromProxiedSource(certificateToken, issuerCertificateToken, cachedKeys, forceRefresh));
+        final FutureTask<RevocationToken<R>> ongoingRequest = ongoingRequests.putIfAbsent(requestKey, request);
+        if (ongoingRequest == null) {
+            try {
+                request.run();
+                return getRequestResult(request);
+            } finally {
+                ongoingRequests.remove(requestKey, request);
+            }
+        }
+
+        LOG.debug("Waiting for the ongoing revocation request for certificate with Id '{}'",
+                certificateToken.getDSSIdAsString());
+        final RevocationToken<R> sharedRevocationToken = getRequestResult(ongoingRequest);
+        if (sharedRevocationToken == null || certificateToken.equals(sharedRevocationToken.getRelatedCertificate())) {
+            return sharedRevocationToken;
+        }
+
+        // the revocation data has been requested for another certificate (e.g. the same CRL), load from the cache
+        final Map<String, List<RevocationToken<R>>> cachedRevocationTokensMap =
+                extractRevocationFromCacheSource(certificateToken, issuerCertificateToken, revocationKeys);
+        if (Utils.isMapNotEmpty(cachedRevocationTokensMap)) {
+            return getLatestRevocationData(cachedRevocationTokensMap.values().stream()
+                    .flatMap(Collection::stream).collect(Collectors.toList()));
+        }
+        return extractAndInsertRevocationTokenFromProxiedSource(certificateToken, issuerCertificateToken,
+                getCachedRevocationKeys(certificateToken, issuerCertificateToken, revocationKeys), forceRefresh);
+    }
+
+    private RevocationToken<R> getRequestResult(FutureTask<RevocationToken<R>> request) {
+        try {
+            return request.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DSSException(String.format("Interrupted while waiting for the revocation request : %s", e.getMessage()), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new DSSException(String.format("Unable to retrieve the revocation data : %s", e.getMessage()), e);
+        }
+    }
+
     /**
      * Extracts a {@link RevocationToken} from the defined proxiedSource and inserts/updates its
      * in the cache source if required.
@@ -296,19 +600,26 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
      * @param certificateToken       {@link CertificateToken} to extract the revocation token for
      * @param issuerCertificateToken {@link CertificateToken} of the issuer
      * @param keys                   a collection of {@link String} keys that can be used as unique identifications of the revocation entry
+     * @param forceRefresh           if true, skips the cache of the proxied source when it is a repository itself
      * @return {@link RevocationToken}
      */
+    @SuppressWarnings("unchecked")
     private RevocationToken<R> extractAndInsertRevocationTokenFromProxiedSource(
             final CertificateToken certificateToken, final CertificateToken issuerCertificateToken,
-            final Collection<String> keys) {
+            final Collection<String> keys, final boolean forceRefresh) {
         if (proxiedSource == null) {
             LOG.warn("Proxied revocation source is not initialized for the called RevocationSource!");
             return null;
         }
 
-
-        RevocationToken<R> revocationToken =
-                proxiedSource.getRevocationToken(certificateToken, issuerCertificateToken);
+        RevocationToken<R> revocationToken;
+        if (forceRefresh && proxiedSource instanceof RepositoryRevocationSource) {
+            // the proxied source is a cache tier, which would return its own (stale) cached value otherwise
+            revocationToken = ((RepositoryRevocationSource<R>) proxiedSource).getRevocationToken(
+                    certificateToken, issuerCertificateToken, true);
+        } else {
+            revocationToken = proxiedSource.getRevocationToken(certificateToken, issuerCertificateToken);
+        }
         if (revocationToken != null) {
             if (revocationToken.isValid()) {
                 String sourceUrl = getRevocationSourceUrl(certificateToken, revocationToken);
@@ -386,8 +697,7 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
     protected boolean isNotExpired(RevocationToken<R> revocationToken, CertificateToken certificateTokenIssuer) {
         Date validationDate = new Date();
 
-        Date nextUpdate = revocationToken.getNextUpdate();
-        if (nextUpdate == null) {
+        if (revocationToken.getNextUpdate() == null) {
             // check the validity of the issuer certificate
             CertificateToken revocationIssuer = revocationToken.getIssuerCertificateToken();
             if (revocationIssuer == null) {
@@ -399,21 +709,262 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
         }
 
         // check the validity of the revocation token itself
+        final Date nextUpdate = getCacheNextUpdate(revocationToken);
+        if (nextUpdate != null) {
+            return nextUpdate.after(validationDate);
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the time of the expiration of the revocation data within the cache, computed from
+     * its nextUpdate with respect of nextUpdateDelay and maxNexUpdateDelay parameters
+     *
+     * @param revocationToken {@code CRLToken} or {@code OCSPToken}
+     * @return {@link Date} expiration time, NULL if not determined
+     */
+    protected Date getCacheNextUpdate(RevocationToken<R> revocationToken) {
+        Date nextUpdate = revocationToken.getNextUpdate();
         final Date thisUpdate = revocationToken.getThisUpdate();
         if (nextUpdate == null && defaultNextUpdateDelay != null && thisUpdate != null) {
             nextUpdate = new Date(thisUpdate.getTime() + defaultNextUpdateDelay);
         }
-        if (nextUpdate != null) {
-            if (maxNextUpdateDelay != null && thisUpdate != null) {
-                Date maxNextUpdate = new Date(thisUpdate.getTime() + maxNextUpdateDelay);
-                if (nextUpdate.after(maxNextUpdate)) {
-                    nextUpdate = maxNextUpdate;
+        if (nextUpdate != null && maxNextUpdateDelay != null && thisUpdate != null) {
+            Date maxNextUpdate = new Date(thisUpdate.getTime() + maxNextUpdateDelay);
+            if (nextUpdate.after(maxNextUpdate)) {
+                nextUpdate = maxNextUpdate;
+            }
+        }
+        return nextUpdate;
+    }
+
+    /**
+     * Schedules a periodic execution of the {@code #refreshAhead} method within the given {@code scheduler}
+     *
+     * @param scheduler {@link ScheduledExecutorService} to be used
+     * @param period the delay between the end of an execution and the start of the next one
+     * @param unit {@link TimeUnit} of the {@code period}
+     * @return {@link ScheduledFuture} allowing to cancel the scheduled execution
+     */
+    public ScheduledFuture<?> scheduleRefreshAhead(ScheduledExecutorService scheduler, long period, TimeUnit unit) {
+        if (!isRefreshAheadEnabled()) {
+            LOG.warn("Neither refreshAheadFactor nor refreshAheadDelay is defined. The refresh ahead will be skipped!");
+        }
+        return scheduler.scheduleWithFixedDelay(this::refreshAhead, period, period, unit);
+    }
+
+    /**
+     * Refreshes the cached revocation data of the most requested entries, which reached their refresh time
+     * as defined by {@code refreshAheadFactor} and {@code refreshAheadDelay}, before their expiration.
+     * This method is intended to be called periodically from a background thread.
+     */
+    public void refreshAhead() {
+        if (!isRefreshAheadEnabled()) {
+            LOG.debug("Refresh ahead is not enabled.");
+            return;
+        }
+
+        // remove entries which have not been requested since the previous execution
+        refreshAheadEntries.values().removeIf(entry -> entry.getHits() == 0);
+
+        final List<RefreshAheadEntry> entries = new ArrayList<>(refreshAheadEntries.values());
+        entries.sort(Comparator.comparingLong(RefreshAheadEntry::getHits).reversed());
+
+        final Date currentTime = new Date();
+        for (RefreshAheadEntry entry : entries) {
+            if (entry.isRefreshRequired(currentTime)) {
+                refreshAheadEntry(entry, currentTime);
+            }
+            entry.decay();
+        }
+    }
+
+    private void refreshAheadEntry(RefreshAheadEntry entry, Date currentTime) {
+        final CertificateToken certificateToken = entry.getCertificateToken();
+        LOG.debug("Refreshing ahead revocation data for certificate with Id '{}'", certificateToken.getDSSIdAsString());
+        try {
+            // the cached entries could have been removed or evicted since the registration of the entry
+            final Collection<String> cachedKeys = getCachedRevocationKeys(
+                    certificateToken, entry.getIssuerCertificateToken(), entry.getRevocationKeys());
+            final RevocationToken<R> revocationToken = extractRevocationTokenFromProxiedSource(
+                    certificateToken, entry.getIssuerCertificateToken(), entry.getRevocationKeys(), cachedKeys, true);
+            if (revocationToken != null && revocationToken.isValid()) {
+                final Date refreshTime = getRefreshAheadTime(revocationToken);
+                if (refreshTime != null && refreshTime.after(currentTime)) {
+                    entry.setRefreshTime(refreshTime, getCacheNextUpdate(revocationToken));
+                    LOG.info("Revocation data for certificate with Id '{}' has been refreshed ahead",
+                            certificateToken.getDSSIdAsString());
+                    return;
                 }
             }
-            return nextUpdate.after(validationDate);
+        } catch (Exception e) {
+            LOG.warn("Unable to refresh ahead revocation data for certificate with Id '{}' : {}",
+                    certificateToken.getDSSIdAsString(), e.getMessage(), e);
+        }
+
+        // no newer revocation data available, retry in the middle of the remaining validity period
+        final Date nextUpdate = entry.getNextUpdate();
+        if (nextUpdate != null && nextUpdate.after(currentTime)) {
+            entry.setRetryTime(new Date(currentTime.getTime() + (nextUpdate.getTime() - currentTime.getTime()) / 2));
+        } else {
+            LOG.debug("Revocation data for certificate with Id '{}' is expired. The entry is removed from refresh ahead.",
+                    certificateToken.getDSSIdAsString());
+            refreshAheadEntries.remove(entry.getRequestKey(), entry);
+        }
+    }
+
+    private boolean isRefreshAheadEnabled() {
+        return refreshAheadFactor != null || refreshAheadDelay != null;
+    }
+
+    private void registerRefreshAheadEntry(final CertificateToken certificateToken, final CertificateToken issuerCertificateToken,
+                                           final Collection<String> revocationKeys, final RevocationToken<R> revocationToken) {
+        if (!isRefreshAheadEnabled() || Utils.isCollectionEmpty(revocationKeys) || revocationToken == null) {
+            return;
+        }
+        final Date refreshTime = getRefreshAheadTime(revocationToken);
+        if (refreshTime == null) {
+            return;
+        }
+
+        final String requestKey = String.join(";", revocationKeys);
+        final RefreshAheadEntry entry = refreshAheadEntries.computeIfAbsent(requestKey, k ->
+                new RefreshAheadEntry(k, certificateToken, issuerCertificateToken, revocationKeys));
+        entry.hit(refreshTime, getCacheNextUpdate(revocationToken));
+
+        if (refreshAheadEntries.size() > refreshAheadMaxEntries) {
+            // evict the least requested entry
+            refreshAheadEntries.values().stream().filter(e -> e != entry)
+                    .min(Comparator.comparingLong(RefreshAheadEntry::getHits))
+                    .ifPresent(e -> refreshAheadEntries.remove(e.getRequestKey(), e));
+        }
+    }
+
+    /**
+     * Returns the time when the revocation data becomes eligible for a refresh ahead
+     *
+     * @param revocationToken {@link RevocationToken}
+     * @return {@link Date} refresh time, NULL if not applicable
+     */
+    private Date getRefreshAheadTime(RevocationToken<R> revocationToken) {
+        final Date thisUpdate = revocationToken.getThisUpdate();
+        final Date nextUpdate = getCacheNextUpdate(revocationToken);
+        if (thisUpdate == null || nextUpdate == null) {
+            return null;
+        }
+
+        Date refreshTime = null;
+        if (refreshAheadFactor != null) {
+            long validityWindow = nextUpdate.getTime() - thisUpdate.getTime();
+            refreshTime = new Date(thisUpdate.getTime() + (long) (validityWindow * refreshAheadFactor));
+        }
+        if (refreshAheadDelay != null) {
+            Date delayedRefreshTime = new Date(nextUpdate.getTime() - refreshAheadDelay);
+            if (refreshTime == null || delayedRefreshTime.before(refreshTime)) {
+                refreshTime = delayedRefreshTime;
+            }
+        }
+        return refreshTime;
+    }
+
+    /**
+     * Represents a revocation entry tracked for a refresh ahead
+     */
+    private static class RefreshAheadEntry implements Serializable {
+
+        private static final long serialVersionUID = -1520345876937815240L;
+
+        /** The key of the entry */
+        private final String requestKey;
+
+        /** The certificate the revocation data is requested for */
+        private final CertificateToken certificateToken;
+
+        /** The issuer of the certificate */
+        private final CertificateToken issuerCertificateToken;
+
+        /** The revocation keys of the certificate */
+        private final Collection<String> revocationKeys;
+
+        /** The number of requests since the previous refresh ahead execution (decayed) */
+        private final AtomicLong hits = new AtomicLong();
+
+        /** The time when the revocation data becomes eligible for a refresh */
+        private volatile Date refreshTime;
+
+        /** The expiration time of the cached revocation data */
+        private volatile Date nextUpdate;
+
+        /** The time of the next refresh attempt, when the previous one did not return newer data */
+        private volatile Date retryTime;
+
+        /**
+         * Default constructor
+         *
+         * @param requestKey {@link String}
+         * @param certificateToken {@link CertificateToken}
+         * @param issuerCertificateToken {@link CertificateToken}
+         * @param revocationKeys a collection of {@link String}s
+         */
+        private RefreshAheadEntry(String requestKey, CertificateToken certificateToken,
+                                  CertificateToken issuerCertificateToken, Collection<String> revocationKeys) {
+            this.requestKey = requestKey;
+            this.certificateToken = certificateToken;
+            this.issuerCertificateToken = issuerCertificateToken;
+            this.revocationKeys = new ArrayList<>(revocationKeys);
+        }
+
+        String getRequestKey() {
+            return requestKey;
+        }
+
+        CertificateToken getCertificateToken() {
+            return certificateToken;
+        }
+
+        CertificateToken getIssuerCertificateToken() {
+            return issuerCertificateToken;
+        }
+
+        Collection<String> getRevocationKeys() {
+            return revocationKeys;
+        }
+
+        long getHits() {
+            return hits.get();
+        }
+
+        Date getNextUpdate() {
+            return nextUpdate;
+        }
+
+        void hit(Date refreshTime, Date nextUpdate) {
+            hits.incrementAndGet();
+            if (this.refreshTime == null || refreshTime.after(this.refreshTime)) {
+                setRefreshTime(refreshTime, nextUpdate);
+            }
+        }
+
+        void decay() {
+            hits.updateAndGet(h -> h / 2);
+        }
+
+        void setRefreshTime(Date refreshTime, Date nextUpdate) {
+            this.refreshTime = refreshTime;
+            this.nextUpdate = nextUpdate;
+            this.retryTime = null;
+        }
+
+        void setRetryTime(Date retryTime) {
+            this.retryTime = retryTime;
+        }
+
+        boolean isRefreshRequired(Date currentTime) {
+            return refreshTime != null && !refreshTime.after(currentTime)
+                    && (retryTime == null || !retryTime.after(currentTime));
         }
 
-        return false;
     }
 
 }
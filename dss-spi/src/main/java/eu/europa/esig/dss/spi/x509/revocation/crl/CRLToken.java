@@ -60,6 +60,11 @@ public class CRLToken extends RevocationToken<CRL> {
 	 */
 	private final CRLValidity crlValidity;
 
+	/**
+	 * The reference to the {@code CRLValidity} of a delta CRL complementing the (base) CRL (optional)
+	 */
+	private final CRLValidity deltaCrlValidity;
+
 	/**
 	 * The constructor to be used with the certificate which is managed by the
 	 * CRL and the {@code CRLValidity}.
@@ -71,9 +76,36 @@ public class CRLToken extends RevocationToken<CRL> {
 	 *            validity of the CRL
 	 */
 	public CRLToken(final CertificateToken certificateToken, final CRLValidity crlValidity) {
+		this(certificateToken, crlValidity, null);
+	}
+
+	/**
+	 * The constructor to be used with the certificate which is managed by the
+	 * CRL, the {@code CRLValidity} of the complete (base) CRL and the {@code CRLValidity}
+	 * of a delta CRL issued for the base CRL.
+	 * <p>
+	 * The token represents the delta CRL (identifier, binaries, dates and signature), while its
+	 * revocation status is computed by looking up the delta CRL entries first and the base CRL ones then.
+	 * The base CRL is available as a separate token (see {@code #getBaseCRLToken}).
+	 *
+	 * @param certificateToken
+	 *            the {@code CertificateToken} which is managed by this CRL.
+	 * @param crlValidity
+	 *            {@code CRLValidity} containing the information about the
+	 *            validity of the base CRL
+	 * @param deltaCrlValidity
+	 *            {@code CRLValidity} containing the information about the
+	 *            validity of the delta CRL (optional)
+	 */
+	public CRLToken(final CertificateToken certificateToken, final CRLValidity crlValidity,
+					final CRLValidity deltaCrlValidity) {
 		Objects.requireNonNull(crlValidity, "CRL Validity cannot be null");
 		this.crlValidity = crlValidity;
+		this.deltaCrlValidity = deltaCrlValidity;
 		this.relatedCertificate = certificateToken;
+		if (deltaCrlValidity != null) {
+			assertDeltaCRLApplicable();
+		}
 		initInfo();
 		setRevocationStatus(certificateToken);
 		if (LOG.isDebugEnabled()) {
@@ -82,25 +114,67 @@ public class CRLToken extends RevocationToken<CRL> {
 	}
 
 	private void initInfo() {
-		this.signatureAlgorithm = crlValidity.getSignatureAlgorithm();
-		this.thisUpdate = crlValidity.getThisUpdate();
-		this.productionDate = crlValidity.getThisUpdate(); // dates are equals in case of CRL
-		this.nextUpdate = crlValidity.getNextUpdate();
-		this.crlNumber = crlValidity.getCRLNumber();
-		this.expiredCertsOnCRL = crlValidity.getExpiredCertsOnCRL();
-
-		CertificateToken issuerToken = crlValidity.getIssuerToken();
+		final CRLValidity tokenCrlValidity = getTokenCrlValidity();
+		this.signatureAlgorithm = tokenCrlValidity.getSignatureAlgorithm();
+		this.thisUpdate = tokenCrlValidity.getThisUpdate();
+		this.productionDate = tokenCrlValidity.getThisUpdate(); // dates are equals in case of CRL
+		this.nextUpdate = tokenCrlValidity.getNextUpdate();
+		this.crlNumber = tokenCrlValidity.getCRLNumber();
+		this.expiredCertsOnCRL = tokenCrlValidity.getExpiredCertsOnCRL();
+
+		CertificateToken issuerToken = tokenCrlValidity.getIssuerToken();
 		if (issuerToken != null) {
 			this.publicKeyOfTheSigner = issuerToken.getPublicKey();
 		}
 
-		this.signatureValidity = SignatureValidity.get(crlValidity.isSignatureIntact());
-		this.signatureInvalidityReason = crlValidity.getSignatureInvalidityReason();
-		if (!crlValidity.isSignatureIntact()) {
+		this.signatureValidity = SignatureValidity.get(tokenCrlValidity.isSignatureIntact());
+		this.signatureInvalidityReason = tokenCrlValidity.getSignatureInvalidityReason();
+		if (!tokenCrlValidity.isSignatureIntact()) {
 			LOG.warn("{} -> More details in trace.", signatureInvalidityReason);
 		}
 	}
 
+	/**
+	 * Returns the {@code CRLValidity} of the CRL represented by the token,
+	 * i.e. the delta CRL when present, the base CRL otherwise
+	 *
+	 * @return {@link CRLValidity}
+	 */
+	private CRLValidity getTokenCrlValidity() {
+		return deltaCrlValidity != null ? deltaCrlValidity : crlValidity;
+	}
+
+	/**
+	 * Verifies whether the delta CRL can be applied to the base CRL (see RFC 5280, 5.2.4)
+	 */
+	private void assertDeltaCRLApplicable() {
+		if (crlValidity.isDeltaCRL()) {
+			throw new DSSException("The base CRL cannot be a delta CRL!");
+		}
+		if (!deltaCrlValidity.isDeltaCRL()) {
+			throw new DSSException("The delta CRL does not contain a Delta CRL Indicator extension!");
+		}
+		if (!deltaCrlValidity.isSignatureIntact()) {
+			throw new DSSException(String.format("The delta CRL signature is not intact : %s",
+					deltaCrlValidity.getSignatureInvalidityReason()));
+		}
+		if (!Objects.equals(crlValidity.getIssuerToken(), deltaCrlValidity.getIssuerToken())) {
+			throw new DSSException("The delta CRL is not signed by the same issuer as the base CRL!");
+		}
+		if (!crlValidity.isSameScope(deltaCrlValidity)) {
+			throw new DSSException("The delta CRL does not have the same scope (Issuing Distribution Point) as the base CRL!");
+		}
+		if (crlValidity.getCRLNumber() == null
+				|| crlValidity.getCRLNumber().compareTo(deltaCrlValidity.getBaseCRLNumber()) < 0) {
+			throw new DSSException(String.format("The delta CRL requires a base CRL with number '%s' or greater!",
+					deltaCrlValidity.getBaseCRLNumber()));
+		}
+		if (deltaCrlValidity.getThisUpdate() == null || crlValidity.getThisUpdate() == null
+				|| deltaCrlValidity.getThisUpdate().before(crlValidity.getThisUpdate())) {
+			throw new DSSException("The delta CRL is older than the base CRL!");
+		}
+	}
+
 	/**
 	 * @param certificateToken
 	 *            the {@code CertificateToken} which is managed by this CRL.
@@ -121,7 +195,19 @@ public class CRLToken extends RevocationToken<CRL> {
 		}
 
 		final BigInteger serialNumber = certificateToken.getSerialNumber();
-		X509CRLEntry crlEntry = CRLUtils.getRevocationInfo(crlValidity, serialNumber);
+		X509CRLEntry crlEntry = null;
+		if (deltaCrlValidity != null) {
+			// entries of the delta CRL take precedence over the base CRL ones
+			crlEntry = CRLUtils.getRevocationInfo(deltaCrlValidity, serialNumber);
+			if (crlEntry != null && CRLReason.REMOVE_FROM_CRL == crlEntry.getRevocationReason()) {
+				// the certificate has been released from hold since the base CRL issuance
+				status = CertificateStatus.GOOD;
+				return;
+			}
+		}
+		if (crlEntry == null) {
+			crlEntry = CRLUtils.getRevocationInfo(crlValidity, serialNumber);
+		}
 
 		if (crlEntry != null) {
 			status = CertificateStatus.REVOKED;
@@ -153,7 +239,7 @@ public class CRLToken extends RevocationToken<CRL> {
 	}
 
 	/**
-	 * Returns a {@code CRLValidity}
+	 * Returns a {@code CRLValidity} of the (base) CRL
 	 *
 	 * @return {@link CRLValidity}
 	 */
@@ -161,6 +247,33 @@ public class CRLToken extends RevocationToken<CRL> {
 		return crlValidity;
 	}
 
+	/**
+	 * Returns a {@code CRLValidity} of the delta CRL represented by the token, when applicable
+	 *
+	 * @return {@link CRLValidity}, or null if no delta CRL has been used
+	 */
+	public CRLValidity getDeltaCrlValidity() {
+		return deltaCrlValidity;
+	}
+
+	/**
+	 * Returns a token built from the base CRL, when the current token represents a delta CRL.
+	 * The base CRL and the delta CRL are distinct documents, to be included separately (e.g. into a signature).
+	 *
+	 * @return {@link CRLToken} of the base CRL, or the current token if no delta CRL has been used
+	 */
+	public CRLToken getBaseCRLToken() {
+		if (deltaCrlValidity == null) {
+			return this;
+		}
+		CRLToken crlToken = new CRLToken(relatedCertificate, crlValidity);
+		if (getExternalOrigin() != null) {
+			crlToken.setExternalOrigin(getExternalOrigin());
+		}
+		crlToken.setSourceURL(getSourceURL());
+		return crlToken;
+	}
+
 	@Override
 	public X500Principal getIssuerX500Principal() {
 		if (crlValidity.getIssuerToken() != null) { // if the signature is invalid, the issuer is null
@@ -175,18 +288,24 @@ public class CRLToken extends RevocationToken<CRL> {
 		return crlValidity.getIssuerToken();
 	}
 
+	/**
+	 * Returns the DER encoded binaries of the CRL represented by the token (the delta CRL, when present).
+	 * The binaries of the base CRL are returned by the token from {@code #getBaseCRLToken}.
+	 *
+	 * @return byte array
+	 */
 	@Override
 	public byte[] getEncoded() {
-		return crlValidity.getDerEncoded();
+		return getTokenCrlValidity().getDerEncoded();
 	}
 
 	/**
-	 * Opens InputStream of the CRL binaries
+	 * Opens InputStream of the CRL binaries (the delta CRL, when present)
 	 *
 	 * @return {@link InputStream}
 	 */
 	public InputStream getCRLStream() {
-		return crlValidity.toCRLInputStream();
+		return getTokenCrlValidity().toCRLInputStream();
 	}
 
 	/**
@@ -197,7 +316,13 @@ public class CRLToken extends RevocationToken<CRL> {
 	 */
 	@Override
 	public boolean isValid() {
-		return crlValidity.isValid();
+		return crlValidity.isValid() && (deltaCrlValidity == null || isDeltaCRLValid());
+	}
+
+	private boolean isDeltaCRLValid() {
+		// the Delta CRL Indicator critical extension is processed by the token
+		return deltaCrlValidity.isIssuerX509PrincipalMatches() && deltaCrlValidity.isSignatureIntact()
+				&& deltaCrlValidity.isCrlSignKeyUsage();
 	}
 
 	@Override
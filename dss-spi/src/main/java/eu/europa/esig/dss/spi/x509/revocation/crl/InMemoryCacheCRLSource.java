@@ -0,0 +1,110 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation.crl;
+
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
+import eu.europa.esig.dss.spi.x509.revocation.InMemoryRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+
+import java.util.List;
+
+/**
+ * CRLSource that keeps the parsed CRLs in memory.
+ * <p>
+ * The source is intended to be used as a first level cache in front of another CRLSource
+ * (e.g. {@code JdbcCacheCRLSource} or {@code FileCacheCRLSource}), defined as a proxied source.
+ * A cached CRL is shared between all the certificates referring to the same distribution point.
+ */
+public class InMemoryCacheCRLSource extends InMemoryRevocationSource<CRL> implements CRLSource {
+
+	private static final long serialVersionUID = -6184412253094817470L;
+
+	/**
+	 * Empty constructor.
+	 * The proxied CRLSource can be provided using the {@code #setProxySource} method.
+	 */
+	public InMemoryCacheCRLSource() {
+		super();
+	}
+
+	/**
+	 * Constructor that initializes the in-memory cache CRL source with a proxiedCRLSource provided.
+	 *
+	 * @param proxiedSource {@link CRLSource} to be used to load CRL when the corresponding
+	 *                                      revocation document is not available in the memory.
+	 */
+	public InMemoryCacheCRLSource(CRLSource proxiedSource) {
+		super(proxiedSource);
+	}
+
+	@Override
+	protected RevocationToken<CRL> reconstructToken(RevocationToken<CRL> cachedToken,
+													CertificateToken certificateToken, CertificateToken issuerCertToken) {
+		CRLToken cachedCRLToken = (CRLToken) cachedToken;
+		return new CRLToken(certificateToken, cachedCRLToken.getCrlValidity(), cachedCRLToken.getDeltaCrlValidity());
+	}
+
+	@Override
+	protected long getTokenWeight(RevocationToken<CRL> revocationToken) {
+		CRLToken crlToken = (CRLToken) revocationToken;
+		long weight = getCRLWeight(crlToken.getCrlValidity());
+		if (crlToken.getDeltaCrlValidity() != null) {
+			weight += getCRLWeight(crlToken.getDeltaCrlValidity());
+		}
+		return weight;
+	}
+
+	private long getCRLWeight(CRLValidity crlValidity) {
+		// the length of the binaries is used, so a memory-mapped CRL is not copied into the heap
+		return crlValidity.getCrlBinary().getLength() + crlValidity.getParsedCRLWeight();
+	}
+
+	@Override
+	protected List<String> initRevocationTokenKeys(CertificateToken certificateToken) {
+		return DSSRevocationUtils.getCRLRevocationTokenKeys(certificateToken);
+	}
+
+	@Override
+	protected String getRevocationTokenKey(CertificateToken certificateToken, String urlString) {
+		return DSSRevocationUtils.getCRLRevocationTokenKey(urlString);
+	}
+
+	@Override
+	protected List<String> getRevocationAccessUrls(CertificateToken certificateToken) {
+		return CertificateExtensionsUtils.getCRLAccessUrls(certificateToken);
+	}
+
+	@Override
+	public CRLToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+			boolean forceRefresh) {
+		return (CRLToken) super.getRevocationToken(certificateToken, issuerCertificateToken, forceRefresh);
+	}
+
+	@Override
+	public CRLToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+		return this.getRevocationToken(certificateToken, issuerCertificateToken, false);
+	}
+
+}
@@ -0,0 +1,112 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation.ocsp;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
+import eu.europa.esig.dss.spi.x509.revocation.InMemoryRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.SingleResp;
+
+import java.util.List;
+
+/**
+ * OCSPSource that keeps the parsed OCSP responses in memory.
+ * <p>
+ * The source is intended to be used as a first level cache in front of another OCSPSource
+ * (e.g. {@code JdbcCacheOCSPSource} or {@code FileCacheOCSPSource}), defined as a proxied source.
+ */
+public class InMemoryCacheOCSPSource extends InMemoryRevocationSource<OCSP> implements OCSPSource {
+
+	private static final long serialVersionUID = 2386418837298711384L;
+
+	/**
+	 * The estimated ratio between the heap memory retained by a parsed {@code BasicOCSPResp}
+	 * (ASN.1 objects and the embedded certificates) and its encoded size
+	 */
+	private static final int BASIC_OCSP_RESP_WEIGHT_RATIO = 3;
+
+	/** The estimated heap memory retained by a parsed {@code BasicOCSPResp} independently of its size */
+	private static final long BASIC_OCSP_RESP_BASE_WEIGHT = 2 * 1024;
+
+	/**
+	 * Empty constructor.
+	 * The proxied OCSPSource can be provided using the {@code #setProxySource} method.
+	 */
+	public InMemoryCacheOCSPSource() {
+		super();
+	}
+
+	/**
+	 * Constructor that initializes the in-memory cache OCSP source with a proxiedOCSPSource provided.
+	 *
+	 * @param proxiedSource {@link OCSPSource} to be used to load OCSP when the corresponding
+	 *                                       revocation document is not available in the memory.
+	 */
+	public InMemoryCacheOCSPSource(OCSPSource proxiedSource) {
+		super(proxiedSource);
+	}
+
+	@Override
+	protected RevocationToken<OCSP> reconstructToken(RevocationToken<OCSP> cachedToken,
+													 CertificateToken certificateToken, CertificateToken issuerCertToken) {
+		BasicOCSPResp basicOCSPResp = ((OCSPToken) cachedToken).getBasicOCSPResp();
+		SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(
+				basicOCSPResp, certificateToken, issuerCertToken);
+		return new OCSPToken(basicOCSPResp, latestSingleResponse, certificateToken, issuerCertToken);
+	}
+
+	@Override
+	protected long getTokenWeight(RevocationToken<OCSP> revocationToken) {
+		// only the parsed BasicOCSPResp is kept, the binaries being re-encoded from it
+		return BASIC_OCSP_RESP_BASE_WEIGHT + BASIC_OCSP_RESP_WEIGHT_RATIO * super.getTokenWeight(revocationToken);
+	}
+
+	@Override
+	protected List<String> initRevocationTokenKeys(CertificateToken certificateToken) {
+		return DSSRevocationUtils.getOcspRevocationTokenKeys(certificateToken);
+	}
+
+	@Override
+	protected String getRevocationTokenKey(CertificateToken certificateToken, String urlString) {
+		return DSSRevocationUtils.getOcspRevocationKey(certificateToken, urlString);
+	}
+
+	@Override
+	protected List<String> getRevocationAccessUrls(CertificateToken certificateToken) {
+		return CertificateExtensionsUtils.getOCSPAccessUrls(certificateToken);
+	}
+
+	@Override
+	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+			boolean forceRefresh) {
+		return (OCSPToken) super.getRevocationToken(certificateToken, issuerCertificateToken, forceRefresh);
+	}
+
+	@Override
+	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+		return this.getRevocationToken(certificateToken, issuerCertificateToken, false);
+	}
+
+}
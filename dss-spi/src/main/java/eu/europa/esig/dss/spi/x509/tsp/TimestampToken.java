@@ -36,6 +36,7 @@ import eu.europa.esig.dss.model.ReferenceValidation;
 import eu.europa.esig.dss.model.identifier.TokenIdentifier;
 import eu.europa.esig.dss.model.scope.SignatureScope;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.SignatureVerificationCache;
 import eu.europa.esig.dss.model.x509.Token;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSUtils;
@@ -382,11 +383,34 @@ public class TimestampToken extends Token {
 		return false;
 	}
 	
+	/**
+	 * Checks if the timestamp token is signed by the given publicKey.
+	 * NOTE: The verification of a timestamp is not cached, as it extracts the signature algorithm
+	 *       and the signer's data from the matching certificate
+	 *
+	 * @param certificateToken
+	 *              the candidate to be tested
+	 * @param signatureVerificationCache
+	 *              {@link SignatureVerificationCache} (ignored)
+	 * @return true if this token is signed by the given public key
+	 */
+	@Override
+	public synchronized boolean isSignedBy(final CertificateToken certificateToken,
+										   final SignatureVerificationCache signatureVerificationCache) {
+		return isSignedBy(certificateToken);
+	}
+
 	@Override
 	public synchronized boolean isSignedBy(final PublicKey publicKey) {
 		throw new UnsupportedOperationException("Use method isSignedBy(certificateToken) for a TimestampToken validation!");
 	}
 
+	@Override
+	public synchronized boolean isSignedBy(final PublicKey publicKey,
+										   final SignatureVerificationCache signatureVerificationCache) {
+		throw new UnsupportedOperationException("Use method isSignedBy(certificateToken) for a TimestampToken validation!");
+	}
+
 	/**
 	 * Checks if timestamp is signed by teh given certificate
 	 *
@@ -0,0 +1,134 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.client.http;
+
+import eu.europa.esig.dss.spi.exception.DSSDataLoaderMultipleException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgedRequestExecutorTest {
+
+	private ExecutorService executorService;
+
+	@BeforeEach
+	void init() {
+		executorService = Executors.newCachedThreadPool();
+	}
+
+	@AfterEach
+	void shutdown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	void slowFirstUrlTest() {
+		HedgedRequestExecutor executor = new HedgedRequestExecutor(executorService);
+		executor.setHedgingDelay(50);
+
+		long start = System.currentTimeMillis();
+		String result = executor.execute(Arrays.asList("slow", "fast"), url -> {
+			if ("slow".equals(url)) {
+				Thread.sleep(5000);
+			}
+			return url;
+		});
+		assertEquals("fast", result);
+		assertTrue(System.currentTimeMillis() - start < 5000);
+	}
+
+	@Test
+	void firstUrlRespondsTest() {
+		AtomicInteger counter = new AtomicInteger();
+		HedgedRequestExecutor executor = new HedgedRequestExecutor(executorService);
+		executor.setHedgingDelay(5000);
+
+		String result = executor.execute(Arrays.asList("first", "second"), url -> {
+			counter.incrementAndGet();
+			return url;
+		});
+		assertEquals("first", result);
+		assertEquals(1, counter.get());
+	}
+
+	@Test
+	void failureTriggersNextUrlTest() {
+		HedgedRequestExecutor executor = new HedgedRequestExecutor(executorService);
+		executor.setHedgingDelay(60000);
+
+		long start = System.currentTimeMillis();
+		String result = executor.execute(Arrays.asList("failing", "empty", "valid"), url -> {
+			if ("failing".equals(url)) {
+				throw new IllegalStateException("Failure");
+			} else if ("empty".equals(url)) {
+				return null;
+			}
+			return url;
+		});
+		assertEquals("valid", result);
+		assertTrue(System.currentTimeMillis() - start < 60000);
+	}
+
+	@Test
+	void zeroDelayTest() {
+		HedgedRequestExecutor executor = new HedgedRequestExecutor(executorService);
+		executor.setHedgingDelay(0);
+
+		long start = System.currentTimeMillis();
+		String result = executor.execute(Arrays.asList("first", "second", "third"), url -> {
+			if (!"third".equals(url)) {
+				Thread.sleep(5000);
+			}
+			return url;
+		});
+		assertEquals("third", result);
+		assertTrue(System.currentTimeMillis() - start < 5000);
+	}
+
+	@Test
+	void allFailedTest() {
+		HedgedRequestExecutor executor = new HedgedRequestExecutor(executorService);
+		executor.setHedgingDelay(10);
+
+		DSSDataLoaderMultipleException exception = assertThrows(DSSDataLoaderMultipleException.class,
+				() -> executor.execute(Arrays.asList("first", "second"), url -> {
+					throw new IllegalStateException("Failure " + url);
+				}));
+		assertTrue(exception.getMessage().contains("Failure first"));
+		assertTrue(exception.getMessage().contains("Failure second"));
+	}
+
+	@Test
+	void negativeDelayTest() {
+		HedgedRequestExecutor executor = new HedgedRequestExecutor(executorService);
+		assertThrows(IllegalArgumentException.class, () -> executor.setHedgingDelay(-1));
+	}
+
+}
@@ -0,0 +1,226 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.client.http;
+
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HostCircuitBreakerTest {
+
+	private static final String OCSP_URL = "http://ocsp.example.com/ocsp";
+	private static final String OTHER_OCSP_URL = "http://ocsp.example.com:8080/other";
+	private static final String CRL_URL = "http://crl.example.com/ca.crl";
+
+	@Test
+	void openCircuitTest() {
+		HostCircuitBreaker circuitBreaker = new HostCircuitBreaker();
+		circuitBreaker.setFailureThreshold(3);
+		circuitBreaker.setCoolDownPeriod(60000);
+
+		for (int i = 0; i < 2; i++) {
+			circuitBreaker.assertRequestAllowed(OCSP_URL);
+			circuitBreaker.recordFailure(OCSP_URL);
+		}
+		assertFalse(circuitBreaker.isOpen(OCSP_URL));
+
+		circuitBreaker.assertRequestAllowed(OCSP_URL);
+		circuitBreaker.recordFailure(OCSP_URL);
+		assertTrue(circuitBreaker.isOpen(OCSP_URL));
+		assertTrue(circuitBreaker.isOpen(OTHER_OCSP_URL));
+
+		assertThrows(DSSExternalResourceException.class, () -> circuitBreaker.assertRequestAllowed(OCSP_URL));
+		assertThrows(DSSExternalResourceException.class, () -> circuitBreaker.assertRequestAllowed(OTHER_OCSP_URL));
+
+		// other hosts are not impacted
+		assertFalse(circuitBreaker.isOpen(CRL_URL));
+		circuitBreaker.assertRequestAllowed(CRL_URL);
+
+		circuitBreaker.reset();
+		assertFalse(circuitBreaker.isOpen(OCSP_URL));
+		circuitBreaker.assertRequestAllowed(OCSP_URL);
+	}
+
+	@Test
+	void successResetsFailuresTest() {
+		HostCircuitBreaker circuitBreaker = new HostCircuitBreaker();
+		circuitBreaker.setFailureThreshold(2);
+
+		circuitBreaker.recordFailure(OCSP_URL);
+		circuitBreaker.recordSuccess(OCSP_URL, 10);
+		circuitBreaker.recordFailure(OCSP_URL);
+		assertFalse(circuitBreaker.isOpen(OCSP_URL));
+
+		circuitBreaker.recordFailure(OCSP_URL);
+		assertTrue(circuitBreaker.isOpen(OCSP_URL));
+	}
+
+	@Test
+	void halfOpenTest() {
+		HostCircuitBreaker circuitBreaker = new HostCircuitBreaker();
+		circuitBreaker.setFailureThreshold(1);
+		circuitBreaker.setCoolDownPeriod(0);
+
+		circuitBreaker.recordFailure(OCSP_URL);
+
+		// the cool-down period has elapsed : a single trial request is allowed
+		circuitBreaker.assertRequestAllowed(OCSP_URL);
+		assertThrows(DSSExternalResourceException.class, () -> circuitBreaker.assertRequestAllowed(OCSP_URL));
+
+		// the trial failed
+		circuitBreaker.recordFailure(OCSP_URL);
+		circuitBreaker.assertRequestAllowed(OCSP_URL);
+
+		// the trial succeeded
+		circuitBreaker.recordSuccess(OCSP_URL, 10);
+		assertFalse(circuitBreaker.isOpen(OCSP_URL));
+		circuitBreaker.assertRequestAllowed(OCSP_URL);
+		circuitBreaker.assertRequestAllowed(OCSP_URL);
+	}
+
+	@Test
+	void cancellationTest() {
+		HostCircuitBreaker circuitBreaker = new HostCircuitBreaker();
+		circuitBreaker.setFailureThreshold(2);
+		circuitBreaker.setCoolDownPeriod(0);
+
+		// cancelled requests are not counted as failures
+		circuitBreaker.recordFailure(OCSP_URL);
+		circuitBreaker.recordCancellation(OCSP_URL);
+		circuitBreaker.recordCancellation(OCSP_URL);
+		assertFalse(circuitBreaker.isOpen(OCSP_URL));
+		circuitBreaker.recordCancellation(CRL_URL);
+		assertFalse(circuitBreaker.isOpen(CRL_URL));
+
+		circuitBreaker.recordFailure(OCSP_URL);
+
+		// a cancelled trial request releases the trial without closing the circuit
+		circuitBreaker.assertRequestAllowed(OCSP_URL);
+		assertThrows(DSSExternalResourceException.class, () -> circuitBreaker.assertRequestAllowed(OCSP_URL));
+		circuitBreaker.recordCancellation(OCSP_URL);
+		circuitBreaker.assertRequestAllowed(OCSP_URL);
+		assertThrows(DSSExternalResourceException.class, () -> circuitBreaker.assertRequestAllowed(OCSP_URL));
+	}
+
+	@Test
+	void adaptiveTimeoutTest() {
+		HostCircuitBreaker circuitBreaker = new HostCircuitBreaker();
+		circuitBreaker.setLatencyPercentile(0.9);
+		circuitBreaker.setTimeoutMultiplier(2);
+		circuitBreaker.setMinimumTimeout(100);
+
+		assertEquals(60000, circuitBreaker.getTimeout(OCSP_URL, 60000));
+
+		for (int i = 1; i <= 9; i++) {
+			circuitBreaker.recordSuccess(OCSP_URL, i * 100);
+		}
+		// not enough samples
+		assertEquals(60000, circuitBreaker.getTimeout(OCSP_URL, 60000));
+
+		circuitBreaker.recordSuccess(OCSP_URL, 1000);
+		assertEquals(1800, circuitBreaker.getTimeout(OCSP_URL, 60000));
+		assertEquals(1000, circuitBreaker.getTimeout(OCSP_URL, 1000));
+		assertEquals(1800, circuitBreaker.getTimeout(OCSP_URL, 0));
+		assertEquals(60000, circuitBreaker.getTimeout(CRL_URL, 60000));
+
+		for (int i = 0; i < 100; i++) {
+			circuitBreaker.recordSuccess(OCSP_URL, 10);
+		}
+		assertEquals(100, circuitBreaker.getTimeout(OCSP_URL, 60000));
+	}
+
+	@Test
+	void configuredTimeoutAfterFailureTest() {
+		HostCircuitBreaker circuitBreaker = new HostCircuitBreaker();
+		circuitBreaker.setFailureThreshold(1);
+		circuitBreaker.setCoolDownPeriod(0);
+		circuitBreaker.setMinimumTimeout(100);
+
+		for (int i = 0; i < 10; i++) {
+			circuitBreaker.recordSuccess(OCSP_URL, 10);
+		}
+		assertEquals(100, circuitBreaker.getTimeout(OCSP_URL, 60000));
+
+		// the host became slower : the trial request uses the configured timeout
+		circuitBreaker.recordFailure(OCSP_URL);
+		assertEquals(60000, circuitBreaker.getTimeout(OCSP_URL, 60000));
+		circuitBreaker.assertRequestAllowed(OCSP_URL);
+		assertEquals(60000, circuitBreaker.getTimeout(OCSP_URL, 60000));
+
+		circuitBreaker.recordSuccess(OCSP_URL, 10);
+		assertEquals(100, circuitBreaker.getTimeout(OCSP_URL, 60000));
+	}
+
+	@Test
+	void maximumHostNumberTest() {
+		HostCircuitBreaker circuitBreaker = new HostCircuitBreaker();
+		circuitBreaker.setFailureThreshold(1);
+		circuitBreaker.setCoolDownPeriod(60000);
+		circuitBreaker.setMaximumHostNumber(2);
+
+		circuitBreaker.recordFailure(OCSP_URL);
+		circuitBreaker.recordSuccess(CRL_URL, 10);
+		assertEquals(2, circuitBreaker.getHostNumber());
+		assertTrue(circuitBreaker.isOpen(OCSP_URL));
+
+		// the least recently requested host is forgotten
+		circuitBreaker.recordSuccess("http://tsa.example.com/tsa", 10);
+		assertEquals(2, circuitBreaker.getHostNumber());
+		assertFalse(circuitBreaker.isOpen(OCSP_URL));
+
+		for (int i = 0; i < 100; i++) {
+			circuitBreaker.recordFailure("http://host" + i + ".example.com");
+		}
+		assertEquals(2, circuitBreaker.getHostNumber());
+	}
+
+	@Test
+	void isCancellationTest() {
+		assertTrue(HostCircuitBreaker.isCancellation(new InterruptedException()));
+		assertTrue(HostCircuitBreaker.isCancellation(new DSSExternalResourceException(new InterruptedIOException())));
+		assertTrue(HostCircuitBreaker.isCancellation(new CancellationException()));
+		assertFalse(HostCircuitBreaker.isCancellation(new SocketTimeoutException()));
+		assertFalse(HostCircuitBreaker.isCancellation(new IOException()));
+		assertFalse(HostCircuitBreaker.isCancellation(null));
+	}
+
+	@Test
+	void invalidConfigurationTest() {
+		HostCircuitBreaker circuitBreaker = new HostCircuitBreaker();
+		assertThrows(IllegalArgumentException.class, () -> circuitBreaker.setFailureThreshold(0));
+		assertThrows(IllegalArgumentException.class, () -> circuitBreaker.setCoolDownPeriod(-1));
+		assertThrows(IllegalArgumentException.class, () -> circuitBreaker.setLatencySampleSize(1));
+		assertThrows(IllegalArgumentException.class, () -> circuitBreaker.setLatencyPercentile(0));
+		assertThrows(IllegalArgumentException.class, () -> circuitBreaker.setTimeoutMultiplier(0.5));
+		assertThrows(IllegalArgumentException.class, () -> circuitBreaker.setMinimumTimeout(-1));
+		assertThrows(IllegalArgumentException.class, () -> circuitBreaker.setMaximumHostNumber(0));
+	}
+
+}
@@ -33,6 +33,7 @@ import java.net.URLConnection;
 import java.time.Duration;
 import java.util.concurrent.Callable;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
@@ -115,6 +116,33 @@ class NativeHTTPDataLoaderTest {
 		}
 	}
 
+	@Test
+	void interruptedRequestIsNotAFailureTest() {
+		HostCircuitBreaker circuitBreaker = new HostCircuitBreaker();
+		circuitBreaker.setFailureThreshold(1);
+		circuitBreaker.setCoolDownPeriod(60000);
+
+		NativeHTTPDataLoader dataLoader = new NativeHTTPDataLoader() {
+
+			private static final long serialVersionUID = -4339018442170584096L;
+
+			@Override
+			protected Callable<ResponseEnvelope> createNativeHTTPDataLoaderCall(String url, HttpMethod method, byte[] content, boolean refresh,
+																				boolean includeResponseDetails, boolean includeResponseBody) {
+				return () -> {
+					throw new InterruptedException("Interrupted");
+				};
+			}
+
+		};
+		dataLoader.setHostCircuitBreaker(circuitBreaker);
+
+		assertThrows(DSSException.class, () -> dataLoader.get("http://localhost:9090"));
+		assertFalse(circuitBreaker.isOpen("http://localhost:9090"));
+		assertThrows(DSSException.class, () -> dataLoader.get("http://localhost:9090"));
+		assertFalse(circuitBreaker.isOpen("http://localhost:9090"));
+	}
+
 	private static class MockNativeHTTPDataLoader extends NativeHTTPDataLoader {
 
 		private static final long serialVersionUID = 8366723398612401709L;
@@ -203,4 +203,47 @@ class TrustedListsCertificateSourceTest {
 		assertFalse(trustTime.isTrustedAtTime(futureTime));
 	}
 
+	@Test
+	void setTrustByCertificatesTest() {
+		TrustedListsCertificateSource trustedCertSource = new TrustedListsCertificateSource();
+
+		Map<CertificateToken, List<TrustProperties>> trustPropertiesMap = new HashMap<>();
+		trustPropertiesMap.put(CERT, new ArrayList<>());
+
+		Calendar calendar = Calendar.getInstance();
+		calendar.add(Calendar.YEAR, -1);
+		Date startDate = calendar.getTime();
+		calendar.add(Calendar.YEAR, 2);
+		Date sunsetDate = calendar.getTime();
+
+		Map<CertificateToken, List<CertificateTrustTime>> certTrustTimeMap = new HashMap<>();
+		List<CertificateTrustTime> certificateTrustTimeList = new ArrayList<>();
+		certificateTrustTimeList.add(new CertificateTrustTime(startDate, sunsetDate));
+		certTrustTimeMap.put(CERT, certificateTrustTimeList);
+
+		trustedCertSource.setTrustByCertificates(trustPropertiesMap, certTrustTimeMap);
+
+		assertTrue(trustedCertSource.isTrusted(CERT));
+		assertEquals(1, trustedCertSource.getNumberOfCertificates());
+		assertEquals(1, trustedCertSource.getNumberOfTrustedEntityKeys());
+		assertEquals(startDate, trustedCertSource.getTrustTime(CERT).getStartDate());
+		assertEquals(sunsetDate, trustedCertSource.getTrustTime(CERT).getEndDate());
+
+		// published lists cannot be altered by the callers
+		List<TrustProperties> trustServices = trustedCertSource.getTrustServices(CERT);
+		assertThrows(UnsupportedOperationException.class, () -> trustServices.add(null));
+
+		// previously published data shall not be affected by the source maps
+		trustPropertiesMap.clear();
+		certTrustTimeMap.clear();
+		assertTrue(trustedCertSource.isTrusted(CERT));
+
+		// a synchronization replaces the whole content
+		trustedCertSource.setTrustByCertificates(new HashMap<>(), new HashMap<>());
+		assertFalse(trustedCertSource.isTrusted(CERT));
+		assertEquals(0, trustedCertSource.getNumberOfCertificates());
+		assertEquals(0, trustedCertSource.getNumberOfTrustedEntityKeys());
+		assertTrue(trustedCertSource.getTrustServices(CERT).isEmpty());
+	}
+
 }
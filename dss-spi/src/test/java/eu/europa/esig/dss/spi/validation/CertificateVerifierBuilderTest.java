@@ -27,6 +27,7 @@ import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
 import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
 import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.spi.x509.InMemorySignatureVerificationCache;
 import eu.europa.esig.dss.spi.x509.aia.DefaultAIASource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import eu.europa.esig.dss.spi.x509.revocation.crl.OfflineCRLSource;
@@ -34,6 +35,7 @@ import eu.europa.esig.dss.spi.x509.revocation.ocsp.OfflineOCSPSource;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -52,6 +54,9 @@ class CertificateVerifierBuilderTest {
         assertEquals(certificateVerifier.getOcspSource(), copy.getOcspSource());
         assertEquals(certificateVerifier.getRevocationDataLoadingStrategyFactory(), copy.getRevocationDataLoadingStrategyFactory());
         assertEquals(certificateVerifier.isRevocationFallback(), copy.isRevocationFallback());
+        assertEquals(certificateVerifier.getRevocationDataLoadingExecutorService(), copy.getRevocationDataLoadingExecutorService());
+        assertEquals(certificateVerifier.getRevocationDataLoadingTimeout(), copy.getRevocationDataLoadingTimeout());
+        assertEquals(certificateVerifier.getSignatureVerificationCache(), copy.getSignatureVerificationCache());
         assertEquals(certificateVerifier.getRevocationDataVerifier(), copy.getRevocationDataVerifier());
         assertEquals(certificateVerifier.isCheckRevocationForUntrustedChains(), copy.isCheckRevocationForUntrustedChains());
         assertEquals(certificateVerifier.getTimestampTokenVerifier(), copy.getTimestampTokenVerifier());
@@ -92,6 +97,8 @@ class CertificateVerifierBuilderTest {
         assertNull(copy.getOcspSource());
         assertNotNull(copy.getRevocationDataLoadingStrategyFactory()); // not relevant for offline validation
         assertFalse(copy.isRevocationFallback());
+        assertNull(copy.getRevocationDataLoadingExecutorService());
+        assertEquals(certificateVerifier.getSignatureVerificationCache(), copy.getSignatureVerificationCache());
         assertFalse(copy.isCheckRevocationForUntrustedChains());
         assertEquals(certificateVerifier.getAlertOnInvalidSignature(), copy.getAlertOnInvalidSignature());
         assertEquals(certificateVerifier.getAlertOnInvalidTimestamp(), copy.getAlertOnInvalidTimestamp());
@@ -127,6 +134,8 @@ class CertificateVerifierBuilderTest {
         assertNull(copy.getOcspSource());
         assertNotNull(copy.getRevocationDataLoadingStrategyFactory()); // not relevant for offline validation
         assertFalse(copy.isRevocationFallback());
+        assertNull(copy.getRevocationDataLoadingExecutorService());
+        assertEquals(certificateVerifier.getSignatureVerificationCache(), copy.getSignatureVerificationCache());
         assertFalse(copy.isCheckRevocationForUntrustedChains());
         assertNull(copy.getAlertOnInvalidSignature());
         assertNull(copy.getAlertOnInvalidTimestamp());
@@ -192,6 +201,9 @@ class CertificateVerifierBuilderTest {
         certificateVerifier.setTimestampTokenVerifier(TimestampTokenVerifier.createDefaultTimestampTokenVerifier());
         certificateVerifier.setTrustAnchorVerifier(TrustAnchorVerifier.createDefaultTrustAnchorVerifier());
         certificateVerifier.setRevocationFallback(true);
+        certificateVerifier.setRevocationDataLoadingExecutorService(Executors.newSingleThreadExecutor());
+        certificateVerifier.setRevocationDataLoadingTimeout(5000);
+        certificateVerifier.setSignatureVerificationCache(new InMemorySignatureVerificationCache());
         certificateVerifier.setCheckRevocationForUntrustedChains(true);
         certificateVerifier.setAdjunctCertSources(new CommonCertificateSource());
         certificateVerifier.setTrustedCertSources(new CommonTrustedCertificateSource());
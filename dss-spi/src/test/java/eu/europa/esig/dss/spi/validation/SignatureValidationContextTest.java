@@ -23,9 +23,11 @@ package eu.europa.esig.dss.spi.validation;
 import eu.europa.esig.dss.alert.ExceptionOnStatusAlert;
 import eu.europa.esig.dss.alert.SilentOnStatusAlert;
 import eu.europa.esig.dss.enumerations.TimestampType;
+import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.SignatureCertificateSource;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
@@ -35,6 +37,9 @@ import eu.europa.esig.dss.spi.signature.AdvancedSignature;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
 import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
 import eu.europa.esig.dss.spi.x509.aia.DefaultAIASource;
+import eu.europa.esig.dss.spi.x509.revocation.RepositoryRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import eu.europa.esig.dss.spi.x509.revocation.crl.ExternalResourcesCRLSource;
 import eu.europa.esig.dss.spi.x509.revocation.crl.OfflineCRLSource;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.ExternalResourcesOCSPSource;
@@ -45,15 +50,21 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.security.PublicKey;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -640,6 +651,76 @@ class SignatureValidationContextTest {
 		assertFalse(validationContext.checkAllSignaturesNotExpired());
 	}
 
+	@Test
+	void concurrentRevocationDataLoadingTest() {
+		CertificateToken certToValidate = DSSUtils.loadCertificate(new File("src/test/resources/TSA_BE.cer"));
+		CertificateToken caCert = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrca2-self-sign.crt"));
+
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			MockCRLSource crlSource = new MockCRLSource(new FileDocument("src/test/resources/crl/belgium2.crl"), 0);
+
+			CertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+			certificateVerifier.setCrlSource(crlSource);
+			certificateVerifier.setCheckRevocationForUntrustedChains(true);
+			certificateVerifier.setRevocationFallback(true);
+			certificateVerifier.setRevocationDataLoadingExecutorService(executorService);
+			certificateVerifier.setRevocationDataLoadingTimeout(10000);
+
+			SignatureValidationContext validationContext = new SignatureValidationContext();
+			validationContext.initialize(certificateVerifier);
+			validationContext.addCertificateTokenForVerification(certToValidate);
+			validationContext.addCertificateTokenForVerification(caCert);
+			validationContext.validate();
+
+			assertEquals(1, crlSource.threadNames.size());
+			assertNotEquals(Thread.currentThread().getName(), crlSource.threadNames.get(0));
+			assertEquals(1, validationContext.getProcessedRevocations().size());
+
+			certificateVerifier.setAlertOnMissingRevocationData(new SilentOnStatusAlert());
+			assertTrue(validationContext.checkAllRequiredRevocationDataPresent());
+
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	void concurrentRevocationDataLoadingTimeoutTest() {
+		CertificateToken certToValidate = DSSUtils.loadCertificate(new File("src/test/resources/TSA_BE.cer"));
+		CertificateToken caCert = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrca2-self-sign.crt"));
+
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			MockCRLSource crlSource = new MockCRLSource(new FileDocument("src/test/resources/crl/belgium2.crl"), 10000);
+
+			CertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+			certificateVerifier.setCrlSource(crlSource);
+			certificateVerifier.setCheckRevocationForUntrustedChains(true);
+			certificateVerifier.setRevocationFallback(true);
+			certificateVerifier.setRevocationDataLoadingExecutorService(executorService);
+			certificateVerifier.setRevocationDataLoadingTimeout(100);
+
+			SignatureValidationContext validationContext = new SignatureValidationContext();
+			validationContext.initialize(certificateVerifier);
+			validationContext.addCertificateTokenForVerification(certToValidate);
+			validationContext.addCertificateTokenForVerification(caCert);
+
+			long startTime = System.currentTimeMillis();
+			validationContext.validate();
+			assertTrue(System.currentTimeMillis() - startTime < 5000);
+
+			assertEquals(1, crlSource.threadNames.size());
+			assertEquals(0, validationContext.getProcessedRevocations().size());
+
+			certificateVerifier.setAlertOnMissingRevocationData(new SilentOnStatusAlert());
+			assertFalse(validationContext.checkAllRequiredRevocationDataPresent());
+
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
 	private static class MockAIASource extends DefaultAIASource {
 
 		private static final long serialVersionUID = -5890796098843749473L;
@@ -657,4 +738,156 @@ class SignatureValidationContextTest {
 
 	}
 
+	@Test
+	void chainRevocationDataLoadingTest() {
+		CertificateToken certToValidate = DSSUtils.loadCertificate(new File("src/test/resources/TSA_BE.cer"));
+		CertificateToken caCert = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrca2-self-sign.crt"));
+
+		MockCRLSource onlineCrlSource = new MockCRLSource(new FileDocument("src/test/resources/crl/belgium2.crl"), 0);
+		MockRepositoryCRLSource crlSource = new MockRepositoryCRLSource(onlineCrlSource.getRevocationToken(certToValidate, caCert));
+		crlSource.setProxySource(onlineCrlSource);
+
+		CertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		certificateVerifier.setCrlSource(crlSource);
+		certificateVerifier.setCheckRevocationForUntrustedChains(true);
+		certificateVerifier.setRevocationFallback(true);
+
+		SignatureValidationContext validationContext = new SignatureValidationContext();
+		validationContext.initialize(certificateVerifier);
+		validationContext.setChainRevocationDataLoading(true);
+		validationContext.addCertificateTokenForVerification(certToValidate);
+		validationContext.addCertificateTokenForVerification(caCert);
+		validationContext.validate();
+
+		// the cache is requested once for the whole chain, without online request
+		assertEquals(1, crlSource.chainRequests.size());
+		assertEquals(Collections.singleton(certToValidate), crlSource.chainRequests.get(0));
+		assertEquals(0, crlSource.singleRequests);
+		assertEquals(1, onlineCrlSource.threadNames.size()); // the request preparing the cached token
+		assertEquals(1, validationContext.getProcessedRevocations().size());
+		assertTrue(validationContext.checkAllRequiredRevocationDataPresent());
+	}
+
+	@Test
+	void chainRevocationDataLoadingDisabledByDefaultTest() {
+		CertificateToken certToValidate = DSSUtils.loadCertificate(new File("src/test/resources/TSA_BE.cer"));
+		CertificateToken caCert = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrca2-self-sign.crt"));
+
+		MockCRLSource onlineCrlSource = new MockCRLSource(new FileDocument("src/test/resources/crl/belgium2.crl"), 0);
+		MockRepositoryCRLSource crlSource = new MockRepositoryCRLSource(onlineCrlSource.getRevocationToken(certToValidate, caCert));
+		crlSource.setProxySource(onlineCrlSource);
+
+		CertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		certificateVerifier.setCrlSource(crlSource);
+		certificateVerifier.setCheckRevocationForUntrustedChains(true);
+		certificateVerifier.setRevocationFallback(true);
+
+		SignatureValidationContext validationContext = new SignatureValidationContext();
+		validationContext.initialize(certificateVerifier);
+		validationContext.addCertificateTokenForVerification(certToValidate);
+		validationContext.addCertificateTokenForVerification(caCert);
+		validationContext.validate();
+
+		// the revocation data is requested per certificate
+		assertEquals(0, crlSource.chainRequests.size());
+		assertEquals(1, crlSource.singleRequests);
+		assertEquals(1, validationContext.getProcessedRevocations().size());
+	}
+
+	@SuppressWarnings("serial")
+	private static class MockRepositoryCRLSource extends RepositoryRevocationSource<CRL> {
+
+		private final RevocationToken<CRL> cachedRevocationToken;
+		private final List<Set<CertificateToken>> chainRequests = new ArrayList<>();
+		private int singleRequests;
+
+		public MockRepositoryCRLSource(RevocationToken<CRL> cachedRevocationToken) {
+			this.cachedRevocationToken = cachedRevocationToken;
+		}
+
+		@Override
+		protected Map<CertificateToken, Map<String, List<RevocationToken<CRL>>>> findRevocations(
+				Map<CertificateToken, CertificateToken> issuers) {
+			chainRequests.add(new HashSet<>(issuers.keySet()));
+			Map<CertificateToken, Map<String, List<RevocationToken<CRL>>>> result = new HashMap<>();
+			for (CertificateToken certificateToken : issuers.keySet()) {
+				result.put(certificateToken, Collections.singletonMap("key", Collections.singletonList(cachedRevocationToken)));
+			}
+			return result;
+		}
+
+		@Override
+		protected List<RevocationToken<CRL>> findRevocations(String key, CertificateToken certificateToken,
+															 CertificateToken issuerCertificateToken) {
+			++singleRequests;
+			return Collections.emptyList();
+		}
+
+		@Override
+		protected boolean isNotExpired(RevocationToken<CRL> revocationToken, CertificateToken certificateTokenIssuer) {
+			return true;
+		}
+
+		@Override
+		protected List<String> initRevocationTokenKeys(CertificateToken certificateToken) {
+			return Collections.singletonList("key");
+		}
+
+		@Override
+		protected void insertRevocation(String revocationKey, RevocationToken<CRL> token) {
+			// not implemented
+		}
+
+		@Override
+		protected void updateRevocation(String revocationKey, RevocationToken<CRL> token) {
+			// not implemented
+		}
+
+		@Override
+		protected void removeRevocation(String revocationKey) {
+			// not implemented
+		}
+
+		@Override
+		protected List<String> getRevocationAccessUrls(CertificateToken certificateToken) {
+			return Collections.emptyList();
+		}
+
+		@Override
+		protected String getRevocationTokenKey(CertificateToken certificateToken, String urlString) {
+			return "key";
+		}
+
+	}
+
+	private static class MockCRLSource implements RevocationSource<CRL> {
+
+		private static final long serialVersionUID = 4618475016237385283L;
+
+		private final DSSDocument crl;
+		private final long delay;
+		private final List<String> threadNames = Collections.synchronizedList(new ArrayList<>());
+
+		public MockCRLSource(DSSDocument crl, long delay) {
+			this.crl = crl;
+			this.delay = delay;
+		}
+
+		@Override
+		public RevocationToken<CRL> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			threadNames.add(Thread.currentThread().getName());
+			if (delay > 0) {
+				try {
+					Thread.sleep(delay);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return null;
+				}
+			}
+			OfflineCRLSource crlSource = new ExternalResourcesCRLSource(crl);
+			return crlSource.getRevocationTokens(certificateToken, issuerCertificateToken).iterator().next();
+		}
+
+	}
+
 }
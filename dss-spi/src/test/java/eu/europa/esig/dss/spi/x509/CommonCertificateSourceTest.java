@@ -154,4 +154,28 @@ class CommonCertificateSourceTest {
 		assertTrue(ccTwo.isCertificateSourceEquivalent(ccOne));
 	}
 
+	@Test
+	void publishedIndexIsNotModifiedTest() {
+		CommonCertificateSource ccc = new CommonCertificateSource();
+		ccc.addCertificate(SAME_PK_CERT_1);
+
+		CommonCertificateSource.CertificateIndex indexBeforeAdd = ccc.getCertificateIndex();
+		assertEquals(1, indexBeforeAdd.getCertificates().size());
+
+		ccc.addCertificate(SAME_PK_CERT_2);
+		assertEquals(2, ccc.getNumberOfCertificates());
+		assertEquals(1, ccc.getNumberOfEntities());
+		assertEquals(1, indexBeforeAdd.getCertificates().size());
+		assertTrue(indexBeforeAdd.contains(SAME_PK_CERT_1));
+		assertFalse(indexBeforeAdd.contains(SAME_PK_CERT_2));
+
+		CommonCertificateSource.CertificateIndex indexBeforeRemove = ccc.getCertificateIndex();
+		ccc.removeCertificate(SAME_PK_CERT_2);
+		assertEquals(1, ccc.getNumberOfCertificates());
+		assertFalse(ccc.getCertificateIndex().contains(SAME_PK_CERT_2));
+		assertEquals(2, indexBeforeRemove.getCertificates().size());
+		assertTrue(indexBeforeRemove.contains(SAME_PK_CERT_2));
+		assertTrue(indexBeforeRemove.isKnown(SAME_PK_CERT_2));
+	}
+
 }
@@ -0,0 +1,117 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.enumerations.SignatureValidity;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemorySignatureVerificationCacheTest {
+
+	@Test
+	void test() {
+		InMemorySignatureVerificationCache cache = new InMemorySignatureVerificationCache();
+
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		CertificateToken issuer = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+		assertFalse(cache.isVerified(certificate, issuer.getPublicKey()));
+
+		assertTrue(certificate.isSignedBy(issuer, cache));
+		assertTrue(cache.isVerified(certificate, issuer.getPublicKey()));
+		assertEquals(1, cache.size());
+
+		// new instance of the same certificate
+		CertificateToken sameCertificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		assertTrue(cache.isVerified(sameCertificate, issuer.getPublicKey()));
+		assertTrue(sameCertificate.isSignedBy(issuer, cache));
+		assertEquals(SignatureValidity.VALID, sameCertificate.getSignatureValidity());
+		assertEquals(issuer.getPublicKey(), sameCertificate.getPublicKeyOfTheSigner());
+		assertEquals(1, cache.size());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertFalse(cache.isVerified(sameCertificate, issuer.getPublicKey()));
+	}
+
+	@Test
+	void invalidSignatureNotCachedTest() {
+		InMemorySignatureVerificationCache cache = new InMemorySignatureVerificationCache();
+
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		CertificateToken wrongIssuer = DSSUtils.loadCertificate(new File("src/test/resources/TSP_Certificate_2014.crt"));
+		assertFalse(certificate.isSignedBy(wrongIssuer, cache));
+		assertFalse(cache.isVerified(certificate, wrongIssuer.getPublicKey()));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void cachedVerificationRestoresStateTest() {
+		InMemorySignatureVerificationCache cache = new InMemorySignatureVerificationCache();
+
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		CertificateToken issuer = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+		CertificateToken wrongIssuer = DSSUtils.loadCertificate(new File("src/test/resources/TSP_Certificate_2014.crt"));
+		cache.registerVerified(certificate, issuer.getPublicKey());
+
+		CertificateToken sameCertificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		assertFalse(sameCertificate.isSignedBy(wrongIssuer, cache));
+		assertEquals(SignatureValidity.INVALID, sameCertificate.getSignatureValidity());
+		assertNotEquals("", sameCertificate.getInvalidityReason());
+		assertNull(sameCertificate.getIssuerEntityKey());
+
+		assertTrue(sameCertificate.isSignedBy(issuer, cache));
+		assertEquals(SignatureValidity.VALID, sameCertificate.getSignatureValidity());
+		assertEquals("", sameCertificate.getInvalidityReason());
+		assertEquals(issuer.getPublicKey(), sameCertificate.getPublicKeyOfTheSigner());
+		assertEquals(issuer.getEntityKey(), sameCertificate.getIssuerEntityKey());
+		assertTrue(sameCertificate.isSignedBy(issuer));
+	}
+
+	@Test
+	void maxSizeTest() {
+		InMemorySignatureVerificationCache cache = new InMemorySignatureVerificationCache(1);
+
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		CertificateToken issuer = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+		CertificateToken rootCA = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrca2-self-sign.crt"));
+
+		cache.registerVerified(certificate, issuer.getPublicKey());
+		assertTrue(cache.isVerified(certificate, issuer.getPublicKey()));
+
+		cache.registerVerified(rootCA, rootCA.getPublicKey());
+		assertTrue(cache.isVerified(rootCA, rootCA.getPublicKey()));
+		assertFalse(cache.isVerified(certificate, issuer.getPublicKey()));
+		assertEquals(1, cache.size());
+
+		assertThrows(IllegalArgumentException.class, () -> new InMemorySignatureVerificationCache(0));
+	}
+
+}
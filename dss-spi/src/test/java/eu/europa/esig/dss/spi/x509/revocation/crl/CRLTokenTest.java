@@ -23,24 +23,50 @@ package eu.europa.esig.dss.spi.x509.revocation.crl;
 import eu.europa.esig.dss.crl.CRLBinary;
 import eu.europa.esig.dss.crl.CRLUtils;
 import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.enumerations.CertificateStatus;
+import eu.europa.esig.dss.enumerations.RevocationReason;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.validation.ValidationData;
 import eu.europa.esig.dss.utils.Utils;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLNumber;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.IssuingDistributionPoint;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
-
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CRLTokenTest {
 
+	private static final String CA_NAME = "CN=Delta CRL CA,O=DSS-test";
+
+	private static final String USER_NAME = "CN=Delta CRL user,O=DSS-test";
+
 	@Test
 	void testOK() throws IOException {
 		FileDocument doc = new FileDocument("src/test/resources/crl/belgium2.crl");
@@ -105,4 +131,120 @@ class CRLTokenTest {
 		assertThrows(DSSException.class, () -> new CRLToken(caCert, crlValidity));
 	}
 
+	@Test
+	void deltaCRL() throws Exception {
+		KeyPair caKeyPair = generateKeyPair();
+		CertificateToken caCert = buildCertificate(BigInteger.ONE, CA_NAME, caKeyPair, caKeyPair.getPublic(), true);
+
+		KeyPair userKeyPair = generateKeyPair();
+		CertificateToken heldCert = buildCertificate(BigInteger.valueOf(10), USER_NAME, caKeyPair, userKeyPair.getPublic(), false);
+		CertificateToken revokedCert = buildCertificate(BigInteger.valueOf(20), USER_NAME, caKeyPair, userKeyPair.getPublic(), false);
+		CertificateToken newlyRevokedCert = buildCertificate(BigInteger.valueOf(30), USER_NAME, caKeyPair, userKeyPair.getPublic(), false);
+
+		Date baseThisUpdate = new Date(System.currentTimeMillis() - 3600000L);
+		X509v2CRLBuilder baseBuilder = new X509v2CRLBuilder(new X500Name(CA_NAME), baseThisUpdate);
+		baseBuilder.setNextUpdate(new Date(baseThisUpdate.getTime() + 7 * 86400000L));
+		baseBuilder.addCRLEntry(heldCert.getSerialNumber(), baseThisUpdate, CRLReason.certificateHold);
+		baseBuilder.addCRLEntry(revokedCert.getSerialNumber(), baseThisUpdate, CRLReason.keyCompromise);
+		baseBuilder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.ONE));
+		CRLValidity baseCrl = buildCRLValidity(baseBuilder, caKeyPair, caCert);
+		assertFalse(baseCrl.isDeltaCRL());
+		assertEquals(BigInteger.ONE, baseCrl.getCRLNumber());
+
+		Date deltaThisUpdate = new Date();
+		X509v2CRLBuilder deltaBuilder = new X509v2CRLBuilder(new X500Name(CA_NAME), deltaThisUpdate);
+		deltaBuilder.setNextUpdate(new Date(deltaThisUpdate.getTime() + 3600000L));
+		deltaBuilder.addCRLEntry(heldCert.getSerialNumber(), deltaThisUpdate, CRLReason.removeFromCRL);
+		deltaBuilder.addCRLEntry(newlyRevokedCert.getSerialNumber(), deltaThisUpdate, CRLReason.superseded);
+		deltaBuilder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.valueOf(2)));
+		deltaBuilder.addExtension(Extension.deltaCRLIndicator, true, new CRLNumber(BigInteger.ONE));
+		CRLValidity deltaCrl = buildCRLValidity(deltaBuilder, caKeyPair, caCert);
+		assertTrue(deltaCrl.isDeltaCRL());
+		assertEquals(BigInteger.ONE, deltaCrl.getBaseCRLNumber());
+
+		assertEquals(CertificateStatus.REVOKED, new CRLToken(heldCert, baseCrl).getStatus());
+		CRLToken crlToken = new CRLToken(heldCert, baseCrl, deltaCrl);
+		assertEquals(CertificateStatus.GOOD, crlToken.getStatus());
+		assertEquals(deltaCrl, crlToken.getDeltaCrlValidity());
+		// the token represents the delta CRL, the base CRL has its own token
+		CRLToken baseCrlToken = new CRLToken(heldCert, baseCrl);
+		assertNotEquals(baseCrlToken.getDSSId(), crlToken.getDSSId());
+		assertNotEquals(baseCrlToken, crlToken);
+		assertEquals(crlToken.getDSSId(), new CRLToken(heldCert, baseCrl, deltaCrl).getDSSId());
+		assertEquals(new CRLToken(heldCert, deltaCrl).getDSSId(), crlToken.getDSSId());
+		assertArrayEquals(deltaCrl.getDerEncoded(), crlToken.getEncoded());
+		assertArrayEquals(deltaCrl.getDerEncoded(), DSSUtils.toByteArray(crlToken.getCRLStream()));
+		assertEquals(BigInteger.valueOf(2), crlToken.getCRLNumber());
+		assertEquals(baseCrlToken.getDSSId(), crlToken.getBaseCRLToken().getDSSId());
+		assertArrayEquals(baseCrl.getDerEncoded(), crlToken.getBaseCRLToken().getEncoded());
+		assertNull(crlToken.getBaseCRLToken().getDeltaCrlValidity());
+		assertSame(baseCrlToken, baseCrlToken.getBaseCRLToken());
+
+		// both CRLs are included into the validation data
+		ValidationData validationData = new ValidationData();
+		assertTrue(validationData.addToken(crlToken));
+		assertEquals(2, validationData.getCrlTokens().size());
+		assertFalse(validationData.addToken(crlToken));
+		assertFalse(validationData.addToken(baseCrlToken));
+		assertEquals(deltaCrl.getThisUpdate(), crlToken.getThisUpdate());
+		assertEquals(deltaCrl.getNextUpdate(), crlToken.getNextUpdate());
+		assertTrue(crlToken.isValid());
+
+		crlToken = new CRLToken(revokedCert, baseCrl, deltaCrl);
+		assertEquals(CertificateStatus.REVOKED, crlToken.getStatus());
+		assertEquals(RevocationReason.KEY_COMPROMISE, crlToken.getReason());
+
+		assertEquals(CertificateStatus.GOOD, new CRLToken(newlyRevokedCert, baseCrl).getStatus());
+		crlToken = new CRLToken(newlyRevokedCert, baseCrl, deltaCrl);
+		assertEquals(CertificateStatus.REVOKED, crlToken.getStatus());
+		assertEquals(RevocationReason.SUPERSEDED, crlToken.getReason());
+
+		// delta CRL cannot be used as a base CRL
+		assertThrows(DSSException.class, () -> new CRLToken(heldCert, deltaCrl, deltaCrl));
+		// base CRL is not a delta CRL
+		assertThrows(DSSException.class, () -> new CRLToken(heldCert, baseCrl, baseCrl));
+
+		// delta CRL issued for a newer base CRL
+		X509v2CRLBuilder newerDeltaBuilder = new X509v2CRLBuilder(new X500Name(CA_NAME), deltaThisUpdate);
+		newerDeltaBuilder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.valueOf(6)));
+		newerDeltaBuilder.addExtension(Extension.deltaCRLIndicator, true, new CRLNumber(BigInteger.valueOf(5)));
+		CRLValidity newerDeltaCrl = buildCRLValidity(newerDeltaBuilder, caKeyPair, caCert);
+		assertThrows(DSSException.class, () -> new CRLToken(heldCert, baseCrl, newerDeltaCrl));
+
+		// delta CRL with a different scope
+		X509v2CRLBuilder otherScopeDeltaBuilder = new X509v2CRLBuilder(new X500Name(CA_NAME), deltaThisUpdate);
+		otherScopeDeltaBuilder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.valueOf(2)));
+		otherScopeDeltaBuilder.addExtension(Extension.deltaCRLIndicator, true, new CRLNumber(BigInteger.ONE));
+		otherScopeDeltaBuilder.addExtension(Extension.issuingDistributionPoint, true,
+				new IssuingDistributionPoint(null, false, true, null, false, false));
+		CRLValidity otherScopeDeltaCrl = buildCRLValidity(otherScopeDeltaBuilder, caKeyPair, caCert);
+		assertTrue(otherScopeDeltaCrl.isDeltaCRL());
+		assertThrows(DSSException.class, () -> new CRLToken(heldCert, baseCrl, otherScopeDeltaCrl));
+	}
+
+	private KeyPair generateKeyPair() throws GeneralSecurityException {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+		keyPairGenerator.initialize(256);
+		return keyPairGenerator.generateKeyPair();
+	}
+
+	private CertificateToken buildCertificate(BigInteger serialNumber, String subject, KeyPair issuerKeyPair,
+											  PublicKey publicKey, boolean ca) throws Exception {
+		Date notBefore = new Date(System.currentTimeMillis() - 86400000L);
+		Date notAfter = new Date(System.currentTimeMillis() + 86400000L);
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(new X500Name(CA_NAME), serialNumber,
+				notBefore, notAfter, new X500Name(subject), publicKey);
+		if (ca) {
+			builder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+		}
+		ContentSigner signer = new JcaContentSignerBuilder("SHA256withECDSA").build(issuerKeyPair.getPrivate());
+		return DSSUtils.loadCertificate(builder.build(signer).getEncoded());
+	}
+
+	private CRLValidity buildCRLValidity(X509v2CRLBuilder crlBuilder, KeyPair caKeyPair, CertificateToken caCert) throws Exception {
+		ContentSigner signer = new JcaContentSignerBuilder("SHA256withECDSA").build(caKeyPair.getPrivate());
+		CRLBinary crlBinary = CRLUtils.buildCRLBinary(crlBuilder.build(signer).getEncoded());
+		return CRLUtils.buildCRLValidity(crlBinary, caCert);
+	}
+
 }
@@ -0,0 +1,335 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation.crl;
+
+import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryCacheCRLSourceTest {
+
+	private static CertificateToken caCert;
+
+	private static CertificateToken citizenCACert;
+
+	private static CertificateToken tsaCert;
+
+	private MockCRLSource mockCRLSource;
+
+	@BeforeAll
+	static void initCertificates() throws IOException {
+		caCert = DSSUtils.loadCertificate(new FileDocument("src/test/resources/belgiumrs2.crt").openStream());
+		citizenCACert = DSSUtils.loadCertificate(new FileDocument("src/test/resources/citizen_ca.cer").openStream());
+		tsaCert = DSSUtils.loadCertificate(new FileDocument("src/test/resources/TSA_BE.cer").openStream());
+	}
+
+	@BeforeEach
+	void init() {
+		mockCRLSource = new MockCRLSource();
+	}
+
+	@Test
+	void test() {
+		FreshInMemoryCacheCRLSource crlSource = new FreshInMemoryCacheCRLSource();
+		assertNull(crlSource.getRevocationToken(citizenCACert, caCert));
+
+		crlSource.setProxySource(mockCRLSource);
+
+		CRLToken crlToken = crlSource.getRevocationToken(citizenCACert, caCert);
+		assertNotNull(crlToken);
+		assertEquals(RevocationOrigin.EXTERNAL, crlToken.getExternalOrigin());
+		assertEquals(1, mockCRLSource.counter.get());
+		assertEquals(1, crlSource.size());
+		// the CRL is kept parsed by the X509CRL implementation
+		assertTrue(crlToken.getCrlValidity().getParsedCRLWeight() > 0);
+		assertEquals(crlToken.getEncoded().length + crlToken.getCrlValidity().getParsedCRLWeight(), crlSource.getWeight());
+
+		CRLToken cachedCRLToken = crlSource.getRevocationToken(citizenCACert, caCert);
+		assertNotNull(cachedCRLToken);
+		assertNotSame(crlToken, cachedCRLToken);
+		assertSame(crlToken.getCrlValidity(), cachedCRLToken.getCrlValidity());
+		assertEquals(RevocationOrigin.CACHED, cachedCRLToken.getExternalOrigin());
+		assertEquals(crlToken.getDSSIdAsString(), cachedCRLToken.getDSSIdAsString());
+		assertEquals(crlToken.getStatus(), cachedCRLToken.getStatus());
+		assertEquals(crlToken.getSourceURL(), cachedCRLToken.getSourceURL());
+		assertEquals(crlToken.getRelatedCertificateId(), cachedCRLToken.getRelatedCertificateId());
+		assertArrayEquals(crlToken.getEncoded(), cachedCRLToken.getEncoded());
+		assertEquals(1, mockCRLSource.counter.get());
+
+		cachedCRLToken = crlSource.getRevocationToken(citizenCACert, caCert, true);
+		assertNotNull(cachedCRLToken);
+		assertEquals(RevocationOrigin.EXTERNAL, cachedCRLToken.getExternalOrigin());
+		assertEquals(2, mockCRLSource.counter.get());
+		assertEquals(1, crlSource.size());
+
+		crlSource.clearCache();
+		assertEquals(0, crlSource.size());
+		assertEquals(0, crlSource.getWeight());
+	}
+
+	@Test
+	void serializationTest() throws Exception {
+		FreshInMemoryCacheCRLSource crlSource = new FreshInMemoryCacheCRLSource();
+		crlSource.setProxySource(mockCRLSource);
+		assertNotNull(crlSource.getRevocationToken(citizenCACert, caCert));
+		assertEquals(1, crlSource.size());
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+			oos.writeObject(crlSource);
+		}
+		FreshInMemoryCacheCRLSource deserialized;
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+			deserialized = (FreshInMemoryCacheCRLSource) ois.readObject();
+		}
+		assertEquals(1, deserialized.size());
+		assertEquals(crlSource.getWeight(), deserialized.getWeight());
+
+		CRLToken cachedCRLToken = deserialized.getRevocationToken(citizenCACert, caCert);
+		assertNotNull(cachedCRLToken);
+		assertEquals(RevocationOrigin.CACHED, cachedCRLToken.getExternalOrigin());
+	}
+
+	@Test
+	void expiredTest() {
+		InMemoryCacheCRLSource crlSource = new InMemoryCacheCRLSource(mockCRLSource);
+
+		CRLToken crlToken = crlSource.getRevocationToken(citizenCACert, caCert);
+		assertNotNull(crlToken);
+		assertEquals(1, mockCRLSource.counter.get());
+		assertEquals(1, crlSource.size());
+
+		// the CRL nextUpdate is in the past
+		crlToken = crlSource.getRevocationToken(citizenCACert, caCert);
+		assertNotNull(crlToken);
+		assertEquals(RevocationOrigin.EXTERNAL, crlToken.getExternalOrigin());
+		assertEquals(2, mockCRLSource.counter.get());
+	}
+
+	@Test
+	void boundsTest() {
+		FreshInMemoryCacheCRLSource crlSource = new FreshInMemoryCacheCRLSource();
+		crlSource.setProxySource(mockCRLSource);
+		crlSource.setMaxEntries(1);
+
+		assertNotNull(crlSource.getRevocationToken(citizenCACert, caCert));
+		assertNotNull(crlSource.getRevocationToken(tsaCert, caCert));
+		assertEquals(2, mockCRLSource.counter.get());
+		assertEquals(1, crlSource.size());
+
+		// the least recently used entry has been evicted
+		assertEquals(RevocationOrigin.CACHED, crlSource.getRevocationToken(tsaCert, caCert).getExternalOrigin());
+		assertEquals(RevocationOrigin.EXTERNAL, crlSource.getRevocationToken(citizenCACert, caCert).getExternalOrigin());
+		assertEquals(3, mockCRLSource.counter.get());
+
+		crlSource.setMaxEntries(10);
+		crlSource.setMaxWeight(1);
+		assertEquals(0, crlSource.size());
+
+		// the CRL exceeds the maximum weight
+		assertNotNull(crlSource.getRevocationToken(citizenCACert, caCert));
+		assertEquals(0, crlSource.size());
+		assertEquals(0, crlSource.getWeight());
+
+		assertThrows(IllegalArgumentException.class, () -> crlSource.setMaxEntries(0));
+		assertThrows(IllegalArgumentException.class, () -> crlSource.setMaxWeight(0));
+	}
+
+	@Test
+	void concurrentRequestsTest() throws Exception {
+		InMemoryCacheCRLSource crlSource = new InMemoryCacheCRLSource(mockCRLSource);
+		mockCRLSource.delay = 500;
+
+		ExecutorService executorService = Executors.newFixedThreadPool(5);
+		try {
+			List<Future<CRLToken>> futures = new ArrayList<>();
+			for (int i = 0; i < 5; i++) {
+				futures.add(executorService.submit(() -> crlSource.getRevocationToken(citizenCACert, caCert)));
+			}
+			for (Future<CRLToken> future : futures) {
+				assertNotNull(future.get());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+		assertEquals(1, mockCRLSource.counter.get());
+	}
+
+	@Test
+	void refreshAheadTest() {
+		FreshInMemoryCacheCRLSource crlSource = new FreshInMemoryCacheCRLSource();
+		crlSource.setProxySource(mockCRLSource);
+
+		assertNotNull(crlSource.getRevocationToken(citizenCACert, caCert));
+		assertEquals(1, mockCRLSource.counter.get());
+
+		// not enabled
+		crlSource.refreshAhead();
+		assertEquals(1, mockCRLSource.counter.get());
+
+		crlSource.setRefreshAheadFactor(0.8);
+		assertNotNull(crlSource.getRevocationToken(citizenCACert, caCert));
+		assertEquals(1, mockCRLSource.counter.get());
+
+		// the refresh time is in the past
+		crlSource.refreshAhead();
+		assertEquals(2, mockCRLSource.counter.get());
+
+		// the refreshed CRL is expired, the entry is not tracked anymore
+		crlSource.refreshAhead();
+		assertEquals(2, mockCRLSource.counter.get());
+
+		assertNotNull(crlSource.getRevocationToken(citizenCACert, caCert));
+		assertEquals(2, mockCRLSource.counter.get());
+		crlSource.refreshAhead();
+		assertEquals(3, mockCRLSource.counter.get());
+
+		assertThrows(IllegalArgumentException.class, () -> crlSource.setRefreshAheadFactor(0.0));
+		assertThrows(IllegalArgumentException.class, () -> crlSource.setRefreshAheadFactor(1.5));
+		assertThrows(IllegalArgumentException.class, () -> crlSource.setRefreshAheadMaxEntries(0));
+	}
+
+	@Test
+	void refreshAheadRemovedEntryTest() {
+		FreshInMemoryCacheCRLSource crlSource = new FreshInMemoryCacheCRLSource();
+		crlSource.setProxySource(mockCRLSource);
+		crlSource.setRefreshAheadFactor(0.8);
+
+		assertNotNull(crlSource.getRevocationToken(citizenCACert, caCert));
+		assertEquals(1, crlSource.inserted.get());
+
+		// the entry has been removed from the cache before the refresh
+		crlSource.clearCache();
+		crlSource.refreshAhead();
+		assertEquals(2, mockCRLSource.counter.get());
+		assertEquals(2, crlSource.inserted.get());
+		assertEquals(0, crlSource.updated.get());
+		assertEquals(1, crlSource.size());
+
+		// the entry is present in the cache
+		crlSource.getRevocationToken(citizenCACert, caCert);
+		crlSource.refreshAhead();
+		assertEquals(3, mockCRLSource.counter.get());
+		assertEquals(1, crlSource.updated.get());
+	}
+
+	@Test
+	void refreshAheadTieredCacheTest() {
+		FreshInMemoryCacheCRLSource secondTierCRLSource = new FreshInMemoryCacheCRLSource();
+		secondTierCRLSource.setProxySource(mockCRLSource);
+
+		FreshInMemoryCacheCRLSource crlSource = new FreshInMemoryCacheCRLSource();
+		crlSource.setProxySource(secondTierCRLSource);
+		crlSource.setRefreshAheadFactor(0.8);
+
+		assertNotNull(crlSource.getRevocationToken(citizenCACert, caCert));
+		assertEquals(1, mockCRLSource.counter.get());
+
+		// the refresh skips the cached value of the second tier
+		crlSource.refreshAhead();
+		assertEquals(2, mockCRLSource.counter.get());
+		assertEquals(RevocationOrigin.EXTERNAL, secondTierCRLSource.getRevocationToken(citizenCACert, caCert, true).getExternalOrigin());
+	}
+
+	private static class FreshInMemoryCacheCRLSource extends InMemoryCacheCRLSource {
+
+		private static final long serialVersionUID = -1880392389478467062L;
+
+		private final AtomicInteger inserted = new AtomicInteger();
+
+		private final AtomicInteger updated = new AtomicInteger();
+
+		@Override
+		protected boolean isNotExpired(RevocationToken<CRL> revocationToken, CertificateToken certificateTokenIssuer) {
+			return true;
+		}
+
+		@Override
+		protected void insertRevocation(String revocationKey, RevocationToken<CRL> token) {
+			inserted.incrementAndGet();
+			super.insertRevocation(revocationKey, token);
+		}
+
+		@Override
+		protected void updateRevocation(String revocationKey, RevocationToken<CRL> token) {
+			updated.incrementAndGet();
+			super.updateRevocation(revocationKey, token);
+		}
+
+	}
+
+	private static class MockCRLSource implements CRLSource {
+
+		private static final long serialVersionUID = 2459281475738329476L;
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		private long delay = 0;
+
+		@Override
+		public CRLToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			counter.incrementAndGet();
+			try {
+				Thread.sleep(delay);
+				CRLBinary crlBinary = CRLUtils.buildCRLBinary(DSSUtils.toByteArray(new FileDocument("src/test/resources/crl/belgium2.crl")));
+				CRLValidity crlValidity = CRLUtils.buildCRLValidity(crlBinary, issuerCertificateToken);
+				CRLToken crlToken = new CRLToken(certificateToken, crlValidity);
+				crlToken.setSourceURL(certificateToken == tsaCert ? "http://crl.pki.belgium.be/belgium2.crl" : "http://crl.eid.belgium.be/belgium2.crl");
+				crlToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+				return crlToken;
+			} catch (IOException | InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,275 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.cache;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.tsl.cache.access.ReadOnlyCacheAccess;
+import eu.europa.esig.dss.tsl.dto.DownloadCacheDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Contains a copy of the LOTL/TL documents downloaded by a {@code TLValidationJob}.
+ * The snapshot allows a fresh instance to load a previously processed state (e.g. on a start-up)
+ * without downloading the LOTLs/TLs from the remote sources.
+ * <p>
+ * The snapshot is written in an explicit binary format, containing for each entry the cache key,
+ * the digest and the raw binaries of the downloaded document. Only the documents are stored:
+ * on import the entries are served by the snapshot acting as a {@code DSSFileLoader},
+ * so the documents are parsed and validated again by the usual refresh process.
+ * The digests are verified on reading and a snapshot with an unknown format or version is rejected.
+ * <p>
+ * NOTE: the import only saves the downloads. The documents are still parsed and their signatures validated.
+ */
+public class CacheSnapshot implements DSSFileLoader {
+
+	private static final long serialVersionUID = -2563198614706421730L;
+
+	/**
+	 * The version of the snapshot format. Shall be incremented on any incompatible change of the format.
+	 */
+	public static final int VERSION = 1;
+
+	/** The magic number identifying a snapshot ('DSSC') */
+	private static final int MAGIC = 0x44535343;
+
+	/** The digest algorithm used to protect the integrity of the entries */
+	private static final DigestAlgorithm DIGEST_ALGORITHM = DigestAlgorithm.SHA256;
+
+	/** The maximum number of entries within a snapshot */
+	private static final int MAX_ENTRIES = 10_000;
+
+	/** The maximum size of a document within a snapshot */
+	private static final int MAX_DOCUMENT_SIZE = 100 * 1024 * 1024;
+
+	/** The default maximum size of the documents within a snapshot */
+	public static final long DEFAULT_MAXIMUM_SIZE = 200L * 1024 * 1024;
+
+	/** The size of the chunks used to read the documents */
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	/** The creation time of the snapshot */
+	private final Date creationTime;
+
+	/** The binaries of the downloaded documents by the cache keys */
+	private final Map<String, byte[]> documents;
+
+	/**
+	 * Default constructor creating a snapshot of the documents present within the download cache
+	 *
+	 * @param readOnlyCacheAccess {@link ReadOnlyCacheAccess}
+	 */
+	public CacheSnapshot(final ReadOnlyCacheAccess readOnlyCacheAccess) {
+		Objects.requireNonNull(readOnlyCacheAccess, "ReadOnlyCacheAccess cannot be null!");
+		this.creationTime = new Date();
+		this.documents = new LinkedHashMap<>();
+		for (CacheKey cacheKey : readOnlyCacheAccess.getAllCacheKeys()) {
+			DownloadCacheDTO downloadCacheDTO = readOnlyCacheAccess.getDownloadCacheDTO(cacheKey);
+			DSSDocument document = downloadCacheDTO.getDocument();
+			if (document != null) {
+				documents.put(cacheKey.getKey(), DSSUtils.toByteArray(document));
+			}
+		}
+	}
+
+	/**
+	 * The constructor used on reading
+	 *
+	 * @param creationTime {@link Date}
+	 * @param documents map of document binaries by the cache keys
+	 */
+	private CacheSnapshot(final Date creationTime, final Map<String, byte[]> documents) {
+		this.creationTime = creationTime;
+		this.documents = documents;
+	}
+
+	/**
+	 * Gets the creation time of the snapshot
+	 *
+	 * @return {@link Date}
+	 */
+	public Date getCreationTime() {
+		return creationTime;
+	}
+
+	/**
+	 * Gets the number of the LOTL/TL entries within the snapshot
+	 *
+	 * @return number of entries
+	 */
+	public int size() {
+		return documents.size();
+	}
+
+	/**
+	 * Returns the document stored within the snapshot for the given URL
+	 *
+	 * @param url {@link String} of the LOTL/TL
+	 * @return {@link DSSDocument}
+	 * @throws DSSExternalResourceException if the snapshot does not contain a document for the URL
+	 */
+	@Override
+	public DSSDocument getDocument(String url) {
+		byte[] binaries = documents.get(new CacheKey(url).getKey());
+		if (binaries == null) {
+			throw new DSSExternalResourceException(String.format(
+					"The cache snapshot does not contain a document for url '%s'!", url));
+		}
+		return new InMemoryDocument(binaries);
+	}
+
+	/**
+	 * Writes the snapshot to the given {@code OutputStream}
+	 *
+	 * @param outputStream {@link OutputStream} to write the snapshot to
+	 */
+	public void writeTo(final OutputStream outputStream) {
+		Objects.requireNonNull(outputStream, "OutputStream cannot be null!");
+		try {
+			DataOutputStream dos = new DataOutputStream(outputStream);
+			dos.writeInt(MAGIC);
+			dos.writeInt(VERSION);
+			dos.writeLong(creationTime.getTime());
+			dos.writeInt(documents.size());
+			for (Map.Entry<String, byte[]> entry : documents.entrySet()) {
+				byte[] binaries = entry.getValue();
+				dos.writeUTF(entry.getKey());
+				dos.writeUTF(DIGEST_ALGORITHM.getName());
+				writeBytes(dos, DSSUtils.digest(DIGEST_ALGORITHM, binaries));
+				writeBytes(dos, binaries);
+			}
+			dos.flush();
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to write the cache snapshot : %s", e.getMessage()), e);
+		}
+	}
+
+	private static void writeBytes(DataOutputStream dos, byte[] bytes) throws IOException {
+		dos.writeInt(bytes.length);
+		dos.write(bytes);
+	}
+
+	/**
+	 * Reads a snapshot from the given {@code InputStream}, with documents not exceeding
+	 * {@code DEFAULT_MAXIMUM_SIZE} in total
+	 *
+	 * @param inputStream {@link InputStream} to read the snapshot from
+	 * @return {@link CacheSnapshot}
+	 * @throws DSSException if the snapshot is malformed, has been created with another version,
+	 *                      exceeds the maximum size or if a digest does not match the content of its entry
+	 */
+	public static CacheSnapshot readFrom(final InputStream inputStream) {
+		return readFrom(inputStream, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Reads a snapshot from the given {@code InputStream}
+	 *
+	 * @param inputStream {@link InputStream} to read the snapshot from
+	 * @param maximumSize the maximum size (in bytes) of all the documents within the snapshot
+	 * @return {@link CacheSnapshot}
+	 * @throws DSSException if the snapshot is malformed, has been created with another version,
+	 *                      exceeds the maximum size or if a digest does not match the content of its entry
+	 */
+	public static CacheSnapshot readFrom(final InputStream inputStream, final long maximumSize) {
+		Objects.requireNonNull(inputStream, "InputStream cannot be null!");
+		try {
+			DataInputStream dis = new DataInputStream(inputStream);
+			if (MAGIC != dis.readInt()) {
+				throw new DSSException("The stream does not contain a cache snapshot!");
+			}
+			int version = dis.readInt();
+			if (VERSION != version) {
+				throw new DSSException(String.format("The cache snapshot version '%s' is not supported! " +
+						"Expected version : '%s'.", version, VERSION));
+			}
+			Date creationTime = new Date(dis.readLong());
+			int size = dis.readInt();
+			if (size < 0 || size > MAX_ENTRIES) {
+				throw new DSSException(String.format("Invalid number of entries within the cache snapshot : %s", size));
+			}
+			Map<String, byte[]> documents = new LinkedHashMap<>();
+			long remainingSize = maximumSize;
+			for (int i = 0; i < size; i++) {
+				String key = dis.readUTF();
+				DigestAlgorithm digestAlgorithm = DigestAlgorithm.forName(dis.readUTF());
+				byte[] digest = readBytes(dis, remainingSize);
+				remainingSize -= digest.length;
+				byte[] binaries = readBytes(dis, remainingSize);
+				remainingSize -= binaries.length;
+				if (!Arrays.equals(digest, DSSUtils.digest(digestAlgorithm, binaries))) {
+					throw new DSSException(String.format(
+							"The digest of the cache snapshot entry '%s' does not match its content!", key));
+				}
+				documents.put(key, binaries);
+			}
+			return new CacheSnapshot(creationTime, documents);
+		} catch (IOException | IllegalArgumentException e) {
+			throw new DSSException(String.format("Unable to read the cache snapshot : %s", e.getMessage()), e);
+		}
+	}
+
+	private static byte[] readBytes(DataInputStream dis, long remainingSize) throws IOException {
+		int length = dis.readInt();
+		if (length < 0 || length > MAX_DOCUMENT_SIZE) {
+			throw new DSSException(String.format("Invalid length of a cache snapshot entry : %s", length));
+		}
+		if (length > remainingSize) {
+			throw new DSSException("The cache snapshot exceeds the maximum allowed size!");
+		}
+		// the declared length is not trusted : the buffer grows with the read content only
+		ByteArrayOutputStream baos = new ByteArrayOutputStream(Math.min(length, CHUNK_SIZE));
+		byte[] chunk = new byte[Math.min(length, CHUNK_SIZE)];
+		int remaining = length;
+		while (remaining > 0) {
+			int read = dis.read(chunk, 0, Math.min(remaining, chunk.length));
+			if (read < 0) {
+				throw new EOFException("The cache snapshot entry is truncated!");
+			}
+			baos.write(chunk, 0, read);
+			remaining -= read;
+		}
+		return baos.toByteArray();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CacheSnapshot [creationTime=%s, entries=%s]", creationTime, documents.size());
+	}
+
+}
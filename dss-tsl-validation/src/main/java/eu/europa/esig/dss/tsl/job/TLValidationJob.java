@@ -30,10 +30,13 @@ import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
 import eu.europa.esig.dss.tsl.alerts.TLValidationJobAlerter;
 import eu.europa.esig.dss.tsl.cache.CacheCleaner;
 import eu.europa.esig.dss.tsl.cache.CacheKey;
+import eu.europa.esig.dss.tsl.cache.CacheSnapshot;
 import eu.europa.esig.dss.tsl.cache.access.CacheAccessByKey;
 import eu.europa.esig.dss.tsl.cache.access.CacheAccessFactory;
 import eu.europa.esig.dss.tsl.cache.access.ReadOnlyCacheAccess;
 import eu.europa.esig.dss.tsl.dto.ParsingCacheDTO;
+import eu.europa.esig.dss.tsl.runnable.AbstractRunnableAnalysis;
+import eu.europa.esig.dss.tsl.runnable.AnalysisScheduler;
 import eu.europa.esig.dss.tsl.runnable.LOTLAnalysis;
 import eu.europa.esig.dss.tsl.runnable.LOTLWithPivotsAnalysis;
 import eu.europa.esig.dss.tsl.runnable.TLAnalysis;
@@ -41,12 +44,16 @@ import eu.europa.esig.dss.tsl.source.LOTLSource;
 import eu.europa.esig.dss.tsl.source.TLSource;
 import eu.europa.esig.dss.tsl.summary.ValidationJobSummaryBuilder;
 import eu.europa.esig.dss.tsl.sync.AcceptAllStrategy;
+import eu.europa.esig.dss.tsl.sync.CertificateSynchronizationState;
+import eu.europa.esig.dss.tsl.sync.SynchronizationListener;
 import eu.europa.esig.dss.tsl.sync.SynchronizationStrategy;
 import eu.europa.esig.dss.tsl.sync.TrustedListCertificateSourceSynchronizer;
 import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -54,9 +61,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -73,9 +79,14 @@ public class TLValidationJob {
 	private final CacheAccessFactory cacheAccessFactory = new CacheAccessFactory();
 
 	/**
-	 * Provides methods to manage the asynchronous behaviour
+	 * Executes the LOTL/TL analyses with a bounded concurrency
 	 */
-	private ExecutorService executorService = Executors.newCachedThreadPool();
+	private AnalysisScheduler analysisScheduler = new AnalysisScheduler();
+
+	/**
+	 * The cancellation flag of the current refresh (a new flag is created for each refresh)
+	 */
+	private volatile AtomicBoolean refreshCancellation;
 
 	/**
 	 * Array of zero, one or more Trusted List (TL) sources.
@@ -116,6 +127,16 @@ public class TLValidationJob {
 	 */
 	private SynchronizationStrategy synchronizationStrategy = new AcceptAllStrategy();
 
+	/**
+	 * The certificates extracted during the last synchronization (used for an incremental synchronization)
+	 */
+	private final CertificateSynchronizationState synchronizationState = new CertificateSynchronizationState();
+
+	/**
+	 * The listener to be notified about the changes in the trusted certificate source (optional)
+	 */
+	private SynchronizationListener synchronizationListener;
+
 	/**
 	 * This property allows to print the cache content before and after the
 	 * synchronization (default : false)
@@ -163,10 +184,39 @@ public class TLValidationJob {
 	 * @param executorService {@link ExecutorService}
 	 */
 	public void setExecutorService(ExecutorService executorService) {
-		if (this.executorService != null && !this.executorService.isShutdown()) {
-			this.executorService.shutdownNow();
+		setAnalysisScheduler(new AnalysisScheduler(executorService));
+	}
+
+	/**
+	 * Sets the scheduler executing the LOTL/TL analyses.
+	 * Allows to configure the maximum number of concurrent analyses, a timeout per LOTL/TL
+	 * and a monitor of the analyses progress.
+	 *
+	 * Default : {@code AnalysisScheduler} with {@code AnalysisScheduler.DEFAULT_MAX_CONCURRENT_ANALYSES} threads
+	 * and no timeout
+	 *
+	 * @param analysisScheduler {@link AnalysisScheduler}
+	 */
+	public void setAnalysisScheduler(AnalysisScheduler analysisScheduler) {
+		Objects.requireNonNull(analysisScheduler, "AnalysisScheduler cannot be null!");
+		if (this.analysisScheduler != null && this.analysisScheduler != analysisScheduler && !this.analysisScheduler.isShutdown()) {
+			this.analysisScheduler.shutdown();
+		}
+		this.analysisScheduler = analysisScheduler;
+	}
+
+	/**
+	 * Cancels the refresh being executed, if any.
+	 * The running analyses are interrupted, the remaining ones are not executed
+	 * and the {@code TrustPropertiesCertificateSource} is not synchronized.
+	 * The not processed LOTLs/TLs keep their previous state and are processed on the next refresh.
+	 */
+	public void cancelRefresh() {
+		final AtomicBoolean cancellation = refreshCancellation;
+		if (cancellation != null) {
+			cancellation.set(true);
 		}
-		this.executorService = executorService;
+		analysisScheduler.cancelAll();
 	}
 	
 	/**
@@ -216,6 +266,17 @@ public class TLValidationJob {
 		this.synchronizationStrategy = synchronizationStrategy;
 	}
 
+	/**
+	 * Sets the listener to be notified about the certificates added, removed or updated
+	 * within the trusted certificate source on a synchronization
+	 * (e.g. to invalidate selectively the caches keyed on trust anchors)
+	 *
+	 * @param synchronizationListener {@link SynchronizationListener}
+	 */
+	public void setSynchronizationListener(SynchronizationListener synchronizationListener) {
+		this.synchronizationListener = synchronizationListener;
+	}
+
 	/**
 	 * Sets the debug mode (print the cache contents before and after the
 	 * synchronization)
@@ -276,7 +337,38 @@ public class TLValidationJob {
 		LOG.info("Online refresh is DONE.");
 	}
 
+	/**
+	 * Writes a snapshot of the LOTLs/TLs downloaded by the validation job to the given {@code OutputStream}.
+	 * The snapshot can be loaded with {@code importCacheSnapshot(InputStream)} on the next start-up
+	 * to avoid downloading the trusted lists before the first validation.
+	 *
+	 * @param outputStream {@link OutputStream} to write the snapshot to
+	 */
+	public synchronized void exportCacheSnapshot(OutputStream outputStream) {
+		final CacheSnapshot cacheSnapshot = new CacheSnapshot(cacheAccessFactory.getReadOnlyCacheAccess());
+		cacheSnapshot.writeTo(outputStream);
+		LOG.info("The cache snapshot has been exported ({} entries)", cacheSnapshot.size());
+	}
+
+	/**
+	 * Loads a snapshot previously created with {@code exportCacheSnapshot(OutputStream)} and executes a refresh
+	 * using the documents of the snapshot, instead of the configured data loaders. The documents are parsed
+	 * and validated as on a usual refresh, and the {@code TrustPropertiesCertificateSource} is synchronized.
+	 * A LOTL/TL missing within the snapshot is handled as a download error.
+	 *
+	 * @param inputStream {@link InputStream} to read the snapshot from
+	 */
+	public synchronized void importCacheSnapshot(InputStream inputStream) {
+		final CacheSnapshot cacheSnapshot = CacheSnapshot.readFrom(inputStream);
+		LOG.info("Import of the cache snapshot created at '{}' is running ({} entries)...",
+				cacheSnapshot.getCreationTime(), cacheSnapshot.size());
+		refresh(cacheSnapshot);
+		LOG.info("Import of the cache snapshot is DONE.");
+	}
+
 	private void refresh(DSSFileLoader dssFileLoader) {
+		final AtomicBoolean cancellation = new AtomicBoolean(false);
+		refreshCancellation = cancellation;
 
 		List<TLSource> currentTLSources = new ArrayList<>();
 		if (trustedListSources != null) {
@@ -287,7 +379,11 @@ public class TLValidationJob {
 		if (Utils.isArrayNotEmpty(listOfTrustedListSources)) {
 			final List<LOTLSource> lotlList = Arrays.asList(listOfTrustedListSources);
 
-			executeLOTLSourcesAnalysis(lotlList, dssFileLoader);
+			executeLOTLSourcesAnalysis(lotlList, dssFileLoader, cancellation);
+			if (cancellation.get()) {
+				LOG.warn("The refresh has been cancelled.");
+				return;
+			}
 
 			// Check LOTLs consistency
 
@@ -296,7 +392,11 @@ public class TLValidationJob {
 		}
 
 		// And then, execute all TLs (manual configs + TLs from LOTLs)
-		executeTLSourcesAnalysis(currentTLSources, dssFileLoader);
+		executeTLSourcesAnalysis(currentTLSources, dssFileLoader, cancellation);
+		if (cancellation.get()) {
+			LOG.warn("The refresh has been cancelled.");
+			return;
+		}
 
 		// alerts()
 		if (Utils.isCollectionNotEmpty(lotlAlerts) || Utils.isCollectionNotEmpty(tlAlerts)) {
@@ -321,7 +421,8 @@ public class TLValidationJob {
 		}
 	}
 
-	private void executeLOTLSourcesAnalysis(List<LOTLSource> lotlSources, DSSFileLoader dssFileLoader) {
+	private void executeLOTLSourcesAnalysis(List<LOTLSource> lotlSources, DSSFileLoader dssFileLoader,
+											AtomicBoolean cancellation) {
 		checkNoDuplicateUrls(lotlSources);
 
 		int nbLOTLSources = lotlSources.size();
@@ -330,23 +431,18 @@ public class TLValidationJob {
 
 		Map<CacheKey, ParsingCacheDTO> oldParsingValues = extractParsingCache(lotlSources);
 
-		CountDownLatch latch = new CountDownLatch(nbLOTLSources);
+		List<AbstractRunnableAnalysis> analyses = new ArrayList<>();
 		for (LOTLSource lotlSource : lotlSources) {
 			final CacheAccessByKey cacheAccess = cacheAccessFactory.getCacheAccess(lotlSource.getCacheKey());
 			if (lotlSource.isPivotSupport()) {
-				executorService.submit(new LOTLWithPivotsAnalysis(lotlSource, cacheAccess, dssFileLoader, cacheAccessFactory, latch));
+				analyses.add(new LOTLWithPivotsAnalysis(lotlSource, cacheAccess, dssFileLoader, cacheAccessFactory, analysisScheduler));
 			} else {
-				executorService.submit(new LOTLAnalysis(lotlSource, cacheAccess, dssFileLoader, latch));
+				analyses.add(new LOTLAnalysis(lotlSource, cacheAccess, dssFileLoader));
 			}
 		}
 
-		try {
-			latch.await();
-			LOG.info("Analysis is DONE for {} LOTLSource(s)", nbLOTLSources);
-		} catch (InterruptedException e) {
-			LOG.error("Interruption in the LOTLSource process", e);
-			Thread.currentThread().interrupt();
-		}
+		analysisScheduler.runAll(analyses, cancellation::get);
+		LOG.info("Analysis is DONE for {} LOTLSource(s)", nbLOTLSources);
 
 		Map<CacheKey, ParsingCacheDTO> newParsingValues = extractParsingCache(lotlSources);
 
@@ -365,7 +461,8 @@ public class TLValidationJob {
         return lotlSources.stream().collect(Collectors.toMap(LOTLSource::getCacheKey, s -> readOnlyCacheAccess.getParsingCacheDTO(s.getCacheKey())));
     }
 
-	private void executeTLSourcesAnalysis(List<TLSource> tlSources, DSSFileLoader dssFileLoader) {
+	private void executeTLSourcesAnalysis(List<TLSource> tlSources, DSSFileLoader dssFileLoader,
+										  AtomicBoolean cancellation) {
 		int nbTLSources = tlSources.size();
 		if (nbTLSources == 0) {
 			LOG.info("No TL to be analyzed");
@@ -376,19 +473,14 @@ public class TLValidationJob {
 
 		LOG.info("Running analysis for {} TLSource(s)", nbTLSources);
 
-		CountDownLatch latch = new CountDownLatch(nbTLSources);
+		List<AbstractRunnableAnalysis> analyses = new ArrayList<>();
 		for (TLSource tlSource : tlSources) {
 			final CacheAccessByKey cacheAccess = cacheAccessFactory.getCacheAccess(tlSource.getCacheKey());
-			executorService.submit(new TLAnalysis(tlSource, cacheAccess, dssFileLoader, latch));
+			analyses.add(new TLAnalysis(tlSource, cacheAccess, dssFileLoader));
 		}
 
-		try {
-			latch.await();
-			LOG.info("Analysis is DONE for {} TLSource(s)", nbTLSources);
-		} catch (InterruptedException e) {
-			LOG.error("Interruption in the TLAnalysis process", e);
-			Thread.currentThread().interrupt();
-		}
+		analysisScheduler.runAll(analyses, cancellation::get);
+		LOG.info("Analysis is DONE for {} TLSource(s)", nbTLSources);
 	}
 
 	private void synchronizeTLCertificateSource() {
@@ -399,7 +491,7 @@ public class TLValidationJob {
 
 		TrustedListCertificateSourceSynchronizer synchronizer = new TrustedListCertificateSourceSynchronizer(
 				trustedListSources, listOfTrustedListSources, trustPropertiesCertificateSource, synchronizationStrategy,
-				cacheAccessFactory.getSynchronizerCacheAccess());
+				cacheAccessFactory.getSynchronizerCacheAccess(), synchronizationState, synchronizationListener);
 		synchronizer.sync();
 	}
 
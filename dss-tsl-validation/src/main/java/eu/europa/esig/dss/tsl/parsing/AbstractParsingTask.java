@@ -30,6 +30,7 @@ import eu.europa.esig.trustedlist.jaxb.tsl.NextUpdateType;
 import eu.europa.esig.trustedlist.jaxb.tsl.NonEmptyURIListType;
 import eu.europa.esig.trustedlist.jaxb.tsl.TSLSchemeInformationType;
 import eu.europa.esig.trustedlist.jaxb.tsl.TrustStatusListType;
+import org.w3c.dom.Document;
 
 import javax.xml.datatype.XMLGregorianCalendar;
 import java.io.InputStream;
@@ -51,14 +52,28 @@ public abstract class AbstractParsingTask<T extends AbstractParsingResult> imple
 	/** The document to parse */
 	private final DSSDocument document;
 
+	/** The already parsed DOM of the document (optional) */
+	private final Document documentDom;
+
 	/**
 	 * Default constructor
 	 *
 	 * @param document {@link DSSDocument}
 	 */
 	protected AbstractParsingTask(DSSDocument document) {
+		this(document, null);
+	}
+
+	/**
+	 * Constructor with an already parsed DOM of the document, used to avoid parsing of the same document twice
+	 *
+	 * @param document {@link DSSDocument}
+	 * @param documentDom {@link Document} DOM of the {@code document} (optional)
+	 */
+	protected AbstractParsingTask(DSSDocument document, Document documentDom) {
 		Objects.requireNonNull(document, "The document is null");
 		this.document = document;
+		this.documentDom = documentDom;
 	}
 
 	/**
@@ -67,8 +82,13 @@ public abstract class AbstractParsingTask<T extends AbstractParsingResult> imple
 	 * @return {@link TrustStatusListType}
 	 */
 	protected TrustStatusListType getJAXBObject() {
-		try (InputStream is = document.openStream()) {
-			return createTrustedListFacade().unmarshall(is, false); // lax processing, validate XSD after
+		try {
+			if (documentDom != null) {
+				return createTrustedListFacade().unmarshall(documentDom, false); // lax processing, validate XSD after
+			}
+			try (InputStream is = document.openStream()) {
+				return createTrustedListFacade().unmarshall(is, false);
+			}
 		} catch (Exception e) {
 			String message = "Unable to parse binaries. Reason : '%s'";
 			// get complete error message in case if the message string is not defined directly
@@ -170,8 +190,9 @@ public abstract class AbstractParsingTask<T extends AbstractParsingResult> imple
 	 */
 	protected void verifyTLVersionConformity(AbstractParsingResult result, Integer tlVersion, List<Integer> tlVersions) {
 		if (Utils.isCollectionNotEmpty(tlVersions)) {
-			List<String> structureValidationMessagesResult = new TLStructureVerifier()
-					.setAcceptedTLVersions(tlVersions).validate(document, tlVersion);
+			TLStructureVerifier structureVerifier = new TLStructureVerifier().setAcceptedTLVersions(tlVersions);
+			List<String> structureValidationMessagesResult = documentDom != null ?
+					structureVerifier.validate(documentDom, tlVersion) : structureVerifier.validate(document, tlVersion);
 			if (Utils.isCollectionNotEmpty(structureValidationMessagesResult)) {
 				result.setStructureValidationMessages(structureValidationMessagesResult);
 			}
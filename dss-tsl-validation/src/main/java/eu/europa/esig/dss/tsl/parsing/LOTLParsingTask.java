@@ -36,6 +36,7 @@ import eu.europa.esig.trustedlist.jaxb.tsl.TrustStatusListType;
 import eu.europa.esig.trustedlist.mra.MRAFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -59,7 +60,18 @@ public class LOTLParsingTask extends AbstractParsingTask<LOTLParsingResult> {
 	 * @param lotlSource {@link LOTLSource}
 	 */
 	public LOTLParsingTask(DSSDocument document, LOTLSource lotlSource) {
-		super(document);
+		this(document, null, lotlSource);
+	}
+
+	/**
+	 * Constructor with an already parsed DOM of the document
+	 *
+	 * @param document {@link DSSDocument} LOTL document to parse
+	 * @param documentDom {@link Document} DOM of the {@code document} (optional)
+	 * @param lotlSource {@link LOTLSource}
+	 */
+	public LOTLParsingTask(DSSDocument document, Document documentDom, LOTLSource lotlSource) {
+		super(document, documentDom);
 		Objects.requireNonNull(lotlSource, "The LOTLSource is null");
 		this.lotlSource = lotlSource;
 	}
@@ -33,6 +33,7 @@ import eu.europa.esig.trustedlist.jaxb.tsl.TSPServicesListType;
 import eu.europa.esig.trustedlist.jaxb.tsl.TSPType;
 import eu.europa.esig.trustedlist.jaxb.tsl.TrustServiceProviderListType;
 import eu.europa.esig.trustedlist.jaxb.tsl.TrustStatusListType;
+import org.w3c.dom.Document;
 
 import java.util.Collections;
 import java.util.List;
@@ -54,7 +55,18 @@ public class TLParsingTask extends AbstractParsingTask<TLParsingResult> {
 	 * @param tlSource {@link TLSource}
 	 */
 	public TLParsingTask(DSSDocument document, TLSource tlSource) {
-		super(document);
+		this(document, null, tlSource);
+	}
+
+	/**
+	 * Constructor with an already parsed DOM of the document
+	 *
+	 * @param document {@link DSSDocument} TL document to parse
+	 * @param documentDom {@link Document} DOM of the {@code document} (optional)
+	 * @param tlSource {@link TLSource}
+	 */
+	public TLParsingTask(DSSDocument document, Document documentDom, TLSource tlSource) {
+		super(document, documentDom);
 		Objects.requireNonNull(tlSource, "The TLSource is null");
 		this.tlSource = tlSource;
 	}
@@ -26,11 +26,17 @@ import eu.europa.esig.dss.spi.x509.CertificateSource;
 import eu.europa.esig.dss.tsl.cache.access.CacheAccessByKey;
 import eu.europa.esig.dss.tsl.download.XmlDownloadResult;
 import eu.europa.esig.dss.tsl.download.XmlDownloadTask;
+import eu.europa.esig.dss.tsl.parsing.AbstractParsingResult;
 import eu.europa.esig.dss.tsl.parsing.AbstractParsingTask;
 import eu.europa.esig.dss.tsl.source.TLSource;
 import eu.europa.esig.dss.tsl.validation.TLValidatorTask;
+import eu.europa.esig.dss.tsl.validation.ValidationResult;
+import eu.europa.esig.dss.xml.utils.DomUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Processes the LOTL/TL validation job (download - parse - validate)
@@ -48,6 +54,18 @@ public abstract class AbstractAnalysis  {
 
 	/** The file loader */
 	private final DSSFileLoader dssFileLoader;
+
+	/** The document the DOM has been built for (used to share the parsed DOM between parsing and validation) */
+	private DSSDocument domSourceDocument;
+
+	/** The DOM built from {@code domSourceDocument}, NULL when the document could not be parsed */
+	private Document documentDom;
+
+	/** The monitor to report the duration of the analysis stages to (optional) */
+	private AnalysisMonitor analysisMonitor;
+
+	/** Defines whether the analysis has been cancelled (timeout or cancellation of the refresh) */
+	private boolean cancelled = false;
 	
 	/**
 	 * Default constructor
@@ -80,6 +98,46 @@ public abstract class AbstractAnalysis  {
 		return cacheAccess;
 	}
 
+	/**
+	 * Sets the monitor to report the duration of the analysis stages to
+	 *
+	 * @param analysisMonitor {@link AnalysisMonitor}
+	 */
+	void setAnalysisMonitor(AnalysisMonitor analysisMonitor) {
+		this.analysisMonitor = analysisMonitor;
+	}
+
+	/**
+	 * Cancels the analysis. The cache is not updated by the analysis anymore,
+	 * so the LOTL/TL keeps its previous state until the next refresh.
+	 * NOTE: waits for a cache update being executed, if any.
+	 */
+	synchronized void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Returns whether the analysis has been cancelled
+	 *
+	 * @return TRUE if the analysis has been cancelled, FALSE otherwise
+	 */
+	protected synchronized boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Executes the given update of the cache, unless the analysis has been cancelled
+	 *
+	 * @param cacheUpdate {@link Runnable} updating the cache
+	 */
+	protected synchronized void updateCache(Runnable cacheUpdate) {
+		if (cancelled) {
+			LOG.debug("The analysis of '{}' has been cancelled. The cache is not updated.", source.getUrl());
+			return;
+		}
+		cacheUpdate.run();
+	}
+
 	/**
 	 * Downloads the document by url
 	 *
@@ -87,21 +145,25 @@ public abstract class AbstractAnalysis  {
 	 * @return {@link DSSDocument}
 	 */
 	protected DSSDocument download(final String url) {
+		final long startTime = System.nanoTime();
 		DSSDocument document = null;
 		try {
 			LOG.debug("Downloading url '{}'...", url);
 			XmlDownloadTask downloadTask = new XmlDownloadTask(dssFileLoader, url);
 			XmlDownloadResult downloadResult = downloadTask.get();
 			if (!cacheAccess.isUpToDate(downloadResult)) {
-				cacheAccess.update(downloadResult);
-				expireCache();
+				updateCache(() -> {
+					cacheAccess.update(downloadResult);
+					expireCache();
+				});
 			}
 			document = downloadResult.getDSSDocument();
 		} catch (Exception e) {
 			// wrapped exception
 			LOG.warn(e.getMessage());
-			cacheAccess.downloadError(e);
+			updateCache(() -> cacheAccess.downloadError(e));
 		}
+		stageCompleted(AnalysisStage.DOWNLOAD, startTime);
 		return document;
 	}
 
@@ -121,14 +183,17 @@ public abstract class AbstractAnalysis  {
 	protected void parsing(DSSDocument document) {
 		// True if EMPTY / EXPIRED by TL/LOTL
 		if (cacheAccess.isParsingRefreshNeeded()) {
+			final long startTime = System.nanoTime();
 			try {
 				LOG.debug("Parsing the TL/LOTL with cache key '{}'...", cacheAccess.getCacheKey().getKey());
 				AbstractParsingTask<?> parsingTask = getParsingTask(document);
-				cacheAccess.update(parsingTask.get());
+				AbstractParsingResult parsingResult = parsingTask.get();
+				updateCache(() -> cacheAccess.update(parsingResult));
 			} catch (Exception e) {
 				LOG.warn("Cannot parse the TL/LOTL with the cache key '{}' : {}", cacheAccess.getCacheKey().getKey(), e.getMessage(), e);
-				cacheAccess.parsingError(e);
+				updateCache(() -> cacheAccess.parsingError(e));
 			}
+			stageCompleted(AnalysisStage.PARSING, startTime);
 		}
 	}
 
@@ -149,14 +214,17 @@ public abstract class AbstractAnalysis  {
 	protected void validation(DSSDocument document, CertificateSource certificateSource) {
 		// True if EMPTY / EXPIRED by TL/LOTL
 		if (cacheAccess.isValidationRefreshNeeded()) {
+			final long startTime = System.nanoTime();
 			try {
 				LOG.debug("Validating the TL/LOTL with cache key '{}'...", cacheAccess.getCacheKey().getKey());
 				TLValidatorTask validationTask = getValidationTask(document, certificateSource);
-				cacheAccess.update(validationTask.get());
+				ValidationResult validationResult = validationTask.get();
+				updateCache(() -> cacheAccess.update(validationResult));
 			} catch (Exception e) {
 				LOG.warn("Cannot validate the TL/LOTL with the cache key '{}' : {}", cacheAccess.getCacheKey().getKey(), e.getMessage());
-				cacheAccess.validationError(e);
+				updateCache(() -> cacheAccess.validationError(e));
 			}
+			stageCompleted(AnalysisStage.VALIDATION, startTime);
 		}
 	}
 
@@ -168,7 +236,40 @@ public abstract class AbstractAnalysis  {
 	 * @return {@link TLValidatorTask} to be executed
 	 */
 	protected TLValidatorTask getValidationTask(DSSDocument document, CertificateSource certificateSource) {
-		return new TLValidatorTask(document, certificateSource);
+		return new TLValidatorTask(document, getDocumentDom(document), certificateSource);
+	}
+
+	/**
+	 * Returns a DOM representation of the given document, shared between the parsing and validation tasks,
+	 * so the TL/LOTL is parsed only once per analysis.
+	 * Returns NULL when the document cannot be parsed as XML,
+	 * in which case the tasks process the document itself and report the corresponding error.
+	 *
+	 * @param document {@link DSSDocument} to get DOM for
+	 * @return {@link Document}, or NULL if the document cannot be parsed
+	 */
+	protected Document getDocumentDom(DSSDocument document) {
+		if (document != domSourceDocument) {
+			domSourceDocument = document;
+			documentDom = null;
+			try {
+				documentDom = DomUtils.buildDOM(document);
+			} catch (Exception e) {
+				LOG.debug("Unable to build DOM for the TL/LOTL with cache key '{}' : {}",
+						cacheAccess.getCacheKey().getKey(), e.getMessage());
+			}
+		}
+		return documentDom;
+	}
+
+	private void stageCompleted(AnalysisStage stage, long startTime) {
+		if (analysisMonitor != null) {
+			try {
+				analysisMonitor.onStageCompleted(source.getUrl(), stage, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+			} catch (Exception e) {
+				LOG.warn("An error occurred in the AnalysisMonitor : {}", e.getMessage(), e);
+			}
+		}
 	}
 
 }
@@ -40,7 +40,7 @@ public abstract class AbstractRunnableAnalysis extends AbstractAnalysis implemen
 
 	private static final String LOG_ERROR_PERFORM_ANALYSIS = "Error performing analysis.";
 
-	/** The tasks counter */
+	/** The tasks counter (optional) */
 	private final CountDownLatch latch;
 
 	/**
@@ -49,6 +49,18 @@ public abstract class AbstractRunnableAnalysis extends AbstractAnalysis implemen
 	 * @param source {@link TLSource} representing a TL or LOTL
 	 * @param cacheAccess {@link CacheAccessByKey}
 	 * @param dssFileLoader {@link DSSFileLoader}
+	 */
+	protected AbstractRunnableAnalysis(final TLSource source, final CacheAccessByKey cacheAccess,
+									   final DSSFileLoader dssFileLoader) {
+		this(source, cacheAccess, dssFileLoader, null);
+	}
+
+	/**
+	 * Constructor counting down the given {@code latch} once the analysis is finished
+	 *
+	 * @param source {@link TLSource} representing a TL or LOTL
+	 * @param cacheAccess {@link CacheAccessByKey}
+	 * @param dssFileLoader {@link DSSFileLoader}
 	 * @param latch {@link CountDownLatch}
 	 */
 	protected AbstractRunnableAnalysis(final TLSource source, final CacheAccessByKey cacheAccess,
@@ -85,7 +97,9 @@ public abstract class AbstractRunnableAnalysis extends AbstractAnalysis implemen
 			// NOTE: Throwable shall be caught
 			LOG.warn(LOG_ERROR_PERFORM_ANALYSIS, exception);
 		} finally {
-			latch.countDown();
+			if (latch != null) {
+				latch.countDown();
+			}
 		}
 	}
 
@@ -0,0 +1,80 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.runnable;
+
+/**
+ * Receives the progress of the LOTL/TL analyses executed by an {@code AnalysisScheduler}.
+ * All methods have an empty default implementation, so only the relevant events need to be implemented.
+ * NOTE: the methods are called from the analysis threads and shall return quickly
+ *
+ */
+public interface AnalysisMonitor {
+
+	/**
+	 * Called when the analysis of the LOTL/TL has been submitted to the scheduler
+	 *
+	 * @param url {@link String} of the LOTL/TL
+	 */
+	default void onQueued(String url) {
+		// do nothing by default
+	}
+
+	/**
+	 * Called when the analysis of the LOTL/TL is started
+	 *
+	 * @param url {@link String} of the LOTL/TL
+	 * @param queueTime time in milliseconds the analysis has been waiting in the queue
+	 */
+	default void onStarted(String url, long queueTime) {
+		// do nothing by default
+	}
+
+	/**
+	 * Called when a stage of the LOTL/TL analysis has been performed
+	 *
+	 * @param url {@link String} of the LOTL/TL
+	 * @param stage {@link AnalysisStage} which has been performed
+	 * @param duration time in milliseconds spent in the stage
+	 */
+	default void onStageCompleted(String url, AnalysisStage stage, long duration) {
+		// do nothing by default
+	}
+
+	/**
+	 * Called when the analysis of the LOTL/TL is finished (successfully or not)
+	 *
+	 * @param url {@link String} of the LOTL/TL
+	 * @param duration time in milliseconds spent in the analysis
+	 */
+	default void onCompleted(String url, long duration) {
+		// do nothing by default
+	}
+
+	/**
+	 * Called when the analysis of the LOTL/TL has been cancelled, because of a timeout or of a cancelled refresh
+	 *
+	 * @param url {@link String} of the LOTL/TL
+	 */
+	default void onCancelled(String url) {
+		// do nothing by default
+	}
+
+}
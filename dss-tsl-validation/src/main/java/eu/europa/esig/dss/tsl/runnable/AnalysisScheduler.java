@@ -0,0 +1,498 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.runnable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Executes the LOTL/TL analyses (download - parse - validate) of a validation job.
+ *
+ * By default, the analyses are executed within a pool with a bounded number of threads
+ * (see {@code DEFAULT_MAX_CONCURRENT_ANALYSES}), so a large number of trusted lists does not create as many threads.
+ * The scheduler also allows to:
+ * - define a timeout per LOTL/TL analysis (counted from its submission), after which the analysis is cancelled
+ *   and the refresh continues without waiting for it (e.g. in case of a not responding server);
+ * - cancel all the running analyses (see {@code cancelAll()});
+ * - observe the queue and the durations of the analysis stages (see {@code AnalysisMonitor}).
+ *
+ * Nested analyses (e.g. the pivots of a LOTL) are executed by the same scheduler. While waiting for them,
+ * an analysis thread executes itself the nested analyses not started yet, which prevents a deadlock
+ * when all the threads of the pool are busy.
+ *
+ */
+public class AnalysisScheduler {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AnalysisScheduler.class);
+
+	/** The default maximum number of analyses executed at the same time */
+	public static final int DEFAULT_MAX_CONCURRENT_ANALYSES = 10;
+
+	/** The executor service running the analyses */
+	private final ExecutorService executorService;
+
+	/** The analyses submitted and not finished yet */
+	private final Set<AnalysisTask<?>> activeTasks = ConcurrentHashMap.newKeySet();
+
+	/** Number of analyses waiting to be started */
+	private final AtomicInteger queuedAnalyses = new AtomicInteger();
+
+	/** Number of analyses being executed */
+	private final AtomicInteger runningAnalyses = new AtomicInteger();
+
+	/** Number of finished analyses */
+	private final AtomicLong finishedAnalyses = new AtomicLong();
+
+	/** The threads executing an analysis of this scheduler (used to run the awaited nested analyses in place) */
+	private final Set<Thread> analysisThreads = ConcurrentHashMap.newKeySet();
+
+	/** Number of cancelled analyses (timeout or cancellation) */
+	private final AtomicLong cancelledAnalyses = new AtomicLong();
+
+	/** The service used to cancel the analyses exceeding the timeout (created on demand) */
+	private ScheduledExecutorService timeoutExecutorService;
+
+	/** The maximum time in milliseconds for an analysis of a LOTL/TL (default : 0, no timeout) */
+	private long analysisTimeout = 0;
+
+	/** The monitor to be notified about the analyses progress (optional) */
+	private AnalysisMonitor analysisMonitor;
+
+	/**
+	 * Default constructor instantiating a scheduler with {@code DEFAULT_MAX_CONCURRENT_ANALYSES} threads
+	 */
+	public AnalysisScheduler() {
+		this(DEFAULT_MAX_CONCURRENT_ANALYSES);
+	}
+
+	/**
+	 * Constructor instantiating a scheduler executing at most {@code maxConcurrentAnalyses} analyses at the same time.
+	 * The idle threads are released after one minute.
+	 *
+	 * @param maxConcurrentAnalyses the maximum number of analyses executed at the same time
+	 */
+	public AnalysisScheduler(int maxConcurrentAnalyses) {
+		this(createBoundedExecutorService(maxConcurrentAnalyses));
+	}
+
+	/**
+	 * Constructor with a custom executor service
+	 *
+	 * @param executorService {@link ExecutorService} to execute the analyses
+	 */
+	public AnalysisScheduler(ExecutorService executorService) {
+		Objects.requireNonNull(executorService, "ExecutorService cannot be null!");
+		this.executorService = executorService;
+	}
+
+	private static ExecutorService createBoundedExecutorService(int maxConcurrentAnalyses) {
+		if (maxConcurrentAnalyses < 1) {
+			throw new IllegalArgumentException("The maximum number of concurrent analyses shall be positive!");
+		}
+		ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(maxConcurrentAnalyses, maxConcurrentAnalyses,
+				60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+		threadPoolExecutor.allowCoreThreadTimeOut(true);
+		return threadPoolExecutor;
+	}
+
+	/**
+	 * Sets the maximum time in milliseconds for an analysis of a single LOTL/TL, counted from the submission
+	 * of the analysis (i.e. the time spent within the queue is included).
+	 * When the time is exceeded, the analysis is interrupted and the validation job does not wait for it anymore.
+	 * The cancelled analysis does not update the cache anymore, even if the running download or processing
+	 * does not react on the interruption. The cache entry of the LOTL/TL keeps its previous state
+	 * and is processed again on the next refresh.
+	 *
+	 * Default : 0 (no timeout)
+	 *
+	 * @param analysisTimeout the maximum duration of an analysis in milliseconds, 0 or negative for no timeout
+	 */
+	public void setAnalysisTimeout(long analysisTimeout) {
+		this.analysisTimeout = analysisTimeout;
+	}
+
+	/**
+	 * Sets the monitor to be notified about the progress of the analyses
+	 *
+	 * @param analysisMonitor {@link AnalysisMonitor}
+	 */
+	public void setAnalysisMonitor(AnalysisMonitor analysisMonitor) {
+		this.analysisMonitor = analysisMonitor;
+	}
+
+	/**
+	 * Executes the given analyses and waits until all of them are finished, cancelled or timed out
+	 *
+	 * @param analyses a collection of {@link AbstractRunnableAnalysis} to execute
+	 */
+	public void runAll(Collection<? extends AbstractRunnableAnalysis> analyses) {
+		runAll(analyses, () -> false);
+	}
+
+	/**
+	 * Executes the given analyses and waits until all of them are finished, cancelled or timed out.
+	 * The analyses are cancelled on submission when the {@code cancellation} returns TRUE,
+	 * so a cancellation requested while the analyses are being submitted is not missed by {@code cancelAll()}.
+	 *
+	 * @param analyses a collection of {@link AbstractRunnableAnalysis} to execute
+	 * @param cancellation {@link BooleanSupplier} returning TRUE when the analyses shall not be executed anymore
+	 */
+	public void runAll(Collection<? extends AbstractRunnableAnalysis> analyses, BooleanSupplier cancellation) {
+		Objects.requireNonNull(cancellation, "Cancellation cannot be null!");
+		final List<AnalysisTask<Object>> tasks = new ArrayList<>();
+		for (AbstractRunnableAnalysis analysis : analyses) {
+			final AnalysisTask<Object> task = submit(analysis, Executors.callable(analysis));
+			if (cancellation.getAsBoolean()) {
+				task.cancel(true);
+			}
+			tasks.add(task);
+		}
+		for (AnalysisTask<Object> task : tasks) {
+			await(task);
+		}
+	}
+
+	/**
+	 * Executes the given analyses and waits for their results
+	 *
+	 * @param analyses a map of analyses to execute
+	 * @param <T> the result of an analysis
+	 * @param <A> the analysis to execute
+	 * @param <K> the key identifying an analysis
+	 * @return a map of results by the keys of the analyses.
+	 *         The result is NULL for a failed, cancelled or timed out analysis.
+	 */
+	public <T, A extends AbstractAnalysis & Callable<T>, K> Map<K, T> callAll(Map<K, A> analyses) {
+		final Map<K, AnalysisTask<T>> tasks = new LinkedHashMap<>();
+		for (Map.Entry<K, A> entry : analyses.entrySet()) {
+			tasks.put(entry.getKey(), submit(entry.getValue(), entry.getValue()));
+		}
+		final Map<K, T> results = new LinkedHashMap<>();
+		for (Map.Entry<K, AnalysisTask<T>> entry : tasks.entrySet()) {
+			results.put(entry.getKey(), await(entry.getValue()));
+		}
+		return results;
+	}
+
+	private <T> AnalysisTask<T> submit(AbstractAnalysis analysis, Callable<T> callable) {
+		analysis.setAnalysisMonitor(analysisMonitor);
+		final AnalysisTask<T> task = new AnalysisTask<>(analysis, callable);
+		activeTasks.add(task);
+		queuedAnalyses.incrementAndGet();
+		notifyMonitor(m -> m.onQueued(task.url));
+		if (analysisTimeout > 0) {
+			task.scheduleTimeout(analysisTimeout);
+		}
+		try {
+			executorService.execute(task);
+		} catch (RejectedExecutionException e) {
+			LOG.error("The analysis of '{}' has been rejected : {}", task.url, e.getMessage());
+			task.cancel(false);
+		}
+		return task;
+	}
+
+	private <T> T await(AnalysisTask<T> task) {
+		if (Thread.currentThread().isInterrupted()) {
+			task.cancel(true);
+			return null;
+		}
+		if (analysisThreads.contains(Thread.currentThread()) && task.execute() && task.isCancelled()) {
+			// clear the interruption caused by the timeout of the task executed by the current thread
+			Thread.interrupted();
+		}
+		try {
+			return task.get();
+		} catch (CancellationException e) {
+			LOG.warn("The analysis of '{}' has been cancelled", task.url);
+		} catch (ExecutionException e) {
+			LOG.error(String.format("Unable to perform the analysis of '%s'", task.url), e);
+		} catch (InterruptedException e) {
+			LOG.error(String.format("Interruption while waiting for the analysis of '%s'", task.url), e);
+			task.cancel(true);
+			Thread.currentThread().interrupt();
+		}
+		return null;
+	}
+
+	/**
+	 * Cancels all the analyses submitted and not finished yet.
+	 * The running analyses are interrupted, do not update the cache anymore,
+	 * and the waiting callers return without their results.
+	 */
+	public void cancelAll() {
+		for (AnalysisTask<?> task : activeTasks) {
+			task.cancel(true);
+		}
+	}
+
+	/**
+	 * Returns the number of analyses waiting to be started
+	 *
+	 * @return number of queued analyses
+	 */
+	public int getNumberOfQueuedAnalyses() {
+		return queuedAnalyses.get();
+	}
+
+	/**
+	 * Returns the number of analyses being executed
+	 *
+	 * @return number of running analyses
+	 */
+	public int getNumberOfRunningAnalyses() {
+		return runningAnalyses.get();
+	}
+
+	/**
+	 * Returns the number of analyses finished since the creation of the scheduler
+	 *
+	 * @return number of finished analyses
+	 */
+	public long getNumberOfFinishedAnalyses() {
+		return finishedAnalyses.get();
+	}
+
+	/**
+	 * Returns the number of analyses cancelled (timeout or cancellation) since the creation of the scheduler
+	 *
+	 * @return number of cancelled analyses
+	 */
+	public long getNumberOfCancelledAnalyses() {
+		return cancelledAnalyses.get();
+	}
+
+	/**
+	 * Returns whether the scheduler has been shut down
+	 *
+	 * @return TRUE if the scheduler is shut down, FALSE otherwise
+	 */
+	public boolean isShutdown() {
+		return executorService.isShutdown();
+	}
+
+	/**
+	 * Cancels the running analyses and shuts down the scheduler
+	 */
+	public synchronized void shutdown() {
+		cancelAll();
+		executorService.shutdownNow();
+		if (timeoutExecutorService != null) {
+			timeoutExecutorService.shutdownNow();
+		}
+	}
+
+	private synchronized ScheduledExecutorService getTimeoutExecutorService() {
+		if (timeoutExecutorService == null) {
+			ScheduledThreadPoolExecutor scheduledThreadPoolExecutor = new ScheduledThreadPoolExecutor(1, r -> {
+				Thread thread = new Thread(r, "dss-tl-analysis-timeout");
+				thread.setDaemon(true);
+				return thread;
+			});
+			scheduledThreadPoolExecutor.setRemoveOnCancelPolicy(true);
+			timeoutExecutorService = scheduledThreadPoolExecutor;
+		}
+		return timeoutExecutorService;
+	}
+
+	private void notifyMonitor(Consumer<AnalysisMonitor> event) {
+		if (analysisMonitor != null) {
+			try {
+				event.accept(analysisMonitor);
+			} catch (Exception e) {
+				LOG.warn("An error occurred in the AnalysisMonitor : {}", e.getMessage(), e);
+			}
+		}
+	}
+
+	private static long toMillis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+	/**
+	 * The analysis submitted to the executor service
+	 *
+	 * @param <T> the result of the analysis
+	 */
+	private final class AnalysisTask<T> extends FutureTask<T> {
+
+		/** The analysis to be executed */
+		private final AbstractAnalysis analysis;
+
+		/** The url of the analyzed LOTL/TL */
+		private final String url;
+
+		/** The submission time (nanoseconds) */
+		private final long submissionTime = System.nanoTime();
+
+		/** Defines whether the task has been started (or cancelled before its start) */
+		private final AtomicBoolean started = new AtomicBoolean(false);
+
+		/** Defines whether the task has been removed from the running analyses */
+		private final AtomicBoolean released = new AtomicBoolean(false);
+
+		/** The scheduled timeout of the analysis (optional) */
+		private volatile ScheduledFuture<?> timeout;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param analysis {@link AbstractAnalysis} to be executed
+		 * @param callable {@link Callable} performing the analysis
+		 */
+		private AnalysisTask(AbstractAnalysis analysis, Callable<T> callable) {
+			super(callable);
+			this.analysis = analysis;
+			this.url = analysis.getSource().getUrl();
+		}
+
+		/**
+		 * Schedules the cancellation of the analysis after the given time
+		 *
+		 * @param timeoutMillis the maximum duration of the analysis in milliseconds
+		 */
+		private void scheduleTimeout(long timeoutMillis) {
+			timeout = getTimeoutExecutorService().schedule(this::timeout, timeoutMillis, TimeUnit.MILLISECONDS);
+			if (isDone()) {
+				timeout.cancel(false);
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			if (isDone()) {
+				return false;
+			}
+			// prevents the cache updates before interrupting the analysis
+			analysis.cancel();
+			return super.cancel(mayInterruptIfRunning);
+		}
+
+		@Override
+		public void run() {
+			execute();
+		}
+
+		/**
+		 * Executes the analysis within the current thread, if not started yet
+		 *
+		 * @return TRUE if the analysis has been executed by the current thread, FALSE otherwise
+		 */
+		private boolean execute() {
+			if (isDone() || !started.compareAndSet(false, true)) {
+				return false;
+			}
+			queuedAnalyses.decrementAndGet();
+			runningAnalyses.incrementAndGet();
+			final long startTime = System.nanoTime();
+			notifyMonitor(m -> m.onStarted(url, toMillis(startTime - submissionTime)));
+
+			// FALSE when the current thread already executes an outer analysis
+			final boolean outermost = analysisThreads.add(Thread.currentThread());
+			try {
+				super.run();
+			} finally {
+				if (outermost) {
+					analysisThreads.remove(Thread.currentThread());
+				}
+				if (released.compareAndSet(false, true)) {
+					// cancelled while running
+					runningAnalyses.decrementAndGet();
+				}
+				notifyMonitor(m -> m.onCompleted(url, toMillis(System.nanoTime() - startTime)));
+			}
+			return true;
+		}
+
+		@Override
+		protected void set(T result) {
+			finished();
+			super.set(result);
+		}
+
+		@Override
+		protected void setException(Throwable t) {
+			finished();
+			super.setException(t);
+		}
+
+		/**
+		 * Updates the counters before the result is published to the waiting callers
+		 */
+		private void finished() {
+			if (!isCancelled() && released.compareAndSet(false, true)) {
+				runningAnalyses.decrementAndGet();
+				finishedAnalyses.incrementAndGet();
+			}
+		}
+
+		private void timeout() {
+			if (cancel(true)) {
+				LOG.warn("The analysis of '{}' has been cancelled after {} ms (timeout)", url, analysisTimeout);
+			}
+		}
+
+		@Override
+		protected void done() {
+			activeTasks.remove(this);
+			if (timeout != null) {
+				timeout.cancel(false);
+			}
+			if (started.compareAndSet(false, true)) {
+				// cancelled before its start
+				queuedAnalyses.decrementAndGet();
+			}
+			if (isCancelled()) {
+				cancelledAnalyses.incrementAndGet();
+				notifyMonitor(m -> m.onCancelled(url));
+			}
+		}
+
+	}
+
+}
@@ -41,6 +41,17 @@ public class LOTLAnalysis extends AbstractRunnableAnalysis {
 	 * @param source {@link LOTLSource}
 	 * @param cacheAccess {@link CacheAccessByKey}
 	 * @param dssFileLoader {@link DSSFileLoader}
+	 */
+	public LOTLAnalysis(LOTLSource source, CacheAccessByKey cacheAccess, DSSFileLoader dssFileLoader) {
+		super(source, cacheAccess, dssFileLoader);
+	}
+
+	/**
+	 * Constructor counting down the given {@code latch} once the analysis is finished
+	 *
+	 * @param source {@link LOTLSource}
+	 * @param cacheAccess {@link CacheAccessByKey}
+	 * @param dssFileLoader {@link DSSFileLoader}
 	 * @param latch {@link CountDownLatch}
 	 */
 	public LOTLAnalysis(LOTLSource source, CacheAccessByKey cacheAccess, DSSFileLoader dssFileLoader,
@@ -50,7 +61,7 @@ public class LOTLAnalysis extends AbstractRunnableAnalysis {
 
 	@Override
 	protected AbstractParsingTask<?> getParsingTask(DSSDocument document) {
-		return new LOTLParsingTask(document, (LOTLSource) getSource());
+		return new LOTLParsingTask(document, getDocumentDom(document), (LOTLSource) getSource());
 	}
 
 }
@@ -34,6 +34,7 @@ import eu.europa.esig.dss.tsl.dto.ValidationCacheDTO;
 import eu.europa.esig.dss.tsl.sha2.Sha2FileCacheDataLoader;
 import eu.europa.esig.dss.tsl.source.LOTLSource;
 import eu.europa.esig.dss.tsl.validation.TLValidatorTask;
+import eu.europa.esig.dss.tsl.validation.ValidationResult;
 import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,8 +65,11 @@ public class LOTLWithPivotsAnalysis extends LOTLAnalysis {
 	/** The file loader */
 	private final DSSFileLoader dssFileLoader;
 
+	/** The scheduler executing the pivots analyses (optional) */
+	private final AnalysisScheduler analysisScheduler;
+
 	/**
-	 * Default constructor
+	 * Default constructor (the pivots are processed within a dedicated thread pool)
 	 *
 	 * @param source             {@link LOTLSource}
 	 * @param cacheAccess        {@link CacheAccessByKey}
@@ -75,9 +79,41 @@ public class LOTLWithPivotsAnalysis extends LOTLAnalysis {
 	 */
 	public LOTLWithPivotsAnalysis(final LOTLSource source, final CacheAccessByKey cacheAccess,
 								  final DSSFileLoader dssFileLoader, final CacheAccessFactory cacheAccessFactory, final CountDownLatch latch) {
+		this(source, cacheAccess, dssFileLoader, cacheAccessFactory, latch, null);
+	}
+
+	/**
+	 * Constructor processing the pivots within the given {@code AnalysisScheduler}
+	 *
+	 * @param source             {@link LOTLSource}
+	 * @param cacheAccess        {@link CacheAccessByKey}
+	 * @param cacheAccessFactory {@link CacheAccessFactory}
+	 * @param dssFileLoader      {@link DSSFileLoader}
+	 * @param analysisScheduler  {@link AnalysisScheduler} to process the pivots
+	 */
+	public LOTLWithPivotsAnalysis(final LOTLSource source, final CacheAccessByKey cacheAccess,
+								  final DSSFileLoader dssFileLoader, final CacheAccessFactory cacheAccessFactory,
+								  final AnalysisScheduler analysisScheduler) {
+		this(source, cacheAccess, dssFileLoader, cacheAccessFactory, null, analysisScheduler);
+	}
+
+	/**
+	 * Constructor processing the pivots within the given {@code AnalysisScheduler}
+	 *
+	 * @param source             {@link LOTLSource}
+	 * @param cacheAccess        {@link CacheAccessByKey}
+	 * @param cacheAccessFactory {@link CacheAccessFactory}
+	 * @param dssFileLoader      {@link DSSFileLoader}
+	 * @param latch              {@link CountDownLatch} (optional)
+	 * @param analysisScheduler  {@link AnalysisScheduler} to process the pivots
+	 */
+	public LOTLWithPivotsAnalysis(final LOTLSource source, final CacheAccessByKey cacheAccess,
+								  final DSSFileLoader dssFileLoader, final CacheAccessFactory cacheAccessFactory,
+								  final CountDownLatch latch, final AnalysisScheduler analysisScheduler) {
 		super(source, cacheAccess, dssFileLoader, latch);
 		this.cacheAccessFactory = cacheAccessFactory;
 		this.dssFileLoader = dssFileLoader;
+		this.analysisScheduler = analysisScheduler;
 	}
 
 	@Override
@@ -152,11 +188,12 @@ public class LOTLWithPivotsAnalysis extends LOTLAnalysis {
 			try {
 				LOG.debug("Validating the Pivot LOTL with cache key '{}'...", pivotCacheAccess.getCacheKey().getKey());
 				TLValidatorTask validationTask = new TLValidatorTask(document, certificateSource);
-				pivotCacheAccess.update(validationTask.get());
+				ValidationResult validationResult = validationTask.get();
+				updateCache(() -> pivotCacheAccess.update(validationResult));
 			} catch (Exception e) {
 				LOG.warn("Cannot validate the Pivot LOTL with the cache key '{}' : {}", pivotCacheAccess.getCacheKey().getKey(), e.getMessage());
 				assertOriginalDocumentIsAccessible(pivotCacheAccess);
-				pivotCacheAccess.validationError(e);
+				updateCache(() -> pivotCacheAccess.validationError(e));
 			}
 		}
 	}
@@ -171,8 +208,10 @@ public class LOTLWithPivotsAnalysis extends LOTLAnalysis {
 			}
 		} catch (Exception e) {
 			LOG.warn("The Pivot LOTL with the cache key '{}' contains empty content : {}", pivotCacheAccess.getCacheKey().getKey(), e.getMessage());
-			pivotCacheAccess.downloadError(e);
-			pivotCacheAccess.parsingError(e);
+			updateCache(() -> {
+				pivotCacheAccess.downloadError(e);
+				pivotCacheAccess.parsingError(e);
+			});
 		}
 	}
 
@@ -208,7 +247,10 @@ public class LOTLWithPivotsAnalysis extends LOTLAnalysis {
 			pivotCacheAccessByKeyList.add(pivotCacheAccess);
 		}
 
-		if (Utils.isMapNotEmpty(pivotProcessingMap)) {
+		if (Utils.isMapNotEmpty(pivotProcessingMap) && analysisScheduler != null) {
+			processingResults.putAll(analysisScheduler.callAll(pivotProcessingMap));
+
+		} else if (Utils.isMapNotEmpty(pivotProcessingMap)) {
 			ExecutorService executorService = Executors.newFixedThreadPool(pivotProcessingMap.size());
 			Map<String, Future<PivotProcessingResult>> futures = new HashMap<>();
 			for (Map.Entry<String, PivotProcessing> processing : pivotProcessingMap.entrySet()) {
@@ -79,7 +79,7 @@ public class PivotProcessing extends AbstractAnalysis implements Callable<PivotP
 
 	@Override
 	protected AbstractParsingTask<?> getParsingTask(DSSDocument document) {
-		return new LOTLParsingTask(document, (LOTLSource) getSource());
+		return new LOTLParsingTask(document, getDocumentDom(document), (LOTLSource) getSource());
 	}
 
 	@Override
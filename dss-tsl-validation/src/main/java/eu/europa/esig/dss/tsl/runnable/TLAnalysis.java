@@ -41,6 +41,17 @@ public class TLAnalysis extends AbstractRunnableAnalysis {
 	 * @param source {@link TLSource}
 	 * @param cacheAccess {@link CacheAccessByKey}
 	 * @param dssFileLoader {@link DSSFileLoader}
+	 */
+	public TLAnalysis(TLSource source, CacheAccessByKey cacheAccess, DSSFileLoader dssFileLoader) {
+		super(source, cacheAccess, dssFileLoader);
+	}
+
+	/**
+	 * Constructor counting down the given {@code latch} once the analysis is finished
+	 *
+	 * @param source {@link TLSource}
+	 * @param cacheAccess {@link CacheAccessByKey}
+	 * @param dssFileLoader {@link DSSFileLoader}
 	 * @param latch {@link CountDownLatch}
 	 */
 	public TLAnalysis(TLSource source, CacheAccessByKey cacheAccess, DSSFileLoader dssFileLoader,
@@ -50,7 +61,7 @@ public class TLAnalysis extends AbstractRunnableAnalysis {
 
 	@Override
 	protected AbstractParsingTask<?> getParsingTask(DSSDocument document) {
-		return new TLParsingTask(document, getSource());
+		return new TLParsingTask(document, getDocumentDom(document), getSource());
 	}
 
 }
@@ -0,0 +1,72 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.sync;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the certificates extracted from each trusted list during the last synchronization,
+ * allowing to re-process only the trusted lists which have been changed since.
+ * The same instance shall be provided to the successive {@code TrustedListCertificateSourceSynchronizer}s.
+ */
+public class CertificateSynchronizationState implements Serializable {
+
+	private static final long serialVersionUID = -1817392648290318275L;
+
+	/** The extracted certificates by trusted list key (related LOTL URL and TL URL) */
+	private Map<String, TrustedListCertificates> certificatesByTrustedList = Collections.emptyMap();
+
+	/**
+	 * Default constructor instantiating an empty state
+	 */
+	public CertificateSynchronizationState() {
+		// empty
+	}
+
+	/**
+	 * Gets the certificates extracted during the last synchronization
+	 *
+	 * @return map of {@link TrustedListCertificates} by trusted list keys
+	 */
+	synchronized Map<String, TrustedListCertificates> getCertificatesByTrustedList() {
+		return certificatesByTrustedList;
+	}
+
+	/**
+	 * Sets the certificates extracted during the last synchronization
+	 *
+	 * @param certificatesByTrustedList map of {@link TrustedListCertificates} by trusted list keys
+	 */
+	synchronized void setCertificatesByTrustedList(Map<String, TrustedListCertificates> certificatesByTrustedList) {
+		this.certificatesByTrustedList = Collections.unmodifiableMap(new LinkedHashMap<>(certificatesByTrustedList));
+	}
+
+	/**
+	 * Removes the state, so the next synchronization processes all trusted lists
+	 */
+	public synchronized void clear() {
+		this.certificatesByTrustedList = Collections.emptyMap();
+	}
+
+}
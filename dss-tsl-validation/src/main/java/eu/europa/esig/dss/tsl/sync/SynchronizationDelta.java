@@ -0,0 +1,84 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.sync;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Contains the changes applied to the trusted certificate source during a synchronization.
+ * The object allows to invalidate selectively the data depending on the affected trust anchors.
+ */
+public class SynchronizationDelta implements Serializable {
+
+	private static final long serialVersionUID = 2965217781434096412L;
+
+	/** The changes by trusted list (only trusted lists with changes are present) */
+	private final List<TrustedListDelta> trustedListDeltas;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param trustedListDeltas a list of {@link TrustedListDelta}s
+	 */
+	public SynchronizationDelta(List<TrustedListDelta> trustedListDeltas) {
+		this.trustedListDeltas = Collections.unmodifiableList(trustedListDeltas);
+	}
+
+	/**
+	 * Gets the changes by trusted list
+	 *
+	 * @return a list of {@link TrustedListDelta}s
+	 */
+	public List<TrustedListDelta> getTrustedListDeltas() {
+		return trustedListDeltas;
+	}
+
+	/**
+	 * Returns all certificates (trust anchors) which have been added, removed or updated within the synchronization
+	 *
+	 * @return a set of {@link CertificateToken}s
+	 */
+	public Set<CertificateToken> getAffectedCertificates() {
+		final Set<CertificateToken> result = new LinkedHashSet<>();
+		for (TrustedListDelta trustedListDelta : trustedListDeltas) {
+			result.addAll(trustedListDelta.getAddedCertificates());
+			result.addAll(trustedListDelta.getRemovedCertificates());
+			result.addAll(trustedListDelta.getUpdatedCertificates());
+		}
+		return result;
+	}
+
+	/**
+	 * Checks whether the synchronization did not change any certificate
+	 *
+	 * @return TRUE if no changes, FALSE otherwise
+	 */
+	public boolean isEmpty() {
+		return trustedListDeltas.isEmpty();
+	}
+
+}
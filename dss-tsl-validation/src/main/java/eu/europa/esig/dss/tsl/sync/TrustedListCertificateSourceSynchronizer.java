@@ -22,6 +22,7 @@ package eu.europa.esig.dss.tsl.sync;
 
 import eu.europa.esig.dss.model.timedependent.TimeDependentValues;
 import eu.europa.esig.dss.model.tsl.CertificateTrustTime;
+import eu.europa.esig.dss.model.tsl.InfoRecord;
 import eu.europa.esig.dss.model.tsl.LOTLInfo;
 import eu.europa.esig.dss.model.tsl.ParsingInfoRecord;
 import eu.europa.esig.dss.model.tsl.PivotInfo;
@@ -44,8 +45,10 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.WeakHashMap;
 import java.util.function.Predicate;
 
@@ -56,6 +59,9 @@ public class TrustedListCertificateSourceSynchronizer {
 
 	private static final Logger LOG = LoggerFactory.getLogger(TrustedListCertificateSourceSynchronizer.class);
 
+	/** Separates the LOTL URL and the TL URL within a key of the synchronization state */
+	private static final String KEY_SEPARATOR = " > ";
+
 	/**
 	 * List of TLSources to extract summary for
 	 */
@@ -81,6 +87,16 @@ public class TrustedListCertificateSourceSynchronizer {
 	 */
 	private final SynchronizerCacheAccess cacheAccess;
 
+	/**
+	 * The certificates extracted during the previous synchronization
+	 */
+	private final CertificateSynchronizationState synchronizationState;
+
+	/**
+	 * The listener to be notified about the changes (optional)
+	 */
+	private final SynchronizationListener synchronizationListener;
+
 	/**
 	 * Default constructor
 	 *
@@ -93,11 +109,35 @@ public class TrustedListCertificateSourceSynchronizer {
 	public TrustedListCertificateSourceSynchronizer(TLSource[] tlSources, LOTLSource[] lotlSources,
 			TrustPropertiesCertificateSource certificateSource, SynchronizationStrategy synchronizationStrategy,
 			SynchronizerCacheAccess cacheAccess) {
+		this(tlSources, lotlSources, certificateSource, synchronizationStrategy, cacheAccess,
+				new CertificateSynchronizationState(), null);
+	}
+
+	/**
+	 * Constructor for an incremental synchronization.
+	 * Only the trusted lists changed since the synchronization recorded within {@code synchronizationState}
+	 * are re-processed, and the changes are provided to the {@code synchronizationListener}.
+	 *
+	 * @param tlSources {@link TLSource}s
+	 * @param lotlSources {@link LOTLSource}s
+	 * @param certificateSource {@link TrustPropertiesCertificateSource}
+	 * @param synchronizationStrategy {@link SynchronizationStrategy}
+	 * @param cacheAccess {@link SynchronizerCacheAccess}
+	 * @param synchronizationState {@link CertificateSynchronizationState} shared between the successive synchronizations
+	 * @param synchronizationListener {@link SynchronizationListener} (optional)
+	 */
+	public TrustedListCertificateSourceSynchronizer(TLSource[] tlSources, LOTLSource[] lotlSources,
+			TrustPropertiesCertificateSource certificateSource, SynchronizationStrategy synchronizationStrategy,
+			SynchronizerCacheAccess cacheAccess, CertificateSynchronizationState synchronizationState,
+			SynchronizationListener synchronizationListener) {
+		Objects.requireNonNull(synchronizationState, "CertificateSynchronizationState cannot be null!");
 		this.tlSources = tlSources;
 		this.lotlSources = lotlSources;
 		this.synchronizationStrategy = synchronizationStrategy;
 		this.certificateSource = certificateSource;
 		this.cacheAccess = cacheAccess;
+		this.synchronizationState = synchronizationState;
+		this.synchronizationListener = synchronizationListener;
 	}
 
 	/**
@@ -124,83 +164,143 @@ public class TrustedListCertificateSourceSynchronizer {
 
 	private boolean isCertificateSyncNeeded(TLValidationJobSummary summary) {
 		for (LOTLInfo lotlInfo : summary.getLOTLInfos()) {
-			if (isTLParsingDesyncOrError(lotlInfo) || isTLParsingDesyncOrError(lotlInfo.getTLInfos())) {
+			if (isTLDesyncOrError(lotlInfo) || isTLDesyncOrError(lotlInfo.getTLInfos())) {
 				return true;
 			}
 		}
-		return isTLParsingDesyncOrError(summary.getOtherTLInfos());
+		return isTLDesyncOrError(summary.getOtherTLInfos());
 	}
 
-	private boolean isTLParsingDesyncOrError(List<TLInfo> tlInfos) {
-		return tlInfos.stream().anyMatch(this::isTLParsingDesyncOrError);
+	private boolean isTLDesyncOrError(List<TLInfo> tlInfos) {
+		return tlInfos.stream().anyMatch(this::isTLDesyncOrError);
 	}
 
-	private boolean isTLParsingDesyncOrError(TLInfo tlInfo) {
-		ParsingInfoRecord parsingCacheInfo = tlInfo.getParsingCacheInfo();
-		return parsingCacheInfo == null || parsingCacheInfo.isDesynchronized() || parsingCacheInfo.isError();
+	/**
+	 * Checks whether the download, parsing or validation state of the TL has changed since the last synchronization
+	 *
+	 * @param tlInfo {@link TLInfo} to check
+	 * @return TRUE if the TL has been changed, FALSE otherwise
+	 */
+	private boolean isTLDesyncOrError(TLInfo tlInfo) {
+		return isDesyncOrError(tlInfo.getDownloadCacheInfo()) || isDesyncOrError(tlInfo.getParsingCacheInfo())
+				|| isDesyncOrError(tlInfo.getValidationCacheInfo());
+	}
+
+	private boolean isDesyncOrError(InfoRecord infoRecord) {
+		return infoRecord == null || infoRecord.isDesynchronized() || infoRecord.isError();
 	}
 
 	private void synchronizeCertificates(TLValidationJobSummary summary) {
-		final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = new WeakHashMap<>();
-		final Map<CertificateToken, List<CertificateTrustTime>> trustTimeByCerts = new WeakHashMap<>();
+		final Map<String, TrustedListCertificates> previousState = synchronizationState.getCertificatesByTrustedList();
+		final Map<String, TrustedListCertificates> currentState = new LinkedHashMap<>();
+		final List<TrustedListDelta> deltas = new ArrayList<>();
+
 		for (LOTLInfo lotlInfo : summary.getLOTLInfos()) {
 			if (synchronizationStrategy.canBeSynchronized(lotlInfo)) {
-				addCertificatesFromTLs(trustPropertiesByCerts, trustTimeByCerts, lotlInfo.getTLInfos(), lotlInfo);
+				// TrustProperties refer the LOTL, therefore all its TLs are re-processed on a LOTL change
+				boolean lotlChanged = isTLDesyncOrError(lotlInfo);
+				collectCertificatesFromTLs(previousState, currentState, deltas, lotlInfo.getTLInfos(), lotlInfo, lotlChanged);
 			} else {
 				LOG.warn("Certificate synchronization is skipped for LOTL '{}' and its TLs", lotlInfo.getUrl());
 			}
 		}
-		addCertificatesFromTLs(trustPropertiesByCerts, trustTimeByCerts, summary.getOtherTLInfos(), null);
-		certificateSource.setTrustPropertiesByCertificates(trustPropertiesByCerts);
-		certificateSource.setTrustTimeByCertificates(trustTimeByCerts);
-	}
+		collectCertificatesFromTLs(previousState, currentState, deltas, summary.getOtherTLInfos(), null, false);
+
+		for (Map.Entry<String, TrustedListCertificates> previousEntry : previousState.entrySet()) {
+			if (!currentState.containsKey(previousEntry.getKey())) {
+				addDelta(deltas, TrustedListDelta.compute(getUrl(previousEntry.getKey()), previousEntry.getValue(), null));
+			}
+		}
+
+		final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = new WeakHashMap<>();
+		final Map<CertificateToken, List<CertificateTrustTime>> trustTimeByCerts = new WeakHashMap<>();
+		for (TrustedListCertificates trustedListCertificates : currentState.values()) {
+			trustedListCertificates.addTo(trustPropertiesByCerts, trustTimeByCerts);
+		}
+		certificateSource.setTrustByCertificates(trustPropertiesByCerts, trustTimeByCerts);
+		synchronizationState.setCertificatesByTrustedList(currentState);
 
-	private void addCertificatesFromTLs(final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts,
-										final Map<CertificateToken, List<CertificateTrustTime>> trustTimeByCerts,
-										final List<TLInfo> tlInfos, final LOTLInfo relatedLOTL) {
+		LOG.info("Certificate synchronization is done. {} trusted list(s) changed", deltas.size());
+		notifyListener(deltas);
+	}
 
+	private void collectCertificatesFromTLs(final Map<String, TrustedListCertificates> previousState,
+											final Map<String, TrustedListCertificates> currentState,
+											final List<TrustedListDelta> deltas, final List<TLInfo> tlInfos,
+											final LOTLInfo relatedLOTL, boolean relatedLOTLChanged) {
 		for (final TLInfo tlInfo : tlInfos) {
 			if (synchronizationStrategy.canBeSynchronized(tlInfo)) {
-				ParsingInfoRecord parsingCacheInfo = tlInfo.getParsingCacheInfo();
-				if (parsingCacheInfo == null || !parsingCacheInfo.isResultExist()) {
-					LOG.warn("No Parsing result for TLInfo with url [{}]", tlInfo.getUrl());
+				final String key = getKey(tlInfo, relatedLOTL);
+				final TrustedListCertificates previous = previousState.get(key);
+				TrustedListCertificates current;
+				if (previous == null || relatedLOTLChanged || isTLDesyncOrError(tlInfo)) {
+					current = extractCertificates(tlInfo, relatedLOTL);
+					addDelta(deltas, TrustedListDelta.compute(tlInfo.getUrl(), previous, current));
 				} else {
-					final List<TrustServiceProvider> trustServiceProviders = parsingCacheInfo.getTrustServiceProviders();
-					if (Utils.isCollectionNotEmpty(trustServiceProviders)) {
-						final Predicate<TrustServiceStatusAndInformationExtensions> trustAnchorValidityPredicate =
-								getTrustAnchorValidityPredicate(tlInfo, relatedLOTL);
-						for (TrustServiceProvider original : trustServiceProviders) {
-							TrustServiceProvider detached = getDetached(original);
-							for (TrustService trustService : original.getServices()) {
-								TimeDependentValues<TrustServiceStatusAndInformationExtensions> statusAndInformationExtensions =
-										trustService.getStatusAndInformationExtensions();
-								TrustProperties trustProperties = getTrustProperties(
-										relatedLOTL, tlInfo, detached, statusAndInformationExtensions);
-								List<CertificateTrustTime> certificateTrustTimes = getCertificateTrustTimes(statusAndInformationExtensions, trustAnchorValidityPredicate);
-								for (CertificateToken certificate : trustService.getCertificates()) {
-									addCertificate(trustPropertiesByCerts, trustTimeByCerts, certificate, trustProperties, certificateTrustTimes);
-								}
-							}
-						}
-					}
+					LOG.debug("No changes for TL '{}'. Previously extracted certificates are reused.", tlInfo.getUrl());
+					// TLInfo and LOTLInfo are re-created on each synchronization
+					current = previous.rebind(relatedLOTL, tlInfo);
 				}
+				currentState.put(key, current);
 			} else {
 				LOG.warn("Certificate synchronization is skipped for TL '{}'", tlInfo.getUrl());
 			}
 		}
 	}
 
-	private void addCertificate(final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts,
-								final Map<CertificateToken, List<CertificateTrustTime>> trustTimeByCerts,
-								CertificateToken certificate, TrustProperties trustProperties, List<CertificateTrustTime> certificateTrustTimes) {
-		List<TrustProperties> trustPropertiesList = trustPropertiesByCerts.computeIfAbsent(certificate, k -> new ArrayList<>());
-		if (!trustPropertiesList.contains(trustProperties)) {
-			trustPropertiesList.add(trustProperties);
+	private TrustedListCertificates extractCertificates(final TLInfo tlInfo, final LOTLInfo relatedLOTL) {
+		final TrustedListCertificates result = new TrustedListCertificates();
+		ParsingInfoRecord parsingCacheInfo = tlInfo.getParsingCacheInfo();
+		if (parsingCacheInfo == null || !parsingCacheInfo.isResultExist()) {
+			LOG.warn("No Parsing result for TLInfo with url [{}]", tlInfo.getUrl());
+		} else {
+			final List<TrustServiceProvider> trustServiceProviders = parsingCacheInfo.getTrustServiceProviders();
+			if (Utils.isCollectionNotEmpty(trustServiceProviders)) {
+				final Predicate<TrustServiceStatusAndInformationExtensions> trustAnchorValidityPredicate =
+						getTrustAnchorValidityPredicate(tlInfo, relatedLOTL);
+				for (TrustServiceProvider original : trustServiceProviders) {
+					TrustServiceProvider detached = getDetached(original);
+					for (TrustService trustService : original.getServices()) {
+						TimeDependentValues<TrustServiceStatusAndInformationExtensions> statusAndInformationExtensions =
+								trustService.getStatusAndInformationExtensions();
+						TrustProperties trustProperties = getTrustProperties(
+								relatedLOTL, tlInfo, detached, statusAndInformationExtensions);
+						List<CertificateTrustTime> certificateTrustTimes = getCertificateTrustTimes(statusAndInformationExtensions, trustAnchorValidityPredicate);
+						for (CertificateToken certificate : trustService.getCertificates()) {
+							result.add(certificate, trustProperties, certificateTrustTimes);
+						}
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private String getKey(TLInfo tlInfo, LOTLInfo relatedLOTL) {
+		if (relatedLOTL == null) {
+			return tlInfo.getUrl();
+		}
+		return relatedLOTL.getUrl() + KEY_SEPARATOR + tlInfo.getUrl();
+	}
+
+	private String getUrl(String key) {
+		int separatorIndex = key.lastIndexOf(KEY_SEPARATOR);
+		return separatorIndex != -1 ? key.substring(separatorIndex + KEY_SEPARATOR.length()) : key;
+	}
+
+	private void addDelta(List<TrustedListDelta> deltas, TrustedListDelta delta) {
+		if (!delta.isEmpty()) {
+			LOG.debug("Changes found : {}", delta);
+			deltas.add(delta);
 		}
-		List<CertificateTrustTime> certificateTrustTimeList = trustTimeByCerts.computeIfAbsent(certificate, k -> new ArrayList<>());
-		for (CertificateTrustTime certificateTrustTime : certificateTrustTimes) {
-			if (!certificateTrustTimeList.contains(certificateTrustTime)) {
-				certificateTrustTimeList.add(certificateTrustTime);
+	}
+
+	private void notifyListener(List<TrustedListDelta> deltas) {
+		if (synchronizationListener != null && !deltas.isEmpty()) {
+			try {
+				synchronizationListener.onSynchronization(new SynchronizationDelta(deltas));
+			} catch (Exception e) {
+				LOG.warn("An error occurred in the SynchronizationListener : {}", e.getMessage(), e);
 			}
 		}
 	}
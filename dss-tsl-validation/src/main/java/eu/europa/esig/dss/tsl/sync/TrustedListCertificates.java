@@ -0,0 +1,168 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.sync;
+
+import eu.europa.esig.dss.model.tsl.CertificateTrustTime;
+import eu.europa.esig.dss.model.tsl.LOTLInfo;
+import eu.europa.esig.dss.model.tsl.TLInfo;
+import eu.europa.esig.dss.model.tsl.TrustProperties;
+import eu.europa.esig.dss.model.tsl.TrustServiceStatusAndInformationExtensions;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Contains the certificates extracted from a single trusted list, with their trust properties, trust time periods
+ * and the statuses of the corresponding trust services
+ */
+class TrustedListCertificates implements Serializable {
+
+	private static final long serialVersionUID = 4105893772316528845L;
+
+	/** The trust properties by certificates */
+	private final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = new LinkedHashMap<>();
+
+	/** The trust time periods by certificates */
+	private final Map<CertificateToken, List<CertificateTrustTime>> trustTimeByCerts = new LinkedHashMap<>();
+
+	/** The trust service statuses by certificates (used to detect status changes) */
+	private final Map<CertificateToken, List<TrustServiceStatusAndInformationExtensions>> statusesByCerts = new LinkedHashMap<>();
+
+	/**
+	 * Default constructor instantiating an empty object
+	 */
+	TrustedListCertificates() {
+		// empty
+	}
+
+	/**
+	 * Adds a certificate of a trust service
+	 *
+	 * @param certificate {@link CertificateToken}
+	 * @param trustProperties {@link TrustProperties} of the trust service
+	 * @param certificateTrustTimes a list of {@link CertificateTrustTime}s
+	 */
+	void add(CertificateToken certificate, TrustProperties trustProperties, List<CertificateTrustTime> certificateTrustTimes) {
+		addCertificate(trustPropertiesByCerts, trustTimeByCerts, certificate,
+				Collections.singletonList(trustProperties), certificateTrustTimes);
+		List<TrustServiceStatusAndInformationExtensions> statuses = statusesByCerts.computeIfAbsent(certificate, k -> new ArrayList<>());
+		for (TrustServiceStatusAndInformationExtensions status : trustProperties.getTrustService()) {
+			statuses.add(status);
+		}
+	}
+
+	/**
+	 * Adds the certificates of this trusted list to the given maps
+	 *
+	 * @param trustPropertiesMap the map of trust properties by certificates to be filled
+	 * @param trustTimeMap the map of trust time periods by certificates to be filled
+	 */
+	void addTo(Map<CertificateToken, List<TrustProperties>> trustPropertiesMap,
+			   Map<CertificateToken, List<CertificateTrustTime>> trustTimeMap) {
+		for (Map.Entry<CertificateToken, List<TrustProperties>> entry : trustPropertiesByCerts.entrySet()) {
+			CertificateToken certificate = entry.getKey();
+			addCertificate(trustPropertiesMap, trustTimeMap, certificate, entry.getValue(), trustTimeByCerts.get(certificate));
+		}
+	}
+
+	private static void addCertificate(Map<CertificateToken, List<TrustProperties>> trustPropertiesMap,
+									   Map<CertificateToken, List<CertificateTrustTime>> trustTimeMap, CertificateToken certificate,
+									   List<TrustProperties> trustPropertiesToAdd, List<CertificateTrustTime> certificateTrustTimes) {
+		List<TrustProperties> trustPropertiesList = trustPropertiesMap.computeIfAbsent(certificate, k -> new ArrayList<>());
+		for (TrustProperties trustProperties : trustPropertiesToAdd) {
+			if (!trustPropertiesList.contains(trustProperties)) {
+				trustPropertiesList.add(trustProperties);
+			}
+		}
+		List<CertificateTrustTime> certificateTrustTimeList = trustTimeMap.computeIfAbsent(certificate, k -> new ArrayList<>());
+		for (CertificateTrustTime certificateTrustTime : certificateTrustTimes) {
+			if (!certificateTrustTimeList.contains(certificateTrustTime)) {
+				certificateTrustTimeList.add(certificateTrustTime);
+			}
+		}
+	}
+
+	/**
+	 * Returns a copy of this object with the trust properties referring to the given LOTL and TL information.
+	 * Used to reuse the extracted certificates of an unchanged trusted list with the current synchronization summary.
+	 *
+	 * @param lotlInfo {@link LOTLInfo} of the related LOTL, null if the TL is not defined within a LOTL
+	 * @param tlInfo {@link TLInfo} of the trusted list
+	 * @return {@link TrustedListCertificates}
+	 */
+	TrustedListCertificates rebind(LOTLInfo lotlInfo, TLInfo tlInfo) {
+		final TrustedListCertificates result = new TrustedListCertificates();
+		// the same trust properties are shared between the certificates of a trust service
+		final Map<TrustProperties, TrustProperties> reboundTrustProperties = new IdentityHashMap<>();
+		for (Map.Entry<CertificateToken, List<TrustProperties>> entry : trustPropertiesByCerts.entrySet()) {
+			List<TrustProperties> trustPropertiesList = new ArrayList<>();
+			for (TrustProperties trustProperties : entry.getValue()) {
+				trustPropertiesList.add(reboundTrustProperties.computeIfAbsent(trustProperties, tp -> new TrustProperties(
+						lotlInfo, tlInfo, tp.getTrustServiceProvider(), tp.getTrustService())));
+			}
+			result.trustPropertiesByCerts.put(entry.getKey(), trustPropertiesList);
+		}
+		result.trustTimeByCerts.putAll(trustTimeByCerts);
+		result.statusesByCerts.putAll(statusesByCerts);
+		return result;
+	}
+
+	/**
+	 * Returns the certificates of the trusted list
+	 *
+	 * @return a list of {@link CertificateToken}s
+	 */
+	List<CertificateToken> getCertificates() {
+		return new ArrayList<>(trustPropertiesByCerts.keySet());
+	}
+
+	/**
+	 * Checks whether the certificate is present in the trusted list
+	 *
+	 * @param certificate {@link CertificateToken} to check
+	 * @return TRUE if the certificate is present, FALSE otherwise
+	 */
+	boolean contains(CertificateToken certificate) {
+		return trustPropertiesByCerts.containsKey(certificate);
+	}
+
+	/**
+	 * Checks whether the trust service statuses or the trust time periods of the certificate differ
+	 * between this object and {@code other}.
+	 * NOTE: the certificate shall be present in both objects
+	 *
+	 * @param other {@link TrustedListCertificates} to compare with
+	 * @param certificate {@link CertificateToken} to compare
+	 * @return TRUE if the certificate's trust differs, FALSE otherwise
+	 */
+	boolean isTrustChanged(TrustedListCertificates other, CertificateToken certificate) {
+		return !Objects.equals(statusesByCerts.get(certificate), other.statusesByCerts.get(certificate))
+				|| !Objects.equals(trustTimeByCerts.get(certificate), other.trustTimeByCerts.get(certificate));
+	}
+
+}
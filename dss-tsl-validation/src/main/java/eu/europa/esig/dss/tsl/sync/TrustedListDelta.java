@@ -0,0 +1,147 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.sync;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Contains the changes of the certificates extracted from a trusted list between two synchronizations
+ */
+public class TrustedListDelta implements Serializable {
+
+	private static final long serialVersionUID = -6139127408213794431L;
+
+	/** The URL of the trusted list */
+	private final String url;
+
+	/** The certificates added to the trusted list (e.g. for new trust services) */
+	private final List<CertificateToken> addedCertificates;
+
+	/** The certificates removed from the trusted list (e.g. for removed trust services) */
+	private final List<CertificateToken> removedCertificates;
+
+	/** The certificates which trust service statuses or trust time periods have changed */
+	private final List<CertificateToken> updatedCertificates;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param url {@link String} the URL of the trusted list
+	 * @param addedCertificates a list of added {@link CertificateToken}s
+	 * @param removedCertificates a list of removed {@link CertificateToken}s
+	 * @param updatedCertificates a list of updated {@link CertificateToken}s
+	 */
+	public TrustedListDelta(String url, List<CertificateToken> addedCertificates,
+							List<CertificateToken> removedCertificates, List<CertificateToken> updatedCertificates) {
+		this.url = url;
+		this.addedCertificates = Collections.unmodifiableList(addedCertificates);
+		this.removedCertificates = Collections.unmodifiableList(removedCertificates);
+		this.updatedCertificates = Collections.unmodifiableList(updatedCertificates);
+	}
+
+	/**
+	 * Computes the delta between two states of a trusted list
+	 *
+	 * @param url {@link String} the URL of the trusted list
+	 * @param previous {@link TrustedListCertificates} the previously synchronized state (NULL if not synchronized)
+	 * @param current {@link TrustedListCertificates} the current state (NULL if not synchronized anymore)
+	 * @return {@link TrustedListDelta}
+	 */
+	static TrustedListDelta compute(String url, TrustedListCertificates previous, TrustedListCertificates current) {
+		final List<CertificateToken> added = new ArrayList<>();
+		final List<CertificateToken> removed = new ArrayList<>();
+		final List<CertificateToken> updated = new ArrayList<>();
+		if (current != null) {
+			for (CertificateToken certificate : current.getCertificates()) {
+				if (previous == null || !previous.contains(certificate)) {
+					added.add(certificate);
+				} else if (current.isTrustChanged(previous, certificate)) {
+					updated.add(certificate);
+				}
+			}
+		}
+		if (previous != null) {
+			for (CertificateToken certificate : previous.getCertificates()) {
+				if (current == null || !current.contains(certificate)) {
+					removed.add(certificate);
+				}
+			}
+		}
+		return new TrustedListDelta(url, added, removed, updated);
+	}
+
+	/**
+	 * Gets the URL of the trusted list
+	 *
+	 * @return {@link String}
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Gets the certificates added to the trusted list
+	 *
+	 * @return a list of {@link CertificateToken}s
+	 */
+	public List<CertificateToken> getAddedCertificates() {
+		return addedCertificates;
+	}
+
+	/**
+	 * Gets the certificates removed from the trusted list
+	 *
+	 * @return a list of {@link CertificateToken}s
+	 */
+	public List<CertificateToken> getRemovedCertificates() {
+		return removedCertificates;
+	}
+
+	/**
+	 * Gets the certificates which trust service statuses or trust time periods have changed
+	 *
+	 * @return a list of {@link CertificateToken}s
+	 */
+	public List<CertificateToken> getUpdatedCertificates() {
+		return updatedCertificates;
+	}
+
+	/**
+	 * Checks whether the trusted list has no changes
+	 *
+	 * @return TRUE if no certificate has been added, removed or updated, FALSE otherwise
+	 */
+	public boolean isEmpty() {
+		return addedCertificates.isEmpty() && removedCertificates.isEmpty() && updatedCertificates.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "TrustedListDelta [url=" + url + ", added=" + addedCertificates.size() + ", removed=" + removedCertificates.size()
+				+ ", updated=" + updatedCertificates.size() + "]";
+	}
+
+}
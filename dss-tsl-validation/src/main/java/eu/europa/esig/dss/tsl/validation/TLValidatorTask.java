@@ -45,6 +45,7 @@ import eu.europa.esig.dss.validation.reports.Reports;
 import eu.europa.esig.dss.xades.definition.XAdESPath;
 import eu.europa.esig.dss.xades.definition.xades132.XAdES132Path;
 import eu.europa.esig.dss.xades.validation.XMLDocumentValidator;
+import org.w3c.dom.Document;
 
 import java.util.Date;
 import java.util.List;
@@ -62,6 +63,9 @@ public class TLValidatorTask implements Supplier<ValidationResult> {
 	/** The Trusted List document to validate */
 	private final DSSDocument trustedList;
 
+	/** The already parsed DOM of the Trusted List (optional) */
+	private final Document trustedListDom;
+
 	/** The certificate source to use */
 	private final CertificateSource certificateSource;
 
@@ -73,9 +77,23 @@ public class TLValidatorTask implements Supplier<ValidationResult> {
 	 *                          to sign this TL
 	 */
 	public TLValidatorTask(DSSDocument trustedList, CertificateSource certificateSource) {
+		this(trustedList, null, certificateSource);
+	}
+
+	/**
+	 * Constructor used to instantiate a validator for a trusted list with its already parsed DOM,
+	 * in order to avoid parsing of the same document again
+	 *
+	 * @param trustedList       the DSSDocument with a trusted list
+	 * @param trustedListDom    the DOM of {@code trustedList} (optional)
+	 * @param certificateSource a certificate source with the allowed certificates
+	 *                          to sign this TL
+	 */
+	public TLValidatorTask(DSSDocument trustedList, Document trustedListDom, CertificateSource certificateSource) {
 		Objects.requireNonNull(trustedList, "The document is null");
 		Objects.requireNonNull(certificateSource, "The certificate source is null");
 		this.trustedList = trustedList;
+		this.trustedListDom = trustedListDom;
 		this.certificateSource = certificateSource;
 	}
 
@@ -89,7 +107,8 @@ public class TLValidatorTask implements Supplier<ValidationResult> {
 		final CertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
 		certificateVerifier.setTrustedCertSources(buildTrustedCertificateSource(certificateSource));
 
-		final XMLDocumentValidator xmlDocumentValidator = new XMLDocumentValidator(trustedList);
+		final XMLDocumentValidator xmlDocumentValidator = trustedListDom != null ?
+				new XMLDocumentValidator(trustedList, trustedListDom) : new XMLDocumentValidator(trustedList);
 
 		xmlDocumentValidator.setCertificateVerifier(certificateVerifier);
 		xmlDocumentValidator.setTokenExtractionStrategy(TokenExtractionStrategy.EXTRACT_CERTIFICATES_ONLY);
@@ -0,0 +1,220 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.job;
+
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.tsl.TLInfo;
+import eu.europa.esig.dss.model.tsl.TLValidationJobSummary;
+import eu.europa.esig.dss.service.http.commons.FileCacheDataLoader;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.tsl.cache.CacheSnapshot;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheSnapshotTest {
+
+	private static final String CZ_URL = "CZ";
+
+	@TempDir
+	File cacheDirectory;
+
+	@Test
+	void exportAndImportTest() {
+		AtomicInteger counter = new AtomicInteger();
+
+		TrustedListsCertificateSource trustedListsCertificateSource = new TrustedListsCertificateSource();
+		TLValidationJob job = getJob(counter, trustedListsCertificateSource);
+		job.offlineRefresh();
+		assertEquals(1, counter.get());
+
+		int numberOfCertificates = trustedListsCertificateSource.getNumberOfCertificates();
+		assertTrue(numberOfCertificates > 0);
+		checkSummary(job.getSummary());
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		job.exportCacheSnapshot(baos);
+
+		// the snapshot does not depend on the file cache
+		File[] cachedFiles = cacheDirectory.listFiles();
+		assertNotNull(cachedFiles);
+		for (File file : cachedFiles) {
+			assertTrue(file.delete());
+		}
+
+		TrustedListsCertificateSource restoredCertificateSource = new TrustedListsCertificateSource();
+		TLValidationJob restoredJob = getJob(counter, restoredCertificateSource);
+		restoredJob.importCacheSnapshot(new ByteArrayInputStream(baos.toByteArray()));
+
+		assertEquals(1, counter.get());
+		assertEquals(numberOfCertificates, restoredCertificateSource.getNumberOfCertificates());
+		checkSummary(restoredJob.getSummary());
+
+		// the next refresh uses the data loader, the unchanged TL keeps its processed state
+		restoredJob.offlineRefresh();
+		assertEquals(2, counter.get());
+		assertEquals(numberOfCertificates, restoredCertificateSource.getNumberOfCertificates());
+		checkSummary(restoredJob.getSummary());
+	}
+
+	@Test
+	void invalidSnapshotTest() {
+		TLValidationJob job = getJob(new AtomicInteger(), new TrustedListsCertificateSource());
+		assertThrows(DSSException.class, () -> job.importCacheSnapshot(new ByteArrayInputStream(new byte[] { 1, 2, 3 })));
+	}
+
+	@Test
+	void tamperedSnapshotTest() {
+		TLValidationJob job = getJob(new AtomicInteger(), new TrustedListsCertificateSource());
+		job.offlineRefresh();
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		job.exportCacheSnapshot(baos);
+		byte[] snapshot = baos.toByteArray();
+		// alter the last byte of the TL content
+		snapshot[snapshot.length - 1] ^= 1;
+
+		DSSException exception = assertThrows(DSSException.class,
+				() -> CacheSnapshot.readFrom(new ByteArrayInputStream(snapshot)));
+		assertTrue(exception.getMessage().contains("does not match"));
+	}
+
+	@Test
+	void unsupportedVersionTest() throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (DataOutputStream dos = new DataOutputStream(baos)) {
+			dos.writeInt(0x44535343);
+			dos.writeInt(CacheSnapshot.VERSION + 1);
+		}
+		DSSException exception = assertThrows(DSSException.class,
+				() -> CacheSnapshot.readFrom(new ByteArrayInputStream(baos.toByteArray())));
+		assertTrue(exception.getMessage().contains("is not supported"));
+	}
+
+	@Test
+	void maximumSizeTest() {
+		TLValidationJob job = getJob(new AtomicInteger(), new TrustedListsCertificateSource());
+		job.offlineRefresh();
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		job.exportCacheSnapshot(baos);
+		byte[] snapshot = baos.toByteArray();
+
+		assertEquals(1, CacheSnapshot.readFrom(new ByteArrayInputStream(snapshot), snapshot.length).size());
+		DSSException exception = assertThrows(DSSException.class,
+				() -> CacheSnapshot.readFrom(new ByteArrayInputStream(snapshot), 100));
+		assertTrue(exception.getMessage().contains("exceeds the maximum allowed size"));
+	}
+
+	@Test
+	void truncatedEntryTest() throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (DataOutputStream dos = new DataOutputStream(baos)) {
+			dos.writeInt(0x44535343);
+			dos.writeInt(CacheSnapshot.VERSION);
+			dos.writeLong(System.currentTimeMillis());
+			dos.writeInt(1);
+			dos.writeUTF(CZ_URL);
+			dos.writeUTF("SHA256");
+			// the declared length is not followed by the content
+			dos.writeInt(100 * 1024 * 1024);
+			dos.write(new byte[] { 1, 2, 3 });
+		}
+		DSSException exception = assertThrows(DSSException.class,
+				() -> CacheSnapshot.readFrom(new ByteArrayInputStream(baos.toByteArray())));
+		assertTrue(exception.getMessage().contains("truncated"));
+	}
+
+	@Test
+	void missingEntryTest() {
+		TLValidationJob job = getJob(new AtomicInteger(), new TrustedListsCertificateSource());
+
+		// empty snapshot
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		job.exportCacheSnapshot(baos);
+
+		TrustedListsCertificateSource trustedListsCertificateSource = new TrustedListsCertificateSource();
+		TLValidationJob restoredJob = getJob(new AtomicInteger(), trustedListsCertificateSource);
+		restoredJob.importCacheSnapshot(new ByteArrayInputStream(baos.toByteArray()));
+
+		assertEquals(0, trustedListsCertificateSource.getNumberOfCertificates());
+		TLInfo tlInfo = restoredJob.getSummary().getOtherTLInfos().get(0);
+		assertTrue(tlInfo.getDownloadCacheInfo().isError());
+	}
+
+	private TLValidationJob getJob(AtomicInteger counter, TrustedListsCertificateSource trustedListsCertificateSource) {
+		Map<String, DSSDocument> urlMap = new HashMap<>();
+		urlMap.put(CZ_URL, new FileDocument("src/test/resources/lotlCache/CZ.xml"));
+
+		FileCacheDataLoader offlineFileLoader = new FileCacheDataLoader();
+		offlineFileLoader.setCacheExpirationTime(Long.MAX_VALUE);
+		offlineFileLoader.setDataLoader(new MockDataLoader(urlMap) {
+
+			private static final long serialVersionUID = -2451867304157398062L;
+
+			@Override
+			public byte[] get(String url) {
+				counter.incrementAndGet();
+				return super.get(url);
+			}
+
+		});
+		offlineFileLoader.setFileCacheDirectory(cacheDirectory);
+
+		TLSource tlSource = new TLSource();
+		tlSource.setUrl(CZ_URL);
+		tlSource.setCertificateSource(new CommonCertificateSource());
+
+		TLValidationJob job = new TLValidationJob();
+		job.setTrustedListSources(tlSource);
+		job.setOfflineDataLoader(offlineFileLoader);
+		job.setTrustedListCertificateSource(trustedListsCertificateSource);
+		return job;
+	}
+
+	private void checkSummary(TLValidationJobSummary summary) {
+		assertEquals(1, summary.getNumberOfProcessedTLs());
+		TLInfo tlInfo = summary.getOtherTLInfos().get(0);
+		assertTrue(tlInfo.getDownloadCacheInfo().isResultExist());
+		assertTrue(tlInfo.getParsingCacheInfo().isSynchronized());
+		assertTrue(tlInfo.getValidationCacheInfo().isSynchronized());
+		assertEquals(Indication.INDETERMINATE, tlInfo.getValidationCacheInfo().getIndication());
+	}
+
+}
@@ -0,0 +1,182 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.job;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.tsl.TLInfo;
+import eu.europa.esig.dss.model.tsl.TrustProperties;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.service.http.commons.FileCacheDataLoader;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import eu.europa.esig.dss.tsl.sync.SynchronizationDelta;
+import eu.europa.esig.dss.tsl.sync.TrustedListDelta;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class IncrementalSynchronizationTest {
+
+	private static final String CZ_URL = "CZ";
+
+	private static final String SK_URL = "SK";
+
+	@TempDir
+	File cacheDirectory;
+
+	@Test
+	void test() {
+		Map<String, DSSDocument> urlMap = new HashMap<>();
+		urlMap.put(CZ_URL, new FileDocument("src/test/resources/lotlCache/CZ.xml"));
+
+		FileCacheDataLoader offlineFileLoader = new FileCacheDataLoader();
+		offlineFileLoader.setCacheExpirationTime(0);
+		offlineFileLoader.setDataLoader(new MockDataLoader(urlMap));
+		offlineFileLoader.setFileCacheDirectory(cacheDirectory);
+
+		TLSource tlSource = new TLSource();
+		tlSource.setUrl(CZ_URL);
+		tlSource.setCertificateSource(new CommonCertificateSource());
+
+		List<SynchronizationDelta> deltas = new ArrayList<>();
+		TrustedListsCertificateSource trustedListsCertificateSource = new TrustedListsCertificateSource();
+
+		TLValidationJob job = new TLValidationJob();
+		job.setTrustedListSources(tlSource);
+		job.setOfflineDataLoader(offlineFileLoader);
+		job.setTrustedListCertificateSource(trustedListsCertificateSource);
+		job.setSynchronizationListener(deltas::add);
+
+		job.offlineRefresh();
+
+		int numberOfCertificates = trustedListsCertificateSource.getNumberOfCertificates();
+		assertTrue(numberOfCertificates > 0);
+		assertEquals(1, deltas.size());
+
+		SynchronizationDelta delta = deltas.get(0);
+		assertEquals(1, delta.getTrustedListDeltas().size());
+		TrustedListDelta trustedListDelta = delta.getTrustedListDeltas().get(0);
+		assertEquals(CZ_URL, trustedListDelta.getUrl());
+		assertEquals(numberOfCertificates, trustedListDelta.getAddedCertificates().size());
+		assertEquals(0, trustedListDelta.getRemovedCertificates().size());
+		assertEquals(0, trustedListDelta.getUpdatedCertificates().size());
+		assertEquals(numberOfCertificates, delta.getAffectedCertificates().size());
+
+		// same content : no changes
+		job.offlineRefresh();
+		assertEquals(1, deltas.size());
+		assertEquals(numberOfCertificates, trustedListsCertificateSource.getNumberOfCertificates());
+
+		// another content : previous certificates are replaced
+		urlMap.put(CZ_URL, new FileDocument("src/test/resources/lotlCache/SK.xml"));
+		job.offlineRefresh();
+		assertEquals(2, deltas.size());
+
+		int newNumberOfCertificates = trustedListsCertificateSource.getNumberOfCertificates();
+		assertTrue(newNumberOfCertificates > 0);
+
+		trustedListDelta = deltas.get(1).getTrustedListDeltas().get(0);
+		assertEquals(newNumberOfCertificates, trustedListDelta.getAddedCertificates().size());
+		assertEquals(numberOfCertificates, trustedListDelta.getRemovedCertificates().size());
+		assertEquals(0, trustedListDelta.getUpdatedCertificates().size());
+	}
+
+	@Test
+	void reusedCertificatesReferCurrentTLInfoTest() {
+		Map<String, DSSDocument> urlMap = new HashMap<>();
+		urlMap.put(CZ_URL, new FileDocument("src/test/resources/lotlCache/CZ.xml"));
+		urlMap.put(SK_URL, new FileDocument("src/test/resources/lotlCache/SK.xml"));
+
+		FileCacheDataLoader offlineFileLoader = new FileCacheDataLoader();
+		offlineFileLoader.setCacheExpirationTime(0);
+		offlineFileLoader.setDataLoader(new MockDataLoader(urlMap));
+		offlineFileLoader.setFileCacheDirectory(cacheDirectory);
+
+		TLSource czSource = new TLSource();
+		czSource.setUrl(CZ_URL);
+		czSource.setCertificateSource(new CommonCertificateSource());
+
+		TLSource skSource = new TLSource();
+		skSource.setUrl(SK_URL);
+		skSource.setCertificateSource(new CommonCertificateSource());
+
+		List<SynchronizationDelta> deltas = new ArrayList<>();
+		TrustedListsCertificateSource trustedListsCertificateSource = new TrustedListsCertificateSource();
+
+		TLValidationJob job = new TLValidationJob();
+		job.setTrustedListSources(czSource, skSource);
+		job.setOfflineDataLoader(offlineFileLoader);
+		job.setTrustedListCertificateSource(trustedListsCertificateSource);
+		job.setSynchronizationListener(deltas::add);
+
+		job.offlineRefresh();
+		assertEquals(1, deltas.size());
+
+		CertificateToken czCertificate = getCertificate(deltas.get(0), CZ_URL);
+		TLInfo firstTLInfo = getTLInfo(trustedListsCertificateSource, czCertificate);
+		assertEquals(CZ_URL, firstTLInfo.getUrl());
+
+		// only SK is changed : CZ certificates are reused
+		urlMap.put(SK_URL, new FileDocument("src/test/resources/lotlCache/AT.xml"));
+		job.offlineRefresh();
+		assertEquals(2, deltas.size());
+		assertEquals(1, deltas.get(1).getTrustedListDeltas().size());
+		assertEquals(SK_URL, deltas.get(1).getTrustedListDeltas().get(0).getUrl());
+
+		TLInfo secondTLInfo = getTLInfo(trustedListsCertificateSource, czCertificate);
+		assertEquals(CZ_URL, secondTLInfo.getUrl());
+		assertNotSame(firstTLInfo, secondTLInfo);
+		for (TrustProperties trustProperties : trustedListsCertificateSource.getTrustServices(czCertificate)) {
+			assertSame(secondTLInfo, trustProperties.getTLInfo());
+		}
+	}
+
+	private CertificateToken getCertificate(SynchronizationDelta delta, String url) {
+		for (TrustedListDelta trustedListDelta : delta.getTrustedListDeltas()) {
+			if (url.equals(trustedListDelta.getUrl())) {
+				return trustedListDelta.getAddedCertificates().get(0);
+			}
+		}
+		fail(String.format("No delta found for the TL '%s'", url));
+		return null;
+	}
+
+	private TLInfo getTLInfo(TrustedListsCertificateSource trustedListsCertificateSource, CertificateToken certificate) {
+		List<TrustProperties> trustServices = trustedListsCertificateSource.getTrustServices(certificate);
+		assertFalse(trustServices.isEmpty());
+		return trustServices.get(0).getTLInfo();
+	}
+
+}
@@ -0,0 +1,308 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.runnable;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.tsl.parsing.AbstractParsingTask;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalysisSchedulerTest {
+
+    @Test
+    void boundedConcurrencyTest() {
+        AnalysisScheduler scheduler = new AnalysisScheduler(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<AbstractRunnableAnalysis> analyses = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(6);
+        for (int i = 0; i < 6; i++) {
+            analyses.add(new MockTLAnalysis("TL-" + i, latch, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(100);
+                running.decrementAndGet();
+                return null;
+            }));
+        }
+
+        scheduler.runAll(analyses);
+
+        assertEquals(0, latch.getCount());
+        assertTrue(maxRunning.get() <= 2);
+        assertEquals(6, scheduler.getNumberOfFinishedAnalyses());
+        assertEquals(0, scheduler.getNumberOfCancelledAnalyses());
+        assertEquals(0, scheduler.getNumberOfQueuedAnalyses());
+        assertEquals(0, scheduler.getNumberOfRunningAnalyses());
+
+        scheduler.shutdown();
+    }
+
+    @Test
+    void timeoutTest() {
+        AnalysisScheduler scheduler = new AnalysisScheduler(2);
+        scheduler.setAnalysisTimeout(200);
+        List<String> cancelled = new ArrayList<>();
+        scheduler.setAnalysisMonitor(new AnalysisMonitor() {
+            @Override
+            public synchronized void onCancelled(String url) {
+                cancelled.add(url);
+            }
+        });
+
+        List<AbstractRunnableAnalysis> analyses = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(2);
+        analyses.add(new MockTLAnalysis("SLOW", latch, () -> {
+            Thread.sleep(60000);
+            return null;
+        }));
+        analyses.add(new MockTLAnalysis("FAST", latch, () -> null));
+
+        long startTime = System.currentTimeMillis();
+        scheduler.runAll(analyses);
+        assertTrue(System.currentTimeMillis() - startTime < 30000);
+
+        assertEquals(1, scheduler.getNumberOfFinishedAnalyses());
+        assertEquals(1, scheduler.getNumberOfCancelledAnalyses());
+        assertEquals(1, cancelled.size());
+        assertEquals("SLOW", cancelled.get(0));
+
+        scheduler.shutdown();
+    }
+
+    @Test
+    void timeoutOfQueuedAnalysisTest() {
+        AnalysisScheduler scheduler = new AnalysisScheduler(1);
+        scheduler.setAnalysisTimeout(200);
+
+        List<AbstractRunnableAnalysis> analyses = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(2);
+        analyses.add(new MockTLAnalysis("SLOW", latch, () -> {
+            Thread.sleep(60000);
+            return null;
+        }));
+        // waits within the queue while the slow analysis is executed
+        analyses.add(new MockTLAnalysis("QUEUED", latch, () -> {
+            Thread.sleep(60000);
+            return null;
+        }));
+
+        long startTime = System.currentTimeMillis();
+        scheduler.runAll(analyses);
+        assertTrue(System.currentTimeMillis() - startTime < 30000);
+
+        assertEquals(0, scheduler.getNumberOfFinishedAnalyses());
+        assertEquals(2, scheduler.getNumberOfCancelledAnalyses());
+        assertEquals(0, scheduler.getNumberOfQueuedAnalyses());
+
+        scheduler.shutdown();
+    }
+
+    @Test
+    void cancelledAnalysisDoesNotUpdateCacheTest() throws Exception {
+        AnalysisScheduler scheduler = new AnalysisScheduler(1);
+        scheduler.setAnalysisTimeout(100);
+
+        AtomicBoolean cacheUpdated = new AtomicBoolean(false);
+        CountDownLatch finished = new CountDownLatch(1);
+        List<AbstractRunnableAnalysis> analyses = new ArrayList<>();
+        analyses.add(new TLAnalysis(createTLSource("NOT-INTERRUPTIBLE"), null, null) {
+
+            @Override
+            protected DSSDocument download(String url) {
+                // ignores the interruption (e.g. a blocking read of a socket)
+                long endTime = System.currentTimeMillis() + 500;
+                while (System.currentTimeMillis() < endTime) {
+                    Thread.yield();
+                }
+                updateCache(() -> cacheUpdated.set(true));
+                finished.countDown();
+                return null;
+            }
+
+        });
+
+        scheduler.runAll(analyses);
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertFalse(cacheUpdated.get());
+        assertEquals(1, scheduler.getNumberOfCancelledAnalyses());
+
+        scheduler.shutdown();
+    }
+
+    @Test
+    void cancelAllTest() throws Exception {
+        AnalysisScheduler scheduler = new AnalysisScheduler(1);
+
+        List<AbstractRunnableAnalysis> analyses = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        CountDownLatch started = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            analyses.add(new MockTLAnalysis("TL-" + i, latch, () -> {
+                started.countDown();
+                Thread.sleep(60000);
+                return null;
+            }));
+        }
+
+        Thread cancellation = new Thread(() -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            scheduler.cancelAll();
+        });
+        cancellation.start();
+
+        long startTime = System.currentTimeMillis();
+        scheduler.runAll(analyses);
+        assertTrue(System.currentTimeMillis() - startTime < 30000);
+        cancellation.join();
+
+        assertEquals(0, scheduler.getNumberOfFinishedAnalyses());
+        assertEquals(3, scheduler.getNumberOfCancelledAnalyses());
+        assertEquals(0, scheduler.getNumberOfQueuedAnalyses());
+
+        scheduler.shutdown();
+    }
+
+    @Test
+    void cancellationOnSubmissionTest() {
+        AnalysisScheduler scheduler = new AnalysisScheduler(1);
+
+        // the cancellation is requested before the analyses are submitted (not seen by cancelAll())
+        AtomicInteger executed = new AtomicInteger();
+        List<AbstractRunnableAnalysis> analyses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            analyses.add(new MockTLAnalysis("TL-" + i, new CountDownLatch(1), () -> {
+                executed.incrementAndGet();
+                Thread.sleep(60000);
+                return null;
+            }));
+        }
+
+        long startTime = System.currentTimeMillis();
+        scheduler.runAll(analyses, () -> true);
+        assertTrue(System.currentTimeMillis() - startTime < 30000);
+
+        assertEquals(0, scheduler.getNumberOfFinishedAnalyses());
+        assertEquals(3, scheduler.getNumberOfCancelledAnalyses());
+        assertEquals(0, scheduler.getNumberOfQueuedAnalyses());
+        assertTrue(executed.get() <= 1);
+
+        // a new run is not affected by the previous cancellation
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.runAll(Collections.singletonList(new MockTLAnalysis("TL", latch, () -> null)), () -> false);
+        assertEquals(0, latch.getCount());
+        assertEquals(1, scheduler.getNumberOfFinishedAnalyses());
+
+        scheduler.shutdown();
+    }
+
+    @Test
+    void nestedAnalysesTest() {
+        // a single thread shall not block the nested analyses
+        AnalysisScheduler scheduler = new AnalysisScheduler(1);
+
+        Map<String, String> results = new HashMap<>();
+        List<AbstractRunnableAnalysis> analyses = new ArrayList<>();
+        analyses.add(new MockTLAnalysis("LOTL", new CountDownLatch(1), () -> {
+            Map<String, MockCallableAnalysis> nested = new HashMap<>();
+            nested.put("PIVOT-1", new MockCallableAnalysis("PIVOT-1"));
+            nested.put("PIVOT-2", new MockCallableAnalysis("PIVOT-2"));
+            results.putAll(scheduler.callAll(nested));
+            return null;
+        }));
+
+        scheduler.runAll(analyses);
+
+        assertEquals(2, results.size());
+        assertEquals("PIVOT-1 processed", results.get("PIVOT-1"));
+        assertEquals("PIVOT-2 processed", results.get("PIVOT-2"));
+        assertEquals(3, scheduler.getNumberOfFinishedAnalyses());
+
+        scheduler.shutdown();
+    }
+
+    private static TLSource createTLSource(String url) {
+        TLSource tlSource = new TLSource();
+        tlSource.setUrl(url);
+        return tlSource;
+    }
+
+    private static class MockTLAnalysis extends TLAnalysis {
+
+        private final Callable<DSSDocument> download;
+
+        MockTLAnalysis(String url, CountDownLatch latch, Callable<DSSDocument> download) {
+            super(createTLSource(url), null, null, latch);
+            this.download = download;
+        }
+
+        @Override
+        protected DSSDocument download(String url) {
+            try {
+                return download.call();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+    private static class MockCallableAnalysis extends AbstractAnalysis implements Callable<String> {
+
+        MockCallableAnalysis(String url) {
+            super(createTLSource(url), null, null);
+        }
+
+        @Override
+        protected AbstractParsingTask<?> getParsingTask(DSSDocument document) {
+            return null;
+        }
+
+        @Override
+        public String call() {
+            return getSource().getUrl() + " processed";
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.runnable;
+
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SubIndication;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.tsl.cache.CacheKey;
+import eu.europa.esig.dss.tsl.cache.access.CacheAccessFactory;
+import eu.europa.esig.dss.tsl.parsing.AbstractParsingResult;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import eu.europa.esig.dss.tsl.validation.ValidationResult;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TLAnalysisDomTest {
+
+	@Test
+	void domIsParsedOnceTest() {
+		CountingDocument document = new CountingDocument(new File("src/test/resources/eu-lotl.xml"));
+		TLAnalysis analysis = getAnalysis();
+
+		Document dom = analysis.getDocumentDom(document);
+		assertNotNull(dom);
+		assertEquals(1, document.counter.get());
+
+		// the same DOM is returned for the same document
+		assertSame(dom, analysis.getDocumentDom(document));
+		assertEquals(1, document.counter.get());
+
+		// the parsing task works on the shared DOM and does not read the document again
+		AbstractParsingResult parsingResult = analysis.getParsingTask(document).get();
+		assertNotNull(parsingResult);
+		assertEquals("EU", parsingResult.getTerritory());
+		assertEquals(1, document.counter.get());
+
+		ValidationResult validationResult = analysis.getValidationTask(document, new CommonCertificateSource()).get();
+		assertNotNull(validationResult);
+		assertEquals(Indication.INDETERMINATE, validationResult.getIndication());
+		assertEquals(SubIndication.NO_CERTIFICATE_CHAIN_FOUND, validationResult.getSubIndication());
+		assertSame(dom, analysis.getDocumentDom(document));
+	}
+
+	@Test
+	void newDocumentTest() {
+		CountingDocument document = new CountingDocument(new File("src/test/resources/eu-lotl.xml"));
+		CountingDocument otherDocument = new CountingDocument(new File("src/test/resources/eu-lotl.xml"));
+		TLAnalysis analysis = getAnalysis();
+
+		Document dom = analysis.getDocumentDom(document);
+		Document otherDom = analysis.getDocumentDom(otherDocument);
+		assertNotSame(dom, otherDom);
+		assertEquals(1, document.counter.get());
+		assertEquals(1, otherDocument.counter.get());
+	}
+
+	@Test
+	void notParseableDocumentTest() {
+		DSSDocument document = InMemoryDocument.createEmptyDocument();
+		TLAnalysis analysis = getAnalysis();
+
+		assertNull(analysis.getDocumentDom(document));
+
+		// the tasks process the document itself and report the same errors as without a shared DOM
+		DSSException exception = assertThrows(DSSException.class, () -> analysis.getParsingTask(document).get());
+		assertTrue(exception.getMessage().contains("Unable to parse binaries"), exception.getMessage());
+
+		assertThrows(Exception.class, () -> analysis.getValidationTask(document, new CommonCertificateSource()).get());
+	}
+
+	private TLAnalysis getAnalysis() {
+		TLSource tlSource = new TLSource();
+		tlSource.setUrl("EU");
+		return new TLAnalysis(tlSource, new CacheAccessFactory().getCacheAccess(new CacheKey("EU")), null);
+	}
+
+	private static class CountingDocument extends InMemoryDocument {
+
+		private static final long serialVersionUID = 3207402612389506618L;
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		private CountingDocument(File file) {
+			super(DSSUtils.toByteArray(file));
+		}
+
+		@Override
+		public InputStream openStream() {
+			counter.incrementAndGet();
+			return super.openStream();
+		}
+
+	}
+
+}
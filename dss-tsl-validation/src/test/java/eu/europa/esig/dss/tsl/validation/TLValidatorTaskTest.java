@@ -30,7 +30,9 @@ import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
 import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.xml.utils.DomUtils;
 import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
 
 import java.util.Collections;
 import java.util.List;
@@ -122,6 +124,46 @@ class TLValidatorTaskTest {
 		assertThrows(Exception.class, task::get);
 	}
 
+	@Test
+	void testWithDom() {
+		DSSDocument trustedList = new FileDocument("src/test/resources/eu-lotl.xml");
+		Document trustedListDom = DomUtils.buildDOM(trustedList);
+		CertificateSource certificateSource = getCertificateSource(Collections.emptyList());
+
+		ValidationResult expected = new TLValidatorTask(trustedList, certificateSource).get();
+		ValidationResult result = new TLValidatorTask(trustedList, trustedListDom, certificateSource).get();
+		checkEquals(expected, result);
+	}
+
+	@Test
+	void testBrokenTLWithDom() {
+		DSSDocument trustedList = new FileDocument("src/test/resources/eu-lotl-broken-sig.xml");
+		Document trustedListDom = DomUtils.buildDOM(trustedList);
+		CertificateSource certificateSource = getCertificateSource(Collections.emptyList());
+
+		ValidationResult expected = new TLValidatorTask(trustedList, certificateSource).get();
+		ValidationResult result = new TLValidatorTask(trustedList, trustedListDom, certificateSource).get();
+		checkEquals(expected, result);
+		assertNotEquals(Indication.PASSED, result.getIndication());
+	}
+
+	@Test
+	void testNoSigWithDom() {
+		DSSDocument trustedList = new FileDocument("src/test/resources/eu-lotl-no-sig.xml");
+		TLValidatorTask task = new TLValidatorTask(trustedList, DomUtils.buildDOM(trustedList),
+				getCertificateSource(Collections.emptyList()));
+		DSSException exception = assertThrows(DSSException.class, task::get);
+		assertEquals("Number of signatures must be equal to 1 (currently : 0)", exception.getMessage());
+	}
+
+	@Test
+	void testNotXMLWithoutDom() {
+		// a document which cannot be parsed is provided without DOM
+		DSSDocument trustedList = InMemoryDocument.createEmptyDocument();
+		TLValidatorTask task = new TLValidatorTask(trustedList, null, getCertificateSource(Collections.emptyList()));
+		assertThrows(Exception.class, task::get);
+	}
+
 	@Test
 	void testNullCertSource() {
 		DSSDocument trustedList = new FileDocument("src/test/resources/eu-lotl.xml");
@@ -134,6 +176,14 @@ class TLValidatorTaskTest {
 		assertThrows(NullPointerException.class, () -> new TLValidatorTask(null, ccs));
 	}
 
+	private void checkEquals(ValidationResult expected, ValidationResult result) {
+		assertNotNull(result);
+		assertEquals(expected.getIndication(), result.getIndication());
+		assertEquals(expected.getSubIndication(), result.getSubIndication());
+		assertEquals(expected.getSigningTime(), result.getSigningTime());
+		assertEquals(expected.getSigningCertificate(), result.getSigningCertificate());
+	}
+
 	private CertificateSource getCertificateSource(List<CertificateToken> potentialSigners) {
 		CertificateSource cs = new CommonCertificateSource();
 		for (CertificateToken certificateToken : potentialSigners) {
@@ -0,0 +1,175 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.reference;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.CommonDocument;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.spi.DSSMessageDigestCalculator;
+import eu.europa.esig.dss.xml.utils.StreamingXMLCanonicalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * Represents the canonicalized content of a detached XML document, computed on demand in a streaming way.
+ * The digest and the content of the document are computed without building a DOM and without keeping
+ * the canonicalized content in memory, which allows signing of large detached XML documents.
+ * <p>
+ * NOTE: if the document cannot be canonicalized (e.g. not a valid XML), the original content is used,
+ * as for other non-XML reference contents.
+ *
+ */
+class CanonicalizedXMLDocument extends CommonDocument {
+
+    private static final long serialVersionUID = -2953414729838106127L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(CanonicalizedXMLDocument.class);
+
+    /** The original XML document to be canonicalized */
+    private final DSSDocument document;
+
+    /** The canonicalization method to be used */
+    private final String canonicalizationMethod;
+
+    /**
+     * Defines whether the document can be canonicalized (NULL if not checked yet).
+     * The value is set once, by the first digest computation or before the content is returned for the first time.
+     */
+    private transient Boolean canonicalizable;
+
+    /**
+     * Default constructor
+     *
+     * @param document {@link DSSDocument} XML document to be canonicalized
+     * @param canonicalizationMethod {@link String} canonicalization method,
+     *                               supported by {@code StreamingXMLCanonicalizer}
+     */
+    CanonicalizedXMLDocument(final DSSDocument document, final String canonicalizationMethod) {
+        Objects.requireNonNull(document, "Document cannot be null!");
+        Objects.requireNonNull(canonicalizationMethod, "Canonicalization method cannot be null!");
+        this.document = document;
+        this.canonicalizationMethod = canonicalizationMethod;
+    }
+
+    @Override
+    public InputStream openStream() {
+        if (isCanonicalizable()) {
+            return StreamingXMLCanonicalizer.createInstance(canonicalizationMethod).openCanonicalizedStream(document.openStream());
+        }
+        return document.openStream();
+    }
+
+    @Override
+    public byte[] getDigestValue(DigestAlgorithm digestAlgorithm) {
+        byte[] digest = digestMap.get(digestAlgorithm);
+        if (digest == null) {
+            if (canonicalizable == null) {
+                // the first complete canonicalization decides whether the document can be canonicalized
+                try {
+                    digest = getCanonicalizedDigest(digestAlgorithm);
+                    canonicalizable = true;
+                } catch (DSSException e) {
+                    LOG.debug("Unable to canonicalize the document '{}', the original content is used. Reason : {}",
+                            document.getName(), e.getMessage());
+                    canonicalizable = false;
+                }
+            } else if (canonicalizable) {
+                digest = getCanonicalizedDigest(digestAlgorithm);
+            }
+            if (digest == null) {
+                digest = document.getDigestValue(digestAlgorithm);
+            }
+            digestMap.put(digestAlgorithm, digest);
+        }
+        return digest;
+    }
+
+    private byte[] getCanonicalizedDigest(DigestAlgorithm digestAlgorithm) {
+        final DSSMessageDigestCalculator digestCalculator = new DSSMessageDigestCalculator(digestAlgorithm);
+        canonicalize(digestCalculator.getOutputStream());
+        return digestCalculator.getMessageDigest(digestAlgorithm).getValue();
+    }
+
+    /**
+     * Checks whether the whole document can be canonicalized. The decision is taken once, before any content is returned,
+     * with a canonicalization pass discarding its output (unless a digest has already been computed),
+     * so the document always returns the same content, matching the computed digests.
+     *
+     * @return TRUE if the document can be canonicalized, FALSE otherwise
+     */
+    private boolean isCanonicalizable() {
+        if (canonicalizable == null) {
+            try {
+                canonicalize(new OutputStream() {
+                    @Override
+                    public void write(int b) {
+                        // the canonicalized content is skipped
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        // the canonicalized content is skipped
+                    }
+                });
+                canonicalizable = true;
+            } catch (DSSException e) {
+                LOG.debug("Unable to canonicalize the document '{}', the original content is used. Reason : {}",
+                        document.getName(), e.getMessage());
+                canonicalizable = false;
+            }
+        }
+        return canonicalizable;
+    }
+
+    private void canonicalize(OutputStream outputStream) {
+        try (InputStream is = document.openStream()) {
+            StreamingXMLCanonicalizer.createInstance(canonicalizationMethod).canonicalize(is, outputStream);
+        } catch (IOException e) {
+            throw new DSSException(String.format("Unable to read the document. Reason : %s", e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        if (!super.equals(object)) return false;
+
+        CanonicalizedXMLDocument that = (CanonicalizedXMLDocument) object;
+        return document.equals(that.document)
+                && canonicalizationMethod.equals(that.canonicalizationMethod);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + document.hashCode();
+        result = 31 * result + canonicalizationMethod.hashCode();
+        return result;
+    }
+
+}
@@ -29,6 +29,7 @@ import eu.europa.esig.dss.xades.DSSXMLUtils;
 import eu.europa.esig.dss.xades.XAdESSignatureParameters;
 import eu.europa.esig.dss.xml.common.definition.DSSNamespace;
 import eu.europa.esig.dss.xml.utils.DomUtils;
+import eu.europa.esig.dss.xml.utils.StreamingXMLCanonicalizer;
 import eu.europa.esig.dss.xml.common.definition.xmldsig.XMLDSigAttribute;
 import eu.europa.esig.dss.xml.common.definition.xmldsig.XMLDSigElement;
 import org.slf4j.Logger;
@@ -75,6 +76,10 @@ public class ReferenceProcessor {
         if (reference.getContents() instanceof DigestDocument) {
             return reference.getContents();
         }
+        if (isStreamingCanonicalizationApplicable(reference)) {
+            // the detached XML document is canonicalized on digest computation, without building a DOM
+            return new CanonicalizedXMLDocument(reference.getContents(), reference.getTransforms().get(0).getAlgorithm());
+        }
 
         Node nodeToTransform = dereferenceNode(reference);
         if (nodeToTransform == null) {
@@ -159,6 +164,21 @@ public class ReferenceProcessor {
         return null;
     }
 
+    /**
+     * Checks whether the reference points to a whole detached XML document with a unique canonicalization transform,
+     * in which case the canonicalization can be performed in a streaming way
+     */
+    private boolean isStreamingCanonicalizationApplicable(DSSReference reference) {
+        if (DSSXMLUtils.isSameDocumentReference(reference.getUri())
+                || (signatureParameters != null && signatureParameters.isEmbedXML())) {
+            return false;
+        }
+        List<DSSTransform> transforms = reference.getTransforms();
+        return transforms != null && transforms.size() == 1 && transforms.get(0) instanceof CanonicalizationTransform
+                && StreamingXMLCanonicalizer.isSupported(transforms.get(0).getAlgorithm())
+                && reference.getContents() != null && DomUtils.startsWithXmlPreamble(reference.getContents());
+    }
+
     private boolean isUniqueBase64Transform(List<DSSTransform> transforms) {
         return transforms != null && transforms.size() == 1 && transforms.get(0) instanceof Base64Transform;
     }
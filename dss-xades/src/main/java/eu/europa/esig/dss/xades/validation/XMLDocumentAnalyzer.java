@@ -91,6 +91,29 @@ public class XMLDocumentAnalyzer extends DefaultDocumentAnalyzer {
 		xadesPathsHolders.add(new XAdES132Path());
 	}
 
+	/**
+	 * Constructor to instantiate the analyzer with an already parsed DOM of the document,
+	 * allowing to avoid a repeated parsing of the {@code dssDocument}.
+	 * NOTE: the {@code rootElement} shall be a DOM representation of the {@code dssDocument}
+	 *
+	 * @param dssDocument
+	 *                    The instance of {@code DSSDocument} to validate
+	 * @param rootElement
+	 *                    {@link Document} the parsed DOM of the {@code dssDocument}
+	 */
+	public XMLDocumentAnalyzer(final DSSDocument dssDocument, final Document rootElement) {
+		Objects.requireNonNull(dssDocument, "Document to be validated cannot be null!");
+		Objects.requireNonNull(rootElement, "DOM of the document to be validated cannot be null!");
+
+		this.document = dssDocument;
+		this.rootElement = rootElement;
+
+		xadesPathsHolders = new ArrayList<>();
+		xadesPathsHolders.add(new XAdES111Path());
+		xadesPathsHolders.add(new XAdES122Path());
+		xadesPathsHolders.add(new XAdES132Path());
+	}
+
 	private Document toDomDocument(DSSDocument document) {
 		try {
 			return DomUtils.buildDOM(document);
@@ -54,6 +54,21 @@ public class XMLDocumentValidator extends SignedDocumentValidator {
         super(new XMLDocumentAnalyzer(dssDocument));
     }
 
+    /**
+     * Constructor to instantiate the validator with an already parsed DOM of the document,
+     * allowing to avoid a repeated parsing of the {@code dssDocument}.
+     * The created instance is initialised with default {@code XAdESPaths}.
+     * NOTE: the {@code rootElement} shall be a DOM representation of the {@code dssDocument}
+     *
+     * @param dssDocument
+     *                    The instance of {@code DSSDocument} to validate
+     * @param rootElement
+     *                    {@link Document} the parsed DOM of the {@code dssDocument}
+     */
+    public XMLDocumentValidator(final DSSDocument dssDocument, final Document rootElement) {
+        super(new XMLDocumentAnalyzer(dssDocument, rootElement));
+    }
+
     @Override
     public XMLDocumentAnalyzer getDocumentAnalyzer() {
         return (XMLDocumentAnalyzer) super.getDocumentAnalyzer();
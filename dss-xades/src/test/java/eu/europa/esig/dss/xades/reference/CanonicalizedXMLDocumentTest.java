@@ -0,0 +1,87 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.reference;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.xml.utils.XMLCanonicalizer;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.xml.crypto.dsig.CanonicalizationMethod;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class CanonicalizedXMLDocumentTest {
+
+    private static final String XML = "<?xml version=\"1.0\"?>\n<!-- comment -->\n" +
+            "<a:root xmlns:a=\"urn:a\" xmlns=\"urn:default\" b=\"2\" a=\"1\"><child xmlns:b=\"urn:b\">text &amp; <![CDATA[<cdata>]]>" +
+            "<!-- inner --></child><a:child xmlns=\"\"/></a:root>\n<?pi data?>";
+
+    private static Stream<String> canonicalizationMethods() {
+        return Stream.of(CanonicalizationMethod.INCLUSIVE, CanonicalizationMethod.INCLUSIVE_WITH_COMMENTS,
+                CanonicalizationMethod.INCLUSIVE_11, CanonicalizationMethod.INCLUSIVE_11_WITH_COMMENTS,
+                CanonicalizationMethod.EXCLUSIVE, CanonicalizationMethod.EXCLUSIVE_WITH_COMMENTS);
+    }
+
+    @ParameterizedTest(name = "Canonicalization {index} : {0}")
+    @MethodSource("canonicalizationMethods")
+    void sameAsSantuarioTest(String canonicalizationMethod) {
+        DSSDocument document = new InMemoryDocument(XML.getBytes(StandardCharsets.UTF_8));
+        byte[] expected = XMLCanonicalizer.createInstance(canonicalizationMethod).canonicalize(document.openStream());
+
+        CanonicalizedXMLDocument canonicalizedDocument = new CanonicalizedXMLDocument(document, canonicalizationMethod);
+        assertArrayEquals(expected, DSSUtils.toByteArray(canonicalizedDocument));
+        assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA256, expected), canonicalizedDocument.getDigestValue(DigestAlgorithm.SHA256));
+
+        canonicalizedDocument = new CanonicalizedXMLDocument(document, canonicalizationMethod);
+        assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA256, expected), canonicalizedDocument.getDigestValue(DigestAlgorithm.SHA256));
+        assertArrayEquals(expected, DSSUtils.toByteArray(canonicalizedDocument));
+    }
+
+    @ParameterizedTest(name = "Canonicalization {index} : {0}")
+    @MethodSource("canonicalizationMethods")
+    void malformedDocumentTest(String canonicalizationMethod) {
+        // the error occurs after several chunks of canonicalized content
+        StringBuilder sb = new StringBuilder("<?xml version=\"1.0\"?><root>");
+        for (int i = 0; i < 10000; i++) {
+            sb.append("<item>").append(i).append("</item>");
+        }
+        sb.append("<unclosed></root>");
+        byte[] original = sb.toString().getBytes(StandardCharsets.UTF_8);
+        DSSDocument document = new InMemoryDocument(original);
+
+        // the original content is used whatever the order of the calls
+        CanonicalizedXMLDocument canonicalizedDocument = new CanonicalizedXMLDocument(document, canonicalizationMethod);
+        assertArrayEquals(original, DSSUtils.toByteArray(canonicalizedDocument));
+        assertArrayEquals(original, DSSUtils.toByteArray(canonicalizedDocument));
+        assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA256, original), canonicalizedDocument.getDigestValue(DigestAlgorithm.SHA256));
+
+        canonicalizedDocument = new CanonicalizedXMLDocument(document, canonicalizationMethod);
+        assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA256, original), canonicalizedDocument.getDigestValue(DigestAlgorithm.SHA256));
+        assertArrayEquals(original, DSSUtils.toByteArray(canonicalizedDocument));
+    }
+
+}
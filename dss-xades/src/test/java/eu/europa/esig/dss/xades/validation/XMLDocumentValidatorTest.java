@@ -24,14 +24,21 @@ import eu.europa.esig.dss.enumerations.MimeTypeEnum;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.signature.AdvancedSignature;
 import eu.europa.esig.dss.test.validation.AbstractTestDocumentValidator;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.xml.utils.DomUtils;
 import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class XMLDocumentValidatorTest extends AbstractTestDocumentValidator {
@@ -52,6 +59,32 @@ class XMLDocumentValidatorTest extends AbstractTestDocumentValidator {
 		assertTrue(validator.isSupported(new InMemoryDocument(new byte[] { '<', 'd', 's', ':' })));
 	}
 
+	@Test
+	void validatorWithDom() {
+		List<DSSDocument> documents = new ArrayList<>(getValidDocuments());
+		documents.add(getNoSignatureDocument());
+		for (DSSDocument document : documents) {
+			Document dom = DomUtils.buildDOM(document);
+			XMLDocumentValidator validator = new XMLDocumentValidator(document, dom);
+			// the given DOM is used, the document is not parsed again
+			assertSame(dom, validator.getDocumentAnalyzer().getRootElement());
+
+			XMLDocumentValidator defaultValidator = new XMLDocumentValidator(document);
+			assertEquals(getSignatureIds(defaultValidator), getSignatureIds(validator));
+		}
+	}
+
+	@Test
+	void validatorWithNullDom() {
+		DSSDocument document = getNoSignatureDocument();
+		assertThrows(NullPointerException.class, () -> new XMLDocumentValidator(document, null));
+		assertThrows(NullPointerException.class, () -> new XMLDocumentValidator(null, DomUtils.buildDOM(document)));
+	}
+
+	private List<String> getSignatureIds(XMLDocumentValidator validator) {
+		return validator.getSignatures().stream().map(AdvancedSignature::getId).collect(Collectors.toList());
+	}
+
 	@Override
 	protected SignedDocumentValidator initEmptyValidator() {
 		return new XMLDocumentValidator();
@@ -49,6 +49,9 @@ public abstract class AbstractConfigurator<F> {
     /** Defines the behaviour for processing a security exception */
     private StatusAlert securityExceptionAlert = new ExceptionOnStatusAlert();
 
+    /** Incremented on each change of the features or attributes, used to invalidate the reused instances */
+    private volatile int modificationCount;
+
     /**
      * Default constructor initializing empty maps of security features and attributes
      */
@@ -96,6 +99,7 @@ public abstract class AbstractConfigurator<F> {
             LOG.debug("The feature {} = {} has been added to the configuration", feature, value);
         }
         features.put(feature, value);
+        modificationCount++;
         return this;
     }
 
@@ -115,6 +119,7 @@ public abstract class AbstractConfigurator<F> {
             LOG.debug("The attribute {} = {} has been added to the configuration", attribute, value);
         }
         attributes.put(attribute, value);
+        modificationCount++;
         return this;
     }
 
@@ -128,11 +133,22 @@ public abstract class AbstractConfigurator<F> {
         Objects.requireNonNull(attribute, "The attribute constraint cannot be null!");
         if (attributes.containsKey(attribute)) {
             attributes.remove(attribute);
+            modificationCount++;
             LOG.warn("SECURITY : the attribute with name [{}] has been disabled", attribute);
         }
         return this;
     }
 
+    /**
+     * Returns the number of changes performed on the features and attributes of the configurator.
+     * Used to detect whether the objects built with a previous configuration can still be reused.
+     *
+     * @return modification count
+     */
+    int getModificationCount() {
+        return modificationCount;
+    }
+
     /**
      * Sets all features to the factory
      *
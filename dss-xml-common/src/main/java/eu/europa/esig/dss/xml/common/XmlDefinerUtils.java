@@ -20,21 +20,38 @@
  */
 package eu.europa.esig.dss.xml.common;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
 
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.ErrorListener;
 import javax.xml.transform.Source;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
  * Builds the objects for dealing with XML
  */
 public final class XmlDefinerUtils {
+
+	private static final Logger LOG = LoggerFactory.getLogger(XmlDefinerUtils.class);
+
+	/** The maximum number of released DocumentBuilders (resp. Transformers) kept for reuse */
+	private static final int MAX_REUSABLE_INSTANCES = 16;
 	
 	/** Singleton */
 	private static XmlDefinerUtils singleton;
@@ -51,6 +68,16 @@ public final class XmlDefinerUtils {
 	/** Builds the secure version of {@code Validator} */
 	private ValidatorConfigurator secureValidatorConfigurator = ValidatorConfigurator.getSecureValidatorConfigurator();
 
+	/**
+	 * The cached DocumentBuilderFactory and the released DocumentBuilders, shared between the threads.
+	 * NOTE: no {@code ThreadLocal} is used, so the pooled threads of an application server
+	 * do not keep any reference to the classes of an undeployed application.
+	 */
+	private volatile ReusableInstances<DocumentBuilderFactory, DocumentBuilder> reusableDocumentBuilders;
+
+	/** The cached TransformerFactory and the released Transformers, shared between the threads */
+	private volatile ReusableInstances<TransformerFactory, Transformer> reusableTransformers;
+
 	/**
 	 * Singleton
 	 */
@@ -87,6 +114,56 @@ public final class XmlDefinerUtils {
 	public DocumentBuilderFactory getSecureDocumentBuilderFactory() {
 		return secureDocumentBuilderFactoryBuilder.build();
 	}
+
+	/**
+	 * Returns a DocumentBuilder with enabled security features.
+	 * The DocumentBuilder is created from a cached {@code DocumentBuilderFactory}
+	 * (re-built when the configuration changes), or is a previously released instance.
+	 *
+	 * NOTE: the DocumentBuilder should be returned with {@code #releaseDocumentBuilder} after the use
+	 * in order to be reused by the next calls
+	 *
+	 * @return {@link DocumentBuilder}
+	 * @throws ParserConfigurationException if the DocumentBuilder cannot be created
+	 */
+	public DocumentBuilder getSecureDocumentBuilder() throws ParserConfigurationException {
+		ReusableInstances<DocumentBuilderFactory, DocumentBuilder> instances = reusableDocumentBuilders;
+		final DocumentBuilderFactoryBuilder builder = secureDocumentBuilderFactoryBuilder;
+		if (instances == null || !instances.isUpToDate(builder)) {
+			final int modificationCount = builder.getModificationCount();
+			instances = new ReusableInstances<>(builder, modificationCount, builder.build());
+			reusableDocumentBuilders = instances;
+		}
+		DocumentBuilder documentBuilder = instances.poll();
+		if (documentBuilder == null) {
+			// a factory is not guaranteed to be thread-safe
+			synchronized (instances.factory) {
+				documentBuilder = instances.factory.newDocumentBuilder();
+			}
+		}
+		instances.startUse(documentBuilder);
+		return documentBuilder;
+	}
+
+	/**
+	 * Resets the DocumentBuilder obtained with {@code #getSecureDocumentBuilder} and keeps it for reuse.
+	 * The DocumentBuilder shall not be used after the release.
+	 *
+	 * @param documentBuilder {@link DocumentBuilder} to release
+	 */
+	public void releaseDocumentBuilder(DocumentBuilder documentBuilder) {
+		final ReusableInstances<DocumentBuilderFactory, DocumentBuilder> instances = reusableDocumentBuilders;
+		if (documentBuilder == null || instances == null || !instances.isUpToDate(secureDocumentBuilderFactoryBuilder)
+				|| !instances.stopUse(documentBuilder)) {
+			return;
+		}
+		try {
+			documentBuilder.reset();
+			instances.offer(documentBuilder);
+		} catch (UnsupportedOperationException e) {
+			LOG.debug("The DocumentBuilder cannot be reset and will not be reused : {}", e.getMessage());
+		}
+	}
 	
 	/**
 	 * Returns a Schema for a list of defined xsdSources
@@ -140,6 +217,79 @@ public final class XmlDefinerUtils {
 	public TransformerFactory getSecureTransformerFactory() {
 		return secureTransformerFactoryBuilder.build();
 	}
+
+	/**
+	 * Returns an identity Transformer with enabled security features.
+	 * The Transformer is created from a cached {@code TransformerFactory}
+	 * (re-built when the configuration changes), or is a previously released instance.
+	 *
+	 * NOTE: the Transformer should be returned with {@code #releaseTransformer} after the use
+	 * in order to be reused by the next calls
+	 *
+	 * @return {@link Transformer}
+	 * @throws TransformerConfigurationException if the Transformer cannot be created
+	 */
+	public Transformer getSecureTransformer() throws TransformerConfigurationException {
+		return getSecureTransformer(null);
+	}
+
+	/**
+	 * Returns an identity Transformer with enabled security features, see {@code #getSecureTransformer()}.
+	 * The given {@code errorListener} is set to the cached {@code TransformerFactory} before a Transformer creation,
+	 * as well as to the returned Transformer.
+	 *
+	 * NOTE: the Transformer should be returned with {@code #releaseTransformer} after the use
+	 * in order to be reused by the next calls
+	 *
+	 * @param errorListener {@link ErrorListener} to be used (optional)
+	 * @return {@link Transformer}
+	 * @throws TransformerConfigurationException if the Transformer cannot be created
+	 */
+	public Transformer getSecureTransformer(ErrorListener errorListener) throws TransformerConfigurationException {
+		ReusableInstances<TransformerFactory, Transformer> instances = reusableTransformers;
+		final TransformerFactoryBuilder builder = secureTransformerFactoryBuilder;
+		if (instances == null || !instances.isUpToDate(builder)) {
+			final int modificationCount = builder.getModificationCount();
+			instances = new ReusableInstances<>(builder, modificationCount, builder.build());
+			reusableTransformers = instances;
+		}
+		Transformer transformer = instances.poll();
+		if (transformer == null) {
+			// a factory is not guaranteed to be thread-safe
+			synchronized (instances.factory) {
+				if (errorListener != null) {
+					instances.factory.setErrorListener(errorListener);
+				}
+				transformer = instances.factory.newTransformer();
+			}
+		}
+		if (errorListener != null) {
+			transformer.setErrorListener(errorListener);
+		}
+		instances.startUse(transformer);
+		return transformer;
+	}
+
+	/**
+	 * Resets the Transformer obtained with {@code #getSecureTransformer} (including the output properties,
+	 * parameters and error listener) and keeps it for reuse.
+	 * The Transformer shall not be used after the release.
+	 *
+	 * @param transformer {@link Transformer} to release
+	 */
+	public void releaseTransformer(Transformer transformer) {
+		final ReusableInstances<TransformerFactory, Transformer> instances = reusableTransformers;
+		if (transformer == null || instances == null || !instances.isUpToDate(secureTransformerFactoryBuilder)
+				|| !instances.stopUse(transformer)) {
+			return;
+		}
+		try {
+			transformer.reset();
+			instances.offer(transformer);
+		} catch (UnsupportedOperationException e) {
+			LOG.debug("The Transformer cannot be reset and will not be reused : {}", e.getMessage());
+		}
+	}
 	
 	/**
 	 * Sets a pre-configured builder to instantiate a {@code Validator}
@@ -169,4 +319,70 @@ public final class XmlDefinerUtils {
 		secureValidatorConfigurator.postProcess(validator);
 	}
 
+	/**
+	 * Contains a factory built with a given configuration and the instances created by it, released for reuse
+	 *
+	 * @param <F> the factory type
+	 * @param <T> the type of the reused instances
+	 */
+	private static final class ReusableInstances<F, T> {
+
+		/** The builder used to create the factory */
+		private final AbstractConfigurator<F> builder;
+
+		/** The modification count of the builder at the moment of the factory creation */
+		private final int modificationCount;
+
+		/** The cached factory */
+		private final F factory;
+
+		/** The released instances */
+		private final Deque<T> released = new ArrayDeque<>();
+
+		/** The instances handed out and not released yet (weak, in case an instance is never released) */
+		private final Set<T> inUse = Collections.newSetFromMap(new WeakHashMap<>());
+
+		/**
+		 * Default constructor
+		 *
+		 * @param builder {@link AbstractConfigurator} used to create the factory
+		 * @param modificationCount the modification count of the builder before the factory creation
+		 * @param factory the factory
+		 */
+		private ReusableInstances(AbstractConfigurator<F> builder, int modificationCount, F factory) {
+			this.builder = builder;
+			this.modificationCount = modificationCount;
+			this.factory = factory;
+		}
+
+		private boolean isUpToDate(AbstractConfigurator<F> currentBuilder) {
+			return builder == currentBuilder && modificationCount == currentBuilder.getModificationCount();
+		}
+
+		private synchronized T poll() {
+			return released.pollFirst();
+		}
+
+		private synchronized void startUse(T instance) {
+			inUse.add(instance);
+		}
+
+		/**
+		 * Returns TRUE if the instance has been handed out by this object and has not been released yet
+		 *
+		 * @param instance to be released
+		 * @return TRUE if the instance can be reused
+		 */
+		private synchronized boolean stopUse(T instance) {
+			return inUse.remove(instance);
+		}
+
+		private synchronized void offer(T instance) {
+			if (released.size() < MAX_REUSABLE_INSTANCES) {
+				released.addFirst(instance);
+			}
+		}
+
+	}
+
 }
@@ -21,18 +21,37 @@
 package eu.europa.esig.dss.xml.common;
 
 import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.ErrorListener;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.SchemaFactory;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class XmlDefinerUtilsTest {
 
+	private static final String XXE = "<?xml version=\"1.0\"?><!DOCTYPE root [<!ENTITY xxe SYSTEM \"file:///etc/hostname\">]><root>&xxe;</root>";
+
 	@Test
 	void getSecureSchemaFactory() {
 		assertNotNull(XmlDefinerUtils.getInstance().getSecureSchemaFactory());
@@ -132,4 +151,174 @@ class XmlDefinerUtilsTest {
 
 	}
 
+	@Test
+	void reusableDocumentBuilderTest() throws Exception {
+		XmlDefinerUtils xmlDefinerUtils = XmlDefinerUtils.getInstance();
+		DocumentBuilderFactoryBuilder documentBuilderFactoryBuilder = DocumentBuilderFactoryBuilder.getSecureDocumentBuilderFactoryBuilder();
+		xmlDefinerUtils.setDocumentBuilderFactoryBuilder(documentBuilderFactoryBuilder);
+
+		DocumentBuilder documentBuilder = xmlDefinerUtils.getSecureDocumentBuilder();
+		assertNotNull(documentBuilder);
+		xmlDefinerUtils.releaseDocumentBuilder(documentBuilder);
+
+		DocumentBuilder reusedDocumentBuilder = xmlDefinerUtils.getSecureDocumentBuilder();
+		assertSame(documentBuilder, reusedDocumentBuilder);
+
+		// not released yet
+		DocumentBuilder nestedDocumentBuilder = xmlDefinerUtils.getSecureDocumentBuilder();
+		assertNotSame(reusedDocumentBuilder, nestedDocumentBuilder);
+		xmlDefinerUtils.releaseDocumentBuilder(nestedDocumentBuilder);
+		xmlDefinerUtils.releaseDocumentBuilder(reusedDocumentBuilder);
+
+		// configuration change
+		documentBuilderFactoryBuilder.enableFeature("http://xml.org/sax/features/namespaces");
+		DocumentBuilder newDocumentBuilder = xmlDefinerUtils.getSecureDocumentBuilder();
+		assertNotSame(nestedDocumentBuilder, newDocumentBuilder);
+		assertNotSame(reusedDocumentBuilder, newDocumentBuilder);
+		xmlDefinerUtils.releaseDocumentBuilder(newDocumentBuilder);
+
+		xmlDefinerUtils.setDocumentBuilderFactoryBuilder(DocumentBuilderFactoryBuilder.getSecureDocumentBuilderFactoryBuilder());
+		assertNotSame(newDocumentBuilder, xmlDefinerUtils.getSecureDocumentBuilder());
+	}
+
+	@Test
+	void reusableDocumentBuilderBetweenThreadsTest() throws Exception {
+		XmlDefinerUtils xmlDefinerUtils = XmlDefinerUtils.getInstance();
+		xmlDefinerUtils.setDocumentBuilderFactoryBuilder(DocumentBuilderFactoryBuilder.getSecureDocumentBuilderFactoryBuilder());
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			DocumentBuilder documentBuilder = executorService.submit(() -> {
+				DocumentBuilder db = xmlDefinerUtils.getSecureDocumentBuilder();
+				xmlDefinerUtils.releaseDocumentBuilder(db);
+				return db;
+			}).get();
+			// released instances are shared between the threads
+			DocumentBuilder reusedDocumentBuilder = xmlDefinerUtils.getSecureDocumentBuilder();
+			assertSame(documentBuilder, reusedDocumentBuilder);
+
+			// a second release of the same instance is ignored
+			xmlDefinerUtils.releaseDocumentBuilder(reusedDocumentBuilder);
+			xmlDefinerUtils.releaseDocumentBuilder(reusedDocumentBuilder);
+			DocumentBuilder first = xmlDefinerUtils.getSecureDocumentBuilder();
+			DocumentBuilder second = xmlDefinerUtils.getSecureDocumentBuilder();
+			assertNotSame(first, second);
+
+			// an instance created with a previous configuration is not reused
+			xmlDefinerUtils.setDocumentBuilderFactoryBuilder(DocumentBuilderFactoryBuilder.getSecureDocumentBuilderFactoryBuilder());
+			xmlDefinerUtils.releaseDocumentBuilder(first);
+			DocumentBuilder newDocumentBuilder = xmlDefinerUtils.getSecureDocumentBuilder();
+			assertNotSame(first, newDocumentBuilder);
+			xmlDefinerUtils.releaseDocumentBuilder(newDocumentBuilder);
+
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	void reusableTransformerTest() throws Exception {
+		XmlDefinerUtils xmlDefinerUtils = XmlDefinerUtils.getInstance();
+		xmlDefinerUtils.setTransformerFactoryBuilder(TransformerFactoryBuilder.getSecureTransformerBuilder());
+
+		Transformer transformer = xmlDefinerUtils.getSecureTransformer();
+		assertNotNull(transformer);
+		transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+		xmlDefinerUtils.releaseTransformer(transformer);
+
+		Transformer reusedTransformer = xmlDefinerUtils.getSecureTransformer();
+		assertSame(transformer, reusedTransformer);
+		assertEquals("no", reusedTransformer.getOutputProperty(OutputKeys.INDENT));
+		xmlDefinerUtils.releaseTransformer(reusedTransformer);
+	}
+
+	@Test
+	void reusableTransformerErrorListenerTest() throws Exception {
+		XmlDefinerUtils xmlDefinerUtils = XmlDefinerUtils.getInstance();
+		xmlDefinerUtils.setTransformerFactoryBuilder(TransformerFactoryBuilder.getSecureTransformerBuilder());
+
+		ErrorListener errorListener = new MockErrorListener();
+		Transformer transformer = xmlDefinerUtils.getSecureTransformer(errorListener);
+		assertSame(errorListener, transformer.getErrorListener());
+		xmlDefinerUtils.releaseTransformer(transformer);
+
+		ErrorListener otherErrorListener = new MockErrorListener();
+		Transformer reusedTransformer = xmlDefinerUtils.getSecureTransformer(otherErrorListener);
+		assertSame(transformer, reusedTransformer);
+		assertSame(otherErrorListener, reusedTransformer.getErrorListener());
+		xmlDefinerUtils.releaseTransformer(reusedTransformer);
+	}
+
+	@Test
+	void reusedDocumentBuilderKeepsSecureFeaturesTest() throws Exception {
+		XmlDefinerUtils xmlDefinerUtils = XmlDefinerUtils.getInstance();
+		xmlDefinerUtils.setDocumentBuilderFactoryBuilder(DocumentBuilderFactoryBuilder.getSecureDocumentBuilderFactoryBuilder());
+
+		DocumentBuilder documentBuilder = xmlDefinerUtils.getSecureDocumentBuilder();
+		assertThrows(SAXException.class, () -> documentBuilder.parse(new InputSource(new StringReader(XXE))));
+		xmlDefinerUtils.releaseDocumentBuilder(documentBuilder);
+
+		DocumentBuilder reusedDocumentBuilder = xmlDefinerUtils.getSecureDocumentBuilder();
+		assertSame(documentBuilder, reusedDocumentBuilder);
+		assertTrue(reusedDocumentBuilder.isNamespaceAware());
+		// DOCTYPE is still disallowed
+		assertThrows(SAXException.class, () -> reusedDocumentBuilder.parse(new InputSource(new StringReader(XXE))));
+		xmlDefinerUtils.releaseDocumentBuilder(reusedDocumentBuilder);
+
+		// external entities stay disabled when DOCTYPE is allowed
+		DocumentBuilderFactoryBuilder documentBuilderFactoryBuilder = DocumentBuilderFactoryBuilder.getSecureDocumentBuilderFactoryBuilder();
+		documentBuilderFactoryBuilder.disableFeature("http://apache.org/xml/features/disallow-doctype-decl");
+		xmlDefinerUtils.setDocumentBuilderFactoryBuilder(documentBuilderFactoryBuilder);
+		try {
+			DocumentBuilder relaxedDocumentBuilder = xmlDefinerUtils.getSecureDocumentBuilder();
+			assertEquals("", relaxedDocumentBuilder.parse(new InputSource(new StringReader(XXE))).getDocumentElement().getTextContent());
+			xmlDefinerUtils.releaseDocumentBuilder(relaxedDocumentBuilder);
+
+			DocumentBuilder reusedRelaxedDocumentBuilder = xmlDefinerUtils.getSecureDocumentBuilder();
+			assertSame(relaxedDocumentBuilder, reusedRelaxedDocumentBuilder);
+			assertEquals("", reusedRelaxedDocumentBuilder.parse(new InputSource(new StringReader(XXE))).getDocumentElement().getTextContent());
+			xmlDefinerUtils.releaseDocumentBuilder(reusedRelaxedDocumentBuilder);
+
+		} finally {
+			xmlDefinerUtils.setDocumentBuilderFactoryBuilder(DocumentBuilderFactoryBuilder.getSecureDocumentBuilderFactoryBuilder());
+		}
+	}
+
+	@Test
+	void reusedTransformerKeepsSecureFeaturesTest() throws Exception {
+		XmlDefinerUtils xmlDefinerUtils = XmlDefinerUtils.getInstance();
+		xmlDefinerUtils.setTransformerFactoryBuilder(TransformerFactoryBuilder.getSecureTransformerBuilder());
+
+		Transformer transformer = xmlDefinerUtils.getSecureTransformer();
+		assertThrows(TransformerException.class, () -> transformer.transform(
+				new StreamSource(new StringReader(XXE)), new StreamResult(new StringWriter())));
+		xmlDefinerUtils.releaseTransformer(transformer);
+
+		Transformer reusedTransformer = xmlDefinerUtils.getSecureTransformer();
+		assertSame(transformer, reusedTransformer);
+		// external entities are still not accessible
+		assertThrows(TransformerException.class, () -> reusedTransformer.transform(
+				new StreamSource(new StringReader(XXE)), new StreamResult(new StringWriter())));
+		xmlDefinerUtils.releaseTransformer(reusedTransformer);
+	}
+
+	private class MockErrorListener implements ErrorListener {
+
+		@Override
+		public void warning(TransformerException exception) throws TransformerException {
+			throw exception;
+		}
+
+		@Override
+		public void error(TransformerException exception) throws TransformerException {
+			throw exception;
+		}
+
+		@Override
+		public void fatalError(TransformerException exception) throws TransformerException {
+			throw exception;
+		}
+
+	}
+
 }
@@ -0,0 +1,193 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xml.utils;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Represents a structural XPath expression selecting child elements from the current position,
+ * optionally followed by an attribute of the selected elements (e.g. "./ds:Object/xades:QualifyingProperties/@Target").
+ * Such expressions, as defined in the XAdES, XMLDSig or TL paths, are evaluated by a direct walk over the child
+ * elements matching the namespace URI and the local name of each step, without an XPath engine.
+ *
+ */
+final class ChildElementPath {
+
+	/** The current position opener */
+	private static final String FROM_CURRENT_POSITION = "./";
+
+	/** Pattern of an element step, with an optional prefix */
+	private static final Pattern ELEMENT_STEP = Pattern.compile("^(?:([A-Za-z_][\\w.\\-]*):)?([A-Za-z_][\\w.\\-]*)$");
+
+	/** Pattern of an attribute step (attributes without a namespace only) */
+	private static final Pattern ATTRIBUTE_STEP = Pattern.compile("^@([A-Za-z_][\\w.\\-]*)$");
+
+	/** The namespace URIs of the element steps (NULL for an element without namespace) */
+	private final String[] namespaceURIs;
+
+	/** The local names of the element steps */
+	private final String[] localNames;
+
+	/** The name of the attribute to be returned (optional) */
+	private final String attributeName;
+
+	private ChildElementPath(String[] namespaceURIs, String[] localNames, String attributeName) {
+		this.namespaceURIs = namespaceURIs;
+		this.localNames = localNames;
+		this.attributeName = attributeName;
+	}
+
+	/**
+	 * Compiles the given XPath expression, when it is a structural path supported by this class
+	 *
+	 * @param xpathString {@link String} XPath expression
+	 * @param namespaceContext {@link NamespaceContext} to resolve the prefixes
+	 * @return {@link ChildElementPath} if the expression is supported, NULL otherwise
+	 */
+	static ChildElementPath compile(String xpathString, NamespaceContext namespaceContext) {
+		if (xpathString == null || !xpathString.startsWith(FROM_CURRENT_POSITION)) {
+			return null;
+		}
+		final String[] steps = xpathString.substring(FROM_CURRENT_POSITION.length()).split("/", -1);
+		int nbElementSteps = steps.length;
+		String attributeName = null;
+		Matcher attributeMatcher = ATTRIBUTE_STEP.matcher(steps[steps.length - 1]);
+		if (attributeMatcher.matches()) {
+			attributeName = attributeMatcher.group(1);
+			nbElementSteps--;
+		}
+		if (nbElementSteps == 0) {
+			return null;
+		}
+
+		final String[] namespaceURIs = new String[nbElementSteps];
+		final String[] localNames = new String[nbElementSteps];
+		for (int i = 0; i < nbElementSteps; i++) {
+			Matcher elementMatcher = ELEMENT_STEP.matcher(steps[i]);
+			if (!elementMatcher.matches()) {
+				return null;
+			}
+			String prefix = elementMatcher.group(1);
+			if (prefix != null) {
+				String namespaceURI = namespaceContext.getNamespaceURI(prefix);
+				if (namespaceURI == null || XMLConstants.NULL_NS_URI.equals(namespaceURI)) {
+					// not registered prefix, processed by the XPath engine
+					return null;
+				}
+				namespaceURIs[i] = namespaceURI;
+			}
+			localNames[i] = elementMatcher.group(2);
+		}
+		return new ChildElementPath(namespaceURIs, localNames, attributeName);
+	}
+
+	/**
+	 * Evaluates the path from the given node
+	 *
+	 * @param contextNode {@link Node} the current position
+	 * @return {@link List} of found nodes in document order,
+	 *         or NULL if the path cannot be evaluated directly (DOM built without namespace awareness)
+	 */
+	List<Node> evaluate(Node contextNode) {
+		List<Node> currentNodes = Collections.singletonList(contextNode);
+		for (int i = 0; i < localNames.length && !currentNodes.isEmpty(); i++) {
+			final List<Node> childNodes = new ArrayList<>();
+			for (Node parent : currentNodes) {
+				for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+					if (Node.ELEMENT_NODE == child.getNodeType()) {
+						final String localName = child.getLocalName();
+						if (localName == null) {
+							return null;
+						}
+						if (localNames[i].equals(localName) && Objects.equals(namespaceURIs[i], child.getNamespaceURI())) {
+							childNodes.add(child);
+						}
+					}
+				}
+			}
+			currentNodes = childNodes;
+		}
+		if (attributeName == null) {
+			return currentNodes;
+		}
+		final List<Node> attributes = new ArrayList<>();
+		for (Node node : currentNodes) {
+			final Element element = (Element) node;
+			Attr attribute = element.getAttributeNodeNS(null, attributeName);
+			if (attribute != null) {
+				attributes.add(attribute);
+			} else if (element.getAttributeNode(attributeName) != null) {
+				// attribute created without namespace awareness
+				return null;
+			}
+		}
+		return attributes;
+	}
+
+	/**
+	 * Returns the XPath string-value of the first node of the list
+	 *
+	 * @param nodes a list of {@link Node}s
+	 * @return {@link String} value, empty string if the list is empty
+	 */
+	static String getStringValue(List<Node> nodes) {
+		if (nodes.isEmpty()) {
+			return "";
+		}
+		final String value = nodes.get(0).getTextContent();
+		return value != null ? value : "";
+	}
+
+	/**
+	 * Wraps the given list of nodes into a {@code NodeList}
+	 *
+	 * @param nodes a list of {@link Node}s
+	 * @return {@link NodeList}
+	 */
+	static NodeList toNodeList(final List<Node> nodes) {
+		return new NodeList() {
+
+			@Override
+			public Node item(int index) {
+				return index >= 0 && index < nodes.size() ? nodes.get(index) : null;
+			}
+
+			@Override
+			public int getLength() {
+				return nodes.size();
+			}
+
+		};
+	}
+
+}
@@ -41,6 +41,7 @@ import org.xml.sax.SAXException;
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.OutputKeys;
@@ -66,13 +67,18 @@ import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The utils for dealing with {@code org.w3c.dom} objects
@@ -125,6 +131,47 @@ public final class DomUtils {
 		namespacePrefixMapper = new NamespaceContextMap();
 	}
 
+	/** The maximum number of compiled XPath expressions kept in the cache */
+	private static final int XPATH_EXPRESSION_CACHE_SIZE = 256;
+
+	/** The maximum number of released {@code XPathExpression}s kept for reuse per compiled xpath expression */
+	private static final int MAX_RELEASED_XPATH_EXPRESSIONS = 8;
+
+	/** The version of the registered namespaces, used to invalidate the compiled XPath expressions */
+	private static final AtomicInteger namespacesVersion = new AtomicInteger();
+
+	/**
+	 * The compiled XPath expressions shared between the threads.
+	 * NOTE: a static cache is used instead of a {@code ThreadLocal}, so the pooled threads
+	 * of an application server do not keep any reference to the classes of an undeployed application.
+	 */
+	private static final Map<String, CompiledXPath> compiledXPathCache = Collections.synchronizedMap(new CompiledXPathCache());
+
+	/** Defines whether the structural paths are evaluated by a direct walk over the child elements */
+	private static volatile boolean childElementPathEnabled = true;
+
+	/**
+	 * Sets whether the structural XPath expressions from the current position
+	 * (e.g. "./ds:Object/xades:QualifyingProperties/@Target") are evaluated by a direct walk over the child elements.
+	 * When disabled, all the expressions are evaluated by the XPath engine, as any other expression.
+	 * NOTE: the setting is global and applies to all the threads.
+	 * Default : TRUE (the structural paths are evaluated directly)
+	 *
+	 * @param enabled whether the direct evaluation of the structural paths is enabled
+	 */
+	public static void setChildElementPathEnabled(boolean enabled) {
+		childElementPathEnabled = enabled;
+	}
+
+	/**
+	 * Gets whether the structural XPath expressions are evaluated by a direct walk over the child elements
+	 *
+	 * @return TRUE if the direct evaluation of the structural paths is enabled, FALSE otherwise
+	 */
+	public static boolean isChildElementPathEnabled() {
+		return childElementPathEnabled;
+	}
+
 	/**
 	 * This method allows to register a namespace and associated prefix. If the prefix exists already it is replaced.
 	 *
@@ -141,7 +188,9 @@ public final class DomUtils {
 		if (XMLNS.equals(prefix)) {
 			throw new UnsupportedOperationException(String.format("The default namespace '%s' cannot be registered!", XMLNS));
 		}
-		return namespacePrefixMapper.registerNamespace(prefix, uri);
+		final boolean added = namespacePrefixMapper.registerNamespace(prefix, uri);
+		namespacesVersion.incrementAndGet();
+		return added;
 	}
 
 	/**
@@ -182,6 +231,24 @@ public final class DomUtils {
 		return transformer;
 	}
 
+	/**
+	 * Returns a secure Transformer taken from the pool shared between the threads, or a new one when the pool is empty.
+	 * The returned instance is used by the current thread only, until it is released
+	 * with {@code XmlDefinerUtils#releaseTransformer} after the use.
+	 *
+	 * @return {@link Transformer}
+	 */
+	private static Transformer getReusableSecureTransformer() {
+		Transformer transformer;
+		try {
+			transformer = XmlDefinerUtils.getInstance().getSecureTransformer(new DSSXmlErrorListener());
+		} catch (TransformerConfigurationException e) {
+			throw new DSSException(String.format("Unable to instantiate a new secure Transformer. Reason : %s", e.getMessage()), e);
+		}
+		transformer.setOutputProperty(OutputKeys.METHOD, TRANSFORMER_METHOD_VALUE);
+		return transformer;
+	}
+
 	/**
 	 * Checks if the given {@code byteArray} content starts with an XML Preamble {@code '<'}
 	 * Processes values with or without BOM-encoding
@@ -227,10 +294,14 @@ public final class DomUtils {
 	 * @return a new empty Document
 	 */
 	public static Document buildDOM() {
+		DocumentBuilder documentBuilder = null;
 		try {
-			return getSecureDocumentBuilderFactory().newDocumentBuilder().newDocument();
+			documentBuilder = XmlDefinerUtils.getInstance().getSecureDocumentBuilder();
+			return documentBuilder.newDocument();
 		} catch (ParserConfigurationException e) {
 			throw new DSSException(String.format("Unable to build an empty DOM : %s", e.getMessage()), e);
+		} finally {
+			XmlDefinerUtils.getInstance().releaseDocumentBuilder(documentBuilder);
 		}
 	}
 
@@ -265,12 +336,16 @@ public final class DomUtils {
 	 * @return a new {@link org.w3c.dom.Document} from {@link java.io.InputStream} @
 	 */
 	public static Document buildDOM(final InputStream inputStream) {
+		DocumentBuilder documentBuilder = null;
 		try (InputStream is = inputStream) {
-			return getSecureDocumentBuilderFactory().newDocumentBuilder().parse(is);
+			documentBuilder = XmlDefinerUtils.getInstance().getSecureDocumentBuilder();
+			return documentBuilder.parse(is);
 		} catch (ParserConfigurationException | SAXException e) {
 			throw new DSSException(String.format("Unable to parse content (XML expected) : %s", e.getMessage()), e);
 		} catch (IOException e) {
 			throw new DSSException(String.format("An error occurred while reading InputStream : %s", e.getMessage()), e);
+		} finally {
+			XmlDefinerUtils.getInstance().releaseDocumentBuilder(documentBuilder);
 		}
 	}
 
@@ -394,6 +469,24 @@ public final class DomUtils {
 		}
 	}
 
+	/**
+	 * Returns the compiled xpath expression from the cache,
+	 * or compiles and caches it when not present or compiled with outdated namespaces
+	 *
+	 * @param xpathString
+	 *                    XPath query string
+	 * @return {@link CompiledXPath} for the given xpathString
+	 */
+	private static CompiledXPath getCompiledXPath(final String xpathString) {
+		final int currentNamespacesVersion = namespacesVersion.get();
+		CompiledXPath compiledXPath = compiledXPathCache.get(xpathString);
+		if (compiledXPath == null || compiledXPath.namespacesVersion != currentNamespacesVersion) {
+			compiledXPath = new CompiledXPath(xpathString, currentNamespacesVersion);
+			compiledXPathCache.put(xpathString, compiledXPath);
+		}
+		return compiledXPath;
+	}
+
 	/**
 	 * Returns the String value of the corresponding to the XPath query.
 	 *
@@ -404,12 +497,19 @@ public final class DomUtils {
 	 * @return string value of the XPath query
 	 */
 	public static String getValue(final Node xmlNode, final String xPathString) {
+		final CompiledXPath compiledXPath = getCompiledXPath(xPathString);
+		final List<Node> nodes = compiledXPath.evaluateChildElementPath(xmlNode);
+		if (nodes != null) {
+			return Utils.trim(ChildElementPath.getStringValue(nodes));
+		}
+		final XPathExpression xPathExpression = compiledXPath.getXPathExpression();
 		try {
-			final XPathExpression xPathExpression = createXPathExpression(xPathString);
 			final String string = (String) xPathExpression.evaluate(xmlNode, XPathConstants.STRING);
 			return Utils.trim(string);
 		} catch (XPathExpressionException e) {
 			throw new DSSException(String.format("Unable to extract value of the node. Reason : %s", e.getMessage()), e);
+		} finally {
+			compiledXPath.releaseXPathExpression(xPathExpression);
 		}
 	}
 
@@ -423,12 +523,19 @@ public final class DomUtils {
 	 * @return the NodeList corresponding to the XPath query
 	 */
 	public static NodeList getNodeList(final Node xmlNode, final String xPathString) {
+		final CompiledXPath compiledXPath = getCompiledXPath(xPathString);
+		final List<Node> nodes = compiledXPath.evaluateChildElementPath(xmlNode);
+		if (nodes != null) {
+			return ChildElementPath.toNodeList(nodes);
+		}
+		final XPathExpression expr = compiledXPath.getXPathExpression();
 		try {
-			final XPathExpression expr = createXPathExpression(xPathString);
 			return (NodeList) expr.evaluate(xmlNode, XPathConstants.NODESET);
 		} catch (XPathExpressionException e) {
 			throw new DSSException(String.format("Unable to find a NodeList by the given xPathString '%s'. Reason : %s",
 					xPathString, e.getMessage()), e);
+		} finally {
+			compiledXPath.releaseXPathExpression(expr);
 		}
 	}
 
@@ -602,13 +709,16 @@ public final class DomUtils {
 	 *            the OutputStream @ if any error occurred
 	 */
 	public static void writeDocumentTo(final Document dom, final OutputStream os) {
+		Transformer transformer = null;
 		try {
 			final DOMSource xmlSource = new DOMSource(dom);
 			final StreamResult outputTarget = new StreamResult(os);
-			Transformer transformer = getSecureTransformer();
+			transformer = getReusableSecureTransformer();
 			transformer.transform(xmlSource, outputTarget);
 		} catch (Exception e) {
 			throw new DSSException(String.format("Unable to store a DOM document to OutputStream : %s", e.getMessage()), e);
+		} finally {
+			XmlDefinerUtils.getInstance().releaseTransformer(transformer);
 		}
 	}
 
@@ -652,8 +762,9 @@ public final class DomUtils {
 	 * @param result {@link Result} serialization container
 	 */
 	private static void serializeNode(Node node, Result result) {
+		Transformer transformer = null;
 		try {
-			Transformer transformer = getSecureTransformer();
+			transformer = getReusableSecureTransformer();
 			Document document;
 			if (Node.DOCUMENT_NODE == node.getNodeType()) {
 				document = (Document) node;
@@ -673,6 +784,8 @@ public final class DomUtils {
 
 		} catch (TransformerException e) {
 			throw new DSSException("An error occurred during a node serialization.", e);
+		} finally {
+			XmlDefinerUtils.getInstance().releaseTransformer(transformer);
 		}
 	}
 
@@ -938,8 +1051,9 @@ public final class DomUtils {
 	 * @return the serialized bytes
 	 */
 	public static byte[] serializeNode(final Node xmlNode) {
+		Transformer transformer = null;
 		try (ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
-			Transformer transformer = getSecureTransformer();
+			transformer = getReusableSecureTransformer();
 			Document document;
 			if (Node.DOCUMENT_NODE == xmlNode.getNodeType()) {
 				document = (Document) xmlNode;
@@ -961,6 +1075,8 @@ public final class DomUtils {
 			return bos.toByteArray();
 		} catch (Exception e) {
 			throw new DSSException("An error occurred during a node serialization.", e);
+		} finally {
+			XmlDefinerUtils.getInstance().releaseTransformer(transformer);
 		}
 	}
 
@@ -1049,4 +1165,101 @@ public final class DomUtils {
 		}
 	}
 
+	/**
+	 * Represents a compiled xpath expression. The structural paths from the current position
+	 * (e.g. "./ds:Object/xades:QualifyingProperties") are evaluated by a direct walk over the child elements,
+	 * the other expressions by the XPath engine.
+	 * The instance is shared between the threads : an {@code XPathExpression} being not thread-safe,
+	 * each evaluation uses its own one, released after the use.
+	 */
+	private static final class CompiledXPath {
+
+		/** The XPath query string */
+		private final String xpathString;
+
+		/** The version of the registered namespaces the expression has been compiled with */
+		private final int namespacesVersion;
+
+		/** The direct path, when the expression is structural (NULL otherwise) */
+		private final ChildElementPath childElementPath;
+
+		/** The XPath expressions released after the use (compiled on demand) */
+		private final Deque<XPathExpression> releasedXPathExpressions = new ArrayDeque<>();
+
+		/**
+		 * Default constructor
+		 *
+		 * @param xpathString {@link String} XPath query string
+		 * @param namespacesVersion version of the registered namespaces
+		 */
+		private CompiledXPath(String xpathString, int namespacesVersion) {
+			this.xpathString = xpathString;
+			this.namespacesVersion = namespacesVersion;
+			this.childElementPath = ChildElementPath.compile(xpathString, namespacePrefixMapper);
+		}
+
+		/**
+		 * Evaluates the expression by a direct walk over the child elements, when possible and enabled
+		 *
+		 * @param xmlNode {@link Node} the current position
+		 * @return a list of found {@link Node}s, NULL if the expression shall be evaluated by the XPath engine
+		 */
+		private List<Node> evaluateChildElementPath(Node xmlNode) {
+			if (childElementPathEnabled && childElementPath != null && xmlNode != null) {
+				return childElementPath.evaluate(xmlNode);
+			}
+			return null;
+		}
+
+		/**
+		 * Returns a released XPath expression, or compiles a new one when none is available.
+		 * The expression shall be returned with {@code #releaseXPathExpression} after the evaluation.
+		 *
+		 * @return {@link XPathExpression}
+		 */
+		private XPathExpression getXPathExpression() {
+			synchronized (releasedXPathExpressions) {
+				final XPathExpression xPathExpression = releasedXPathExpressions.pollFirst();
+				if (xPathExpression != null) {
+					return xPathExpression;
+				}
+			}
+			return createXPathExpression(xpathString);
+		}
+
+		/**
+		 * Keeps the XPath expression for the next evaluations
+		 *
+		 * @param xPathExpression {@link XPathExpression} obtained with {@code #getXPathExpression}
+		 */
+		private void releaseXPathExpression(XPathExpression xPathExpression) {
+			synchronized (releasedXPathExpressions) {
+				if (releasedXPathExpressions.size() < MAX_RELEASED_XPATH_EXPRESSIONS) {
+					releasedXPathExpressions.addFirst(xPathExpression);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * LRU cache of the compiled xpath expressions
+	 */
+	@SuppressWarnings("serial")
+	private static final class CompiledXPathCache extends LinkedHashMap<String, CompiledXPath> {
+
+		/**
+		 * Default constructor
+		 */
+		private CompiledXPathCache() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CompiledXPath> eldest) {
+			return size() > XPATH_EXPRESSION_CACHE_SIZE;
+		}
+
+	}
+
 }
@@ -0,0 +1,595 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xml.utils;
+
+import eu.europa.esig.dss.model.DSSException;
+import org.apache.xml.security.c14n.Canonicalizer;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Canonicalizes a complete XML document in a streaming way (StAX), without building a DOM
+ * and without keeping the canonicalized output in memory.
+ * The memory consumption does not depend on the document size, which allows to compute a digest
+ * on the canonicalized content of large XML documents (e.g. detached references).
+ *
+ * Only a canonicalization of the whole document is supported (no document subset, no XPath filtering),
+ * for which the inclusive 1.0 and 1.1, and the exclusive canonicalization methods (with or without comments)
+ * are supported. The documents containing a DTD are rejected.
+ *
+ */
+public class StreamingXMLCanonicalizer {
+
+    /** The supported canonicalization methods */
+    private static final Set<String> SUPPORTED_METHODS = new HashSet<>(Arrays.asList(
+            Canonicalizer.ALGO_ID_C14N_OMIT_COMMENTS, Canonicalizer.ALGO_ID_C14N_WITH_COMMENTS,
+            Canonicalizer.ALGO_ID_C14N11_OMIT_COMMENTS, Canonicalizer.ALGO_ID_C14N11_WITH_COMMENTS,
+            Canonicalizer.ALGO_ID_C14N_EXCL_OMIT_COMMENTS, Canonicalizer.ALGO_ID_C14N_EXCL_WITH_COMMENTS));
+
+    /** The canonicalization methods keeping the comments */
+    private static final Set<String> WITH_COMMENTS_METHODS = new HashSet<>(Arrays.asList(
+            Canonicalizer.ALGO_ID_C14N_WITH_COMMENTS, Canonicalizer.ALGO_ID_C14N11_WITH_COMMENTS,
+            Canonicalizer.ALGO_ID_C14N_EXCL_WITH_COMMENTS));
+
+    /** The exclusive canonicalization methods */
+    private static final Set<String> EXCLUSIVE_METHODS = new HashSet<>(Arrays.asList(
+            Canonicalizer.ALGO_ID_C14N_EXCL_OMIT_COMMENTS, Canonicalizer.ALGO_ID_C14N_EXCL_WITH_COMMENTS));
+
+    /** The empty namespace URI, used as the default namespace of the document */
+    private static final String EMPTY = "";
+
+    /** The minimal number of canonicalized bytes produced at once by a canonicalized InputStream */
+    private static final int CHUNK_SIZE = 8192;
+
+    /** Sorts the attributes by namespace URI and local name (see Canonical XML 2.2) */
+    private static final Comparator<Attribute> ATTRIBUTE_COMPARATOR =
+            Comparator.comparing((Attribute a) -> a.namespaceURI).thenComparing(a -> a.localName);
+
+    /** Defines whether the comments are kept */
+    private final boolean withComments;
+
+    /** Defines whether the exclusive canonicalization is used */
+    private final boolean exclusive;
+
+    /**
+     * Default constructor
+     *
+     * @param canonicalizationMethod {@link String} canonicalization method
+     */
+    private StreamingXMLCanonicalizer(String canonicalizationMethod) {
+        this.withComments = WITH_COMMENTS_METHODS.contains(canonicalizationMethod);
+        this.exclusive = EXCLUSIVE_METHODS.contains(canonicalizationMethod);
+    }
+
+    /**
+     * Checks whether the canonicalization method is supported by the streaming canonicalizer
+     *
+     * @param canonicalizationMethod {@link String} canonicalization method
+     * @return TRUE if the streaming canonicalization is supported, FALSE otherwise
+     */
+    public static boolean isSupported(String canonicalizationMethod) {
+        return SUPPORTED_METHODS.contains(canonicalizationMethod);
+    }
+
+    /**
+     * Creates an instance of {@code StreamingXMLCanonicalizer} with provided canonicalization method
+     *
+     * @param canonicalizationMethod {@link String} canonicalization method
+     * @return {@link StreamingXMLCanonicalizer}
+     */
+    public static StreamingXMLCanonicalizer createInstance(String canonicalizationMethod) {
+        if (!isSupported(canonicalizationMethod)) {
+            throw new IllegalArgumentException(String.format(
+                    "The canonicalization method '%s' is not supported by the streaming canonicalizer!", canonicalizationMethod));
+        }
+        return new StreamingXMLCanonicalizer(canonicalizationMethod);
+    }
+
+    /**
+     * Canonicalizes the XML document read from the {@code inputStream} and writes the result into the {@code outputStream}.
+     * The streams are not closed.
+     *
+     * @param inputStream {@link InputStream} of the XML document to canonicalize
+     * @param outputStream {@link OutputStream} to write canonicalized bytes into
+     */
+    public void canonicalize(InputStream inputStream, OutputStream outputStream) {
+        XMLStreamReader reader = null;
+        try {
+            reader = createXMLStreamReader(inputStream);
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            process(reader, writer);
+            writer.flush();
+        } catch (XMLStreamException | IOException e) {
+            throw new DSSException(String.format("Unable to canonicalize the XML document. Reason : %s", e.getMessage()), e);
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    /**
+     * Returns an {@code InputStream} reading the canonicalized content of the XML document read from the {@code inputStream}.
+     * The document is canonicalized progressively, while the returned stream is read, so the canonicalized content
+     * is never kept in memory as a whole. Closing the returned stream closes the {@code inputStream}.
+     * <p>
+     * NOTE: an error occurring while reading the document (e.g. a malformed XML) is thrown as an {@code IOException}
+     * by the read methods of the returned stream
+     *
+     * @param inputStream {@link InputStream} of the XML document to canonicalize
+     * @return {@link InputStream} of the canonicalized content
+     */
+    public InputStream openCanonicalizedStream(InputStream inputStream) {
+        try {
+            return new CanonicalizedInputStream(inputStream, createXMLStreamReader(inputStream));
+        } catch (XMLStreamException e) {
+            closeQuietly(inputStream);
+            throw new DSSException(String.format("Unable to canonicalize the XML document. Reason : %s", e.getMessage()), e);
+        }
+    }
+
+    private XMLStreamReader createXMLStreamReader(InputStream inputStream) throws XMLStreamException {
+        XMLInputFactory xif = XMLInputFactory.newFactory();
+        xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xif.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        // the text is not coalesced, in order to not keep a large text node in memory as a whole
+        xif.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return xif.createXMLStreamReader(inputStream);
+    }
+
+    private void process(XMLStreamReader reader, Writer writer) throws XMLStreamException, IOException {
+        final CanonicalizationState state = new CanonicalizationState();
+        while (reader.hasNext()) {
+            processNextEvent(reader, writer, state);
+        }
+    }
+
+    /**
+     * Reads the next event of the {@code reader} and writes its canonical form
+     */
+    private void processNextEvent(XMLStreamReader reader, Writer writer, CanonicalizationState state)
+            throws XMLStreamException, IOException {
+        switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT:
+                state.renderedNamespaces.push(writeStartElement(reader, writer, state.renderedNamespaces.peek()));
+                state.depth++;
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                writer.write("</");
+                writer.write(getQualifiedName(reader.getPrefix(), reader.getLocalName()));
+                writer.write('>');
+                state.renderedNamespaces.pop();
+                state.depth--;
+                state.afterDocumentElement = state.depth == 0;
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                // a text node may be reported by several chunks, each of them is written as soon as it is read.
+                // The whitespaces outside the document element are not output
+                if (state.depth > 0) {
+                    writeText(writer, reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                }
+                break;
+            case XMLStreamConstants.COMMENT:
+                if (withComments) {
+                    writeDocumentLevelSeparator(writer, state.depth, state.afterDocumentElement, true);
+                    writer.write("<!--");
+                    writer.write(reader.getText());
+                    writer.write("-->");
+                    writeDocumentLevelSeparator(writer, state.depth, state.afterDocumentElement, false);
+                }
+                break;
+            case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                writeDocumentLevelSeparator(writer, state.depth, state.afterDocumentElement, true);
+                writer.write("<?");
+                writer.write(reader.getPITarget());
+                final String data = reader.getPIData();
+                if (data != null && !data.isEmpty()) {
+                    writer.write(' ');
+                    writer.write(data);
+                }
+                writer.write("?>");
+                writeDocumentLevelSeparator(writer, state.depth, state.afterDocumentElement, false);
+                break;
+            case XMLStreamConstants.DTD:
+                throw new XMLStreamException("DOCTYPE is not allowed!");
+            case XMLStreamConstants.ENTITY_REFERENCE:
+                throw new XMLStreamException(String.format("Unresolved entity reference '%s'!", reader.getLocalName()));
+            default:
+                // START_DOCUMENT, END_DOCUMENT
+                break;
+        }
+    }
+
+    /**
+     * A line break is added before a node after the document element, or after a node before the document element
+     */
+    private void writeDocumentLevelSeparator(Writer writer, int depth, boolean afterDocumentElement, boolean before) throws IOException {
+        if (depth == 0 && afterDocumentElement == before) {
+            writer.write('\n');
+        }
+    }
+
+    private Map<String, String> writeStartElement(XMLStreamReader reader, Writer writer,
+                                                  Map<String, String> parentNamespaces) throws IOException {
+        final Map<String, String> namespacesToRender = exclusive ?
+                getVisiblyUtilizedNamespaces(reader, parentNamespaces) : getDeclaredNamespaces(reader, parentNamespaces);
+
+        writer.write('<');
+        writer.write(getQualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (Map.Entry<String, String> namespace : namespacesToRender.entrySet()) {
+            writer.write(namespace.getKey().isEmpty() ? " xmlns" : " xmlns:" + namespace.getKey());
+            writeAttributeValue(writer, namespace.getValue());
+        }
+
+        final int attributeCount = reader.getAttributeCount();
+        final List<Attribute> attributes = new ArrayList<>(attributeCount);
+        for (int i = 0; i < attributeCount; i++) {
+            attributes.add(new Attribute(nullToEmpty(reader.getAttributeNamespace(i)), reader.getAttributeLocalName(i),
+                    getQualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)), reader.getAttributeValue(i)));
+        }
+        attributes.sort(ATTRIBUTE_COMPARATOR);
+        for (Attribute attribute : attributes) {
+            writer.write(' ');
+            writer.write(attribute.qualifiedName);
+            writeAttributeValue(writer, attribute.value);
+        }
+        writer.write('>');
+
+        if (namespacesToRender.isEmpty()) {
+            return parentNamespaces;
+        }
+        final Map<String, String> renderedNamespaces = new HashMap<>(parentNamespaces);
+        renderedNamespaces.putAll(namespacesToRender);
+        return renderedNamespaces;
+    }
+
+    /**
+     * Inclusive canonicalization : the namespace declarations of the element, not rendered yet with the same value
+     */
+    private Map<String, String> getDeclaredNamespaces(XMLStreamReader reader, Map<String, String> parentNamespaces) {
+        final Map<String, String> namespaces = new TreeMap<>();
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            addNamespaceToRender(namespaces, parentNamespaces,
+                    nullToEmpty(reader.getNamespacePrefix(i)), nullToEmpty(reader.getNamespaceURI(i)));
+        }
+        return namespaces;
+    }
+
+    /**
+     * Exclusive canonicalization : the namespaces used by the element and its attributes, not rendered yet with the same value
+     */
+    private Map<String, String> getVisiblyUtilizedNamespaces(XMLStreamReader reader, Map<String, String> parentNamespaces) {
+        final Map<String, String> namespaces = new TreeMap<>();
+        addNamespaceToRender(namespaces, parentNamespaces, nullToEmpty(reader.getPrefix()), nullToEmpty(reader.getNamespaceURI()));
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String prefix = nullToEmpty(reader.getAttributePrefix(i));
+            if (!prefix.isEmpty()) {
+                addNamespaceToRender(namespaces, parentNamespaces, prefix, nullToEmpty(reader.getAttributeNamespace(i)));
+            }
+        }
+        return namespaces;
+    }
+
+    private void addNamespaceToRender(Map<String, String> namespaces, Map<String, String> parentNamespaces,
+                                      String prefix, String namespaceURI) {
+        if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+            return;
+        }
+        if (!prefix.isEmpty() && namespaceURI.isEmpty()) {
+            // undeclaration of a prefix is not rendered
+            return;
+        }
+        if (!namespaceURI.equals(parentNamespaces.get(prefix))) {
+            namespaces.put(prefix, namespaceURI);
+        }
+    }
+
+    private void writeText(Writer writer, char[] text, int start, int length) throws IOException {
+        final int end = start + length;
+        for (int i = start; i < end; i++) {
+            final char c = text[i];
+            switch (c) {
+                case '&':
+                    writer.write("&amp;");
+                    break;
+                case '<':
+                    writer.write("&lt;");
+                    break;
+                case '>':
+                    writer.write("&gt;");
+                    break;
+                case '\r':
+                    writer.write("&#xD;");
+                    break;
+                default:
+                    writer.write(c);
+                    break;
+            }
+        }
+    }
+
+    private void writeAttributeValue(Writer writer, String value) throws IOException {
+        writer.write("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    writer.write("&amp;");
+                    break;
+                case '<':
+                    writer.write("&lt;");
+                    break;
+                case '"':
+                    writer.write("&quot;");
+                    break;
+                case '\t':
+                    writer.write("&#x9;");
+                    break;
+                case '\n':
+                    writer.write("&#xA;");
+                    break;
+                case '\r':
+                    writer.write("&#xD;");
+                    break;
+                default:
+                    writer.write(c);
+                    break;
+            }
+        }
+        writer.write('"');
+    }
+
+    private static String getQualifiedName(String prefix, String localName) {
+        if (prefix == null || prefix.isEmpty()) {
+            return localName;
+        }
+        return prefix + ':' + localName;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : EMPTY;
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // ignore
+            }
+        }
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * The state of a canonicalization between two processed events
+     */
+    private static final class CanonicalizationState {
+
+        /** The namespaces rendered within the current element and its ancestors */
+        private final Deque<Map<String, String>> renderedNamespaces = new ArrayDeque<>();
+
+        /** The depth of the current element (0 outside the document element) */
+        private int depth = 0;
+
+        /** Defines whether the document element has been processed */
+        private boolean afterDocumentElement = false;
+
+        /**
+         * Default constructor
+         */
+        private CanonicalizationState() {
+            final Map<String, String> documentNamespaces = new HashMap<>();
+            documentNamespaces.put(EMPTY, EMPTY);
+            renderedNamespaces.push(documentNamespaces);
+        }
+
+    }
+
+    /**
+     * Reads the canonicalized content by chunks, the next events of the document being processed
+     * each time the previous chunk has been consumed
+     */
+    private final class CanonicalizedInputStream extends InputStream {
+
+        /** The InputStream of the XML document */
+        private final InputStream inputStream;
+
+        /** The reader of the XML document */
+        private final XMLStreamReader reader;
+
+        /** The state of the canonicalization */
+        private final CanonicalizationState state = new CanonicalizationState();
+
+        /** Contains the current chunk of canonicalized bytes */
+        private final ChunkOutputStream chunk = new ChunkOutputStream();
+
+        /** Writes the canonicalized content into the {@code chunk} */
+        private final Writer writer = new OutputStreamWriter(chunk, StandardCharsets.UTF_8);
+
+        /** The position of the next byte to read within the current chunk */
+        private int position = 0;
+
+        /** Defines whether the stream has been closed */
+        private boolean closed = false;
+
+        /**
+         * Default constructor
+         *
+         * @param inputStream {@link InputStream} of the XML document
+         * @param reader {@link XMLStreamReader} reading the {@code inputStream}
+         */
+        private CanonicalizedInputStream(InputStream inputStream, XMLStreamReader reader) {
+            this.inputStream = inputStream;
+            this.reader = reader;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fillChunk()) {
+                return -1;
+            }
+            return chunk.getBuffer()[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            if (!fillChunk()) {
+                return -1;
+            }
+            final int length = Math.min(len, chunk.size() - position);
+            System.arraycopy(chunk.getBuffer(), position, b, off, length);
+            position += length;
+            return length;
+        }
+
+        @Override
+        public int available() {
+            return closed ? 0 : chunk.size() - position;
+        }
+
+        /**
+         * Processes the next events when the current chunk has been consumed
+         *
+         * @return TRUE if bytes are available, FALSE if the end of the document is reached
+         * @throws IOException if the stream is closed or the document cannot be canonicalized
+         */
+        private boolean fillChunk() throws IOException {
+            if (closed) {
+                throw new IOException("The stream is closed!");
+            }
+            if (position < chunk.size()) {
+                return true;
+            }
+            chunk.reset();
+            position = 0;
+            try {
+                while (chunk.size() < CHUNK_SIZE && reader.hasNext()) {
+                    processNextEvent(reader, writer, state);
+                }
+                writer.flush();
+            } catch (XMLStreamException e) {
+                throw new IOException(String.format("Unable to canonicalize the XML document. Reason : %s", e.getMessage()), e);
+            }
+            return chunk.size() > 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                closeQuietly(reader);
+                inputStream.close();
+            }
+        }
+
+    }
+
+    /**
+     * Gives access to the written bytes without a copy
+     */
+    private static final class ChunkOutputStream extends ByteArrayOutputStream {
+
+        /**
+         * Default constructor
+         */
+        private ChunkOutputStream() {
+            super(CHUNK_SIZE * 2);
+        }
+
+        private byte[] getBuffer() {
+            return buf;
+        }
+
+    }
+
+    /**
+     * Represents an attribute to be sorted and written
+     */
+    private static final class Attribute {
+
+        /** The namespace URI (empty string for no namespace) */
+        private final String namespaceURI;
+
+        /** The local name */
+        private final String localName;
+
+        /** The qualified name */
+        private final String qualifiedName;
+
+        /** The normalized value */
+        private final String value;
+
+        /**
+         * Default constructor
+         *
+         * @param namespaceURI {@link String}
+         * @param localName {@link String}
+         * @param qualifiedName {@link String}
+         * @param value {@link String}
+         */
+        private Attribute(String namespaceURI, String localName, String qualifiedName, String value) {
+            this.namespaceURI = namespaceURI;
+            this.localName = localName;
+            this.qualifiedName = qualifiedName;
+            this.value = value;
+        }
+
+    }
+
+}
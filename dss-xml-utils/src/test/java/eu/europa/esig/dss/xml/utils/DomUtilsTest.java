@@ -29,10 +29,17 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import javax.xml.xpath.XPathConstants;
+
 import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -78,6 +85,83 @@ class DomUtilsTest {
 		assertTrue(DomUtils.registerNamespace(new DSSNamespace("http://some-uri.net", "otherPrefix")));
 	}
 
+	@Test
+	void compiledXPathExpressionTest() throws Exception {
+		Document document = DomUtils.buildDOM("<a:root xmlns:a=\"http://uri-a.net\" xmlns:b=\"http://uri-b.net\">" +
+				"<a:child>A</a:child><b:child>B</b:child></a:root>");
+
+		DomUtils.registerNamespace(new DSSNamespace("http://uri-a.net", "cached"));
+		assertEquals("A", DomUtils.getValue(document.getDocumentElement(), "./cached:child"));
+		assertEquals("A", DomUtils.getValue(document.getDocumentElement(), "./cached:child"));
+
+		// the compiled expression shall not be reused after a change of the namespace
+		DomUtils.registerNamespace(new DSSNamespace("http://uri-b.net", "cached"));
+		assertEquals("B", DomUtils.getValue(document.getDocumentElement(), "./cached:child"));
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> futures = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				futures.add(executorService.submit(() -> DomUtils.getValue(document.getDocumentElement(), "./cached:child")));
+				// evaluated by the XPath engine, the compiled expression is shared between the threads
+				futures.add(executorService.submit(() -> DomUtils.getValue(document.getDocumentElement(), "./cached:child[1]")));
+			}
+			for (Future<String> future : futures) {
+				assertEquals("B", future.get());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	void childElementPathTest() throws Exception {
+		Document document = DomUtils.buildDOM("<a:root xmlns:a=\"http://uri-a.net\" xmlns:b=\"http://uri-b.net\">" +
+				"<a:p Id=\"p1\"><b:c Id=\"c1\">x</b:c><b:c>y<!-- comment --></b:c></a:p>" +
+				"<a:p Id=\"p2\"><b:c Id=\"c3\"> z <b:d>w</b:d></b:c></a:p><c>no-ns</c></a:root>");
+		DomUtils.registerNamespace(new DSSNamespace("http://uri-a.net", "pa"));
+		DomUtils.registerNamespace(new DSSNamespace("http://uri-b.net", "pb"));
+
+		String[] paths = new String[] { "./pa:p", "./pa:p/pb:c", "./pa:p/pb:c/@Id", "./pa:p/@Id", "./c", "./pa:p/pa:c",
+				"./pa:p/pb:c/pb:d", "./pa:p[2]/pb:c", ".//pb:c", "./pa:p/pb:c/text()" };
+		assertSameResultAsXPath(document.getDocumentElement(), paths);
+
+		// element created without namespace awareness
+		document.getDocumentElement().appendChild(document.createElement("c"));
+		assertSameResultAsXPath(document.getDocumentElement(), paths);
+	}
+
+	@Test
+	void childElementPathDisabledTest() throws Exception {
+		Document document = DomUtils.buildDOM("<a:root xmlns:a=\"http://uri-a.net\" xmlns:b=\"http://uri-b.net\">" +
+				"<a:p Id=\"p1\"><b:c Id=\"c1\">x</b:c></a:p><a:p Id=\"p2\"><b:c Id=\"c2\">y</b:c></a:p></a:root>");
+		DomUtils.registerNamespace(new DSSNamespace("http://uri-a.net", "pa"));
+		DomUtils.registerNamespace(new DSSNamespace("http://uri-b.net", "pb"));
+
+		assertTrue(DomUtils.isChildElementPathEnabled());
+		try {
+			DomUtils.setChildElementPathEnabled(false);
+			assertFalse(DomUtils.isChildElementPathEnabled());
+			assertSameResultAsXPath(document.getDocumentElement(), "./pa:p", "./pa:p/pb:c", "./pa:p/pb:c/@Id");
+		} finally {
+			DomUtils.setChildElementPathEnabled(true);
+		}
+		assertSameResultAsXPath(document.getDocumentElement(), "./pa:p", "./pa:p/pb:c", "./pa:p/pb:c/@Id");
+	}
+
+	private void assertSameResultAsXPath(Node node, String... paths) throws Exception {
+		for (String path : paths) {
+			NodeList expected = (NodeList) DomUtils.createXPathExpression(path).evaluate(node, XPathConstants.NODESET);
+			NodeList nodeList = DomUtils.getNodeList(node, path);
+			assertEquals(expected.getLength(), nodeList.getLength(), path);
+			for (int i = 0; i < expected.getLength(); i++) {
+				assertTrue(expected.item(i).isSameNode(nodeList.item(i)), path);
+			}
+			String expectedValue = (String) DomUtils.createXPathExpression(path).evaluate(node, XPathConstants.STRING);
+			assertEquals(expectedValue.trim(), DomUtils.getValue(node, path), path);
+		}
+	}
+
 	@Test
 	void testNoHeader() {
 		InputStream is = new ByteArrayInputStream(XML_TEXT.getBytes());
@@ -0,0 +1,180 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xml.utils;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.xml.crypto.dsig.CanonicalizationMethod;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingXMLCanonicalizerTest {
+
+    private static Stream<String> canonicalizationMethods() {
+        return Stream.of(CanonicalizationMethod.INCLUSIVE, CanonicalizationMethod.INCLUSIVE_WITH_COMMENTS,
+                CanonicalizationMethod.INCLUSIVE_11, CanonicalizationMethod.INCLUSIVE_11_WITH_COMMENTS,
+                CanonicalizationMethod.EXCLUSIVE, CanonicalizationMethod.EXCLUSIVE_WITH_COMMENTS);
+    }
+
+    @ParameterizedTest(name = "Canonicalization {index} : {0}")
+    @MethodSource("canonicalizationMethods")
+    void sampleTest(String canonicalizationMethod) throws Exception {
+        assertSameAsXMLCanonicalizer(new FileDocument("src/test/resources/sample-c14n.xml"), canonicalizationMethod);
+    }
+
+    @ParameterizedTest(name = "Canonicalization {index} : {0}")
+    @MethodSource("canonicalizationMethods")
+    void commentsAndProcessingInstructionsTest(String canonicalizationMethod) throws Exception {
+        assertSameAsXMLCanonicalizer(new InMemoryDocument(("<?xml version=\"1.0\"?>\n<?pi-before?>\n<!-- before -->\n" +
+                "<root>\n  <!-- inside --><a><?pi inside data ?></a><!---->\n</root>\n<!-- after -->\n<?pi-after data?>\n")
+                .getBytes(StandardCharsets.UTF_8)), canonicalizationMethod);
+    }
+
+    @ParameterizedTest(name = "Canonicalization {index} : {0}")
+    @MethodSource("canonicalizationMethods")
+    void namespacesComparisonTest(String canonicalizationMethod) throws Exception {
+        assertSameAsXMLCanonicalizer(new InMemoryDocument(("<?xml version=\"1.0\"?>" +
+                "<a:root xmlns:a=\"urn:a\" xmlns:b=\"urn:b\" xmlns:unused=\"urn:unused\" xmlns=\"urn:default\" xml:lang=\"en\">" +
+                "<child b:attr=\"1\" attr=\"x\" a:attr=\"2\"/>" +
+                "<a:child xmlns:a=\"urn:a\" xmlns=\"\"><c xmlns=\"\"/><d xmlns=\"urn:other\"><e xmlns=\"urn:default\"/></d></a:child>" +
+                "<b:child xmlns:b=\"urn:b2\" xml:space=\"preserve\"><b:c xmlns:b=\"urn:b\" b:d=\"\"/></b:child>" +
+                "<a:child xmlns:a=\"urn:a2\" xmlns:unused=\"urn:unused\"><unused:e/></a:child>" +
+                "</a:root>").getBytes(StandardCharsets.UTF_8)), canonicalizationMethod);
+    }
+
+    @ParameterizedTest(name = "Canonicalization {index} : {0}")
+    @MethodSource("canonicalizationMethods")
+    void textAndAttributesTest(String canonicalizationMethod) throws Exception {
+        assertSameAsXMLCanonicalizer(new InMemoryDocument(("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<root a=\"&lt;&amp;&gt;&quot;&apos;&#9;&#10;&#13;\" b=\"  line\n value  \">" +
+                "a &lt; b &amp;&amp; c &gt; d &#13;&#xE9;\u00e9\u20ac\ud83d\ude00<![CDATA[ <cdata> & ]]>\r\nend" +
+                "<empty></empty><empty/></root>").getBytes(StandardCharsets.UTF_8)), canonicalizationMethod);
+    }
+
+    @ParameterizedTest(name = "Canonicalization {index} : {0}")
+    @MethodSource("canonicalizationMethods")
+    void largeTextTest(String canonicalizationMethod) throws Exception {
+        StringBuilder sb = new StringBuilder("<root>");
+        for (int i = 0; i < 10000; i++) {
+            sb.append("text ").append(i).append(" &amp; &lt;&#xE9;\u00e9 ");
+        }
+        sb.append("<![CDATA[");
+        for (int i = 0; i < 10000; i++) {
+            sb.append("cdata <").append(i).append("> & ");
+        }
+        sb.append("]]></root>");
+        // a large text node is reported by several chunks
+        assertSameAsXMLCanonicalizer(new InMemoryDocument(sb.toString().getBytes(StandardCharsets.UTF_8)), canonicalizationMethod);
+    }
+
+    @Test
+    void namespacesTest() throws Exception {
+        DSSDocument document = new InMemoryDocument(("<?xml version=\"1.0\"?>\n<!-- before -->\n" +
+                "<a:root xmlns:a=\"urn:a\" xmlns:b=\"urn:b\" xmlns=\"urn:default\"><child b:attr=\"1&#9;2\" attr=\"x\"/>" +
+                "<a:child xmlns=\"\">a &gt; b &amp; c<![CDATA[ <d> ]]></a:child></a:root>\n<?pi data?>").getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("<a:root xmlns=\"urn:default\" xmlns:a=\"urn:a\" xmlns:b=\"urn:b\"><child attr=\"x\" b:attr=\"1&#x9;2\"></child>" +
+                "<a:child xmlns=\"\">a &gt; b &amp; c &lt;d&gt; </a:child></a:root>\n<?pi data?>",
+                canonicalize(document, CanonicalizationMethod.INCLUSIVE));
+        assertEquals("<!-- before -->\n" +
+                "<a:root xmlns:a=\"urn:a\"><child xmlns=\"urn:default\" xmlns:b=\"urn:b\" attr=\"x\" b:attr=\"1&#x9;2\"></child>" +
+                "<a:child>a &gt; b &amp; c &lt;d&gt; </a:child></a:root>\n<?pi data?>",
+                canonicalize(document, CanonicalizationMethod.EXCLUSIVE_WITH_COMMENTS));
+    }
+
+    @Test
+    void dtdNotAllowedTest() {
+        DSSDocument document = new FileDocument("src/test/resources/xml_expansion.xml");
+        Exception exception = assertThrows(DSSException.class, () -> canonicalize(document, CanonicalizationMethod.INCLUSIVE));
+        assertTrue(exception.getMessage().contains("Unable to canonicalize the XML document"));
+    }
+
+    @Test
+    void largeCanonicalizedStreamTest() throws Exception {
+        StringBuilder sb = new StringBuilder("<root xmlns=\"urn:root\">");
+        for (int i = 0; i < 20000; i++) {
+            sb.append("<item id=\"").append(i).append("\" a=\"&amp;\">value ").append(i).append(" &lt; &#xE9;</item>\n");
+        }
+        sb.append("</root>");
+        DSSDocument document = new InMemoryDocument(sb.toString().getBytes(StandardCharsets.UTF_8));
+
+        // the content is returned by chunks, while the document is read
+        assertEquals(canonicalize(document, CanonicalizationMethod.INCLUSIVE),
+                readCanonicalizedStream(document, CanonicalizationMethod.INCLUSIVE));
+    }
+
+    @Test
+    void malformedCanonicalizedStreamTest() throws Exception {
+        DSSDocument document = new InMemoryDocument("<root><a></root>".getBytes(StandardCharsets.UTF_8));
+        Exception exception = assertThrows(IOException.class, () -> readCanonicalizedStream(document, CanonicalizationMethod.INCLUSIVE));
+        assertTrue(exception.getMessage().contains("Unable to canonicalize the XML document"));
+    }
+
+    @Test
+    void unsupportedMethodTest() {
+        assertTrue(StreamingXMLCanonicalizer.isSupported(CanonicalizationMethod.EXCLUSIVE));
+        assertFalse(StreamingXMLCanonicalizer.isSupported("http://www.w3.org/2000/09/xmldsig#base64"));
+        assertThrows(IllegalArgumentException.class, () -> StreamingXMLCanonicalizer.createInstance(null));
+    }
+
+    private void assertSameAsXMLCanonicalizer(DSSDocument document, String canonicalizationMethod) throws IOException {
+        // the bytes shall be identical to the Santuario output, otherwise the computed digests differ
+        byte[] expected = XMLCanonicalizer.createInstance(canonicalizationMethod).canonicalize(document.openStream());
+        assertArrayEquals(expected, canonicalize(document, canonicalizationMethod).getBytes(StandardCharsets.UTF_8));
+        assertArrayEquals(expected, readCanonicalizedStream(document, canonicalizationMethod).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String readCanonicalizedStream(DSSDocument document, String canonicalizationMethod) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (InputStream is = StreamingXMLCanonicalizer.createInstance(canonicalizationMethod).openCanonicalizedStream(document.openStream())) {
+            byte[] buffer = new byte[1000];
+            int length;
+            while ((length = is.read(buffer)) != -1) {
+                baos.write(buffer, 0, length);
+            }
+        }
+        return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private String canonicalize(DSSDocument document, String canonicalizationMethod) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (InputStream is = document.openStream()) {
+            StreamingXMLCanonicalizer.createInstance(canonicalizationMethod).canonicalize(is, baos);
+        }
+        return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+}
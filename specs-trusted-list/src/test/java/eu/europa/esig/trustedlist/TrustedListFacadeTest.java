@@ -29,10 +29,13 @@ import eu.europa.esig.trustedlist.jaxb.tsl.TrustStatusListType;
 import jakarta.xml.bind.MarshalException;
 import jakarta.xml.bind.UnmarshalException;
 import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.JAXBException;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.stream.XMLStreamException;
 import java.io.File;
 import java.io.IOException;
@@ -129,6 +132,53 @@ class TrustedListFacadeTest {
 		assertTrue(exception.getLinkedException().getMessage().contains("hello"));
 	}
 
+	@Test
+	void testUnmarshallNode() throws Exception {
+		File file = new File("src/test/resources/tlv6.xml");
+		Document document = buildDOM(file);
+
+		TrustedListFacade facade = TrustedListFacade.newFacade();
+
+		TrustStatusListType fromNode = facade.unmarshall(document, true);
+		assertNotNull(fromNode);
+		TrustStatusListType fromFile = facade.unmarshall(file, true);
+		assertEquals(facade.marshall(fromFile), facade.marshall(fromNode));
+
+		fromNode = facade.unmarshall(document, false);
+		assertNotNull(fromNode);
+		assertEquals(facade.marshall(fromFile), facade.marshall(fromNode));
+	}
+
+	@Test
+	void testUnmarshallNodeWrongInside() throws Exception {
+		Document document = buildDOM(new File("src/test/resources/tlv6_wrong_inside.xml"));
+
+		TrustedListFacade facade = TrustedListFacade.newFacade();
+
+		JAXBException exception = assertThrows(UnmarshalException.class, () -> facade.unmarshall(document, true));
+		assertTrue(exception.getLinkedException().getMessage().contains("hello"));
+
+		TrustStatusListType trustStatusListType = facade.unmarshall(document, false);
+		assertNotNull(trustStatusListType);
+	}
+
+	@Test
+	void testUnmarshallNodeHelloWorld() throws Exception {
+		Document document = buildDOM(new File("src/test/resources/hello_world.xml"));
+
+		TrustedListFacade facade = TrustedListFacade.newFacade();
+
+		JAXBException exception = assertThrows(UnmarshalException.class, () -> facade.unmarshall(document, false));
+		assertTrue(exception.getMessage().contains("hello"));
+	}
+
+	private Document buildDOM(File file) throws Exception {
+		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+		dbf.setNamespaceAware(true);
+		dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+		return dbf.newDocumentBuilder().parse(file);
+	}
+
 	@Test
 	void testLOTL() throws JAXBException, XMLStreamException, IOException, SAXException {
 		marshallUnmarshall(new File("src/test/resources/lotl.xml"));
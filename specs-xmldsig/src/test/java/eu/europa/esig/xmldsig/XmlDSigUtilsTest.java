@@ -129,6 +129,36 @@ class XmlDSigUtilsTest {
 		assertEquals(allMessages, xsdValidationMessages);
 	}
 
+	@Test
+	void validateTwiceTest() throws IOException, SAXException {
+		// the same thread validates several times against the same schema
+		xmlDSigUtils.validate(aliceFile, xmlDSigUtils.getSchema(), true);
+		xmlDSigUtils.validate(new StreamSource(new File("src/test/resources/XmlAliceSig.xml")), xmlDSigUtils.getSchema(), true);
+
+		List<String> firstMessages = xmlDSigUtils.validateAgainstXSD(new StreamSource(new File("src/test/resources/XmlBobSig.xml")));
+		assertEquals(2, firstMessages.size());
+		List<String> secondMessages = xmlDSigUtils.validateAgainstXSD(new StreamSource(new File("src/test/resources/XmlBobSig.xml")));
+		assertEquals(firstMessages, secondMessages);
+	}
+
+	@Test
+	void validateSameSchemaSequentiallyTest() throws IOException, SAXException {
+		Schema schema = xmlDSigUtils.getSchema();
+
+		// the errors of a validation are not reported by the next one using the same schema
+		XSDValidationException exception = assertThrows(XSDValidationException.class,
+				() -> xmlDSigUtils.validate(new StreamSource(new File("src/test/resources/XmlBobSig.xml")), schema, true));
+		assertEquals(2, exception.getAllMessages().size());
+
+		xmlDSigUtils.validate(new StreamSource(new File("src/test/resources/XmlAliceSig.xml")), schema, true);
+
+		exception = assertThrows(XSDValidationException.class,
+				() -> xmlDSigUtils.validate(new StreamSource(new File("src/test/resources/XmlBobSig.xml")), schema, true));
+		assertEquals(2, exception.getAllMessages().size());
+
+		xmlDSigUtils.validate(new StreamSource(new File("src/test/resources/XmlAliceSig.xml")), schema, true);
+	}
+
 	@Test
 	void dssErrorHandlerPositionTest() {
 		DSSErrorHandlerAlert dssErrorHandlerAlert = new DSSErrorHandlerAlert();